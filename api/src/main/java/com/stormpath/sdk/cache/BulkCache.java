@@ -0,0 +1,55 @@
+/*
+ * Copyright 2014 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.cache;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * A {@link Cache} that can read, write and remove multiple entries in a single operation.
+ * <p/>
+ * The Stormpath SDK often caches many resources at once - for example, every resource in a retrieved collection page.
+ * Caches backed by a remote or clustered store should implement this interface so that such writes can be sent to the
+ * store in one round trip instead of one per resource.  Caches that only implement {@link Cache} continue to work:
+ * the SDK falls back to calling the single-entry methods for each entry.
+ *
+ * @since 1.0.0
+ */
+public interface BulkCache<K, V> extends Cache<K, V> {
+
+    /**
+     * Returns the cached values stored under the specified {@code keys}.  Keys without a cache entry are not present
+     * in the returned map.
+     *
+     * @param keys the keys that the values were previously added with
+     * @return the cached values keyed by their cache keys, never {@code null}.
+     */
+    Map<K, V> getAll(Collection<? extends K> keys);
+
+    /**
+     * Adds all of the specified cache entries.
+     *
+     * @param entries the values to be stored in the cache, keyed by the keys used to identify them.
+     */
+    void putAll(Map<? extends K, ? extends V> entries);
+
+    /**
+     * Removes the cached values stored under the specified {@code keys}.
+     *
+     * @param keys the keys used to identify the objects being stored.
+     */
+    void removeAll(Collection<? extends K> keys);
+}
@@ -85,4 +85,66 @@ public interface CacheConfigurationBuilder {
      */
     CacheConfigurationBuilder withTimeToIdle(long tti, TimeUnit ttiTimeUnit);
 
+    /**
+     * Sets the maximum number of entries the associated {@code Cache} region will retain.  Once this number is
+     * reached, the least recently used entries are evicted to make room for new ones.
+     * <p/>
+     * If this value is not configured (or is not positive), the region's default as configured via
+     * {@link CacheManagerBuilder#withDefaultMaxEntries(int)} is used.  If neither is configured, the number of entries
+     * is bounded only by available memory, and entries may be evicted by the JVM garbage collector when the heap is
+     * under pressure.
+     * <h3>Usage</h3>
+     * <pre>
+     *     ...withMaxEntries(10000)...
+     * </pre>
+     *
+     * @param maxEntries the maximum number of entries the associated {@code Cache} region will retain.
+     * @return the builder instance for method chaining.
+     * @since 1.0.0
+     */
+    CacheConfigurationBuilder withMaxEntries(int maxEntries);
+
+    /**
+     * Sets the associated {@code Cache} region's refresh-ahead window.
+     * <p/>
+     * When an entry is accessed within this amount of time before its {@link #withTimeToLive(long, TimeUnit) Time to
+     * Live} elapses, the cached value is returned immediately and a fresh copy of the resource is retrieved from the
+     * server in the background, so that frequently accessed resources are replaced before they expire instead of the
+     * next caller paying for a synchronous request.
+     * <p/>
+     * This setting only has an effect if the region also has a Time to Live, and must be less than it.
+     * <h3>Usage</h3>
+     * <pre>
+     *     ...withTimeToLive(1, TimeUnit.HOURS)
+     *        .withRefreshAhead(5, TimeUnit.MINUTES)...
+     * </pre>
+     *
+     * @param refreshAhead         refresh-ahead window scalar value
+     * @param refreshAheadTimeUnit refresh-ahead window unit of time
+     * @return the builder instance for method chaining.
+     * @since 1.0.0
+     */
+    CacheConfigurationBuilder withRefreshAhead(long refreshAhead, TimeUnit refreshAheadTimeUnit);
+
+    /**
+     * Sets the associated {@code Cache} region's stale-while-revalidate window.
+     * <p/>
+     * When an entry is accessed after its {@link #withTimeToLive(long, TimeUnit) Time to Live} has elapsed, but
+     * within this additional amount of time, the stale value is returned immediately while a fresh copy of the
+     * resource is retrieved from the server in the background.  Entries older than their Time to Live plus this
+     * window are never returned.
+     * <p/>
+     * This setting only has an effect if the region also has a Time to Live.
+     * <h3>Usage</h3>
+     * <pre>
+     *     ...withTimeToLive(1, TimeUnit.HOURS)
+     *        .withStaleWhileRevalidate(30, TimeUnit.SECONDS)...
+     * </pre>
+     *
+     * @param staleWhileRevalidate         stale-while-revalidate window scalar value
+     * @param staleWhileRevalidateTimeUnit stale-while-revalidate window unit of time
+     * @return the builder instance for method chaining.
+     * @since 1.0.0
+     */
+    CacheConfigurationBuilder withStaleWhileRevalidate(long staleWhileRevalidate, TimeUnit staleWhileRevalidateTimeUnit);
 }
@@ -15,6 +15,7 @@
  */
 package com.stormpath.sdk.cache;
 
+import java.io.File;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -104,6 +105,50 @@ public interface CacheManagerBuilder {
      */
     CacheManagerBuilder withDefaultTimeToIdle(long tti, TimeUnit timeUnit);
 
+    /**
+     * Sets the default maximum number of entries retained by each cache region managed by the {@link #build() built}
+     * {@code CacheManager}. You may override this default for individual cache regions by using the
+     * {@link #withCache(CacheConfigurationBuilder) withCache} for each region you wish to configure.
+     * <p/>
+     * When a maximum is configured, a region's entries are held in a concurrent, bounded structure: once the maximum
+     * is reached, the least recently used entries are evicted to make room for new ones.  Eviction is never driven by
+     * garbage collection, so cache contents remain predictable when the heap is under pressure.
+     * <p/>
+     * If this value is not configured (or is not positive), the number of entries in each region is bounded only by
+     * available memory, and entries may be evicted by the JVM garbage collector when the heap is under pressure.
+     * <h3>Usage</h3>
+     * <pre>
+     *     ...withDefaultMaxEntries(10000)...
+     * </pre>
+     *
+     * @param maxEntries the default maximum number of entries retained by each cache region.
+     * @return the builder instance for method chaining.
+     * @since 1.0.0
+     */
+    CacheManagerBuilder withDefaultMaxEntries(int maxEntries);
+
+    /**
+     * Enables cache snapshots: the Application, Directory, Group and Account cache regions of the
+     * {@link #build() built} {@code CacheManager} are written to the specified local file every {@code interval}
+     * (as well as when the JVM shuts down), and restored from it when a
+     * {@link com.stormpath.sdk.client.ClientBuilder#build() Client is built}.  This allows a restarted application to
+     * start with warm caches instead of requesting every resource from Stormpath again.
+     * <p/>
+     * Restored entries keep the time they were originally cached, so they still expire according to the
+     * region's Time to Live.  API key secrets are never written to the snapshot file.
+     * <h3>Usage</h3>
+     * <pre>
+     *     ...withSnapshot(new File("/var/cache/myapp/stormpath-cache.snapshot"), 5, TimeUnit.MINUTES)...
+     * </pre>
+     *
+     * @param file     the local file the cache snapshot is written to and restored from.
+     * @param interval the amount of time between two writes of the snapshot file, used with {@code timeUnit}.
+     * @param timeUnit the time unit of the {@code interval} argument.
+     * @return the builder instance for method chaining.
+     * @since 1.0.0
+     */
+    CacheManagerBuilder withSnapshot(File file, long interval, TimeUnit timeUnit);
+
     /**
      * Adds configuration settings for a specific Cache region managed by the {@link #build() built}
      * {@code CacheManager}, like the region's Time to Live and Time to Idle.
@@ -0,0 +1,48 @@
+/*
+ * Copyright 2014 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.cache;
+
+import java.util.Map;
+
+/**
+ * Converts resource data to the representation stored in cache regions and back.
+ * <p/>
+ * Resource data is a tree of {@code LinkedHashMap}s and lists, which is heavy on the heap and slow to serialize into
+ * a distributed cache with Java serialization.  A codec can store a more compact representation instead - for
+ * example, the resource's serialized bytes (see {@link Caches#newJsonCacheValueCodec()}).
+ *
+ * @see com.stormpath.sdk.client.ClientBuilder#setCacheValueCodec(CacheValueCodec)
+ * @since 1.0.0
+ */
+public interface CacheValueCodec {
+
+    /**
+     * Returns the representation of the specified resource data to store in a cache region.
+     *
+     * @param data the resource data to cache
+     * @return the representation of the specified resource data to store in a cache region.
+     */
+    Object encode(Map<String, ?> data);
+
+    /**
+     * Returns the resource data represented by the specified cached value, which was either produced by
+     * {@link #encode(Map)} or is a resource data {@code Map} cached before this codec was used.
+     *
+     * @param encoded the cached value
+     * @return the resource data represented by the specified cached value.
+     */
+    Map<String, ?> decode(Object encoded);
+}
@@ -91,6 +91,24 @@ public class Caches {
         return (CacheManager) Classes.newInstance("com.stormpath.sdk.impl.cache.DisabledCacheManager");
     }
 
+    /**
+     * Instantiates a new {@link CacheValueCodec} that caches resource data as compact JSON byte arrays instead of
+     * trees of maps.  For example:
+     *
+     * <pre>
+     * Client client = {@link com.stormpath.sdk.client.Clients Clients}.builder().setCacheValueCodec(
+     *     <b><code>Caches.newJsonCacheValueCodec()</code></b>
+     * ).build();
+     * </pre>
+     *
+     * @return a new {@code CacheValueCodec} that caches resource data as JSON byte arrays.
+     * @see com.stormpath.sdk.client.ClientBuilder#setCacheValueCodec(CacheValueCodec)
+     * @since 1.0.0
+     */
+    public static CacheValueCodec newJsonCacheValueCodec() {
+        return (CacheValueCodec) Classes.newInstance("com.stormpath.sdk.impl.ds.JacksonCacheValueCodec");
+    }
+
     /**
      * Returns a new {@link CacheConfigurationBuilder} to configure a cache region that will store data for instances
      * of type {@code clazz}.
@@ -16,6 +16,10 @@
 package com.stormpath.sdk.client;
 
 import com.stormpath.sdk.cache.CacheManager;
+import com.stormpath.sdk.cache.CacheValueCodec;
+import com.stormpath.sdk.metrics.MetricRegistry;
+
+import java.util.concurrent.TimeUnit;
 
 /**
  * A <a href="http://en.wikipedia.org/wiki/Builder_pattern">Builder design pattern</a> used to
@@ -301,6 +305,63 @@ public interface ClientBuilder {
      */
     ClientBuilder setCacheManager(CacheManager cacheManager);
 
+    /**
+     * Sets whether resources whose cache entries have expired are revalidated with conditional GET requests
+     * ({@code If-None-Match} / {@code If-Modified-Since}) instead of being retrieved again in full.  When the server
+     * responds with {@code 304 Not Modified}, the previously cached data is cached again.  If unspecified, this
+     * value defaults to {@code false}.
+     * <p/>
+     * This only applies to resources requested without query parameters (e.g. expansions) and only has an effect if
+     * caching is enabled.
+     *
+     * @param enabled whether expired cache entries are revalidated with conditional GET requests.
+     * @return the ClientBuilder instance for method chaining
+     * @since 1.0.0
+     */
+    ClientBuilder setConditionalRevalidationEnabled(boolean enabled);
+
+    /**
+     * Enables caching of collection resource pages (e.g. the results of an {@code application.getAccounts(criteria)}
+     * query) for the specified amount of time.  All cached pages are discarded whenever the client creates, saves or
+     * deletes a resource, but modifications made by other processes are only reflected once cached pages expire, so
+     * this duration should be kept short.  If unspecified, collection pages are not cached.
+     *
+     * @param ttl      the time to live scalar value, or {@code 0} to disable collection page caching
+     * @param timeUnit the time to live unit of time
+     * @return the ClientBuilder instance for method chaining
+     * @since 1.0.0
+     */
+    ClientBuilder setCollectionCacheTimeToLive(long ttl, TimeUnit timeUnit);
+
+    /**
+     * Enables negative caching for the specified amount of time: once a resource lookup results in a
+     * {@code 404} (or an API key lookup by id finds no API key), the same lookup fails (or returns the same empty
+     * result) immediately, without a request to the server, until the entry expires or the client creates, saves or
+     * deletes a resource.  Resources created by other processes are only found once the entries expire, so this
+     * duration should be kept short (seconds, not minutes).  If unspecified, negative lookup results are not cached.
+     *
+     * @param ttl      the time to live scalar value, or {@code 0} to disable negative caching
+     * @param timeUnit the time to live unit of time
+     * @return the ClientBuilder instance for method chaining
+     * @since 1.0.0
+     */
+    ClientBuilder setNotFoundCacheTimeToLive(long ttl, TimeUnit timeUnit);
+
+    /**
+     * Sets the codec converting resource data to the representation stored in the
+     * {@link #setCacheManager(CacheManager) CacheManager}'s regions, for example
+     * {@link com.stormpath.sdk.cache.Caches#newJsonCacheValueCodec() Caches.newJsonCacheValueCodec()} to cache
+     * compact byte arrays instead of trees of maps.  This reduces the heap used by in-memory caches and the cost of
+     * serializing resources into distributed caches, at the cost of decoding the data on every cache hit.  If
+     * unspecified, resource data is cached as is.
+     *
+     * @param cacheValueCodec the codec converting resource data to the representation stored in cache regions, or
+     *                        {@code null} to cache resource data as is.
+     * @return the ClientBuilder instance for method chaining
+     * @since 1.0.0
+     */
+    ClientBuilder setCacheValueCodec(CacheValueCodec cacheValueCodec);
+
     /**
      * Overrides the default (very secure)
      * <a href="http://docs.stormpath.com/rest/product-guide/#authentication-digest">Stormpath SAuthc1 Digest
@@ -329,6 +390,9 @@ public interface ClientBuilder {
     /**
      * Sets both the timeout until a connection is established and the socket timeout (i.e. a maximum period of inactivity
      * between two consecutive data packets).  A timeout value of zero is interpreted as an infinite timeout.
+     * <p/>
+     * A socket timeout set explicitly via {@link #setSocketTimeout(int)} is retained, regardless of whether it was set
+     * before or after calling this method.
      *
      * @param timeout connection and socket timeout in milliseconds
      * @return the ClientBuilder instance for method chaining
@@ -336,6 +400,139 @@ public interface ClientBuilder {
      */
     ClientBuilder setConnectionTimeout(int timeout);
 
+    /**
+     * Sets the socket timeout (i.e. a maximum period of inactivity between two consecutive data packets), taking
+     * precedence over the socket timeout set by {@link #setConnectionTimeout(int)}.  A timeout value of zero is interpreted as an
+     * infinite timeout.
+     *
+     * @param timeout socket timeout in milliseconds
+     * @return the ClientBuilder instance for method chaining
+     * @since 1.0.0
+     */
+    ClientBuilder setSocketTimeout(int timeout);
+
+    /**
+     * Sets the maximum amount of time a request will wait to lease a connection from the client's HTTP connection
+     * pool when all pooled connections are in use.  A timeout value of zero (the default) is interpreted as an
+     * infinite timeout.
+     *
+     * @param timeout connection pool lease timeout in milliseconds
+     * @return the ClientBuilder instance for method chaining
+     * @since 1.0.0
+     */
+    ClientBuilder setConnectionRequestTimeout(int timeout);
+
+    /**
+     * Sets the maximum number of concurrent HTTP connections the client will open to the Stormpath API server.  If
+     * more requests than this are executed concurrently, the additional requests wait for a pooled connection to be
+     * released (see {@link #setConnectionRequestTimeout(int)}).  If unspecified, this value defaults to {@code 10}.
+     *
+     * <p>Applications that execute many concurrent requests (for example, many simultaneous logins per node) should
+     * increase this value.</p>
+     *
+     * @param maxConnections the maximum number of pooled connections per route (target host).
+     * @return the ClientBuilder instance for method chaining
+     * @since 1.0.0
+     */
+    ClientBuilder setMaxConnectionsPerRoute(int maxConnections);
+
+    /**
+     * Sets the maximum number of HTTP connections the client's connection pool will hold across all routes (target
+     * hosts and proxies).  If unspecified, this value defaults to {@code 20} or the
+     * {@link #setMaxConnectionsPerRoute(int) maximum per route}, whichever is greater.  It is an error to set a value
+     * lower than the maximum per route.
+     *
+     * @param maxConnections the maximum number of pooled connections across all routes.
+     * @return the ClientBuilder instance for method chaining
+     * @since 1.0.0
+     */
+    ClientBuilder setMaxConnectionsTotal(int maxConnections);
+
+    /**
+     * Sets the maximum lifetime of a pooled HTTP connection.  Connections older than this will be closed instead of
+     * reused, regardless of any keep-alive duration.  If unspecified, pooled connections may live indefinitely.
+     *
+     * @param ttl      the maximum connection lifetime scalar value
+     * @param timeUnit the maximum connection lifetime unit of time
+     * @return the ClientBuilder instance for method chaining
+     * @since 1.0.0
+     */
+    ClientBuilder setConnectionTimeToLive(long ttl, TimeUnit timeUnit);
+
+    /**
+     * Sets the amount of time a pooled HTTP connection may remain idle before it is closed.  When configured, a
+     * background daemon thread periodically closes idle and expired connections so that connections silently dropped
+     * by the server or an intermediary are not reused.  If unspecified, idle connections are not proactively closed.
+     *
+     * @param timeout  the idle timeout scalar value
+     * @param timeUnit the idle timeout unit of time
+     * @return the ClientBuilder instance for method chaining
+     * @since 1.0.0
+     */
+    ClientBuilder setIdleConnectionTimeout(long timeout, TimeUnit timeUnit);
+
+    /**
+     * Sets whether or not a pooled HTTP connection should be validated before it is reused.  Validation costs a small
+     * amount of latency per request but avoids failures caused by reusing connections closed by the server.  Enabled
+     * by default; applications that configure an {@link #setIdleConnectionTimeout(long, TimeUnit) idle connection
+     * timeout} may safely disable it.
+     *
+     * @param enabled whether or not a pooled HTTP connection should be validated before it is reused.
+     * @return the ClientBuilder instance for method chaining
+     * @since 1.0.0
+     */
+    ClientBuilder setStaleConnectionCheckEnabled(boolean enabled);
+
+    /**
+     * Sets the {@link MetricRegistry} that will receive the client's metrics: per-region cache hit ratios, sizes
+     * and eviction counts, per-endpoint request counts, latencies, retries and 429/503 responses, and HTTP connection
+     * pool statistics.
+     * <p/>
+     * If unspecified, the metrics are published as JMX MBeans in the {@code com.stormpath.sdk} domain.  Specify a
+     * {@code MetricRegistry} adapter to publish them to another metrics library instead.
+     *
+     * @param metricRegistry the registry that will receive the client's metrics
+     * @return the ClientBuilder instance for method chaining
+     * @since 1.0.0
+     */
+    ClientBuilder setMetricRegistry(MetricRegistry metricRegistry);
+
+    /**
+     * Sets the maximum number of requests per second the client will send to the Stormpath API server, across all
+     * endpoints.  Requests exceeding the rate wait for their turn instead of being sent and throttled by the server
+     * ({@code HTTP 429}).  The rate adapts downwards when the server throttles requests anyway, and recovers
+     * gradually afterwards.  If unspecified, requests are not rate limited by the client.
+     *
+     * @param requestsPerSecond the maximum number of requests per second, or {@code 0} for no limit.
+     * @return the ClientBuilder instance for method chaining
+     * @see #setRateLimitTimeout(long, TimeUnit)
+     * @since 1.0.0
+     */
+    ClientBuilder setRateLimit(double requestsPerSecond);
+
+    /**
+     * Sets the maximum number of requests per second the client will send to any single endpoint (HTTP method and
+     * resource path, e.g. {@code POST /v1/applications/{id}/loginAttempts}), in addition to any
+     * {@link #setRateLimit(double) client-wide rate limit}.  If unspecified, endpoints are not rate limited
+     * individually.
+     *
+     * @param requestsPerSecond the maximum number of requests per second per endpoint, or {@code 0} for no limit.
+     * @return the ClientBuilder instance for method chaining
+     * @since 1.0.0
+     */
+    ClientBuilder setEndpointRateLimit(double requestsPerSecond);
+
+    /**
+     * Sets the maximum amount of time a rate limited request will wait for its turn.  Requests that cannot be sent
+     * within this time fail immediately instead of waiting.  If unspecified, this value defaults to 10 seconds.
+     *
+     * @param timeout  the maximum wait scalar value, or {@code 0} to fail immediately when the rate is exceeded
+     * @param timeUnit the maximum wait unit of time
+     * @return the ClientBuilder instance for method chaining
+     * @since 1.0.0
+     */
+    ClientBuilder setRateLimitTimeout(long timeout, TimeUnit timeUnit);
+
     /**
      * Sets the base URL of the Stormpath REST API to use.  If unspecified, this value defaults to
      * {@code https://api.stormpath.com/v1} - the most common use case for Stormpath's public SaaS cloud.
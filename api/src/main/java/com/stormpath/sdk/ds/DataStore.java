@@ -19,6 +19,8 @@ import com.stormpath.sdk.api.ApiKey;
 import com.stormpath.sdk.cache.CacheManager;
 import com.stormpath.sdk.resource.Resource;
 
+import java.util.concurrent.Future;
+
 /**
  * A {@code DataStore} is the liaison between client SDK components and the raw Stormpath REST API.  It is responsible
  * for converting SDK objects (Account, Directory, Group instances, etc) into REST HTTP requests, executing those
@@ -53,6 +55,22 @@ public interface DataStore {
      */
     <T extends Resource> T getResource(String href, Class<T> clazz);
 
+    /**
+     * Asynchronously looks up (retrieves) the resource at the specified {@code href} URL, returning immediately with a
+     * {@link Future} that will reflect the resource once it has been retrieved.  This is otherwise identical to
+     * {@link #getResource(String, Class)}: the same caching rules apply and any
+     * {@link com.stormpath.sdk.resource.ResourceException ResourceException} that would have been thrown is reported
+     * as the cause of the {@link java.util.concurrent.ExecutionException ExecutionException} thrown by
+     * {@link Future#get()}.
+     *
+     * @param href  the resource URL of the resource to retrieve
+     * @param clazz the {@link Resource} sub-interface to instantiate
+     * @param <T>   type parameter indicating the returned value is a {@link Resource} instance.
+     * @return a {@code Future} reflecting the resource at the specified {@code href} URL.
+     * @since 1.0.0
+     */
+    <T extends Resource> Future<T> getResourceAsync(String href, Class<T> clazz);
+
     /**
      * Returns the ApiKey used to authenticate HTTPS requests sent to the Stormpath API server.
      *
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2014 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.metrics;
+
+/**
+ * A monotonically increasing count of events, for example the number of requests sent to an endpoint.
+ *
+ * @see MetricRegistry#counter(String)
+ * @since 1.0.0
+ */
+public interface Counter {
+
+    /**
+     * Increments the count by one.
+     */
+    void increment();
+
+    /**
+     * Increments the count by the specified amount.
+     *
+     * @param n the amount to add to the count
+     */
+    void increment(long n);
+
+    /**
+     * Returns the current count.
+     *
+     * @return the current count.
+     */
+    long getCount();
+}
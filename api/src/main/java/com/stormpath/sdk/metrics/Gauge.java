@@ -0,0 +1,33 @@
+/*
+ * Copyright 2014 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.metrics;
+
+/**
+ * A value that is sampled when it is read, for example the number of entries of a cache region.
+ *
+ * @param <T> the type of the value
+ * @see MetricRegistry#register(String, Gauge)
+ * @since 1.0.0
+ */
+public interface Gauge<T> {
+
+    /**
+     * Returns the current value.
+     *
+     * @return the current value.
+     */
+    T getValue();
+}
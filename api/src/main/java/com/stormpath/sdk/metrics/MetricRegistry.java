@@ -0,0 +1,61 @@
+/*
+ * Copyright 2014 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.metrics;
+
+/**
+ * A MetricRegistry receives the metrics measured by a {@link com.stormpath.sdk.client.Client Client}: cache region
+ * hit ratios, sizes and eviction counts, as well as per-endpoint request counts, latencies, retries and throttling,
+ * and HTTP connection pool statistics.
+ * <p/>
+ * The default implementation publishes these metrics as JMX MBeans.  This interface provides an abstraction (adapter)
+ * API on top of other metrics libraries, allowing a Stormpath SDK user to publish the client's metrics to the
+ * monitoring system they already use:
+ * <pre>
+ * MetricRegistry registry = new MyMetricsLibraryAdapter(...);
+ * Client client = {@link com.stormpath.sdk.client.Clients Clients}.builder().setMetricRegistry(registry).build();
+ * </pre>
+ * Metric names are dot-separated, for example {@code cache.com.stormpath.sdk.account.Account.hitRatio} or
+ * {@code http.GET /v1/accounts/{id}.latency}.  Implementations are invoked on the client's request path and must be
+ * thread-safe and inexpensive.
+ *
+ * @since 1.0.0
+ */
+public interface MetricRegistry {
+
+    /**
+     * Returns the counter with the specified {@code name}, creating it if it does not yet exist.
+     *
+     * @param name the name of the counter
+     * @return the counter with the specified {@code name}.
+     */
+    Counter counter(String name);
+
+    /**
+     * Returns the timer with the specified {@code name}, creating it if it does not yet exist.
+     *
+     * @param name the name of the timer
+     * @return the timer with the specified {@code name}.
+     */
+    Timer timer(String name);
+
+    /**
+     * Registers a gauge under the specified {@code name}, replacing any gauge previously registered under that name.
+     *
+     * @param name  the name of the gauge
+     * @param gauge the gauge to register
+     */
+    void register(String name, Gauge<?> gauge);
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2014 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.metrics;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records the distribution of the durations of an event, for example the latency of the requests sent to an
+ * endpoint.
+ *
+ * @see MetricRegistry#timer(String)
+ * @since 1.0.0
+ */
+public interface Timer {
+
+    /**
+     * Records an event of the specified duration.
+     *
+     * @param duration the duration of the event
+     * @param timeUnit the time unit of the {@code duration} argument
+     */
+    void update(long duration, TimeUnit timeUnit);
+
+    /**
+     * Returns the number of recorded events.
+     *
+     * @return the number of recorded events.
+     */
+    long getCount();
+}
@@ -128,6 +128,25 @@ public interface Criteria<T extends Criteria<T>> {
      */
     T limitTo(int limit);
 
+    /**
+     * Enables page prefetching when iterating over the resulting collection: while the caller consumes the current
+     * page, up to {@code pages} subsequent pages are requested from the server in the background.  This can
+     * dramatically reduce the time taken to walk large collections, as page requests are no longer strictly serial.
+     * <p/>
+     * Prefetching is bounded: pages beyond the collection's reported {@link
+     * com.stormpath.sdk.resource.CollectionResource#getSize() size} are never requested, and the number of pages held
+     * in memory ahead of the caller is capped at {@code 10} regardless of the value specified.  A value of {@code 0}
+     * (the default) disables prefetching.
+     * <p/>
+     * This setting only affects client-side iteration; it is not sent to the server.
+     *
+     * @param pages the maximum number of pages to request ahead of the page currently being iterated.
+     * @return the criteria instance for method chaining
+     * @see #limitTo(int)
+     * @since 1.0.0
+     */
+    T withPrefetch(int pages);
+
     /**
      * Returns {@code true} if this instance does not yet reflect any criteria conditions or orderBy statements,
      * {@code false} otherwise.
@@ -60,4 +60,27 @@ public interface CollectionResource<T extends Resource> extends Resource, Iterab
      */
     public int getSize();
 
+    /**
+     * Visits every resource in the collection, starting at this collection's {@link #getOffset() offset}, fetching
+     * and visiting pages concurrently across up to {@code parallelism} worker threads.  This method blocks until all
+     * resources have been visited.
+     * <p/>
+     * Unlike {@link #iterator() iteration}, which must request each page only after the previous one has been read,
+     * this method uses the collection {@link #getSize() size} reported with the first page to split the remaining
+     * offset range into independent page requests.  It is therefore well suited to reporting or reconciliation jobs
+     * over large collections where the order in which resources are visited does not matter.  If the server does not
+     * report the collection size, or {@code parallelism} is {@code 1}, pages are visited sequentially in the calling
+     * thread.
+     * <p/>
+     * If the visitor (or a page request) throws an exception, no further pages are requested and the first exception
+     * encountered is propagated to the caller once in-flight pages have finished.
+     * <p/>
+     * <b>Usage Note:</b> resources are visited in no particular order and, when {@code parallelism} is greater than
+     * {@code 1}, the visitor is invoked concurrently from multiple threads and must be thread-safe.
+     *
+     * @param visitor     the visitor to invoke for each resource in the collection
+     * @param parallelism the maximum number of pages to fetch and visit concurrently.  Must be greater than zero.
+     * @since 1.0.0
+     */
+    void forEach(ResourceVisitor<? super T> visitor, int parallelism);
 }
@@ -0,0 +1,37 @@
+/*
+ * Copyright 2014 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.resource;
+
+/**
+ * A {@code ResourceVisitor} is invoked once for each resource in a {@link CollectionResource} during a
+ * {@link CollectionResource#forEach(ResourceVisitor, int) bulk traversal}.
+ *
+ * @param <T> the type of resource visited
+ * @see CollectionResource#forEach(ResourceVisitor, int)
+ * @since 1.0.0
+ */
+public interface ResourceVisitor<T extends Resource> {
+
+    /**
+     * Visits the specified resource.
+     * <p/>
+     * <b>Thread Safety:</b> when a collection is traversed with a parallelism greater than {@code 1}, this method is
+     * invoked concurrently from multiple threads and must therefore be thread-safe.
+     *
+     * @param resource the resource to visit
+     */
+    void visit(T resource);
+}
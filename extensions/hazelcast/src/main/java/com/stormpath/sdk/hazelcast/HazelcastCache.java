@@ -15,10 +15,21 @@
  */
 package com.stormpath.sdk.hazelcast;
 
-import com.stormpath.sdk.cache.Cache;
+import com.hazelcast.core.IMap;
+import com.stormpath.sdk.cache.BulkCache;
+import com.stormpath.sdk.impl.util.Duration;
 import com.stormpath.sdk.lang.Assert;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 /**
  * A simple {@code Cache} implementation that merely wraps a {@link ConcurrentMap} obtained from a
@@ -28,18 +39,63 @@ import java.util.concurrent.ConcurrentMap;
  * @param <K> cache key type
  * @param <V> cache value type
  */
-public class HazelcastCache<K, V> implements Cache<K, V> {
+public class HazelcastCache<K, V> implements BulkCache<K, V> {
 
     private final ConcurrentMap<K, V> HAZELCAST_MAP;
 
+    private final long timeToLiveMillis; //@since 1.0.0
+
     /**
      * Creates a new instance, delegating all caching operations to the specified {@code hazelcastMap}.
      *
      * @param hazelcastMap the backing map instance that will be used to satisfy caching operations.
      */
     public HazelcastCache(ConcurrentMap<K, V> hazelcastMap) {
+        this(hazelcastMap, null);
+    }
+
+    /**
+     * Creates a new instance, delegating all caching operations to the specified {@code hazelcastMap} and expiring
+     * entries once the specified {@code timeToLive} has elapsed since they were added.  The Time-to-Live is set on
+     * each entry as it is added, so it only applies if the backing map is a Hazelcast {@link IMap}.
+     *
+     * @param hazelcastMap the backing map instance that will be used to satisfy caching operations.
+     * @param timeToLive   the amount of time entries may exist until they are removed from the cache, or {@code null}
+     *                     to retain entries until they are evicted per the Hazelcast map configuration.
+     * @since 1.0.0
+     */
+    public HazelcastCache(ConcurrentMap<K, V> hazelcastMap, Duration timeToLive) {
         Assert.notNull(hazelcastMap, "hazelcastMap argument cannot be null.");
+        if (timeToLive != null) {
+            Assert.isTrue(timeToLive.getValue() > 0, "timeToLive duration must be greater than zero");
+        }
         this.HAZELCAST_MAP = hazelcastMap;
+        this.timeToLiveMillis = timeToLive != null ? timeToLive.getTimeUnit().toMillis(timeToLive.getValue()) : 0;
+    }
+
+    /**
+     * Returns the Hazelcast map backing this cache.
+     *
+     * @return the Hazelcast map backing this cache.
+     * @since 1.0.0
+     */
+    public ConcurrentMap<K, V> getHazelcastMap() {
+        return HAZELCAST_MAP;
+    }
+
+    /**
+     * Returns the Time-to-Live applied to each entry added to this cache, in milliseconds, or {@code 0} if entries
+     * are retained until they are evicted per the Hazelcast map configuration.
+     *
+     * @return the Time-to-Live applied to each entry added to this cache, in milliseconds, or {@code 0}.
+     * @since 1.0.0
+     */
+    public long getTimeToLiveMillis() {
+        return timeToLiveMillis;
+    }
+
+    private boolean isTimeToLiveApplicable() {
+        return timeToLiveMillis > 0 && HAZELCAST_MAP instanceof IMap;
     }
 
     @Override
@@ -49,6 +105,9 @@ public class HazelcastCache<K, V> implements Cache<K, V> {
 
     @Override
     public V put(K key, V value) {
+        if (isTimeToLiveApplicable()) {
+            return ((IMap<K, V>) HAZELCAST_MAP).put(key, value, timeToLiveMillis, TimeUnit.MILLISECONDS);
+        }
         return HAZELCAST_MAP.put(key, value);
     }
 
@@ -56,4 +115,83 @@ public class HazelcastCache<K, V> implements Cache<K, V> {
     public V remove(K key) {
         return HAZELCAST_MAP.remove(key);
     }
+
+    /**
+     * Returns the cached values stored under the specified {@code keys}, retrieving them from the cluster in a single
+     * round trip if the backing map is a Hazelcast {@link IMap}.
+     *
+     * @param keys the keys that the values were previously added with
+     * @return the cached values keyed by their cache keys, never {@code null}.
+     * @since 1.0.0
+     */
+    @Override
+    public Map<K, V> getAll(Collection<? extends K> keys) {
+        if (HAZELCAST_MAP instanceof IMap) {
+            return ((IMap<K, V>) HAZELCAST_MAP).getAll(new LinkedHashSet<K>(keys));
+        }
+        Map<K, V> values = new LinkedHashMap<K, V>(keys.size());
+        for (K key : keys) {
+            V value = HAZELCAST_MAP.get(key);
+            if (value != null) {
+                values.put(key, value);
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Adds all of the specified entries, sending them to the cluster in a single round trip per member.  If a
+     * Time-to-Live applies, which {@code IMap.putAll} does not support, the entries are instead all sent
+     * asynchronously before waiting for the cluster to acknowledge them.
+     *
+     * @param entries the values to be stored in the cache, keyed by the keys used to identify them.
+     * @since 1.0.0
+     */
+    @Override
+    public void putAll(Map<? extends K, ? extends V> entries) {
+        if (!isTimeToLiveApplicable()) {
+            HAZELCAST_MAP.putAll(entries);
+            return;
+        }
+
+        IMap<K, V> map = (IMap<K, V>) HAZELCAST_MAP;
+        List<Future<V>> futures = new ArrayList<Future<V>>(entries.size());
+        for (Map.Entry<? extends K, ? extends V> entry : entries.entrySet()) {
+            futures.add(map.putAsync(entry.getKey(), entry.getValue(), timeToLiveMillis, TimeUnit.MILLISECONDS));
+        }
+        try {
+            for (Future<V> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IllegalStateException("Unable to add entries to Hazelcast map: " + cause.getMessage(), cause);
+        }
+    }
+
+    /**
+     * Removes the cached values stored under the specified {@code keys}.  If the backing map is a Hazelcast
+     * {@link IMap}, the removed values are not returned from the cluster.
+     *
+     * @param keys the keys used to identify the objects being stored.
+     * @since 1.0.0
+     */
+    @Override
+    public void removeAll(Collection<? extends K> keys) {
+        if (HAZELCAST_MAP instanceof IMap) {
+            IMap<K, V> map = (IMap<K, V>) HAZELCAST_MAP;
+            for (K key : keys) {
+                map.delete(key);
+            }
+            return;
+        }
+        for (K key : keys) {
+            HAZELCAST_MAP.remove(key);
+        }
+    }
 }
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2014 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.hazelcast;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.ITopic;
+import com.hazelcast.core.Message;
+import com.hazelcast.core.MessageListener;
+import com.stormpath.sdk.impl.cache.CacheInvalidation;
+import com.stormpath.sdk.impl.cache.CacheInvalidationBus;
+import com.stormpath.sdk.impl.cache.CacheInvalidationListener;
+import com.stormpath.sdk.lang.Assert;
+
+/**
+ * A {@link CacheInvalidationBus} that propagates invalidations between the nodes of a Hazelcast cluster (and its
+ * clients) over a Hazelcast {@link ITopic}.  Use it together with a
+ * {@link com.stormpath.sdk.impl.cache.NearCacheManager NearCacheManager} in front of a {@link HazelcastCacheManager}:
+ *
+ * <pre>
+ * HazelcastInstance hazelcast = getMyHazelcastInstance();
+ * CacheManager cacheManager = new NearCacheManager(new HazelcastCacheManager(hazelcast),
+ *                                                  <b>new HazelcastCacheInvalidationBus(hazelcast)</b>);
+ * </pre>
+ *
+ * @since 1.0.0
+ */
+public class HazelcastCacheInvalidationBus implements CacheInvalidationBus {
+
+    /**
+     * The name of the topic used if none is specified.
+     */
+    public static final String DEFAULT_TOPIC_NAME = "stormpath-cache-invalidations";
+
+    private final ITopic<CacheInvalidation> topic;
+
+    /**
+     * Creates a new instance publishing invalidations to the {@link #DEFAULT_TOPIC_NAME default topic}.
+     *
+     * @param hazelcastInstance the {@code HazelcastInstance} (or {@code HazelcastClient}) providing the topic.
+     */
+    public HazelcastCacheInvalidationBus(HazelcastInstance hazelcastInstance) {
+        this(hazelcastInstance, DEFAULT_TOPIC_NAME);
+    }
+
+    /**
+     * Creates a new instance publishing invalidations to the topic with the specified name.
+     *
+     * @param hazelcastInstance the {@code HazelcastInstance} (or {@code HazelcastClient}) providing the topic.
+     * @param topicName         the name of the topic
+     */
+    public HazelcastCacheInvalidationBus(HazelcastInstance hazelcastInstance, String topicName) {
+        Assert.notNull(hazelcastInstance, "HazelcastInstance argument cannot be null.");
+        Assert.hasText(topicName, "topicName argument cannot be null or empty.");
+        this.topic = hazelcastInstance.getTopic(topicName);
+    }
+
+    @Override
+    public void publish(CacheInvalidation invalidation) {
+        topic.publish(invalidation);
+    }
+
+    @Override
+    public void addListener(final CacheInvalidationListener listener) {
+        Assert.notNull(listener, "listener cannot be null.");
+        topic.addMessageListener(new MessageListener<CacheInvalidation>() {
+            @Override
+            public void onMessage(Message<CacheInvalidation> message) {
+                listener.onInvalidation(message.getMessageObject());
+            }
+        });
+    }
+}
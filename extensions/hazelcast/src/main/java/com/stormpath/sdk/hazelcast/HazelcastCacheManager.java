@@ -15,12 +15,23 @@
  */
 package com.stormpath.sdk.hazelcast;
 
+import com.hazelcast.config.Config;
+import com.hazelcast.config.MapConfig;
+import com.hazelcast.config.NearCacheConfig;
 import com.hazelcast.core.HazelcastInstance;
 import com.stormpath.sdk.cache.Cache;
 import com.stormpath.sdk.cache.CacheManager;
+import com.stormpath.sdk.impl.cache.CacheConfiguration;
+import com.stormpath.sdk.impl.util.Duration;
 import com.stormpath.sdk.lang.Assert;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
 
 /**
  * A {@code CacheManager} implementation that manages and returns {@link Cache} instances backed by
@@ -79,12 +90,40 @@ import java.util.concurrent.ConcurrentMap;
  * Client stormpathClient = {@link com.stormpath.sdk.client.Clients Clients}.builder()<b>.setCacheManager(cacheManager)</b>.build();
  * </pre>
  *
+ * <h3>Time-To-Live, Time-To-Idle and Near Caches</h3>
+ *
+ * <p>Like the SDK's default cache manager, a {@code HazelcastCacheManager} can be configured with
+ * {@link #setDefaultTimeToLive(Duration) default} and {@link #setCacheConfigurations(Collection) region-specific}
+ * Time-To-Live and Time-To-Idle settings, and with {@link #setNearCacheConfigs(Map) near cache} settings for
+ * read-heavy regions:</p>
+ * <ul>
+ * <li>The Time-To-Live is applied to each entry as it is written ({@code IMap.put(key, value, ttl, timeUnit)}), so
+ * it is honored whether the {@code HazelcastInstance} is a cluster member or a client.</li>
+ * <li>Hazelcast only supports Time-To-Idle ({@code max-idle-seconds}) and near caches as map configuration.  If the
+ * {@code HazelcastInstance} is a cluster member, a map configuration carrying these settings is added for the region
+ * before the map is first acquired, unless the Hazelcast configuration already defines one with the region's exact
+ * name (explicit Hazelcast configuration always wins).  That configuration is a copy of the one Hazelcast would
+ * otherwise use for the map - a matching wildcard configuration or the {@code default} one - so its other settings
+ * (backup count, eviction policy, etc) are retained.  A {@code HazelcastClient}'s configuration cannot be changed
+ * once it is running, so when using a client these settings must be part of the cluster's map configuration and the
+ * client's near cache configuration instead.</li>
+ * </ul>
+ *
  * @since 1.0.RC3
  */
 public class HazelcastCacheManager implements CacheManager {
 
+    private static final Logger log = LoggerFactory.getLogger(HazelcastCacheManager.class);
+
     private HazelcastInstance hazelcastInstance;
 
+    private final ConcurrentMap<String, CacheConfiguration> configs = new ConcurrentHashMap<String, CacheConfiguration>(); //@since 1.0.0
+    private final ConcurrentMap<String, NearCacheConfig> nearCacheConfigs = new ConcurrentHashMap<String, NearCacheConfig>(); //@since 1.0.0
+    private final ConcurrentMap<String, HazelcastCache> caches = new ConcurrentHashMap<String, HazelcastCache>(); //@since 1.0.0
+
+    private volatile Duration defaultTimeToLive; //@since 1.0.0
+    private volatile Duration defaultTimeToIdle; //@since 1.0.0
+
     /**
      * Creates a new {@code HazelcastCacheManager} that, after creation, must be configured with a
      * {@link HazelcastInstance} via the
@@ -117,12 +156,199 @@ public class HazelcastCacheManager implements CacheManager {
     public void setHazelcastInstance(HazelcastInstance hazelcastInstance) {
         Assert.notNull(hazelcastInstance, "HazelcastInstance argument cannot be null.");
         this.hazelcastInstance = hazelcastInstance;
+        this.caches.clear();
+    }
+
+    /**
+     * Returns the default Time-To-Live applied to entries of regions without a region-specific
+     * {@link CacheConfiguration#getTimeToLive() timeToLive}, or {@code null} if entries of such regions are retained
+     * until they are evicted per the Hazelcast map configuration.
+     *
+     * @return the default Time-To-Live applied to entries of regions without a region-specific timeToLive.
+     * @since 1.0.0
+     */
+    public Duration getDefaultTimeToLive() {
+        return defaultTimeToLive;
+    }
+
+    /**
+     * Sets the default Time-To-Live applied to entries of regions without a region-specific
+     * {@link CacheConfiguration#getTimeToLive() timeToLive}.  This setting does not affect regions already acquired
+     * via {@link #getCache(String)}.
+     *
+     * @param defaultTimeToLive the default Time-To-Live applied to entries of regions without a region-specific
+     *                          timeToLive, or {@code null} to retain them until they are evicted per the Hazelcast
+     *                          map configuration.
+     * @since 1.0.0
+     */
+    public void setDefaultTimeToLive(Duration defaultTimeToLive) {
+        assertPositive(defaultTimeToLive, "defaultTimeToLive");
+        this.defaultTimeToLive = defaultTimeToLive;
+    }
+
+    /**
+     * Convenience method that sets the {@link #setDefaultTimeToLive(Duration) defaultTimeToLive} value using a
+     * {@code TimeUnit} of {@link TimeUnit#SECONDS}.
+     *
+     * @param seconds the {@link #setDefaultTimeToLive(Duration) defaultTimeToLive} value in seconds.
+     * @since 1.0.0
+     */
+    public void setDefaultTimeToLiveSeconds(long seconds) {
+        setDefaultTimeToLive(new Duration(seconds, TimeUnit.SECONDS));
+    }
+
+    /**
+     * Returns the default Time-To-Idle applied to regions without a region-specific
+     * {@link CacheConfiguration#getTimeToIdle() timeToIdle}, or {@code null} if none applies.
+     *
+     * @return the default Time-To-Idle applied to regions without a region-specific timeToIdle.
+     * @since 1.0.0
+     */
+    public Duration getDefaultTimeToIdle() {
+        return defaultTimeToIdle;
+    }
+
+    /**
+     * Sets the default Time-To-Idle applied to regions without a region-specific
+     * {@link CacheConfiguration#getTimeToIdle() timeToIdle}.  Hazelcast supports Time-To-Idle with a granularity of
+     * seconds and only as map configuration - see the class documentation for when it can be applied.
+     *
+     * @param defaultTimeToIdle the default Time-To-Idle applied to regions without a region-specific timeToIdle, or
+     *                          {@code null} if none applies.
+     * @since 1.0.0
+     */
+    public void setDefaultTimeToIdle(Duration defaultTimeToIdle) {
+        assertPositive(defaultTimeToIdle, "defaultTimeToIdle");
+        this.defaultTimeToIdle = defaultTimeToIdle;
+    }
+
+    /**
+     * Convenience method that sets the {@link #setDefaultTimeToIdle(Duration) defaultTimeToIdle} value using a
+     * {@code TimeUnit} of {@link TimeUnit#SECONDS}.
+     *
+     * @param seconds the {@link #setDefaultTimeToIdle(Duration) defaultTimeToIdle} value in seconds.
+     * @since 1.0.0
+     */
+    public void setDefaultTimeToIdleSeconds(long seconds) {
+        setDefaultTimeToIdle(new Duration(seconds, TimeUnit.SECONDS));
+    }
+
+    /**
+     * Sets region-specific configuration entries, to be utilized when regions are first acquired via
+     * {@link #getCache(String)}.
+     *
+     * @param configs region-specific configuration entries.
+     * @since 1.0.0
+     */
+    public void setCacheConfigurations(Collection<CacheConfiguration> configs) {
+        Assert.notNull(configs, "Argument cannot be null.  To remove all configuration, set an empty collection.");
+        this.configs.clear();
+        for (CacheConfiguration config : configs) {
+            this.configs.put(config.getName(), config);
+        }
+    }
+
+    /**
+     * Sets the near cache configuration of read-heavy regions, keyed by region name.  Near caches keep recently read
+     * entries in local memory, avoiding a network round trip for most reads of these regions at the expense of
+     * memory and of (briefly) stale reads after other members modify an entry.  See the class documentation for when
+     * near caches can be configured by this cache manager.
+     *
+     * @param nearCacheConfigs the near cache configuration of read-heavy regions, keyed by region name.
+     * @since 1.0.0
+     */
+    public void setNearCacheConfigs(Map<String, NearCacheConfig> nearCacheConfigs) {
+        Assert.notNull(nearCacheConfigs, "Argument cannot be null.  To remove all near caches, set an empty map.");
+        this.nearCacheConfigs.clear();
+        this.nearCacheConfigs.putAll(nearCacheConfigs);
+    }
+
+    private static void assertPositive(Duration d, String name) {
+        if (d != null) {
+            Assert.isTrue(d.getValue() > 0, name + " duration must be greater than zero");
+        }
     }
 
     @Override
+    @SuppressWarnings("unchecked")
     public <K, V> Cache<K, V> getCache(String name) {
         Assert.hasText(name, "name argument cannot be null or empty.");
-        ConcurrentMap<K, V> hazelcastMap = hazelcastInstance.getMap(name);
-        return new HazelcastCache<K, V>(hazelcastMap);
+
+        HazelcastCache cache = caches.get(name);
+        if (cache == null) {
+            cache = createCache(name);
+            HazelcastCache existing = caches.putIfAbsent(name, cache);
+            if (existing != null) {
+                cache = existing;
+            }
+        }
+        return cache;
+    }
+
+    /**
+     * Creates the cache for the region with the specified name, applying the region's Time-To-Live, Time-To-Idle and
+     * near cache settings.
+     *
+     * @param name the name of the region
+     * @return the cache for the region with the specified name.
+     * @since 1.0.0
+     */
+    protected HazelcastCache createCache(String name) {
+        Duration ttl = this.defaultTimeToLive;
+        Duration tti = this.defaultTimeToIdle;
+
+        CacheConfiguration config = this.configs.get(name);
+        if (config != null) {
+            if (config.getTimeToLive() != null) {
+                ttl = config.getTimeToLive();
+            }
+            if (config.getTimeToIdle() != null) {
+                tti = config.getTimeToIdle();
+            }
+        }
+
+        NearCacheConfig nearCacheConfig = this.nearCacheConfigs.get(name);
+        if (tti != null || nearCacheConfig != null) {
+            //must happen before the map is first acquired - Hazelcast reads a map's configuration only once:
+            addMapConfig(name, tti, nearCacheConfig);
+        }
+
+        ConcurrentMap hazelcastMap = hazelcastInstance.getMap(name);
+        return new HazelcastCache(hazelcastMap, ttl);
+    }
+
+    private void addMapConfig(String name, Duration tti, NearCacheConfig nearCacheConfig) {
+        Config config;
+        try {
+            config = hazelcastInstance.getConfig();
+        } catch (UnsupportedOperationException e) {
+            log.warn("Unable to apply the timeToIdle or near cache settings of cache region '{}': the configuration " +
+                    "of a HazelcastClient cannot be changed.  Configure them in the Hazelcast cluster and client " +
+                    "configuration instead.", name);
+            return;
+        }
+
+        if (config.getMapConfigs().containsKey(name)) {
+            log.debug("Hazelcast configuration already defines map '{}' - its settings take precedence.", name);
+            return;
+        }
+
+        //start from the configuration Hazelcast would otherwise use for this map (a matching wildcard configuration,
+        //or a copy of the 'default' one), so that its other settings (backups, eviction, etc) are retained:
+        MapConfig mapConfig = config.getMapConfig(name);
+        if (!name.equals(mapConfig.getName())) {
+            //a wildcard configuration shared with other maps - never modify it:
+            mapConfig = new MapConfig(mapConfig);
+            mapConfig.setName(name);
+            config.addMapConfig(mapConfig);
+        }
+        if (tti != null) {
+            //Hazelcast's granularity is seconds - round up so that entries are never evicted early:
+            long seconds = (tti.getTimeUnit().toMillis(tti.getValue()) + 999) / 1000;
+            mapConfig.setMaxIdleSeconds((int) Math.min(seconds, Integer.MAX_VALUE));
+        }
+        if (nearCacheConfig != null) {
+            mapConfig.setNearCacheConfig(nearCacheConfig);
+        }
     }
 }
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2014 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.hazelcast
+
+import com.hazelcast.core.HazelcastInstance
+import com.hazelcast.core.ITopic
+import com.hazelcast.core.Message
+import com.hazelcast.core.MessageListener
+import com.stormpath.sdk.impl.cache.CacheInvalidation
+import com.stormpath.sdk.impl.cache.CacheInvalidationListener
+import org.easymock.Capture
+import org.testng.annotations.Test
+
+import static org.easymock.EasyMock.*
+import static org.testng.Assert.*
+
+/**
+ * @since 1.0.0
+ */
+class HazelcastCacheInvalidationBusTest {
+
+    @Test(expectedExceptions = IllegalArgumentException)
+    void testNullHazelcastInstance() {
+        new HazelcastCacheInvalidationBus(null)
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException)
+    void testEmptyTopicName() {
+        new HazelcastCacheInvalidationBus(createStrictMock(HazelcastInstance), '')
+    }
+
+    @Test
+    void testPublishUsesDefaultTopic() {
+        def hz = createStrictMock(HazelcastInstance)
+        def topic = createStrictMock(ITopic)
+        def invalidation = new CacheInvalidation('node1', 'foo', ['a', 'b'])
+
+        expect(hz.getTopic(eq(HazelcastCacheInvalidationBus.DEFAULT_TOPIC_NAME))).andReturn(topic)
+        topic.publish(same(invalidation))
+
+        replay hz, topic
+
+        new HazelcastCacheInvalidationBus(hz).publish(invalidation)
+
+        verify hz, topic
+    }
+
+    @Test
+    void testListenerReceivesMessages() {
+        def hz = createStrictMock(HazelcastInstance)
+        def topic = createStrictMock(ITopic)
+        def listener = new Capture<MessageListener>()
+        def invalidation = new CacheInvalidation('node1', 'foo', 'a')
+        def received = []
+
+        expect(hz.getTopic(eq('invalidations'))).andReturn(topic)
+        expect(topic.addMessageListener(capture(listener))).andReturn('listenerId')
+
+        replay hz, topic
+
+        def bus = new HazelcastCacheInvalidationBus(hz, 'invalidations')
+        bus.addListener({ received << it } as CacheInvalidationListener)
+        listener.value.onMessage(new Message('invalidations', invalidation, System.currentTimeMillis(), null))
+
+        assertEquals received, [invalidation]
+
+        verify hz, topic
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException)
+    void testNullListener() {
+        def hz = createStrictMock(HazelcastInstance)
+        def topic = createStrictMock(ITopic)
+
+        expect(hz.getTopic(eq(HazelcastCacheInvalidationBus.DEFAULT_TOPIC_NAME))).andReturn(topic)
+
+        replay hz, topic
+
+        new HazelcastCacheInvalidationBus(hz).addListener(null)
+    }
+
+    /**
+     * Topic messages are serialized by Hazelcast, so invalidations must survive a serialization round trip.
+     */
+    @Test
+    void testInvalidationIsSerializable() {
+        def invalidation = new CacheInvalidation('node1', 'foo', ['a', 'b'])
+
+        def bytes = new ByteArrayOutputStream()
+        new ObjectOutputStream(bytes).withStream { it.writeObject(invalidation) }
+        def copy = (CacheInvalidation) new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray())).readObject()
+
+        assertEquals copy.origin, 'node1'
+        assertEquals copy.region, 'foo'
+        assertEquals copy.keys, ['a', 'b']
+    }
+}
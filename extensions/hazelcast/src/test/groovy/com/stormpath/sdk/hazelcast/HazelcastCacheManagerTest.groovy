@@ -15,10 +15,17 @@
  */
 package com.stormpath.sdk.hazelcast
 
+import com.hazelcast.config.Config
+import com.hazelcast.config.MapConfig
+import com.hazelcast.config.NearCacheConfig
 import com.hazelcast.core.HazelcastInstance
 import com.hazelcast.core.IMap
+import com.stormpath.sdk.impl.cache.DefaultCacheConfiguration
+import com.stormpath.sdk.impl.util.Duration
 import org.testng.annotations.Test
 
+import java.util.concurrent.TimeUnit
+
 import static org.easymock.EasyMock.*
 import static org.testng.Assert.*
 
@@ -85,4 +92,161 @@ class HazelcastCacheManagerTest {
 
         verify hz, imap
     }
+
+    //@since 1.0.0
+    @Test
+    void testGetCacheReturnsSameInstance() {
+        def hz = createStrictMock(HazelcastInstance)
+        def imap = createStrictMock(IMap)
+        def cm = new HazelcastCacheManager(hz)
+
+        expect(hz.getMap(eq('foo'))).andReturn(imap)
+
+        replay hz, imap
+
+        assertSame cm.getCache('foo'), cm.getCache('foo')
+
+        verify hz, imap
+    }
+
+    //@since 1.0.0
+    @Test
+    void testTimeToLive() {
+        def hz = createStrictMock(HazelcastInstance)
+        def imap = createStrictMock(IMap)
+        def cm = new HazelcastCacheManager(hz)
+        cm.setDefaultTimeToLiveSeconds(60)
+        cm.setCacheConfigurations([new DefaultCacheConfiguration('bar', new Duration(10, TimeUnit.SECONDS), null)])
+
+        expect(hz.getMap(eq('foo'))).andReturn(imap)
+        expect(hz.getMap(eq('bar'))).andReturn(imap)
+
+        replay hz, imap
+
+        assertEquals(((HazelcastCache) cm.getCache('foo')).timeToLiveMillis, 60000L)
+        assertEquals(((HazelcastCache) cm.getCache('bar')).timeToLiveMillis, 10000L)
+
+        verify hz, imap
+    }
+
+    //@since 1.0.0
+    @Test
+    void testTimeToIdleAndNearCacheAreAddedToMemberConfig() {
+        def hz = createStrictMock(HazelcastInstance)
+        def imap = createStrictMock(IMap)
+        def config = new Config()
+        def nearCacheConfig = new NearCacheConfig()
+        def cm = new HazelcastCacheManager(hz)
+        cm.setCacheConfigurations([new DefaultCacheConfiguration('foo', null, new Duration(1500, TimeUnit.MILLISECONDS))])
+        cm.setNearCacheConfigs([foo: nearCacheConfig])
+
+        expect(hz.getConfig()).andReturn(config)
+        expect(hz.getMap(eq('foo'))).andReturn(imap)
+
+        replay hz, imap
+
+        cm.getCache('foo')
+
+        MapConfig mapConfig = config.mapConfigs.get('foo')
+        assertNotNull mapConfig
+        assertEquals mapConfig.maxIdleSeconds, 2 //rounded up
+        assertSame mapConfig.nearCacheConfig, nearCacheConfig
+
+        verify hz, imap
+    }
+
+    //@since 1.0.0
+    @Test
+    void testExplicitMapConfigTakesPrecedence() {
+        def hz = createStrictMock(HazelcastInstance)
+        def imap = createStrictMock(IMap)
+        def config = new Config()
+        def explicit = new MapConfig('foo')
+        config.addMapConfig(explicit)
+        def cm = new HazelcastCacheManager(hz)
+        cm.setDefaultTimeToIdleSeconds(60)
+
+        expect(hz.getConfig()).andReturn(config)
+        expect(hz.getMap(eq('foo'))).andReturn(imap)
+
+        replay hz, imap
+
+        cm.getCache('foo')
+
+        assertSame config.mapConfigs.get('foo'), explicit
+        assertEquals explicit.maxIdleSeconds, MapConfig.DEFAULT_MAX_IDLE_SECONDS
+
+        verify hz, imap
+    }
+
+    //@since 1.0.0
+    @Test
+    void testDefaultMapConfigSettingsAreRetained() {
+        def hz = createStrictMock(HazelcastInstance)
+        def imap = createStrictMock(IMap)
+        def config = new Config()
+        config.addMapConfig(new MapConfig('default').setBackupCount(3))
+        def cm = new HazelcastCacheManager(hz)
+        cm.setDefaultTimeToIdleSeconds(60)
+
+        expect(hz.getConfig()).andReturn(config)
+        expect(hz.getMap(eq('foo'))).andReturn(imap)
+
+        replay hz, imap
+
+        cm.getCache('foo')
+
+        MapConfig mapConfig = config.mapConfigs.get('foo')
+        assertEquals mapConfig.backupCount, 3
+        assertEquals mapConfig.maxIdleSeconds, 60
+        assertEquals config.mapConfigs.get('default').maxIdleSeconds, MapConfig.DEFAULT_MAX_IDLE_SECONDS
+
+        verify hz, imap
+    }
+
+    //@since 1.0.0
+    @Test
+    void testWildcardMapConfigSettingsAreRetained() {
+        def hz = createStrictMock(HazelcastInstance)
+        def imap = createStrictMock(IMap)
+        def config = new Config()
+        def wildcard = new MapConfig('com.stormpath.*').setBackupCount(2)
+        config.addMapConfig(wildcard)
+        def cm = new HazelcastCacheManager(hz)
+        cm.setDefaultTimeToIdleSeconds(60)
+
+        expect(hz.getConfig()).andReturn(config)
+        expect(hz.getMap(eq('com.stormpath.sdk.account.Account'))).andReturn(imap)
+
+        replay hz, imap
+
+        cm.getCache('com.stormpath.sdk.account.Account')
+
+        MapConfig mapConfig = config.mapConfigs.get('com.stormpath.sdk.account.Account')
+        assertNotSame mapConfig, wildcard
+        assertEquals mapConfig.backupCount, 2
+        assertEquals mapConfig.maxIdleSeconds, 60
+        //the wildcard configuration is shared with other maps, so it is not modified:
+        assertEquals wildcard.maxIdleSeconds, MapConfig.DEFAULT_MAX_IDLE_SECONDS
+
+        verify hz, imap
+    }
+
+    //@since 1.0.0
+    @Test
+    void testClientConfigCannotBeChanged() {
+        def hz = createStrictMock(HazelcastInstance)
+        def imap = createStrictMock(IMap)
+        def cm = new HazelcastCacheManager(hz)
+        cm.setDefaultTimeToIdleSeconds(60)
+
+        expect(hz.getConfig()).andThrow(new UnsupportedOperationException())
+        expect(hz.getMap(eq('foo'))).andReturn(imap)
+
+        replay hz, imap
+
+        assertNotNull cm.getCache('foo')
+
+        verify hz, imap
+    }
 }
@@ -17,10 +17,17 @@ package com.stormpath.sdk.hazelcast
 
 import org.testng.annotations.Test
 
+import com.hazelcast.core.IMap
+import com.stormpath.sdk.impl.util.Duration
+
 import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.Future
+import java.util.concurrent.TimeUnit
 
+import static org.easymock.EasyMock.*
 import static org.testng.Assert.assertEquals
 import static org.testng.Assert.assertNull
+import static org.testng.Assert.assertTrue
 
 class HazelcastCacheTest {
 
@@ -47,4 +54,57 @@ class HazelcastCacheTest {
 
         assertNull cache.get('foo')
     }
+
+    //@since 1.0.0
+    @Test
+    void testBulkOperations() {
+        def cache = new HazelcastCache(new ConcurrentHashMap())
+
+        cache.putAll([foo: 'bar', hello: 'world'])
+        assertEquals cache.getAll(['foo', 'hello', 'missing']), [foo: 'bar', hello: 'world']
+
+        cache.removeAll(['foo', 'missing'])
+        assertNull cache.get('foo')
+        assertEquals cache.get('hello'), 'world'
+    }
+
+    //@since 1.0.0
+    @Test
+    void testBulkOperationsUseIMap() {
+        def map = createStrictMock(IMap)
+        def entries = [foo: 'bar', hello: 'world']
+
+        map.putAll(entries)
+        expect(map.getAll(['foo', 'hello'] as LinkedHashSet)).andReturn(entries)
+        map.delete('foo')
+        map.delete('hello')
+
+        replay map
+
+        def cache = new HazelcastCache(map)
+        cache.putAll(entries)
+        assertEquals cache.getAll(['foo', 'hello']), entries
+        cache.removeAll(['foo', 'hello'])
+
+        verify map
+    }
+
+    //@since 1.0.0
+    @Test
+    void testTimeToLiveIsAppliedToEachEntry() {
+        def map = createStrictMock(IMap)
+        def future = createStrictMock(Future)
+
+        expect(map.put('foo', 'bar', 60000L, TimeUnit.MILLISECONDS)).andReturn(null)
+        expect(map.putAsync('hello', 'world', 60000L, TimeUnit.MILLISECONDS)).andReturn(future)
+        expect(future.get()).andReturn(null)
+
+        replay map, future
+
+        def cache = new HazelcastCache(map, new Duration(1, TimeUnit.MINUTES))
+        assertNull cache.put('foo', 'bar')
+        cache.putAll([hello: 'world'])
+
+        verify map, future
+    }
 }
@@ -18,11 +18,14 @@ package com.stormpath.sdk.impl.http.httpclient;
 import com.stormpath.sdk.api.ApiKey;
 import com.stormpath.sdk.client.AuthenticationScheme;
 import com.stormpath.sdk.client.Proxy;
+import com.stormpath.sdk.impl.http.AsyncRequestExecutor;
+import com.stormpath.sdk.impl.http.ConnectionConfiguration;
+import com.stormpath.sdk.impl.http.ConnectionPoolStats;
 import com.stormpath.sdk.impl.http.HttpHeaders;
 import com.stormpath.sdk.impl.http.MediaType;
 import com.stormpath.sdk.impl.http.QueryString;
 import com.stormpath.sdk.impl.http.Request;
-import com.stormpath.sdk.impl.http.RequestExecutor;
+import com.stormpath.sdk.impl.http.RequestInterceptor;
 import com.stormpath.sdk.impl.http.Response;
 import com.stormpath.sdk.impl.http.RestException;
 import com.stormpath.sdk.impl.http.authc.DefaultRequestAuthenticatorFactory;
@@ -31,8 +34,13 @@ import com.stormpath.sdk.impl.http.authc.RequestAuthenticatorFactory;
 import com.stormpath.sdk.impl.http.support.BackoffStrategy;
 import com.stormpath.sdk.impl.http.support.DefaultRequest;
 import com.stormpath.sdk.impl.http.support.DefaultResponse;
+import com.stormpath.sdk.impl.http.support.RateLimiter;
+import com.stormpath.sdk.impl.http.support.RequestInterceptorChain;
+import com.stormpath.sdk.impl.http.support.RequestMetrics;
+import com.stormpath.sdk.impl.util.DaemonThreadFactory;
 import com.stormpath.sdk.impl.util.StringInputStream;
 import com.stormpath.sdk.lang.Assert;
+import com.stormpath.sdk.metrics.MetricRegistry;
 import org.apache.http.Header;
 import org.apache.http.HttpEntity;
 import org.apache.http.HttpEntityEnclosingRequest;
@@ -48,8 +56,12 @@ import org.apache.http.client.params.AllClientPNames;
 import org.apache.http.client.params.ClientPNames;
 import org.apache.http.conn.ConnectTimeoutException;
 import org.apache.http.conn.params.ConnRoutePNames;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
 import org.apache.http.impl.client.DefaultHttpClient;
 import org.apache.http.impl.conn.PoolingClientConnectionManager;
+import org.apache.http.impl.conn.SchemeRegistryFactory;
+import org.apache.http.pool.PoolStats;
+import org.apache.http.protocol.HttpContext;
 import org.apache.http.util.EntityUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -59,7 +71,15 @@ import java.io.InputStream;
 import java.net.SocketException;
 import java.net.SocketTimeoutException;
 import java.net.URI;
+import java.util.List;
+import java.util.Map;
 import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 /**
  * {@code RequestExecutor} implementation that uses the
@@ -68,7 +88,7 @@ import java.util.Random;
  *
  * @since 0.1
  */
-public class HttpClientRequestExecutor implements RequestExecutor {
+public class HttpClientRequestExecutor implements AsyncRequestExecutor, RequestMetrics.ConnectionPoolStatsSource {
 
     private static final Logger log = LoggerFactory.getLogger(HttpClientRequestExecutor.class);
 
@@ -79,6 +99,7 @@ public class HttpClientRequestExecutor implements RequestExecutor {
 
     private static final int DEFAULT_MAX_RETRIES = 4;
 
+
     private int numRetries = DEFAULT_MAX_RETRIES;
 
     private final ApiKey apiKey;
@@ -87,6 +108,16 @@ public class HttpClientRequestExecutor implements RequestExecutor {
 
     private DefaultHttpClient httpClient;
 
+    /**
+     * @since 1.0.0
+     */
+    private final ConnectionConfiguration connectionConfiguration;
+
+    /**
+     * @since 1.0.0
+     */
+    private final PoolingClientConnectionManager connectionManager;
+
     private BackoffStrategy backoffStrategy;
 
     private HttpClientRequestFactory httpClientRequestFactory;
@@ -96,6 +127,31 @@ public class HttpClientRequestExecutor implements RequestExecutor {
     //doesn't need to be SecureRandom: only used in backoff strategy, not for crypto:
     private final Random random = new Random();
 
+    /**
+     * @since 1.0.0
+     */
+    private volatile ExecutorService executorService;
+
+    /**
+     * @since 1.0.0
+     */
+    private boolean responseStreamingEnabled = true;
+
+    /**
+     * @since 1.0.0
+     */
+    private volatile RequestMetrics requestMetrics;
+
+    /**
+     * @since 1.0.0
+     */
+    private volatile RequestInterceptorChain interceptors = RequestInterceptorChain.EMPTY;
+
+    /**
+     * @since 1.0.0
+     */
+    private volatile RateLimiter rateLimiter;
+
     /**
      * Creates a new {@code HttpClientRequestExecutor} using the specified {@code ApiKey} and optional {@code Proxy}
      * configuration.
@@ -105,25 +161,57 @@ public class HttpClientRequestExecutor implements RequestExecutor {
      *                             If null, then Sauthc1 will be used.
      */
     public HttpClientRequestExecutor(ApiKey apiKey, Proxy proxy, AuthenticationScheme authenticationScheme, Integer connectionTimeout) {
+        this(apiKey, proxy, authenticationScheme, newConnectionConfiguration(connectionTimeout));
+    }
+
+    /**
+     * Creates a new {@code HttpClientRequestExecutor} using the specified {@code ApiKey}, optional {@code Proxy} and
+     * connection pool configuration.
+     *
+     * @param apiKey the Stormpath account API Key that will be used to authenticate the client with Stormpath's API sever
+     * @param proxy the HTTP proxy to be used when communicating with the Stormpath API server (can be null)
+     * @param authenticationScheme the HTTP authentication scheme to be used when communicating with the Stormpath API server.
+     *                             If null, then Sauthc1 will be used.
+     * @param connectionConfiguration the connection timeout and connection pool settings
+     * @since 1.0.0
+     */
+    public HttpClientRequestExecutor(ApiKey apiKey, Proxy proxy, AuthenticationScheme authenticationScheme, ConnectionConfiguration connectionConfiguration) {
         Assert.notNull(apiKey, "apiKey argument is required.");
-        Assert.isTrue(connectionTimeout >= 0, "Timeout cannot be a negative number.");
+        Assert.notNull(connectionConfiguration, "connectionConfiguration argument is required.");
 
         this.apiKey = apiKey;
 
+        this.connectionConfiguration = connectionConfiguration;
+
         this.requestAuthenticator = requestAuthenticatorFactory.create(authenticationScheme);
 
         this.httpClientRequestFactory = new HttpClientRequestFactory();
 
-        PoolingClientConnectionManager connMgr = new PoolingClientConnectionManager();
-        connMgr.setDefaultMaxPerRoute(10);
+        long connectionTtl = connectionConfiguration.getConnectionTimeToLiveMillis();
+        this.connectionManager = new PoolingClientConnectionManager(
+                SchemeRegistryFactory.createDefault(), connectionTtl, TimeUnit.MILLISECONDS);
+        this.connectionManager.setDefaultMaxPerRoute(connectionConfiguration.getMaxConnectionsPerRoute());
+        this.connectionManager.setMaxTotal(connectionConfiguration.getMaxConnectionsTotal());
 
-        this.httpClient = new DefaultHttpClient(connMgr);
+        this.httpClient = new DefaultHttpClient(this.connectionManager);
         httpClient.getParams().setParameter(AllClientPNames.PROTOCOL_VERSION, HttpVersion.HTTP_1_1);
-        httpClient.getParams().setParameter(AllClientPNames.SO_TIMEOUT, connectionTimeout);
-        httpClient.getParams().setParameter(AllClientPNames.CONNECTION_TIMEOUT, connectionTimeout);
+        httpClient.getParams().setParameter(AllClientPNames.SO_TIMEOUT, connectionConfiguration.getSocketTimeout());
+        httpClient.getParams().setParameter(AllClientPNames.CONNECTION_TIMEOUT, connectionConfiguration.getConnectionTimeout());
+        httpClient.getParams().setParameter(AllClientPNames.STALE_CONNECTION_CHECK, connectionConfiguration.isStaleConnectionCheckEnabled());
+        httpClient.getParams().setParameter(ClientPNames.CONN_MANAGER_TIMEOUT, (long) connectionConfiguration.getConnectionRequestTimeout());
         httpClient.getParams().setParameter(ClientPNames.HANDLE_REDIRECTS, false);
         httpClient.getParams().setParameter("http.protocol.content-charset", "UTF-8");
 
+        long idleTimeout = connectionConfiguration.getIdleConnectionTimeoutMillis();
+        if (idleTimeout > 0) {
+            httpClient.setKeepAliveStrategy(new BoundedKeepAliveStrategy(idleTimeout));
+        }
+
+        if (idleTimeout > 0 || connectionTtl > 0) {
+            long period = idleTimeout > 0 ? idleTimeout / 2 : connectionTtl / 2;
+            IdleConnectionReaper.register(this.connectionManager, idleTimeout, period);
+        }
+
         if (proxy != null) {
             //We have some proxy setting to use!
             HttpHost httpProxyHost = new HttpHost(proxy.getHost(), proxy.getPort());
@@ -138,6 +226,12 @@ public class HttpClientRequestExecutor implements RequestExecutor {
         }
     }
 
+    private static ConnectionConfiguration newConnectionConfiguration(Integer connectionTimeout) {
+        Assert.notNull(connectionTimeout, "connectionTimeout argument is required.");
+        Assert.isTrue(connectionTimeout >= 0, "Timeout cannot be a negative number.");
+        return new ConnectionConfiguration(connectionTimeout);
+    }
+
     public int getNumRetries() {
         return numRetries;
     }
@@ -161,11 +255,254 @@ public class HttpClientRequestExecutor implements RequestExecutor {
         this.httpClient = httpClient;
     }
 
+    /**
+     * Returns {@code true} if successful response bodies are returned as the connection's live content stream (to be
+     * parsed directly by the caller), or {@code false} if they are first read fully into memory.  Defaults to
+     * {@code true}.
+     *
+     * @return {@code true} if successful response bodies are returned as the connection's live content stream.
+     * @since 1.0.0
+     */
+    public boolean isResponseStreamingEnabled() {
+        return responseStreamingEnabled;
+    }
+
+    /**
+     * Sets whether successful response bodies are returned as the connection's live content stream (to be parsed
+     * directly by the caller), or first read fully into memory.  When streaming, callers <b>must</b> close the
+     * {@link Response#getBody() response body} to release the connection back to the pool.
+     *
+     * @param responseStreamingEnabled whether successful response bodies are returned as a live content stream.
+     * @since 1.0.0
+     */
+    public void setResponseStreamingEnabled(boolean responseStreamingEnabled) {
+        this.responseStreamingEnabled = responseStreamingEnabled;
+    }
+
+    /**
+     * Returns the {@code ExecutorService} used to execute {@link #executeRequestAsync(Request) asynchronous requests},
+     * lazily creating a bounded pool of daemon threads if one has not been {@link #setExecutorService(ExecutorService)
+     * configured}.
+     *
+     * @return the {@code ExecutorService} used to execute asynchronous requests.
+     * @since 1.0.0
+     */
+    @Override
+    public ExecutorService getExecutorService() {
+        ExecutorService service = this.executorService;
+        if (service == null) {
+            synchronized (this) {
+                service = this.executorService;
+                if (service == null) {
+                    service = createDefaultExecutorService();
+                    this.executorService = service;
+                }
+            }
+        }
+        return service;
+    }
+
+    /**
+     * Sets the {@code ExecutorService} used to execute {@link #executeRequestAsync(Request) asynchronous requests}.
+     * The caller retains ownership of the specified instance and is responsible for shutting it down.
+     *
+     * @param executorService the {@code ExecutorService} used to execute asynchronous requests.
+     * @since 1.0.0
+     */
+    public void setExecutorService(ExecutorService executorService) {
+        Assert.notNull(executorService, "executorService cannot be null.");
+        this.executorService = executorService;
+    }
+
+    /**
+     * Creates the default asynchronous request pool, sized to the maximum number of connections per route: more
+     * threads than connections would only queue on the connection pool.
+     *
+     * @since 1.0.0
+     */
+    protected ExecutorService createDefaultExecutorService() {
+        int poolSize = this.connectionConfiguration.getMaxConnectionsPerRoute();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(poolSize, poolSize,
+                60L, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(),
+                new DaemonThreadFactory("stormpath-http-async"));
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * Executes the specified request on this executor's {@link #getExecutorService() executorService}.  The request
+     * is signed, redirected, retried and backed-off exactly as it would be by {@link #executeRequest(Request)}; the
+     * only difference is that the calling thread is not blocked while that happens.
+     * <p/>
+     * When {@link #setResponseStreamingEnabled(boolean) response streaming} is enabled (the default), the caller
+     * <b>must</b> close the {@link Response#getBody() body} of the eventual response to release its connection back to
+     * the pool.
+     *
+     * @param request the request to execute
+     * @return a {@code Future} reflecting the eventual response.
+     * @since 1.0.0
+     */
+    @Override
+    public Future<Response> executeRequestAsync(final Request request) {
+        Assert.notNull(request, "Request argument cannot be null.");
+        return getExecutorService().submit(new Callable<Response>() {
+            @Override
+            public Response call() throws Exception {
+                return executeRequest(request);
+            }
+        });
+    }
+
+    /**
+     * Returns the connection timeout and connection pool settings used by this executor.
+     *
+     * @return the connection timeout and connection pool settings used by this executor.
+     * @since 1.0.0
+     */
+    public ConnectionConfiguration getConnectionConfiguration() {
+        return this.connectionConfiguration;
+    }
+
+    /**
+     * Returns a snapshot of this executor's connection pool: the number of leased, pending and available connections.
+     *
+     * @return a snapshot of this executor's connection pool.
+     * @since 1.0.0
+     */
+    @Override
+    public ConnectionPoolStats getConnectionPoolStats() {
+        final PoolStats stats = this.connectionManager.getTotalStats();
+        return new ConnectionPoolStats() {
+            @Override
+            public int getLeased() {
+                return stats.getLeased();
+            }
+
+            @Override
+            public int getPending() {
+                return stats.getPending();
+            }
+
+            @Override
+            public int getAvailable() {
+                return stats.getAvailable();
+            }
+
+            @Override
+            public int getMax() {
+                return stats.getMax();
+            }
+
+            @Override
+            public String toString() {
+                return stats.toString();
+            }
+        };
+    }
+
+    /**
+     * Returns the registry the metrics of this executor's requests and connection pool are recorded to, or
+     * {@code null} if metrics are not recorded.
+     *
+     * @return the registry the metrics of this executor's requests and connection pool are recorded to, or
+     * {@code null}.
+     * @since 1.0.0
+     */
+    public MetricRegistry getMetricRegistry() {
+        RequestMetrics metrics = this.requestMetrics;
+        return metrics != null ? metrics.getRegistry() : null;
+    }
+
+    /**
+     * Sets the registry the metrics of this executor's requests and connection pool are recorded to, or {@code null}
+     * to not record metrics.
+     *
+     * @param metricRegistry the registry the metrics of this executor's requests and connection pool are recorded to.
+     * @see RequestMetrics
+     * @since 1.0.0
+     */
+    public void setMetricRegistry(MetricRegistry metricRegistry) {
+        RequestMetrics metrics = null;
+        if (metricRegistry != null) {
+            metrics = new RequestMetrics(metricRegistry);
+            //the gauges reference this executor weakly, so publishing them never keeps it (and its pool) alive:
+            metrics.registerConnectionPool(this);
+        }
+        this.requestMetrics = metrics;
+    }
+
+    /**
+     * Returns the interceptors invoked for every HTTP attempt made by this executor, in invocation order.
+     *
+     * @return the interceptors invoked for every HTTP attempt made by this executor.
+     * @since 1.0.0
+     */
+    public List<RequestInterceptor> getRequestInterceptors() {
+        return this.interceptors.getInterceptors();
+    }
+
+    /**
+     * Appends the specified interceptor to the interceptors invoked for every HTTP attempt made by this executor.
+     *
+     * @param interceptor the interceptor to append
+     * @see RequestInterceptor
+     * @since 1.0.0
+     */
+    public synchronized void addRequestInterceptor(RequestInterceptor interceptor) {
+        this.interceptors = this.interceptors.plus(interceptor);
+    }
+
+    /**
+     * Removes the specified interceptor from the interceptors invoked for every HTTP attempt made by this executor.
+     *
+     * @param interceptor the interceptor to remove
+     * @since 1.0.0
+     */
+    public synchronized void removeRequestInterceptor(RequestInterceptor interceptor) {
+        this.interceptors = this.interceptors.minus(interceptor);
+    }
+
+    /**
+     * Returns the client-side rate limiter pacing this executor's requests, or {@code null} if requests are not rate
+     * limited.
+     *
+     * @return the client-side rate limiter pacing this executor's requests, or {@code null}.
+     * @since 1.0.0
+     */
+    public RateLimiter getRateLimiter() {
+        return this.rateLimiter;
+    }
+
+    /**
+     * Sets the client-side rate limiter pacing this executor's requests, or {@code null} to not rate limit requests.
+     * The limiter is invoked as a {@link RequestInterceptor}, after any interceptors added previously.  When set,
+     * requests throttled by the server ({@code HTTP 429}) are retried as soon as the limiter permits instead of after
+     * an exponential backoff.
+     *
+     * @param rateLimiter the client-side rate limiter pacing this executor's requests.
+     * @since 1.0.0
+     */
+    public synchronized void setRateLimiter(RateLimiter rateLimiter) {
+        RequestInterceptorChain chain = this.interceptors;
+        if (this.rateLimiter != null) {
+            chain = chain.minus(this.rateLimiter);
+        }
+        if (rateLimiter != null) {
+            chain = chain.plus(rateLimiter);
+        }
+        this.interceptors = chain;
+        this.rateLimiter = rateLimiter;
+    }
+
     @Override
     public Response executeRequest(Request request) throws RestException {
 
         Assert.notNull(request, "Request argument cannot be null.");
 
+        RequestMetrics metrics = this.requestMetrics;
+        RequestMetrics.Endpoint endpoint = metrics != null ? metrics.getEndpoint(request) : null;
+        RequestInterceptorChain interceptors = this.interceptors;
+
         /*if (requestLog.isDebugEnabled()) {
             requestLog.debug("Sending Request: " + request.toString());
         }*/
@@ -173,7 +510,7 @@ public class HttpClientRequestExecutor implements RequestExecutor {
         int retryCount = 0;
         URI redirectUri = null;
         HttpEntity entity = null;
-        RestException exception = null;
+        boolean throttled = false;
 
         // Make a copy of the original request params and headers so that we can
         // permute them in the loop and start over with the original every time.
@@ -201,6 +538,10 @@ public class HttpClientRequestExecutor implements RequestExecutor {
                 request.setHeaders(originalHeaders);
             }
 
+            if (!interceptors.isEmpty()) {
+                interceptors.beforeSend(request);
+            }
+
             // Sign the request
             if (this.apiKey != null) {
                 this.requestAuthenticator.authenticate(request, this.apiKey);
@@ -214,9 +555,14 @@ public class HttpClientRequestExecutor implements RequestExecutor {
 
 
             HttpResponse httpResponse = null;
+            boolean releaseConnection = true;
+            boolean responded = false;
             try {
                 if (retryCount > 0) {
-                    pauseExponentially(retryCount, exception);
+                    //a rate limiter has already paced this attempt according to the server's throttling response:
+                    if (!throttled || this.rateLimiter == null) {
+                        pauseExponentially(retryCount, throttled);
+                    }
                     if (entity != null) {
                         InputStream content = entity.getContent();
                         if (content.markSupported()) {
@@ -225,15 +571,20 @@ public class HttpClientRequestExecutor implements RequestExecutor {
                     }
                 }
 
-                exception = null;
+                throttled = false;
                 retryCount++;
 
-                //long start = System.currentTimeMillis();
+                long start = System.nanoTime();
                 httpResponse = httpClient.execute(httpRequest);
-                //long end = System.currentTimeMillis();
-                //executionContext.getTimingInfo().addSubMeasurement(HTTP_REQUEST_TIME, new TimingInfo(start, end));
+                responded = true;
+                if (endpoint != null) {
+                    endpoint.onResponse(httpResponse.getStatusLine().getStatusCode(), System.nanoTime() - start);
+                }
 
                 if (isRedirect(httpResponse)) {
+                    if (!interceptors.isEmpty()) {
+                        interceptors.afterReceive(request, toInterimSdkResponse(httpResponse));
+                    }
                     Header[] locationHeaders = httpResponse.getHeaders("Location");
                     String location = locationHeaders[0].getValue();
                     log.debug("Redirecting to: " + location);
@@ -241,34 +592,67 @@ public class HttpClientRequestExecutor implements RequestExecutor {
                     httpRequest.setURI(redirectUri);
                 } else {
 
-                    Response response = toSdkResponse(httpResponse);
+                    int httpStatus = httpResponse.getStatusLine().getStatusCode();
+                    boolean retryable = httpStatus == 429 ||
+                            ((httpStatus == 503 || httpStatus == 504) && retryCount <= this.numRetries);
 
-                    int httpStatus = response.getHttpStatus();
+                    if (retryable && !interceptors.isEmpty()) {
+                        interceptors.afterReceive(request, toInterimSdkResponse(httpResponse));
+                    }
 
                     if (httpStatus == 429) {
+                        throttled = true;
                         throw new RestException("HTTP 429: Too Many Requests.  Exceeded request rate limit in the allotted amount of time.");
                     }
-                    if ((httpStatus == 503 || httpStatus == 504) && retryCount <= this.numRetries) {
+                    if (retryable) {
+                        if (endpoint != null) {
+                            endpoint.onRetry();
+                        }
                         //allow the loop to continue to execute a retry request
                         continue;
                     }
 
+                    Response response;
+                    boolean streaming = this.responseStreamingEnabled && isStreamable(httpResponse);
+                    if (streaming) {
+                        response = toStreamingSdkResponse(httpResponse);
+                    } else {
+                        response = toSdkResponse(httpResponse);
+                    }
+
+                    if (!interceptors.isEmpty()) {
+                        interceptors.afterReceive(request, response);
+                    }
+
+                    //when streaming, the caller now owns the connection and releases it by closing the response body:
+                    releaseConnection = !streaming;
                     return response;
                 }
             } catch (Throwable t) {
                 log.warn("Unable to execute HTTP request: " + t.getMessage());
 
-                if (t instanceof RestException) {
-                    exception = (RestException)t;
+                if (!responded) {
+                    if (endpoint != null) {
+                        endpoint.onError();
+                    }
+                    if (!interceptors.isEmpty()) {
+                        interceptors.onError(request, t);
+                    }
                 }
 
-                if (!shouldRetry(httpRequest, t, retryCount)) {
+                if (!shouldRetry(httpRequest, t, retryCount, throttled)) {
                     throw new RestException("Unable to execute HTTP request: " + t.getMessage(), t);
                 }
+
+                if (endpoint != null) {
+                    endpoint.onRetry();
+                }
             } finally {
-                try {
-                    httpResponse.getEntity().getContent().close();
-                } catch (Throwable ignored) {
+                if (releaseConnection) {
+                    try {
+                        httpResponse.getEntity().getContent().close();
+                    } catch (Throwable ignored) {
+                    }
                 }
             }
         }
@@ -292,16 +676,16 @@ public class HttpClientRequestExecutor implements RequestExecutor {
      * Exponential sleep on failed request to avoid flooding a service with
      * retries.
      *
-     * @param retries           Current retry count.
-     * @param previousException Exception information for the previous attempt, if any.
+     * @param retries   Current retry count.
+     * @param throttled Whether the previous attempt was throttled by the server (HTTP 429).
      */
-    private void pauseExponentially(int retries, RestException previousException) {
+    private void pauseExponentially(int retries, boolean throttled) {
         long delay;
         if (backoffStrategy != null) {
             delay = this.backoffStrategy.getDelayMillis(retries);
         } else {
             long scaleFactor = 300;
-            if (previousException != null && isThrottlingException(previousException)) {
+            if (throttled) {
                 scaleFactor = 500 + random.nextInt(100);
             }
             delay = (long) (Math.pow(2, retries) * scaleFactor);
@@ -326,9 +710,10 @@ public class HttpClientRequestExecutor implements RequestExecutor {
      * @param method  The current HTTP method being executed.
      * @param t       The throwable from the failed request.
      * @param retries The number of times the current request has been attempted.
+     * @param throttled Whether the current request was throttled by the server (HTTP 429).
      * @return True if the failed request should be retried.
      */
-    private boolean shouldRetry(HttpRequestBase method, Throwable t, int retries) {
+    private boolean shouldRetry(HttpRequestBase method, Throwable t, int retries, boolean throttled) {
         if (retries > this.numRetries) {
             return false;
         }
@@ -351,30 +736,13 @@ public class HttpClientRequestExecutor implements RequestExecutor {
             return true;
         }
 
-        if (t instanceof RestException) {
-            RestException re = (RestException) t;
-
-            /*
-             * Throttling is reported as a 429 error. To try
-             * and smooth out an occasional throttling error, we'll pause and
-             * retry, hoping that the pause is long enough for the request to
-             * get through the next time.
-             */
-            if (isThrottlingException(re)) return true;
-        }
-
-        return false;
-    }
-
-    /**
-     * Returns {@code true} if the exception resulted from a throttling error, {@code false} otherwise.
-     *
-     * @param re The exception to test.
-     * @return {@code true} if the exception resulted from a throttling error, {@code false} otherwise.
-     */
-    private boolean isThrottlingException(RestException re) {
-        String msg = re.getMessage();
-        return msg != null && msg.contains("HTTP 429");
+        /*
+         * Throttling is reported as a 429 error. To try
+         * and smooth out an occasional throttling error, we'll pause and
+         * retry, hoping that the pause is long enough for the request to
+         * get through the next time.
+         */
+        return throttled;
     }
 
     protected String toString(HttpEntity entity) throws IOException {
@@ -417,7 +785,91 @@ public class HttpClientRequestExecutor implements RequestExecutor {
             }
         }
 
-        return new DefaultResponse(httpStatus, mediaType, body, contentLength);
+        return toSdkResponse(httpStatus, headers, mediaType, body, contentLength);
+    }
+
+    /**
+     * Honors any keep-alive duration advertised by the server, but never keeps a connection alive for longer than the
+     * configured idle connection timeout.
+     *
+     * @since 1.0.0
+     */
+    private static class BoundedKeepAliveStrategy extends DefaultConnectionKeepAliveStrategy {
+
+        private final long maxKeepAliveMillis;
+
+        private BoundedKeepAliveStrategy(long maxKeepAliveMillis) {
+            this.maxKeepAliveMillis = maxKeepAliveMillis;
+        }
+
+        @Override
+        public long getKeepAliveDuration(HttpResponse response, HttpContext context) {
+            long duration = super.getKeepAliveDuration(response, context);
+            if (duration <= 0 || duration > maxKeepAliveMillis) {
+                return maxKeepAliveMillis;
+            }
+            return duration;
+        }
+    }
+
+    /**
+     * Returns {@code true} if the response body may be handed to the caller as a live stream rather than being read
+     * fully into memory.  Empty bodies are always read (and the connection released) immediately so that callers
+     * that do not consume a body never hold on to a pooled connection.
+     *
+     * @since 1.0.0
+     */
+    protected boolean isStreamable(HttpResponse httpResponse) {
+        HttpEntity entity = httpResponse.getEntity();
+        return entity != null && entity.isStreaming() && entity.getContentLength() != 0;
+    }
+
+    /**
+     * Creates a {@code Response} whose body is the pooled connection's live content stream.  The body is not read:
+     * the caller parses it directly and <b>must</b> close it once finished, which releases the connection back to
+     * the pool.
+     *
+     * @since 1.0.0
+     */
+    protected Response toStreamingSdkResponse(HttpResponse httpResponse) throws IOException {
+
+        int httpStatus = httpResponse.getStatusLine().getStatusCode();
+
+        HttpHeaders headers = getHeaders(httpResponse);
+        MediaType mediaType = headers.getContentType();
+
+        HttpEntity entity = httpResponse.getEntity();
+
+        return toSdkResponse(httpStatus, headers, mediaType, entity.getContent(), entity.getContentLength());
+    }
+
+    /**
+     * Creates the SDK {@code Response}, retaining the response headers (e.g. {@code ETag} and {@code Last-Modified})
+     * in addition to the content type and length so that callers may issue conditional requests.
+     *
+     * @since 1.0.0
+     */
+    private static Response toSdkResponse(int httpStatus, HttpHeaders headers, MediaType mediaType, InputStream body,
+                                          long contentLength) {
+        DefaultResponse response = new DefaultResponse(httpStatus, mediaType, body, contentLength);
+        HttpHeaders responseHeaders = response.getHeaders();
+        for (Map.Entry<String, List<String>> entry : headers.entrySet()) {
+            if (!responseHeaders.containsKey(entry.getKey())) {
+                responseHeaders.put(entry.getKey(), entry.getValue());
+            }
+        }
+        return response;
+    }
+
+    /**
+     * Creates a body-less {@code Response} exposing the status and headers of a response that is not returned to the
+     * caller (a redirect or a response that will be retried), so that it can be observed by request interceptors.
+     *
+     * @since 1.0.0
+     */
+    private Response toInterimSdkResponse(HttpResponse httpResponse) {
+        HttpHeaders headers = getHeaders(httpResponse);
+        return toSdkResponse(httpResponse.getStatusLine().getStatusCode(), headers, headers.getContentType(), null, -1);
     }
 
     private HttpHeaders getHeaders(HttpResponse response) {
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2014 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.http.httpclient;
+
+import com.stormpath.sdk.impl.util.DaemonThreadFactory;
+import org.apache.http.conn.ClientConnectionManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.ref.WeakReference;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Periodically closes expired and idle connections held by {@link ClientConnectionManager}s so that connections
+ * silently dropped by a server or intermediary are not handed out to a subsequent request.
+ * <p/>
+ * A single daemon thread is shared by all registered connection managers.  Managers are only weakly referenced: once a
+ * manager becomes unreachable, its reaping task cancels itself.
+ *
+ * @since 1.0.0
+ */
+class IdleConnectionReaper {
+
+    private static final Logger log = LoggerFactory.getLogger(IdleConnectionReaper.class);
+
+    private static final long MIN_PERIOD_MILLIS = 1000;
+    private static final long MAX_PERIOD_MILLIS = 30000;
+
+    private static final ScheduledExecutorService SCHEDULER =
+            Executors.newSingleThreadScheduledExecutor(new DaemonThreadFactory("stormpath-idle-connection-reaper"));
+
+    private IdleConnectionReaper() {
+    }
+
+    /**
+     * Registers the specified connection manager for periodic reaping.
+     *
+     * @param connectionManager the connection manager to reap
+     * @param idleTimeoutMillis the amount of time a connection may remain idle before it is closed, or a non-positive
+     *                          number to only close expired connections
+     * @param periodMillis      how often the connection manager should be checked
+     */
+    static void register(ClientConnectionManager connectionManager, long idleTimeoutMillis, long periodMillis) {
+        long period = Math.max(MIN_PERIOD_MILLIS, Math.min(periodMillis, MAX_PERIOD_MILLIS));
+        ReapTask task = new ReapTask(connectionManager, idleTimeoutMillis);
+        task.future = SCHEDULER.scheduleWithFixedDelay(task, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    private static class ReapTask implements Runnable {
+
+        private final WeakReference<ClientConnectionManager> ref;
+        private final long idleTimeoutMillis;
+        private volatile ScheduledFuture<?> future;
+
+        private ReapTask(ClientConnectionManager connectionManager, long idleTimeoutMillis) {
+            this.ref = new WeakReference<ClientConnectionManager>(connectionManager);
+            this.idleTimeoutMillis = idleTimeoutMillis;
+        }
+
+        @Override
+        public void run() {
+            ClientConnectionManager connectionManager = ref.get();
+            if (connectionManager == null) {
+                ScheduledFuture<?> f = this.future;
+                if (f != null) {
+                    f.cancel(false);
+                }
+                return;
+            }
+            try {
+                connectionManager.closeExpiredConnections();
+                if (idleTimeoutMillis > 0) {
+                    connectionManager.closeIdleConnections(idleTimeoutMillis, TimeUnit.MILLISECONDS);
+                }
+            } catch (Throwable t) {
+                log.warn("Unable to close idle HTTP connections: " + t.getMessage(), t);
+            }
+        }
+    }
+}
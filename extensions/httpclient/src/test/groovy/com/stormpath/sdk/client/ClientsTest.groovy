@@ -209,4 +209,42 @@ public class ClientsTest {
         }
     }
 
+    /* @since 1.0.0 */
+    @Test
+    void testSetConnectionPoolSettings() {
+        def builder = Clients.builder()
+                .setConnectionTimeout(990)
+                .setSocketTimeout(1990)
+                .setConnectionRequestTimeout(500)
+                .setMaxConnectionsPerRoute(50)
+                .setMaxConnectionsTotal(100)
+                .setConnectionTimeToLive(5, TimeUnit.MINUTES)
+                .setIdleConnectionTimeout(30, TimeUnit.SECONDS)
+                .setStaleConnectionCheckEnabled(false)
+        def client = builder.build()
+        def executor = client.dataStore.requestExecutor
+        def params = executor.httpClient.getParams()
+        assertEquals(params.getParameter(AllClientPNames.CONNECTION_TIMEOUT), 990)
+        assertEquals(params.getParameter(AllClientPNames.SO_TIMEOUT), 1990)
+        assertEquals(params.getParameter(AllClientPNames.CONN_MANAGER_TIMEOUT), 500L)
+        assertEquals(params.getParameter(AllClientPNames.STALE_CONNECTION_CHECK), false)
+        assertEquals(executor.connectionManager.defaultMaxPerRoute, 50)
+        assertEquals(executor.connectionManager.maxTotal, 100)
+
+        def stats = executor.getConnectionPoolStats()
+        assertEquals(stats.leased, 0)
+        assertEquals(stats.pending, 0)
+        assertEquals(stats.max, 100)
+    }
+
+    /* @since 1.0.0 */
+    @Test
+    void testSetMaxConnectionsPerRouteNonPositive() {
+        try {
+            Clients.builder().setMaxConnectionsPerRoute(0)
+            fail("Should have thrown due to non-positive pool size.")
+        } catch (IllegalArgumentException e) {
+            assertEquals(e.getMessage(), "maxConnectionsPerRoute must be greater than zero.")
+        }
+    }
 }
@@ -0,0 +1,194 @@
+/*
+ * Copyright 2014 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.client
+
+import com.stormpath.sdk.account.Account
+import com.stormpath.sdk.api.ApiKey
+import com.stormpath.sdk.cache.Caches
+import com.stormpath.sdk.client.Client
+import com.stormpath.sdk.impl.cache.DefaultCacheManager
+import com.stormpath.sdk.impl.ds.DefaultDataStore
+import com.stormpath.sdk.impl.metrics.DefaultMetricRegistry
+import com.stormpath.sdk.impl.metrics.JmxMetricRegistry
+import com.stormpath.sdk.metrics.Gauge
+import org.testng.annotations.Test
+
+import java.lang.management.ManagementFactory
+import java.lang.ref.WeakReference
+import java.util.concurrent.TimeUnit
+
+import static org.testng.Assert.*
+
+/**
+ * @since 1.0.0
+ */
+class DefaultClientBuilderTest {
+
+    private static DefaultClientBuilder newBuilder() {
+        def builder = new DefaultClientBuilder()
+        builder.setApiKey([getId: { 'id' }, getSecret: { 'secret' }] as ApiKey)
+        return builder
+    }
+
+    @Test
+    void testEachClientGetsItsOwnDefaultMetricRegistry() {
+        def builder = newBuilder()
+
+        Client client1 = builder.build()
+        Client client2 = builder.build()
+
+        def registry1 = client1.dataStore.requestExecutor.metricRegistry
+        def registry2 = client2.dataStore.requestExecutor.metricRegistry
+
+        assertTrue registry1 instanceof JmxMetricRegistry
+        assertTrue registry2 instanceof JmxMetricRegistry
+        assertNotSame registry1, registry2
+    }
+
+    @Test
+    void testDefaultMetricRegistryDoesNotRetainClient() {
+        Client client = newBuilder().build()
+        JmxMetricRegistry registry = (JmxMetricRegistry) client.dataStore.requestExecutor.metricRegistry
+        def objectName = registry.getObjectName('http.connections.leased')
+        def server = ManagementFactory.platformMBeanServer
+        assertTrue server.isRegistered(objectName)
+
+        def ref = new WeakReference<Client>(client)
+        def executorRef = new WeakReference<Object>(client.dataStore.requestExecutor)
+        client = null
+        for (int i = 0; i < 50 && (ref.get() != null || executorRef.get() != null); i++) {
+            System.gc()
+            Thread.sleep(20)
+        }
+        assertNull ref.get(), 'The client should not be retained by its metrics MBeans'
+        assertNull executorRef.get(), 'The request executor should not be retained by the connection pool gauges'
+
+        //collected clients are detected whenever a registry is created:
+        new JmxMetricRegistry(server, 'test')
+        assertFalse server.isRegistered(objectName)
+    }
+
+    @Test
+    void testConnectionTimeoutDoesNotOverrideExplicitSocketTimeout() {
+        def builder = newBuilder()
+        builder.setConnectionTimeout(1000)
+        assertEquals builder.connectionConfiguration.connectionTimeout, 1000
+        assertEquals builder.connectionConfiguration.socketTimeout, 1000
+
+        builder.setSocketTimeout(5000).setConnectionTimeout(2000)
+        assertEquals builder.connectionConfiguration.connectionTimeout, 2000
+        assertEquals builder.connectionConfiguration.socketTimeout, 5000
+
+        builder = newBuilder().setSocketTimeout(5000).setConnectionTimeout(2000)
+        assertEquals builder.connectionConfiguration.socketTimeout, 5000
+    }
+
+    @Test
+    void testMaxConnectionsTotalIsRaisedToMaxConnectionsPerRoute() {
+        Client client = newBuilder().setMaxConnectionsPerRoute(50).build()
+
+        def connectionManager = client.dataStore.requestExecutor.connectionManager
+        assertEquals connectionManager.defaultMaxPerRoute, 50
+        assertEquals connectionManager.maxTotal, 50
+
+        //the default total still applies to smaller per-route maximums:
+        client = newBuilder().setMaxConnectionsPerRoute(5).build()
+        assertEquals client.dataStore.requestExecutor.connectionManager.maxTotal, 20
+    }
+
+    @Test
+    void testMaxConnectionsPerRouteGreaterThanExplicitTotalIsRejected() {
+        def builder = newBuilder().setMaxConnectionsPerRoute(50).setMaxConnectionsTotal(30)
+        try {
+            builder.build()
+            fail("IllegalStateException should have been thrown")
+        } catch (IllegalStateException expected) {
+            assertEquals expected.message, "maxConnectionsPerRoute (50) cannot be greater than maxConnectionsTotal (30)."
+        }
+
+        Client client = newBuilder().setMaxConnectionsPerRoute(50).setMaxConnectionsTotal(100).build()
+        assertEquals client.dataStore.requestExecutor.connectionManager.maxTotal, 100
+    }
+
+    @Test
+    void testBuilderChangesDoNotAffectBuiltClients() {
+        def builder = newBuilder().setMaxConnectionsPerRoute(5).setConnectionTimeout(1000)
+        Client client = builder.build()
+
+        builder.setMaxConnectionsPerRoute(50).setConnectionTimeout(2000)
+        Client client2 = builder.build()
+
+        def config = client.dataStore.requestExecutor.connectionConfiguration
+        assertNotSame config, builder.connectionConfiguration
+        assertNotSame config, client2.dataStore.requestExecutor.connectionConfiguration
+        assertEquals config.maxConnectionsPerRoute, 5
+        assertEquals config.connectionTimeout, 1000
+        assertEquals config.maxConnectionsTotal, 20
+        assertEquals client2.dataStore.requestExecutor.connectionConfiguration.maxConnectionsPerRoute, 50
+    }
+
+    @Test
+    void testCacheMetricsArePublishedPerClient() {
+        def cacheManager = new DefaultCacheManager()
+        def registry1 = new DefaultMetricRegistry()
+        def registry2 = new DefaultMetricRegistry()
+        Client client1 = newBuilder().setCacheManager(cacheManager).setMetricRegistry(registry1).build()
+        Client client2 = newBuilder().setCacheManager(cacheManager).setMetricRegistry(registry2).build()
+
+        client1.dataStore.getCache(Account).put('key', [href: 'key'])
+        client2.dataStore.getCache(Account).get('key')
+
+        //the shared manager is not modified by the clients using it:
+        assertNull cacheManager.metricRegistry
+        def name = 'cache.' + Account.name + '.hitCount'
+        assertEquals ((Gauge) registry1.metrics.get(name)).value, 1L
+        assertEquals ((Gauge) registry2.metrics.get(name)).value, 1L
+    }
+
+    @Test
+    void testCacheSettingsAreAppliedToDataStore() {
+        def codec = Caches.newJsonCacheValueCodec()
+        Client client = newBuilder()
+                .setConditionalRevalidationEnabled(true)
+                .setCollectionCacheTimeToLive(30, TimeUnit.SECONDS)
+                .setNotFoundCacheTimeToLive(5, TimeUnit.SECONDS)
+                .setCacheValueCodec(codec)
+                .build()
+
+        DefaultDataStore dataStore = (DefaultDataStore) client.dataStore
+        assertTrue dataStore.conditionalRevalidationEnabled
+        assertEquals dataStore.collectionCacheTimeToLive.timeUnit.toSeconds(dataStore.collectionCacheTimeToLive.value), 30L
+        assertEquals dataStore.notFoundCacheTimeToLive.timeUnit.toSeconds(dataStore.notFoundCacheTimeToLive.value), 5L
+        assertSame dataStore.cacheValueCodec, codec
+
+        //all disabled by default:
+        dataStore = (DefaultDataStore) newBuilder().build().dataStore
+        assertFalse dataStore.conditionalRevalidationEnabled
+        assertNull dataStore.collectionCacheTimeToLive
+        assertNull dataStore.notFoundCacheTimeToLive
+        assertNull dataStore.cacheValueCodec
+    }
+
+    @Test
+    void testCacheValueCodecIsUsedForSnapshots() {
+        def codec = Caches.newJsonCacheValueCodec()
+        def cacheManager = new DefaultCacheManager()
+
+        newBuilder().setCacheManager(cacheManager).setCacheValueCodec(codec).build()
+
+        assertSame cacheManager.snapshotValueCodec, codec
+    }
+}
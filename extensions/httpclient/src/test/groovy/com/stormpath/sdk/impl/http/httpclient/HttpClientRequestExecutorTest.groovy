@@ -17,13 +17,39 @@ package com.stormpath.sdk.impl.http.httpclient
 
 import com.stormpath.sdk.api.ApiKey
 import com.stormpath.sdk.client.AuthenticationScheme
+import com.stormpath.sdk.http.HttpMethod
+import com.stormpath.sdk.impl.http.Request
+import com.stormpath.sdk.impl.http.RequestInterceptor
+import com.stormpath.sdk.impl.http.Response
+import com.stormpath.sdk.impl.http.RestException
+import com.stormpath.sdk.impl.http.support.BackoffStrategy
+import com.stormpath.sdk.impl.http.support.DefaultRequest
+import com.stormpath.sdk.impl.http.support.RateLimiter
+import com.sun.net.httpserver.HttpExchange
+import com.sun.net.httpserver.HttpHandler
+import com.sun.net.httpserver.HttpServer
 import org.apache.http.HttpEntity
 import org.apache.http.HttpResponse
+import org.apache.http.HttpVersion
 import org.apache.http.StatusLine
+import org.apache.http.entity.BasicHttpEntity
+import org.apache.http.entity.ByteArrayEntity
+import org.apache.http.message.BasicHeader
+import org.apache.http.message.BasicHttpResponse
 import org.testng.annotations.Test
 
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+
 import static org.easymock.EasyMock.*
+import static org.testng.Assert.assertEquals
+import static org.testng.Assert.assertFalse
+import static org.testng.Assert.assertNotSame
 import static org.testng.Assert.assertNull
+import static org.testng.Assert.assertSame
+import static org.testng.Assert.assertTrue
+import static org.testng.Assert.fail
 
 
 class HttpClientRequestExecutorTest {
@@ -61,4 +87,281 @@ class HttpClientRequestExecutorTest {
         verify apiKey, httpResponse, statusLine, entity, entityContent
 
     }
+
+    //@since 1.0.0
+    @Test
+    void testToSdkResponseRetainsHeaders() {
+
+        def apiKey = createStrictMock(ApiKey)
+
+        HttpResponse httpResponse = createStrictMock(HttpResponse)
+        StatusLine statusLine = createStrictMock(StatusLine)
+
+        def e = new HttpClientRequestExecutor(apiKey, null, AuthenticationScheme.SAUTHC1, 20000)
+
+        def headers = [new BasicHeader("Content-Type", "application/json"),
+                       new BasicHeader("ETag", '"v1"'),
+                       new BasicHeader("Last-Modified", "Tue, 01 Apr 2014 22:05:53 GMT")] as org.apache.http.Header[]
+
+        expect(httpResponse.getStatusLine()).andStubReturn(statusLine)
+        expect(statusLine.getStatusCode()).andStubReturn(304)
+        expect(httpResponse.getAllHeaders()).andStubReturn(headers)
+        expect(httpResponse.getEntity()).andStubReturn(null)
+
+        replay apiKey, httpResponse, statusLine
+
+        def sdkResponse = e.toSdkResponse(httpResponse)
+
+        assertEquals sdkResponse.httpStatus, 304
+        assertNull sdkResponse.body
+        assertEquals sdkResponse.headers.getETag(), '"v1"'
+        assertEquals sdkResponse.headers.getFirst("Last-Modified"), "Tue, 01 Apr 2014 22:05:53 GMT"
+        assertEquals sdkResponse.headers.getContentType().toString(), "application/json"
+
+        verify apiKey, httpResponse, statusLine
+    }
+
+    private static BasicHttpResponse newHttpResponse(int status, HttpEntity entity) {
+        def httpResponse = new BasicHttpResponse(HttpVersion.HTTP_1_1, status, null)
+        httpResponse.addHeader("Content-Type", "application/json")
+        httpResponse.entity = entity
+        return httpResponse
+    }
+
+    private static BasicHttpEntity newStreamingEntity(byte[] content) {
+        def entity = new BasicHttpEntity()
+        entity.content = new ByteArrayInputStream(content)
+        entity.contentLength = content.length
+        return entity
+    }
+
+    //@since 1.0.0
+    @Test
+    void testIsStreamable() {
+
+        def apiKey = [getId: { 'id' }, getSecret: { 'secret' }] as ApiKey
+        def e = new HttpClientRequestExecutor(apiKey, null, AuthenticationScheme.SAUTHC1, 20000)
+
+        assertTrue e.isStreamable(newHttpResponse(200, newStreamingEntity('{"name":"foo"}'.getBytes('UTF-8'))))
+
+        //unknown length (e.g. chunked) bodies are streamed too:
+        def chunked = newStreamingEntity('{"name":"foo"}'.getBytes('UTF-8'))
+        chunked.contentLength = -1
+        assertTrue e.isStreamable(newHttpResponse(200, chunked))
+
+        //empty, repeatable and missing bodies are not:
+        assertFalse e.isStreamable(newHttpResponse(200, newStreamingEntity(new byte[0])))
+        assertFalse e.isStreamable(newHttpResponse(200, new ByteArrayEntity('{"name":"foo"}'.getBytes('UTF-8'))))
+        assertFalse e.isStreamable(newHttpResponse(204, null))
+    }
+
+    //@since 1.0.0
+    @Test
+    void testToStreamingSdkResponseReturnsLiveContentStream() {
+
+        def apiKey = [getId: { 'id' }, getSecret: { 'secret' }] as ApiKey
+        def e = new HttpClientRequestExecutor(apiKey, null, AuthenticationScheme.SAUTHC1, 20000)
+
+        byte[] json = '{"name":"foo"}'.getBytes('UTF-8')
+        def entity = newStreamingEntity(json)
+        def httpResponse = newHttpResponse(201, entity)
+        httpResponse.addHeader("ETag", '"v1"')
+
+        def sdkResponse = e.toStreamingSdkResponse(httpResponse)
+
+        assertEquals sdkResponse.httpStatus, 201
+        assertEquals sdkResponse.headers.getContentType().toString(), "application/json"
+        assertEquals sdkResponse.headers.getETag(), '"v1"'
+        assertEquals sdkResponse.headers.getContentLength(), (long) json.length
+        assertTrue sdkResponse.hasBody()
+        //the body is the entity's content itself - nothing has been read from it yet:
+        assertSame sdkResponse.body, entity.content
+        assertEquals sdkResponse.body.available(), json.length
+    }
+
+    //@since 1.0.0
+    @Test
+    void testExecuteRequestAsync() {
+
+        def server = HttpServer.create(new InetSocketAddress('127.0.0.1', 0), 0)
+        server.createContext('/', new HttpHandler() {
+            @Override
+            void handle(HttpExchange exchange) throws IOException {
+                byte[] body = ('{"thread":"' + Thread.currentThread().name + '"}').getBytes('UTF-8')
+                exchange.responseHeaders.add('Content-Type', 'application/json')
+                exchange.sendResponseHeaders(200, body.length)
+                exchange.responseBody.write(body)
+                exchange.close()
+            }
+        })
+        server.start()
+
+        try {
+            def apiKey = [getId: { 'id' }, getSecret: { 'secret' }] as ApiKey
+            def e = new HttpClientRequestExecutor(apiKey, null, AuthenticationScheme.BASIC, 20000)
+
+            def executingThreads = Collections.synchronizedList([])
+            e.addRequestInterceptor(new RequestInterceptor() {
+                @Override
+                void beforeSend(Request request) {
+                    executingThreads << Thread.currentThread()
+                }
+
+                @Override
+                void afterReceive(Request request, Response response) {
+                }
+
+                @Override
+                void onError(Request request, Throwable t) {
+                }
+            })
+
+            def url = 'http://127.0.0.1:' + server.address.port + '/v1/tenants/current'
+            def response = e.executeRequestAsync(new DefaultRequest(HttpMethod.GET, url)).get(5, TimeUnit.SECONDS)
+
+            assertEquals response.httpStatus, 200
+            assertTrue response.body.text.startsWith('{"thread":')
+            response.body.close()
+
+            //executed by the executor's pool, not the calling thread:
+            assertEquals executingThreads.size(), 1
+            assertNotSame executingThreads[0], Thread.currentThread()
+            assertTrue executingThreads[0].name.startsWith('stormpath-http-async')
+        } finally {
+            server.stop(0)
+        }
+    }
+
+    //@since 1.0.0
+    @Test(expectedExceptions = IllegalArgumentException)
+    void testExecuteRequestAsyncWithNullRequest() {
+        def apiKey = [getId: { 'id' }, getSecret: { 'secret' }] as ApiKey
+        new HttpClientRequestExecutor(apiKey, null, AuthenticationScheme.BASIC, 20000).executeRequestAsync(null)
+    }
+
+    //@since 1.0.0
+    @Test
+    void testExecuteRequestAsyncFailureIsWrappedInExecutionException() {
+
+        //reserve a port and release it again so that nothing is listening on it:
+        def socket = new ServerSocket(0, 0, InetAddress.getByName('127.0.0.1'))
+        int port = socket.localPort
+        socket.close()
+
+        def apiKey = [getId: { 'id' }, getSecret: { 'secret' }] as ApiKey
+        def e = new HttpClientRequestExecutor(apiKey, null, AuthenticationScheme.BASIC, 20000)
+        e.numRetries = 1
+        e.backoffStrategy = { int retryCount -> 0L } as BackoffStrategy
+
+        def future = e.executeRequestAsync(new DefaultRequest(HttpMethod.GET, 'http://127.0.0.1:' + port + '/v1/tenants/current'))
+        try {
+            future.get(10, TimeUnit.SECONDS)
+            fail('ExecutionException should have been thrown')
+        } catch (ExecutionException expected) {
+            assertTrue expected.cause instanceof RestException
+        }
+    }
+
+    //@since 1.0.0
+    @Test
+    void testRequestInterceptorsObserveEveryAttempt() {
+
+        def attempts = new AtomicInteger()
+        def server = HttpServer.create(new InetSocketAddress('127.0.0.1', 0), 0)
+        server.createContext('/', new HttpHandler() {
+            @Override
+            void handle(HttpExchange exchange) throws IOException {
+                byte[] body = '{"name":"foo"}'.getBytes('UTF-8')
+                int status = attempts.incrementAndGet() == 1 ? 503 : 200
+                exchange.responseHeaders.add('Content-Type', 'application/json')
+                exchange.responseHeaders.add('X-Trace', exchange.requestHeaders.getFirst('X-Trace'))
+                exchange.sendResponseHeaders(status, body.length)
+                exchange.responseBody.write(body)
+                exchange.close()
+            }
+        })
+        server.start()
+
+        try {
+            def apiKey = [getId: { 'id' }, getSecret: { 'secret' }] as ApiKey
+            def e = new HttpClientRequestExecutor(apiKey, null, AuthenticationScheme.BASIC, 20000)
+            e.backoffStrategy = { int retryCount -> 0L } as BackoffStrategy
+
+            def calls = []
+            e.addRequestInterceptor(new RequestInterceptor() {
+                @Override
+                void beforeSend(Request request) {
+                    request.headers.set('X-Trace', 'abc')
+                    calls << 'before'
+                }
+
+                @Override
+                void afterReceive(Request request, Response response) {
+                    calls << ('after ' + response.httpStatus + ' ' + response.headers.getFirst('X-Trace')).toString()
+                }
+
+                @Override
+                void onError(Request request, Throwable t) {
+                    calls << 'error'
+                }
+            })
+
+            def url = 'http://127.0.0.1:' + server.address.port + '/v1/tenants/current'
+            def response = e.executeRequest(new DefaultRequest(HttpMethod.GET, url))
+            response.body.close()
+
+            assertEquals response.httpStatus, 200
+            assertEquals calls, ['before', 'after 503 abc', 'before', 'after 200 abc']
+            assertEquals e.requestInterceptors.size(), 1
+
+            e.removeRequestInterceptor(e.requestInterceptors[0])
+            assertTrue e.requestInterceptors.isEmpty()
+        } finally {
+            server.stop(0)
+        }
+    }
+
+    //@since 1.0.0
+    @Test
+    void testThrottledRequestIsPacedByRateLimiter() {
+
+        def attempts = new AtomicInteger()
+        def server = HttpServer.create(new InetSocketAddress('127.0.0.1', 0), 0)
+        server.createContext('/', new HttpHandler() {
+            @Override
+            void handle(HttpExchange exchange) throws IOException {
+                byte[] body = '{"name":"foo"}'.getBytes('UTF-8')
+                int status = attempts.incrementAndGet() == 1 ? 429 : 200
+                exchange.responseHeaders.add('Content-Type', 'application/json')
+                exchange.sendResponseHeaders(status, body.length)
+                exchange.responseBody.write(body)
+                exchange.close()
+            }
+        })
+        server.start()
+
+        try {
+            def apiKey = [getId: { 'id' }, getSecret: { 'secret' }] as ApiKey
+            def e = new HttpClientRequestExecutor(apiKey, null, AuthenticationScheme.BASIC, 20000)
+            def limiter = new RateLimiter(20, 0, 5, TimeUnit.SECONDS)
+            e.rateLimiter = limiter
+
+            def url = 'http://127.0.0.1:' + server.address.port + '/v1/tenants/current'
+            long start = System.currentTimeMillis()
+            def response = e.executeRequest(new DefaultRequest(HttpMethod.GET, url))
+            response.body.close()
+
+            assertEquals response.httpStatus, 200
+            assertEquals attempts.get(), 2
+            //retried after the limiter's next permit at the halved rate rather than an exponential backoff of 1s+:
+            assertTrue System.currentTimeMillis() - start < 1000
+            assertTrue limiter.rate < 20d
+            assertEquals e.requestInterceptors, [limiter]
+
+            e.rateLimiter = null
+            assertTrue e.requestInterceptors.isEmpty()
+        } finally {
+            server.stop(0)
+        }
+    }
 }
@@ -26,6 +26,7 @@ import com.stormpath.sdk.oauth.RequestLocation;
 import com.stormpath.sdk.oauth.ResourceRequestAuthenticator;
 
 import javax.servlet.http.HttpServletRequest;
+import java.util.concurrent.TimeUnit;
 
 /** @since 1.0.RC */
 public class DefaultResourceRequestAuthenticator implements ResourceRequestAuthenticator {
@@ -34,6 +35,8 @@ public class DefaultResourceRequestAuthenticator implements ResourceRequestAuthe
 
     private RequestLocation[] locations;
 
+    private long maxStalenessMillis = 0; //@since 1.0.0
+
     private final HttpServletRequest httpServletRequest;
 
     DefaultResourceRequestAuthenticator(HttpServletRequest httpServletRequest, Application application) {
@@ -49,6 +52,17 @@ public class DefaultResourceRequestAuthenticator implements ResourceRequestAuthe
         return this;
     }
 
+    /**
+     * @since 1.0.0
+     */
+    @Override
+    public ResourceRequestAuthenticator withLocalValidation(long maxStaleness, TimeUnit timeUnit) {
+        Assert.isTrue(maxStaleness > 0, "maxStaleness must be greater than zero.");
+        Assert.notNull(timeUnit, "timeUnit cannot be null.");
+        this.maxStalenessMillis = timeUnit.toMillis(maxStaleness);
+        return this;
+    }
+
     @Override
     public OauthAuthenticationResult execute() {
 
@@ -58,7 +72,9 @@ public class DefaultResourceRequestAuthenticator implements ResourceRequestAuthe
         AuthenticationRequest request;
 
         try {
-            request = new ResourceAuthenticationRequest(httpServletRequest, locations);
+            ResourceAuthenticationRequest resourceRequest = new ResourceAuthenticationRequest(httpServletRequest, locations);
+            resourceRequest.setMaxStalenessMillis(maxStalenessMillis);
+            request = resourceRequest;
         } catch (Exception e) {
             throw ApiAuthenticationExceptionFactory.newOauthException(OauthAuthenticationException.class,
                                                                       OauthAuthenticationException.INVALID_REQUEST);
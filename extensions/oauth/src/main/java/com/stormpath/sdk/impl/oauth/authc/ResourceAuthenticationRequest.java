@@ -37,6 +37,8 @@ public class ResourceAuthenticationRequest extends OAuthAccessResourceRequest im
 
     private final HttpServletRequest httpServletRequest;
 
+    private long maxStalenessMillis = 0; //@since 1.0.0
+
     @SuppressWarnings("UnusedDeclaration")
     //used via reflection by com.stormpath.sdk.impl.authc.ApiAuthenticationRequestFactory
     public ResourceAuthenticationRequest(HttpRequest request, RequestLocation[] requestLocations)
@@ -87,6 +89,25 @@ public class ResourceAuthenticationRequest extends OAuthAccessResourceRequest im
         return parameterStyles;
     }
 
+    /**
+     * Returns the maximum age, in milliseconds, of a locally cached access token ApiKey status that may be trusted
+     * when authenticating this request, or {@code 0} if the ApiKey status must always be looked up.
+     *
+     * @return the maximum age of a locally cached ApiKey status that may be trusted when authenticating this request.
+     * @since 1.0.0
+     */
+    public long getMaxStalenessMillis() {
+        return maxStalenessMillis;
+    }
+
+    /**
+     * @since 1.0.0
+     */
+    public void setMaxStalenessMillis(long maxStalenessMillis) {
+        Assert.isTrue(maxStalenessMillis >= 0, "maxStalenessMillis cannot be a negative number.");
+        this.maxStalenessMillis = maxStalenessMillis;
+    }
+
     @Override
     public Object getPrincipals() {
         throw new UnsupportedOperationException(getClass().getName() + " .getPrincipals() is not supported.");
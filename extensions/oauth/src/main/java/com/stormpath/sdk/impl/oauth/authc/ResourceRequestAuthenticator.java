@@ -23,13 +23,16 @@ import com.stormpath.sdk.application.Application;
 import com.stormpath.sdk.error.authc.AccessTokenOauthException;
 import com.stormpath.sdk.error.jwt.InvalidJwtException;
 import com.stormpath.sdk.impl.api.DefaultApiKeyOptions;
+import com.stormpath.sdk.impl.cache.BoundedCache;
 import com.stormpath.sdk.impl.ds.InternalDataStore;
 import com.stormpath.sdk.impl.error.ApiAuthenticationExceptionFactory;
 import com.stormpath.sdk.impl.jwt.JwtSignatureValidator;
 import com.stormpath.sdk.impl.jwt.JwtWrapper;
+import com.stormpath.sdk.impl.util.DaemonThreadFactory;
 import com.stormpath.sdk.lang.Assert;
 import com.stormpath.sdk.lang.Strings;
 import com.stormpath.sdk.oauth.OauthAuthenticationResult;
+import com.stormpath.sdk.resource.ResourceException;
 import org.apache.oltu.oauth2.common.exception.OAuthSystemException;
 
 import java.util.Collections;
@@ -37,6 +40,12 @@ import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 import java.util.StringTokenizer;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static com.stormpath.sdk.error.authc.AccessTokenOauthException.*;
 import static org.apache.oltu.oauth2.common.OAuth.*;
@@ -46,6 +55,38 @@ public class ResourceRequestAuthenticator {
 
     public final static String SCOPE_SEPARATOR_CHAR = " ";
 
+    /**
+     * The maximum number of token ApiKeys whose status is retained for local validation.
+     *
+     * @since 1.0.0
+     */
+    private static final int LOCAL_VALIDATION_CACHE_SIZE = 10000;
+
+    /**
+     * The status of token ApiKeys, keyed by the client's ApiKey id, the application href and the token ApiKey id,
+     * used when a request permits local validation.  Shared by all instances as a new authenticator is created for
+     * each request; entries are only ever returned to authenticators of the DataStore that loaded them.
+     *
+     * @since 1.0.0
+     */
+    private static final BoundedCache<String, TokenApiKey> TOKEN_API_KEYS =
+            new BoundedCache<String, TokenApiKey>(ResourceRequestAuthenticator.class.getName(), LOCAL_VALIDATION_CACHE_SIZE);
+
+    /**
+     * Refreshes token ApiKey status in the background.  Refreshes are de-duplicated per ApiKey, so the queue never
+     * holds more than one task per cached ApiKey.
+     *
+     * @since 1.0.0
+     */
+    private static final ExecutorService REFRESH_EXECUTOR;
+
+    static {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(2, 2, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<Runnable>(), new DaemonThreadFactory("stormpath-oauth-apikey-refresh"));
+        executor.allowCoreThreadTimeOut(true);
+        REFRESH_EXECUTOR = executor;
+    }
+
     private final InternalDataStore dataStore;
 
     private final JwtSignatureValidator jwtSignatureValidator;
@@ -83,7 +124,10 @@ public class ResourceRequestAuthenticator {
         String apiKeyId = getRequiredValue(jsonMap, AccessTokenRequestAuthenticator.ACCESS_TOKEN_SUBJECT_FIELD_NAME);
 
         //Retrieve the ApiKey that owns this
-        ApiKey apiKey = getTokenApiKey(application, apiKeyId);
+        long maxStalenessMillis = request.getMaxStalenessMillis();
+        ApiKey apiKey = maxStalenessMillis > 0 ?
+                getLocallyValidatedTokenApiKey(application, apiKeyId, maxStalenessMillis) :
+                getTokenApiKey(application, apiKeyId);
 
         String grantedScopes = getOptionalValue(jsonMap, OAUTH_SCOPE);
 
@@ -125,20 +169,89 @@ public class ResourceRequestAuthenticator {
      * @param apiKeyId    - The id of the {@link ApiKey} embedded in the access token.
      */
     private ApiKey getTokenApiKey(Application application, String apiKeyId) {
+        return loadTokenApiKey(application, apiKeyId).assertValid();
+    }
+
+    /**
+     * Retrieves the {@link ApiKey} pointed by this {@code apiKeyId}, as {@link #getTokenApiKey(Application, String)
+     * getTokenApiKey} does, but allows the ApiKey (and its account) status to be up to {@code maxStalenessMillis} old.
+     * <p/>
+     * A cached status is used as-is during the first half of the staleness window.  During the second half, it is
+     * still used but is also refreshed in the background, so that frequently used ApiKeys are (almost) never looked up
+     * on the request thread.  Once the window has elapsed, the status is looked up synchronously.  Disabled ApiKeys
+     * and accounts are cached (and refreshed) in exactly the same way, so revocation takes effect within
+     * {@code maxStalenessMillis}.
+     *
+     * @param application        - The application that is making the assertion.
+     * @param apiKeyId           - The id of the {@link ApiKey} embedded in the access token.
+     * @param maxStalenessMillis - The maximum age of a cached ApiKey status.
+     * @since 1.0.0
+     */
+    private ApiKey getLocallyValidatedTokenApiKey(final Application application, final String apiKeyId,
+                                                  long maxStalenessMillis) {
+
+        //the cached ApiKey is bound to the DataStore that loaded it, so it must never be handed to another client:
+        final String cacheKey = dataStore.getApiKey().getId() + "#" + application.getHref() + "#" + apiKeyId;
+        long age = 0;
+
+        TokenApiKey tokenApiKey = TOKEN_API_KEYS.get(cacheKey);
+        if (tokenApiKey != null && tokenApiKey.dataStore != dataStore) {
+            //loaded by another client using the same ApiKey:
+            tokenApiKey = null;
+        }
+        if (tokenApiKey != null) {
+            age = System.currentTimeMillis() - tokenApiKey.timestamp;
+        }
+
+        if (tokenApiKey == null || age >= maxStalenessMillis) {
+            tokenApiKey = loadTokenApiKey(application, apiKeyId);
+            TOKEN_API_KEYS.put(cacheKey, tokenApiKey);
+        } else if (age >= maxStalenessMillis / 2 && tokenApiKey.refreshing.compareAndSet(false, true)) {
+            final TokenApiKey stale = tokenApiKey;
+            try {
+                REFRESH_EXECUTOR.execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        try {
+                            TOKEN_API_KEYS.put(cacheKey, loadTokenApiKey(application, apiKeyId));
+                        } catch (ResourceException e) {
+                            if (e.getStatus() == 404) {
+                                //the ApiKey no longer exists - cache it as revoked:
+                                TOKEN_API_KEYS.put(cacheKey, new TokenApiKey(dataStore, null, false));
+                            } else {
+                                stale.refreshing.set(false);
+                            }
+                        } catch (RuntimeException e) {
+                            //retain the stale status: it will be looked up synchronously once the window elapses
+                            stale.refreshing.set(false);
+                        }
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                stale.refreshing.set(false);
+            }
+        }
+
+        return tokenApiKey.assertValid();
+    }
+
+    /**
+     * Looks up the {@link ApiKey} pointed by this {@code apiKeyId} (and its account) from the {@code application},
+     * recording whether both are enabled.
+     *
+     * @since 1.0.0
+     */
+    private TokenApiKey loadTokenApiKey(Application application, String apiKeyId) {
 
         ApiKey apiKey = application.getApiKey(apiKeyId, new DefaultApiKeyOptions().withAccount());
 
         if (apiKey == null || apiKey.getStatus() == ApiKeyStatus.DISABLED) {
-            throw ApiAuthenticationExceptionFactory.newOauthException(AccessTokenOauthException.class, INVALID_CLIENT);
+            return new TokenApiKey(dataStore, apiKey, false);
         }
 
         Account account = apiKey.getAccount();
 
-        if (account.getStatus() != AccountStatus.ENABLED) {
-            throw ApiAuthenticationExceptionFactory.newOauthException(AccessTokenOauthException.class, INVALID_CLIENT);
-        }
-
-        return apiKey;
+        return new TokenApiKey(dataStore, apiKey, account.getStatus() == AccountStatus.ENABLED);
     }
 
     private <T> T getRequiredValue(Map jsonMap, String parameterName) {
@@ -160,4 +273,33 @@ public class ResourceRequestAuthenticator {
 
         return (T) object;
     }
+
+    /**
+     * An ApiKey referenced by an access token, and whether it (and its account) may be used to authenticate.
+     *
+     * @since 1.0.0
+     */
+    private static class TokenApiKey {
+
+        private final InternalDataStore dataStore;
+        private final ApiKey apiKey;
+        private final boolean valid;
+        private final long timestamp;
+        private final AtomicBoolean refreshing;
+
+        private TokenApiKey(InternalDataStore dataStore, ApiKey apiKey, boolean valid) {
+            this.dataStore = dataStore;
+            this.apiKey = apiKey;
+            this.valid = valid;
+            this.timestamp = System.currentTimeMillis();
+            this.refreshing = new AtomicBoolean(false);
+        }
+
+        private ApiKey assertValid() {
+            if (!valid) {
+                throw ApiAuthenticationExceptionFactory.newOauthException(AccessTokenOauthException.class, INVALID_CLIENT);
+            }
+            return apiKey;
+        }
+    }
 }
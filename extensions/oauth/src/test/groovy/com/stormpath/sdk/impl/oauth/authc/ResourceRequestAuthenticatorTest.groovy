@@ -0,0 +1,194 @@
+/*
+ * Copyright 2014 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.oauth.authc
+
+import com.stormpath.sdk.account.Account
+import com.stormpath.sdk.account.AccountStatus
+import com.stormpath.sdk.api.ApiKey
+import com.stormpath.sdk.api.ApiKeyOptions
+import com.stormpath.sdk.api.ApiKeyStatus
+import com.stormpath.sdk.application.Application
+import com.stormpath.sdk.error.authc.AccessTokenOauthException
+import com.stormpath.sdk.impl.ds.InternalDataStore
+import com.stormpath.sdk.resource.ResourceException
+import org.testng.annotations.Test
+
+import java.util.concurrent.atomic.AtomicInteger
+
+import static org.testng.Assert.*
+
+/**
+ * Tests the local validation mode of {@link ResourceRequestAuthenticator}, where the status of the ApiKey referenced
+ * by an access token (and of its account) may be up to {@code maxStalenessMillis} old.
+ *
+ * @since 1.0.0
+ */
+class ResourceRequestAuthenticatorTest {
+
+    private static final long WINDOW = 400
+
+    private static final AtomicInteger APPLICATION_COUNT = new AtomicInteger()
+
+    private static ApiKey clientApiKey(String id = 'clientApiKeyId') {
+        return [getId: { id }, getSecret: { 'clientApiKeySecret' }] as ApiKey
+    }
+
+    private static InternalDataStore newDataStore(ApiKey apiKey = clientApiKey()) {
+        return [getApiKey: { apiKey }] as InternalDataStore
+    }
+
+    private static ApiKey tokenApiKey(ApiKeyStatus status = ApiKeyStatus.ENABLED,
+                                      AccountStatus accountStatus = AccountStatus.ENABLED) {
+        Account account = [getStatus: { accountStatus }] as Account
+        return [getStatus: { status }, getAccount: { account }] as ApiKey
+    }
+
+    /**
+     * Returns an application (with a unique href, as the status cache is shared by all authenticators) whose ApiKey
+     * lookups are answered by the specified closure, counting the lookups.
+     */
+    private static Application newApplication(AtomicInteger lookups, Closure<ApiKey> lookup) {
+        String href = 'https://api.stormpath.com/v1/applications/' + APPLICATION_COUNT.incrementAndGet()
+        return [
+                getHref  : { href },
+                getApiKey: { String id, ApiKeyOptions options ->
+                    lookups.incrementAndGet()
+                    return lookup.call()
+                }
+        ] as Application
+    }
+
+    private static ApiKey validate(ResourceRequestAuthenticator authenticator, Application application) {
+        return authenticator.getLocallyValidatedTokenApiKey(application, 'tokenApiKeyId', WINDOW)
+    }
+
+    private static void waitFor(Closure<Boolean> condition) {
+        for (int i = 0; i < 100 && !condition.call(); i++) {
+            Thread.sleep(20)
+        }
+        assertTrue condition.call()
+    }
+
+    private static void assertRejected(ResourceRequestAuthenticator authenticator, Application application) {
+        try {
+            validate(authenticator, application)
+            fail('The access token should have been rejected.')
+        } catch (AccessTokenOauthException expected) {
+        }
+    }
+
+    @Test
+    void testCachedStatusIsUsedWithinWindow() {
+        def lookups = new AtomicInteger()
+        def apiKey = tokenApiKey()
+        def application = newApplication(lookups, { apiKey })
+        def authenticator = new ResourceRequestAuthenticator(newDataStore())
+
+        assertSame validate(authenticator, application), apiKey
+        assertSame validate(authenticator, application), apiKey
+        assertEquals lookups.get(), 1
+
+        //once the window has elapsed, the status is looked up synchronously:
+        Thread.sleep(WINDOW + 50)
+        assertSame validate(authenticator, application), apiKey
+        assertEquals lookups.get(), 2
+    }
+
+    @Test
+    void testStatusIsRefreshedInBackgroundDuringSecondHalfOfWindow() {
+        def lookups = new AtomicInteger()
+        def first = tokenApiKey()
+        def refreshed = tokenApiKey()
+        def application = newApplication(lookups, { lookups.get() == 1 ? first : refreshed })
+        def authenticator = new ResourceRequestAuthenticator(newDataStore())
+
+        assertSame validate(authenticator, application), first
+
+        Thread.sleep((long) (WINDOW * 0.6))
+
+        //the cached status is returned immediately while it is refreshed in the background:
+        assertSame validate(authenticator, application), first
+        waitFor { lookups.get() == 2 }
+        waitFor { validate(authenticator, application).is(refreshed) }
+        assertEquals lookups.get(), 2
+    }
+
+    @Test
+    void testNotFoundDuringRefreshIsCachedAsRevoked() {
+        def lookups = new AtomicInteger()
+        def apiKey = tokenApiKey()
+        def notFound = [getStatus: { 404 }, getCode: { 404 }, getMessage: { 'Not found' },
+                        getDeveloperMessage: { 'Not found' }, getMoreInfo: { '' }] as com.stormpath.sdk.error.Error
+        def application = newApplication(lookups, {
+            if (lookups.get() > 1) {
+                throw new ResourceException(notFound)
+            }
+            return apiKey
+        })
+        def authenticator = new ResourceRequestAuthenticator(newDataStore())
+
+        assertSame validate(authenticator, application), apiKey
+        Thread.sleep((long) (WINDOW * 0.6))
+        assertSame validate(authenticator, application), apiKey
+
+        waitFor { lookups.get() == 2 }
+        Thread.sleep(50)
+        assertRejected(authenticator, application)
+        //the revoked status is cached too:
+        assertEquals lookups.get(), 2
+    }
+
+    @Test
+    void testDisabledApiKeyIsRejected() {
+        def lookups = new AtomicInteger()
+        def application = newApplication(lookups, { tokenApiKey(ApiKeyStatus.DISABLED) })
+        def authenticator = new ResourceRequestAuthenticator(newDataStore())
+
+        assertRejected(authenticator, application)
+        assertRejected(authenticator, application)
+        assertEquals lookups.get(), 1
+    }
+
+    @Test
+    void testDisabledAccountIsRejected() {
+        def lookups = new AtomicInteger()
+        def application = newApplication(lookups, { tokenApiKey(ApiKeyStatus.ENABLED, AccountStatus.DISABLED) })
+        def authenticator = new ResourceRequestAuthenticator(newDataStore())
+
+        assertRejected(authenticator, application)
+        assertEquals lookups.get(), 1
+    }
+
+    @Test
+    void testCachedStatusIsNotSharedAcrossDataStores() {
+        def lookups = new AtomicInteger()
+        def application = newApplication(lookups, { tokenApiKey() })
+
+        //two clients using the same ApiKey:
+        def authenticator1 = new ResourceRequestAuthenticator(newDataStore())
+        def authenticator2 = new ResourceRequestAuthenticator(newDataStore())
+
+        def apiKey1 = validate(authenticator1, application)
+        def apiKey2 = validate(authenticator2, application)
+
+        assertEquals lookups.get(), 2
+        assertNotSame apiKey1, apiKey2
+
+        //an authenticator of a client using another ApiKey does not see either entry:
+        validate(new ResourceRequestAuthenticator(newDataStore(clientApiKey('otherClientApiKeyId'))), application)
+        assertEquals lookups.get(), 3
+    }
+}
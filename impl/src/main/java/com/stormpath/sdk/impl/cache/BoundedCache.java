@@ -0,0 +1,481 @@
+/*
+ * Copyright 2014 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.cache;
+
+import com.stormpath.sdk.cache.Cache;
+import com.stormpath.sdk.impl.util.Duration;
+import com.stormpath.sdk.lang.Assert;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A {@link Cache Cache} implementation that retains at most (approximately) a configured maximum number of entries,
+ * evicting the least recently used entries once that maximum is reached.
+ * <p/>
+ * Unlike a {@link DefaultCache} backed by a {@link com.stormpath.sdk.impl.util.SoftHashMap SoftHashMap}, eviction is
+ * driven solely by the configured {@link #getMaxEntries() maxEntries}, {@link #getTimeToLive() timeToLive} and
+ * {@link #getTimeToIdle() timeToIdle} settings and never by garbage collection, so cache contents remain predictable
+ * when the heap is under pressure.
+ * <h2>Implementation</h2>
+ * Entries are spread across a number of independently locked segments (lock striping), each of which maintains its
+ * entries in least-recently-used order.  Expiration is enforced by the same structure: because the least recently
+ * used entries are also the longest idle, each write to a segment sweeps expired entries from the head of that
+ * segment's LRU order in addition to evicting entries in excess of the segment's capacity.  Expired entries that
+ * have not yet been swept are never returned.
+ * <p/>
+ * Because capacity is divided evenly between segments, the total number of entries retained may slightly exceed
+ * {@code maxEntries} (by at most one less than the number of segments) or, if keys are unevenly distributed,
+ * eviction may begin slightly before {@code maxEntries} is reached.
+ * <h2>Thread Safety</h2>
+ * This implementation is thread-safe.
+ *
+ * @since 1.0.0
+ */
+public class BoundedCache<K, V> implements Cache<K, V>, CacheStatistics {
+
+    private static final int MAX_SEGMENTS = 16;
+
+    private final String name;
+    private final int maxEntries;
+    private final Segment<K, V>[] segments;
+    private final int segmentMask;
+
+    private volatile Duration timeToLive;
+    private volatile Duration timeToIdle;
+
+    //the settings above in milliseconds (Long.MAX_VALUE if not set), so that expiration checks do not allocate:
+    private volatile long timeToLiveMillis;
+    private volatile long timeToIdleMillis;
+
+    private final AtomicLong accessCount;
+    private final AtomicLong hitCount;
+    private final AtomicLong missCount;
+    private final AtomicLong evictionCount;
+
+    /**
+     * Creates a new {@code BoundedCache} instance with the specified {@code name} that retains approximately
+     * {@code maxEntries} entries, with no {@code timeToLive} or {@code timeToIdle} limits.
+     *
+     * @param name       name to assign to this instance, expected to be unique among all other caches in the parent
+     *                   {@code CacheManager}.
+     * @param maxEntries the maximum number of entries to retain.  Must be greater than zero.
+     */
+    public BoundedCache(String name, int maxEntries) {
+        this(name, maxEntries, null, null);
+    }
+
+    /**
+     * Creates a new {@code BoundedCache} instance with the specified {@code name} that retains approximately
+     * {@code maxEntries} entries, using the specified {@code timeToLive} and {@code timeToIdle} settings.
+     *
+     * @param name       name to assign to this instance, expected to be unique among all other caches in the parent
+     *                   {@code CacheManager}.
+     * @param maxEntries the maximum number of entries to retain.  Must be greater than zero.
+     * @param timeToLive the amount of time cache entries may exist until they should be removed from the cache.
+     * @param timeToIdle the amount of time cache entries may remain idle until they should be removed from the cache.
+     * @throws IllegalArgumentException if {@code maxEntries} is not positive, or if either {@code timeToLive} or
+     *                                  {@code timeToIdle} are non-null <em>and</em> represent a non-positive value.
+     */
+    @SuppressWarnings("unchecked")
+    public BoundedCache(String name, int maxEntries, Duration timeToLive, Duration timeToIdle)
+            throws IllegalArgumentException {
+        Assert.notNull(name, "Cache name cannot be null.");
+        Assert.isTrue(maxEntries > 0, "maxEntries must be greater than zero.");
+        DefaultCache.assertTtl(timeToLive);
+        DefaultCache.assertTti(timeToIdle);
+        this.name = name;
+        this.maxEntries = maxEntries;
+        this.timeToLive = timeToLive;
+        this.timeToIdle = timeToIdle;
+        this.timeToLiveMillis = toMillis(timeToLive);
+        this.timeToIdleMillis = toMillis(timeToIdle);
+
+        //use a power of two so the segment can be selected with a mask, but never more segments than entries:
+        int segmentCount = 1;
+        while (segmentCount < MAX_SEGMENTS && (segmentCount << 1) <= maxEntries) {
+            segmentCount <<= 1;
+        }
+        int segmentCapacity = (maxEntries + segmentCount - 1) / segmentCount;
+
+        this.segments = new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            this.segments[i] = new Segment<K, V>(segmentCapacity);
+        }
+        this.segmentMask = segmentCount - 1;
+
+        this.accessCount = new AtomicLong(0);
+        this.hitCount = new AtomicLong(0);
+        this.missCount = new AtomicLong(0);
+        this.evictionCount = new AtomicLong(0);
+    }
+
+    private Segment<K, V> segmentFor(Object key) {
+        int h = key != null ? key.hashCode() : 0;
+        //spread the hash so that keys differing only in their upper bits do not all map to the same segment:
+        h ^= (h >>> 20) ^ (h >>> 12);
+        h ^= (h >>> 7) ^ (h >>> 4);
+        return segments[h & segmentMask];
+    }
+
+    private boolean isExpired(Node<V> node, long nowMillis) {
+        return nowMillis - node.creationTimeMillis > this.timeToLiveMillis || nowMillis - node.lastAccessTimeMillis > this.timeToIdleMillis;
+    }
+
+    private static long toMillis(Duration d) {
+        return d != null ? TimeUnit.MILLISECONDS.convert(d.getValue(), d.getTimeUnit()) : Long.MAX_VALUE;
+    }
+
+    public V get(K key) {
+
+        this.accessCount.incrementAndGet();
+
+        long nowMillis = System.currentTimeMillis();
+        Segment<K, V> segment = segmentFor(key);
+
+        Node<V> node;
+        segment.lock();
+        try {
+            //access-ordered map: a successful lookup moves the entry to the most recently used position
+            node = segment.map.get(key);
+
+            if (node == null) {
+                missCount.incrementAndGet();
+                return null;
+            }
+
+            if (isExpired(node, nowMillis)) {
+                segment.map.remove(key);
+                evictionCount.incrementAndGet();
+                missCount.incrementAndGet(); //count an expired entry as a miss
+                return null;
+            }
+
+            node.lastAccessTimeMillis = nowMillis;
+        } finally {
+            segment.unlock();
+        }
+
+        hitCount.incrementAndGet();
+
+        return node.value;
+    }
+
+    public V put(K key, V value) {
+
+        long nowMillis = System.currentTimeMillis();
+        Segment<K, V> segment = segmentFor(key);
+
+        segment.lock();
+        try {
+            Node<V> previous = segment.map.put(key, new Node<V>(value, nowMillis));
+            evict(segment, nowMillis);
+            return previous != null && !isExpired(previous, nowMillis) ? previous.value : null;
+        } finally {
+            segment.unlock();
+        }
+    }
+
+    /**
+     * Adds a cache entry that was created at the specified time, for example when restoring a cache snapshot, so that
+     * the entry only lives for the remainder of its {@link #getTimeToLive() timeToLive}.
+     *
+     * @since 1.0.0
+     */
+    V put(K key, V value, long creationTimeMillis) {
+
+        long nowMillis = System.currentTimeMillis();
+        Segment<K, V> segment = segmentFor(key);
+
+        segment.lock();
+        try {
+            Node<V> previous = segment.map.put(key, new Node<V>(value, creationTimeMillis, nowMillis));
+            evict(segment, nowMillis);
+            return previous != null && !isExpired(previous, nowMillis) ? previous.value : null;
+        } finally {
+            segment.unlock();
+        }
+    }
+
+    /**
+     * Invokes the specified visitor for each entry that has not expired.  Entries are copied while holding each
+     * segment's lock, and the visitor is invoked without holding any lock.  Visiting does not affect the order in
+     * which entries are evicted.
+     *
+     * @since 1.0.0
+     */
+    void visitEntries(CacheEntryVisitor<? super K, ? super V> visitor) {
+        long nowMillis = System.currentTimeMillis();
+        for (Segment<K, V> segment : segments) {
+            List<Map.Entry<K, Node<V>>> live;
+            segment.lock();
+            try {
+                live = new ArrayList<Map.Entry<K, Node<V>>>(segment.map.size());
+                //iterating over the entry set does not reorder an access-ordered map:
+                for (Map.Entry<K, Node<V>> e : segment.map.entrySet()) {
+                    if (!isExpired(e.getValue(), nowMillis)) {
+                        live.add(new AbstractMap.SimpleImmutableEntry<K, Node<V>>(e.getKey(), e.getValue()));
+                    }
+                }
+            } finally {
+                segment.unlock();
+            }
+            for (Map.Entry<K, Node<V>> e : live) {
+                Node<V> node = e.getValue();
+                visitor.visit(e.getKey(), node.value, node.creationTimeMillis);
+            }
+        }
+    }
+
+    /**
+     * Removes entries from the head (least recently used end) of the segment while the segment is over capacity or
+     * the head entry has expired.  Must be called while holding the segment's lock.
+     */
+    private void evict(Segment<K, V> segment, long nowMillis) {
+        Iterator<Node<V>> i = segment.map.values().iterator();
+        while (i.hasNext()) {
+            Node<V> node = i.next();
+            if (segment.map.size() > segment.capacity || isExpired(node, nowMillis)) {
+                i.remove();
+                evictionCount.incrementAndGet();
+            } else {
+                break;
+            }
+        }
+    }
+
+    @Override
+    public V remove(K key) {
+        accessCount.incrementAndGet();
+
+        long nowMillis = System.currentTimeMillis();
+        Segment<K, V> segment = segmentFor(key);
+
+        Node<V> previous;
+        segment.lock();
+        try {
+            previous = segment.map.remove(key);
+        } finally {
+            segment.unlock();
+        }
+
+        if (previous != null && !isExpired(previous, nowMillis)) {
+            hitCount.incrementAndGet();
+            return previous.value;
+        } else {
+            missCount.incrementAndGet();
+            return null;
+        }
+    }
+
+    /**
+     * Returns the maximum number of entries this cache will (approximately) retain.
+     *
+     * @return the maximum number of entries this cache will (approximately) retain.
+     */
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    /**
+     * Returns the amount of time a cache entry may exist after first being created before it will expire and no
+     * longer be available.
+     *
+     * @return the amount of time a cache entry may exist after first being created before it will expire and no
+     *         longer be available.
+     */
+    public Duration getTimeToLive() {
+        return timeToLive;
+    }
+
+    /**
+     * Sets the amount of time a cache entry may exist after first being created before it will expire and no
+     * longer be available.
+     *
+     * @param timeToLive the amount of time a cache entry may exist after first being created before it will expire and
+     *                   no longer be available.
+     */
+    public void setTimeToLive(Duration timeToLive) {
+        DefaultCache.assertTtl(timeToLive);
+        this.timeToLive = timeToLive;
+        this.timeToLiveMillis = toMillis(timeToLive);
+    }
+
+    /**
+     * Returns the amount of time a cache entry may be idle - unused (not accessed) - before it will expire and
+     * no longer be available.
+     *
+     * @return the amount of time a cache entry may be idle - unused (not accessed) - before it will expire and
+     *         no longer be available.
+     */
+    public Duration getTimeToIdle() {
+        return timeToIdle;
+    }
+
+    /**
+     * Sets the amount of time a cache entry may be idle - unused (not accessed) - before it will expire and
+     * no longer be available.
+     *
+     * @param timeToIdle the amount of time a cache entry may be idle - unused (not accessed) - before it will expire
+     *                   and no longer be available.
+     */
+    public void setTimeToIdle(Duration timeToIdle) {
+        DefaultCache.assertTti(timeToIdle);
+        this.timeToIdle = timeToIdle;
+        this.timeToIdleMillis = toMillis(timeToIdle);
+    }
+
+    /**
+     * Returns the number of attempts to return a cache entry.  Note that because {@link #remove(Object)} will return
+     * a value, calls to both {@link #get(Object)} and {@link #remove(Object)} will increment this number.
+     *
+     * @return the number of attempts to return a cache entry
+     */
+    public long getAccessCount() {
+        return this.accessCount.get();
+    }
+
+    /**
+     * Returns the total number of times an access attempt successfully returned a cache entry.
+     *
+     * @return the total number of times an access attempt successfully returned a cache entry.
+     */
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    /**
+     * Returns the total number of times an access attempt did not return a cache entry.
+     *
+     * @return the total number of times an access attempt did not return a cache entry.
+     */
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    /**
+     * Returns the total number of entries removed from this cache due to capacity or expiration.
+     *
+     * @return the total number of entries removed from this cache due to capacity or expiration.
+     */
+    public long getEvictionCount() {
+        return evictionCount.get();
+    }
+
+    /**
+     * Returns the ratio of {@link #getHitCount() hitCount} to {@link #getAccessCount() accessCount}.
+     *
+     * @return the ratio of {@link #getHitCount() hitCount} to {@link #getAccessCount() accessCount}.
+     */
+    public double getHitRatio() {
+        double accessCount = (double) getAccessCount();
+        if (accessCount > 0) {
+            double hitCount = (double) getHitCount();
+            return hitCount / accessCount;
+        }
+        return 0;
+    }
+
+    /**
+     * Removes all entries from this cache.
+     */
+    public void clear() {
+        for (Segment<K, V> segment : segments) {
+            segment.lock();
+            try {
+                segment.map.clear();
+            } finally {
+                segment.unlock();
+            }
+        }
+    }
+
+    /**
+     * Returns the total number of cache entries currently retained by this cache, which may include expired entries
+     * that have not yet been swept.
+     *
+     * @return the total number of cache entries currently retained by this cache.
+     */
+    public int size() {
+        int size = 0;
+        for (Segment<K, V> segment : segments) {
+            segment.lock();
+            try {
+                size += segment.map.size();
+            } finally {
+                segment.unlock();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Returns this cache instance's name.
+     *
+     * @return this cache instance's name.
+     */
+    public String getName() {
+        return this.name;
+    }
+
+    public String toString() {
+        return new StringBuilder("    {\n      \"name\": \"").append(name).append("\",\n")
+                .append("      \"size\": ").append(size()).append(",\n")
+                .append("      \"maxEntries\": ").append(maxEntries).append(",\n")
+                .append("      \"accessCount\": ").append(getAccessCount()).append(",\n")
+                .append("      \"hitCount\": ").append(getHitCount()).append(",\n")
+                .append("      \"missCount\": ").append(getMissCount()).append(",\n")
+                .append("      \"evictionCount\": ").append(getEvictionCount()).append(",\n")
+                .append("      \"hitRatio\": ").append(getHitRatio()).append("\n")
+                .append("    }")
+                .toString();
+    }
+
+    private static final class Segment<K, V> extends ReentrantLock {
+
+        private final int capacity;
+        private final LinkedHashMap<K, Node<V>> map;
+
+        private Segment(int capacity) {
+            this.capacity = capacity;
+            this.map = new LinkedHashMap<K, Node<V>>(16, 0.75f, true);
+        }
+    }
+
+    private static final class Node<V> {
+
+        private final V value;
+        private final long creationTimeMillis;
+        private volatile long lastAccessTimeMillis;
+
+        private Node(V value, long nowMillis) {
+            this(value, nowMillis, nowMillis);
+        }
+
+        private Node(V value, long creationTimeMillis, long nowMillis) {
+            this.value = value;
+            this.creationTimeMillis = creationTimeMillis;
+            this.lastAccessTimeMillis = nowMillis;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2014 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.cache;
+
+import com.stormpath.sdk.cache.BulkCache;
+import com.stormpath.sdk.cache.Cache;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Executes bulk operations on any {@link Cache}, using the {@link BulkCache} operations if the cache supports them
+ * and falling back to one single-entry operation per key otherwise.
+ *
+ * @since 1.0.0
+ */
+public final class BulkCaches {
+
+    private BulkCaches() {
+    }
+
+    public static <K, V> Map<K, V> getAll(Cache<K, V> cache, Collection<? extends K> keys) {
+        if (cache instanceof BulkCache) {
+            return ((BulkCache<K, V>) cache).getAll(keys);
+        }
+        Map<K, V> values = new LinkedHashMap<K, V>(keys.size());
+        for (K key : keys) {
+            V value = cache.get(key);
+            if (value != null) {
+                values.put(key, value);
+            }
+        }
+        return values;
+    }
+
+    public static <K, V> void putAll(Cache<K, V> cache, Map<? extends K, ? extends V> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        if (cache instanceof BulkCache) {
+            ((BulkCache<K, V>) cache).putAll(entries);
+            return;
+        }
+        for (Map.Entry<? extends K, ? extends V> entry : entries.entrySet()) {
+            cache.put(entry.getKey(), entry.getValue());
+        }
+    }
+
+    public static <K, V> void removeAll(Cache<K, V> cache, Collection<? extends K> keys) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        if (cache instanceof BulkCache) {
+            ((BulkCache<K, V>) cache).removeAll(keys);
+            return;
+        }
+        for (K key : keys) {
+            cache.remove(key);
+        }
+    }
+}
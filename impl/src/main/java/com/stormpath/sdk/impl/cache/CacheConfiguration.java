@@ -44,4 +44,32 @@ public interface CacheConfiguration {
      * @return the Time-to-Idle setting to apply for all entries in the associated {@code Cache}.
      */
     Duration getTimeToIdle();
+
+    /**
+     * Returns the maximum number of entries to retain in the associated {@code Cache}, or a non-positive number if the
+     * number of entries is bounded only by available memory.
+     *
+     * @return the maximum number of entries to retain in the associated {@code Cache}.
+     * @since 1.0.0
+     */
+    int getMaxEntries();
+
+    /**
+     * Returns the amount of time before an entry's Time-to-Live elapses during which an access triggers a background
+     * refresh of the entry, or {@code null} if entries are not refreshed ahead of their expiration.
+     *
+     * @return the refresh-ahead window to apply for all entries in the associated {@code Cache}, or {@code null}.
+     * @since 1.0.0
+     */
+    Duration getRefreshAhead();
+
+    /**
+     * Returns the amount of time after an entry's Time-to-Live elapses during which the stale entry may still be
+     * returned while it is refreshed in the background, or {@code null} if expired entries are never returned.
+     *
+     * @return the stale-while-revalidate window to apply for all entries in the associated {@code Cache}, or
+     *         {@code null}.
+     * @since 1.0.0
+     */
+    Duration getStaleWhileRevalidate();
 }
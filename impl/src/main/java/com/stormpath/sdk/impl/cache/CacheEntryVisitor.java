@@ -0,0 +1,33 @@
+/*
+ * Copyright 2014 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.cache;
+
+/**
+ * Callback used to iterate over the live entries of a cache, along with the time each entry was created.
+ *
+ * @since 1.0.0
+ */
+interface CacheEntryVisitor<K, V> {
+
+    /**
+     * Invoked once for each live cache entry.
+     *
+     * @param key                the entry's key
+     * @param value              the entry's value
+     * @param creationTimeMillis the time in millis since Epoch when the entry was created
+     */
+    void visit(K key, V value, long creationTimeMillis);
+}
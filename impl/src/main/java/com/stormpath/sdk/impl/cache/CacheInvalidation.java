@@ -0,0 +1,103 @@
+/*
+ * Copyright 2014 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.cache;
+
+import com.stormpath.sdk.lang.Assert;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A notification, sent over a {@link CacheInvalidationBus}, that the entries with the given keys in a given cache
+ * region were modified or removed by a node and that other nodes must discard any local copy of them.
+ * <p/>
+ * Bulk modifications are announced with a single invalidation carrying all of the affected keys, so that they cost a
+ * single message on the bus rather than one per key.
+ *
+ * @see NearCacheManager
+ * @since 1.0.0
+ */
+public class CacheInvalidation implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String origin;
+    private final String region;
+    private final List<Object> keys;
+
+    /**
+     * Creates a new invalidation notification for a single entry.
+     *
+     * @param origin the id of the node that modified or removed the entry
+     * @param region the name of the cache region containing the entry
+     * @param key    the key of the modified or removed entry
+     */
+    public CacheInvalidation(String origin, String region, Object key) {
+        this(origin, region, Collections.singletonList(key));
+    }
+
+    /**
+     * Creates a new invalidation notification for several entries of the same region.
+     *
+     * @param origin the id of the node that modified or removed the entries
+     * @param region the name of the cache region containing the entries
+     * @param keys   the keys of the modified or removed entries
+     */
+    public CacheInvalidation(String origin, String region, Collection<?> keys) {
+        Assert.hasText(origin, "origin cannot be null or empty.");
+        Assert.hasText(region, "region cannot be null or empty.");
+        Assert.notEmpty(keys, "keys cannot be null or empty.");
+        Assert.noNullElements(keys.toArray(), "keys cannot contain null elements.");
+        this.origin = origin;
+        this.region = region;
+        this.keys = Collections.unmodifiableList(new ArrayList<Object>(keys));
+    }
+
+    /**
+     * Returns the id of the node that modified or removed the entry.
+     *
+     * @return the id of the node that modified or removed the entry.
+     */
+    public String getOrigin() {
+        return origin;
+    }
+
+    /**
+     * Returns the name of the cache region containing the entry.
+     *
+     * @return the name of the cache region containing the entry.
+     */
+    public String getRegion() {
+        return region;
+    }
+
+    /**
+     * Returns the keys of the modified or removed entries.
+     *
+     * @return the keys of the modified or removed entries.
+     */
+    public List<Object> getKeys() {
+        return keys;
+    }
+
+    @Override
+    public String toString() {
+        return region + ":" + keys + " (from " + origin + ")";
+    }
+}
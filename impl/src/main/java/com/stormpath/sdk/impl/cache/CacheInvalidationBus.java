@@ -0,0 +1,44 @@
+/*
+ * Copyright 2014 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.cache;
+
+/**
+ * Propagates {@link CacheInvalidation}s between the nodes sharing a distributed cache, so that each node's
+ * {@link NearCacheManager} can discard local copies of entries modified or removed by other nodes.
+ * <p/>
+ * Implementations deliver each published invalidation to the listeners of every node, typically using the
+ * publish/subscribe facility of the distributed cache itself (e.g. a Hazelcast topic).  Delivery is expected to be
+ * asynchronous and may be best-effort: near caches also expire their entries after a short Time-to-Live to bound the
+ * staleness caused by a lost invalidation.
+ *
+ * @since 1.0.0
+ */
+public interface CacheInvalidationBus {
+
+    /**
+     * Sends the specified invalidation to all nodes, including (typically) the publishing node itself.
+     *
+     * @param invalidation the invalidation to send
+     */
+    void publish(CacheInvalidation invalidation);
+
+    /**
+     * Registers a listener to be notified of every invalidation sent over this bus.
+     *
+     * @param listener the listener to notify of every invalidation sent over this bus.
+     */
+    void addListener(CacheInvalidationListener listener);
+}
@@ -0,0 +1,31 @@
+/*
+ * Copyright 2014 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.cache;
+
+/**
+ * Receives the {@link CacheInvalidation}s sent over a {@link CacheInvalidationBus}.
+ *
+ * @since 1.0.0
+ */
+public interface CacheInvalidationListener {
+
+    /**
+     * Invoked when an invalidation is received.
+     *
+     * @param invalidation the received invalidation
+     */
+    void onInvalidation(CacheInvalidation invalidation);
+}
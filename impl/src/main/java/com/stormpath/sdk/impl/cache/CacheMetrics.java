@@ -0,0 +1,84 @@
+/*
+ * Copyright 2014 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.cache;
+
+import com.stormpath.sdk.cache.Cache;
+import com.stormpath.sdk.impl.metrics.WeakGauge;
+import com.stormpath.sdk.metrics.MetricRegistry;
+
+/**
+ * Publishes the {@link CacheStatistics} of cache regions to a {@link MetricRegistry} as {@link WeakGauge weak} gauges
+ * named
+ * {@code cache.<region>.hitRatio}, {@code cache.<region>.size}, {@code cache.<region>.hitCount},
+ * {@code cache.<region>.missCount} and {@code cache.<region>.evictionCount}.
+ *
+ * @since 1.0.0
+ */
+public final class CacheMetrics {
+
+    private CacheMetrics() {
+    }
+
+    /**
+     * Registers the gauges of the specified cache if it provides {@link CacheStatistics}, or if it is a
+     * {@link RefreshAheadCache} wrapping a cache that does.
+     *
+     * @param registry the registry to register the gauges with
+     * @param cache    the cache to publish the statistics of
+     */
+    public static void register(MetricRegistry registry, Cache cache) {
+        if (cache instanceof RefreshAheadCache) {
+            cache = ((RefreshAheadCache) cache).getDelegate();
+        }
+        if (!(cache instanceof CacheStatistics)) {
+            return;
+        }
+
+        CacheStatistics stats = (CacheStatistics) cache;
+        String prefix = "cache." + stats.getName() + ".";
+
+        registry.register(prefix + "hitRatio", new WeakGauge<CacheStatistics, Double>(stats) {
+            @Override
+            protected Double getValue(CacheStatistics stats) {
+                return stats.getHitRatio();
+            }
+        });
+        registry.register(prefix + "size", new WeakGauge<CacheStatistics, Integer>(stats) {
+            @Override
+            protected Integer getValue(CacheStatistics stats) {
+                return stats.size();
+            }
+        });
+        registry.register(prefix + "hitCount", new WeakGauge<CacheStatistics, Long>(stats) {
+            @Override
+            protected Long getValue(CacheStatistics stats) {
+                return stats.getHitCount();
+            }
+        });
+        registry.register(prefix + "missCount", new WeakGauge<CacheStatistics, Long>(stats) {
+            @Override
+            protected Long getValue(CacheStatistics stats) {
+                return stats.getMissCount();
+            }
+        });
+        registry.register(prefix + "evictionCount", new WeakGauge<CacheStatistics, Long>(stats) {
+            @Override
+            protected Long getValue(CacheStatistics stats) {
+                return stats.getEvictionCount();
+            }
+        });
+    }
+}
@@ -0,0 +1,35 @@
+/*
+ * Copyright 2014 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.cache;
+
+/**
+ * Retrieves a fresh copy of the data associated with a cache key and stores it in the cache on behalf of a
+ * {@link RefreshAheadCache}.
+ *
+ * @param <K> the type of keys refreshed
+ * @see RefreshAheadCache#get(Object, CacheRefresher)
+ * @since 1.0.0
+ */
+public interface CacheRefresher<K> {
+
+    /**
+     * Retrieves a fresh copy of the data associated with the specified key and {@code put}s it into the cache.  This
+     * method is invoked on a background thread, never on the thread that accessed the cache.
+     *
+     * @param key the key of the cache entry to refresh
+     */
+    void refresh(K key);
+}
@@ -0,0 +1,301 @@
+/*
+ * Copyright 2014 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.cache;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.stormpath.sdk.cache.Cache;
+import com.stormpath.sdk.cache.CacheManager;
+import com.stormpath.sdk.cache.CacheValueCodec;
+import com.stormpath.sdk.lang.Assert;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Reads and writes a snapshot of cache regions to a local file, so that a restarted application can start with warm
+ * caches instead of requesting every resource again.
+ * <p/>
+ * The snapshot is a gzip-compressed JSON document listing, for each region, the key, value and creation time of each
+ * live entry.  Restored entries keep their original creation time, so they only live for the remainder of their
+ * region's {@code timeToLive}.
+ * <p/>
+ * Only entries with {@code String} keys and resource property {@code Map} values are written.  Values encoded by a
+ * {@link CacheValueCodec} are decoded before being written, and encoded again when restored, if that codec is
+ * specified; otherwise they are skipped (and a warning is logged).  Entries holding a {@code secret} property (e.g.
+ * API keys) are never written to disk.
+ *
+ * @since 1.0.0
+ */
+class CacheSnapshot {
+
+    private static final Logger log = LoggerFactory.getLogger(CacheSnapshot.class);
+
+    static final int VERSION = 1;
+
+    static final String SECRET_PROPERTY_NAME = "secret";
+
+    private static final String VERSION_FIELD = "version";
+    private static final String CREATED_FIELD = "created";
+    private static final String REGIONS_FIELD = "regions";
+    private static final String KEY_FIELD = "key";
+    private static final String VALUE_FIELD = "value";
+
+    private final File file;
+    private final CacheValueCodec codec;
+    private final ObjectMapper objectMapper;
+
+    CacheSnapshot(File file) {
+        this(file, null);
+    }
+
+    /**
+     * @param file  the snapshot file
+     * @param codec the codec that encoded the cached values, or {@code null} if they are cached as is
+     */
+    CacheSnapshot(File file, CacheValueCodec codec) {
+        Assert.notNull(file, "snapshot file cannot be null.");
+        this.file = file;
+        this.codec = codec;
+        this.objectMapper = new ObjectMapper();
+        this.objectMapper.configure(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS, true);
+    }
+
+    File getFile() {
+        return file;
+    }
+
+    /**
+     * Writes the live entries of the specified regions to the snapshot file.  The snapshot is first written to a
+     * temporary file that then replaces the snapshot file, so that a partially written snapshot is never read.
+     *
+     * @param regions the caches to write, keyed by region name
+     * @return the number of entries written
+     * @throws IOException if the snapshot cannot be written
+     */
+    int write(Map<String, Cache> regions) throws IOException {
+
+        File dir = file.getAbsoluteFile().getParentFile();
+        if (dir != null && !dir.isDirectory() && !dir.mkdirs()) {
+            throw new IOException("Unable to create cache snapshot directory " + dir);
+        }
+
+        File tmp = File.createTempFile(file.getName(), ".tmp", dir);
+        int count = 0;
+        boolean written = false;
+        try {
+            OutputStream out = new GZIPOutputStream(new BufferedOutputStream(new FileOutputStream(tmp)));
+            try {
+                JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+                generator.writeStartObject();
+                generator.writeNumberField(VERSION_FIELD, VERSION);
+                generator.writeNumberField(CREATED_FIELD, System.currentTimeMillis());
+                generator.writeObjectFieldStart(REGIONS_FIELD);
+                for (Map.Entry<String, Cache> region : regions.entrySet()) {
+                    List<SnapshotEntry> entries = collect(region.getKey(), region.getValue());
+                    generator.writeArrayFieldStart(region.getKey());
+                    for (SnapshotEntry entry : entries) {
+                        generator.writeStartObject();
+                        generator.writeStringField(KEY_FIELD, entry.key);
+                        generator.writeNumberField(CREATED_FIELD, entry.creationTimeMillis);
+                        generator.writeObjectField(VALUE_FIELD, entry.value);
+                        generator.writeEndObject();
+                    }
+                    generator.writeEndArray();
+                    count += entries.size();
+                }
+                generator.writeEndObject();
+                generator.writeEndObject();
+                generator.close();
+            } finally {
+                out.close();
+            }
+
+            //File.renameTo does not replace an existing file on all platforms:
+            if (!tmp.renameTo(file) && !(file.delete() && tmp.renameTo(file))) {
+                throw new IOException("Unable to replace cache snapshot " + file);
+            }
+            written = true;
+        } finally {
+            if (!written) {
+                //noinspection ResultOfMethodCallIgnored
+                tmp.delete();
+            }
+        }
+
+        return count;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<SnapshotEntry> collect(String regionName, Cache cache) {
+        final List<SnapshotEntry> entries = new ArrayList<SnapshotEntry>();
+        final int[] encoded = new int[1];
+        visitEntries(cache, new CacheEntryVisitor<Object, Object>() {
+            @Override
+            public void visit(Object key, Object value, long creationTimeMillis) {
+                if (!(key instanceof String) || value == null) {
+                    return;
+                }
+                if (!(value instanceof Map)) {
+                    if (codec == null) {
+                        encoded[0]++;
+                        return;
+                    }
+                    value = codec.decode(value);
+                }
+                if (isWritable(value)) {
+                    entries.add(new SnapshotEntry((String) key, (Map) value, creationTimeMillis));
+                }
+            }
+        });
+        if (encoded[0] > 0) {
+            log.warn("{} entries of cache region {} are not resource maps (e.g. they were encoded by a " +
+                    "CacheValueCodec) and were not written to cache snapshot {}.  Configure the snapshot with the same " +
+                    "CacheValueCodec to write them.", encoded[0], regionName, file);
+        }
+        return entries;
+    }
+
+    private static boolean isWritable(Object value) {
+        return value instanceof Map && !((Map) value).containsKey(SECRET_PROPERTY_NAME);
+    }
+
+    /**
+     * Restores the entries of the specified regions found in the snapshot file.  Regions of the snapshot that are not
+     * listed are ignored.
+     *
+     * @param cacheManager the cache manager providing the caches to populate
+     * @param regionNames  the names of the regions to restore
+     * @return the number of entries restored, {@code 0} if the snapshot file does not exist.
+     * @throws IOException if the snapshot file cannot be read or is not a valid snapshot
+     */
+    @SuppressWarnings("unchecked")
+    int restore(CacheManager cacheManager, Collection<String> regionNames) throws IOException {
+
+        if (!file.isFile()) {
+            return 0;
+        }
+
+        Map<String, Object> snapshot;
+        InputStream in = new GZIPInputStream(new BufferedInputStream(new FileInputStream(file)));
+        try {
+            snapshot = objectMapper.readValue(in, Map.class);
+        } finally {
+            in.close();
+        }
+
+        Object version = snapshot.get(VERSION_FIELD);
+        if (!(version instanceof Number) || ((Number) version).intValue() != VERSION) {
+            throw new IOException("Unsupported cache snapshot version: " + version);
+        }
+
+        Object regions = snapshot.get(REGIONS_FIELD);
+        if (!(regions instanceof Map)) {
+            throw new IOException("Cache snapshot does not contain any regions.");
+        }
+
+        int count = 0;
+        for (Map.Entry<String, Object> region : ((Map<String, Object>) regions).entrySet()) {
+            if (!regionNames.contains(region.getKey()) || !(region.getValue() instanceof List)) {
+                continue;
+            }
+            Cache cache = cacheManager.getCache(region.getKey());
+            for (Object o : (List) region.getValue()) {
+                if (!(o instanceof Map)) {
+                    continue;
+                }
+                Map entry = (Map) o;
+                Object key = entry.get(KEY_FIELD);
+                Object created = entry.get(CREATED_FIELD);
+                Object value = entry.get(VALUE_FIELD);
+                if (key instanceof String && created instanceof Number && isWritable(value) &&
+                        put(cache, key, codec != null ? codec.encode((Map) value) : value,
+                                ((Number) created).longValue())) {
+                    count++;
+                }
+            }
+        }
+
+        return count;
+    }
+
+    /**
+     * Invokes the specified visitor for each live entry of the specified cache.
+     *
+     * @return {@code false} if the cache does not support iterating over its entries, {@code true} otherwise.
+     */
+    @SuppressWarnings("unchecked")
+    static boolean visitEntries(Cache cache, CacheEntryVisitor visitor) {
+        if (cache instanceof DefaultCache) {
+            ((DefaultCache) cache).visitEntries(visitor);
+        } else if (cache instanceof BoundedCache) {
+            ((BoundedCache) cache).visitEntries(visitor);
+        } else if (cache instanceof RefreshAheadCache) {
+            ((RefreshAheadCache) cache).visitEntries(visitor);
+        } else {
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Adds an entry created at the specified time to the specified cache.  Entries are not added to caches that do not
+     * track creation times, since they would live longer than their remaining {@code timeToLive}.
+     *
+     * @return {@code true} if the entry was added, {@code false} otherwise.
+     */
+    @SuppressWarnings("unchecked")
+    static boolean put(Cache cache, Object key, Object value, long creationTimeMillis) {
+        if (cache instanceof DefaultCache) {
+            ((DefaultCache) cache).put(key, value, creationTimeMillis);
+        } else if (cache instanceof BoundedCache) {
+            ((BoundedCache) cache).put(key, value, creationTimeMillis);
+        } else if (cache instanceof RefreshAheadCache) {
+            ((RefreshAheadCache) cache).put(key, value, creationTimeMillis);
+        } else {
+            return false;
+        }
+        return true;
+    }
+
+    private static class SnapshotEntry {
+
+        private final String key;
+        private final Map value;
+        private final long creationTimeMillis;
+
+        private SnapshotEntry(String key, Map value, long creationTimeMillis) {
+            this.key = key;
+            this.value = value;
+            this.creationTimeMillis = creationTimeMillis;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2014 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.cache;
+
+/**
+ * Usage statistics of a cache region, published as metrics by {@link CacheMetrics}.
+ *
+ * @since 1.0.0
+ */
+public interface CacheStatistics {
+
+    /**
+     * Returns the name of the cache region.
+     *
+     * @return the name of the cache region.
+     */
+    String getName();
+
+    /**
+     * Returns the number of attempts to return a cache entry.
+     *
+     * @return the number of attempts to return a cache entry.
+     */
+    long getAccessCount();
+
+    /**
+     * Returns the total number of times an access attempt successfully returned a cache entry.
+     *
+     * @return the total number of times an access attempt successfully returned a cache entry.
+     */
+    long getHitCount();
+
+    /**
+     * Returns the total number of times an access attempt did not return a cache entry.
+     *
+     * @return the total number of times an access attempt did not return a cache entry.
+     */
+    long getMissCount();
+
+    /**
+     * Returns the ratio of {@link #getHitCount() hitCount} to {@link #getAccessCount() accessCount}.
+     *
+     * @return the ratio of {@link #getHitCount() hitCount} to {@link #getAccessCount() accessCount}.
+     */
+    double getHitRatio();
+
+    /**
+     * Returns the total number of entries the cache removed because they expired or to make room for other entries,
+     * as far as the cache is able to tell (entries reclaimed by the garbage collector are not counted).
+     *
+     * @return the total number of entries the cache removed because they expired or to make room for other entries.
+     */
+    long getEvictionCount();
+
+    /**
+     * Returns the number of entries currently retained by the cache.
+     *
+     * @return the number of entries currently retained by the cache.
+     */
+    int size();
+}
@@ -33,7 +33,7 @@ import java.util.concurrent.atomic.AtomicLong;
  *
  * @since 1.0
  */
-public class DefaultCache<K, V> implements Cache<K, V> {
+public class DefaultCache<K, V> implements Cache<K, V>, CacheStatistics {
 
     /**
      * Backing map instance that stores the cache entries.
@@ -60,6 +60,7 @@ public class DefaultCache<K, V> implements Cache<K, V> {
     private final AtomicLong accessCount;
     private final AtomicLong hitCount;
     private final AtomicLong missCount;
+    private final AtomicLong evictionCount; //@since 1.0.0
 
     /**
      * Creates a new {@code DefaultCache} instance with the specified {@code name}, expected to be unique among all
@@ -134,6 +135,7 @@ public class DefaultCache<K, V> implements Cache<K, V> {
         this.accessCount = new AtomicLong(0);
         this.hitCount = new AtomicLong(0);
         this.missCount = new AtomicLong(0);
+        this.evictionCount = new AtomicLong(0);
     }
 
     protected static void assertTtl(Duration ttl) throws IllegalArgumentException {
@@ -168,6 +170,7 @@ public class DefaultCache<K, V> implements Cache<K, V> {
             Duration sinceCreation = new Duration(nowMillis - entry.getCreationTimeMillis(), TimeUnit.MILLISECONDS);
             if (sinceCreation.isGreaterThan(ttl)) {
                 map.remove(key);
+                evictionCount.incrementAndGet();
                 missCount.incrementAndGet(); //count an expired TTL as a miss
                 return null;
             }
@@ -177,6 +180,7 @@ public class DefaultCache<K, V> implements Cache<K, V> {
             Duration sinceLastAccess = new Duration(nowMillis - entry.getLastAccessTimeMillis(), TimeUnit.MILLISECONDS);
             if (sinceLastAccess.isGreaterThan(tti)) {
                 map.remove(key);
+                evictionCount.incrementAndGet();
                 missCount.incrementAndGet(); //count an expired TTI as a miss
                 return null;
             }
@@ -198,6 +202,35 @@ public class DefaultCache<K, V> implements Cache<K, V> {
         return null;
     }
 
+    /**
+     * Adds a cache entry that was created at the specified time, for example when restoring a cache snapshot, so that
+     * the entry only lives for the remainder of its {@link #getTimeToLive() timeToLive}.
+     *
+     * @since 1.0.0
+     */
+    V put(K key, V value, long creationTimeMillis) {
+        Entry<V> previous = map.put(key, new Entry<V>(value, creationTimeMillis));
+        return previous != null ? previous.value : null;
+    }
+
+    /**
+     * Invokes the specified visitor for each entry that has not expired.
+     *
+     * @since 1.0.0
+     */
+    void visitEntries(CacheEntryVisitor<? super K, ? super V> visitor) {
+        long nowMillis = System.currentTimeMillis();
+        Duration ttl = this.timeToLive;
+        for (Map.Entry<K, Entry<V>> e : map.entrySet()) {
+            Entry<V> entry = e.getValue();
+            if (entry == null || (ttl != null &&
+                    new Duration(nowMillis - entry.creationTimeMillis, TimeUnit.MILLISECONDS).isGreaterThan(ttl))) {
+                continue;
+            }
+            visitor.visit(e.getKey(), entry.value, entry.creationTimeMillis);
+        }
+    }
+
     @Override
     public V remove(K key) {
         accessCount.incrementAndGet();
@@ -296,6 +329,17 @@ public class DefaultCache<K, V> implements Cache<K, V> {
         return missCount.get();
     }
 
+    /**
+     * Returns the total number of expired entries removed from this cache.  Entries reclaimed by the garbage
+     * collector when the cache is backed by a {@link SoftHashMap} are not counted.
+     *
+     * @return the total number of expired entries removed from this cache.
+     * @since 1.0.0
+     */
+    public long getEvictionCount() {
+        return evictionCount.get();
+    }
+
     /**
      * Returns the ratio of {@link #getHitCount() hitCount} to {@link #getAccessCount() accessCount}.  The closer this
      * number is to {@code 1.0}, the more effectively the cache is being used.  The closer this number is to
@@ -378,6 +422,20 @@ public class DefaultCache<K, V> implements Cache<K, V> {
             this.lastAccessTimeMillis = this.creationTimeMillis;
         }
 
+        /**
+         * Creates a new Entry instance wrapping the specified {@code value} that was created at the specified time.
+         * The {@link #getLastAccessTimeMillis() lastAccessTimeMills} defaults to the current timestamp.
+         *
+         * @param value              the cache entry to store.
+         * @param creationTimeMillis the time in millis since Epoch when the entry was created.
+         * @since 1.0.0
+         */
+        public Entry(V value, long creationTimeMillis) {
+            this.value = value;
+            this.creationTimeMillis = creationTimeMillis;
+            this.lastAccessTimeMillis = System.currentTimeMillis();
+        }
+
         /**
          * Returns the actual value stored in the cache.
          *
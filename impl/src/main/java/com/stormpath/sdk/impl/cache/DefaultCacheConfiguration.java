@@ -28,12 +28,33 @@ public class DefaultCacheConfiguration implements CacheConfiguration {
     private final String name;
     private final Duration timeToLive;
     private final Duration timeToIdle;
+    private final int maxEntries;
+    private final Duration refreshAhead; //@since 1.0.0
+    private final Duration staleWhileRevalidate; //@since 1.0.0
 
     public DefaultCacheConfiguration(String name, Duration timeToLive, Duration timeToIdle) {
+        this(name, timeToLive, timeToIdle, 0);
+    }
+
+    /**
+     * @since 1.0.0
+     */
+    public DefaultCacheConfiguration(String name, Duration timeToLive, Duration timeToIdle, int maxEntries) {
+        this(name, timeToLive, timeToIdle, maxEntries, null, null);
+    }
+
+    /**
+     * @since 1.0.0
+     */
+    public DefaultCacheConfiguration(String name, Duration timeToLive, Duration timeToIdle, int maxEntries,
+                                     Duration refreshAhead, Duration staleWhileRevalidate) {
         Assert.hasText(name, "Cache Region name cannot be null or empty.");
         this.name = name;
         this.timeToLive = timeToLive;
         this.timeToIdle = timeToIdle;
+        this.maxEntries = maxEntries;
+        this.refreshAhead = refreshAhead;
+        this.staleWhileRevalidate = staleWhileRevalidate;
     }
 
     static Duration toDuration(long value, TimeUnit tu) {
@@ -57,4 +78,19 @@ public class DefaultCacheConfiguration implements CacheConfiguration {
     public Duration getTimeToIdle() {
         return this.timeToIdle;
     }
+
+    @Override
+    public int getMaxEntries() {
+        return this.maxEntries;
+    }
+
+    @Override
+    public Duration getRefreshAhead() {
+        return this.refreshAhead;
+    }
+
+    @Override
+    public Duration getStaleWhileRevalidate() {
+        return this.staleWhileRevalidate;
+    }
 }
@@ -29,6 +29,9 @@ public class DefaultCacheConfigurationBuilder implements CacheConfigurationBuild
     private final String name;
     private Duration timeToLive;
     private Duration timeToIdle;
+    private int maxEntries; //@since 1.0.0
+    private Duration refreshAhead; //@since 1.0.0
+    private Duration staleWhileRevalidate; //@since 1.0.0
 
     public DefaultCacheConfigurationBuilder(String name) {
         Assert.hasText(name, "Cache Region name cannot be null or empty.");
@@ -47,6 +50,33 @@ public class DefaultCacheConfigurationBuilder implements CacheConfigurationBuild
         return this;
     }
 
+    /**
+     * @since 1.0.0
+     */
+    @Override
+    public CacheConfigurationBuilder withMaxEntries(int maxEntries) {
+        this.maxEntries = maxEntries;
+        return this;
+    }
+
+    /**
+     * @since 1.0.0
+     */
+    @Override
+    public CacheConfigurationBuilder withRefreshAhead(long refreshAhead, TimeUnit refreshAheadTimeUnit) {
+        this.refreshAhead = DefaultCacheConfiguration.toDuration(refreshAhead, refreshAheadTimeUnit);
+        return this;
+    }
+
+    /**
+     * @since 1.0.0
+     */
+    @Override
+    public CacheConfigurationBuilder withStaleWhileRevalidate(long staleWhileRevalidate, TimeUnit staleWhileRevalidateTimeUnit) {
+        this.staleWhileRevalidate = DefaultCacheConfiguration.toDuration(staleWhileRevalidate, staleWhileRevalidateTimeUnit);
+        return this;
+    }
+
     public String getName() {
         return name;
     }
@@ -59,7 +89,29 @@ public class DefaultCacheConfigurationBuilder implements CacheConfigurationBuild
         return timeToIdle;
     }
 
+    /**
+     * @since 1.0.0
+     */
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    /**
+     * @since 1.0.0
+     */
+    public Duration getRefreshAhead() {
+        return refreshAhead;
+    }
+
+    /**
+     * @since 1.0.0
+     */
+    public Duration getStaleWhileRevalidate() {
+        return staleWhileRevalidate;
+    }
+
     public CacheConfiguration build() {
-        return new DefaultCacheConfiguration(getName(), getTimeToLive(), getTimeToIdle());
+        return new DefaultCacheConfiguration(getName(), getTimeToLive(), getTimeToIdle(), getMaxEntries(),
+                getRefreshAhead(), getStaleWhileRevalidate());
     }
 }
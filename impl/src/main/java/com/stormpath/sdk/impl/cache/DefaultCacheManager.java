@@ -15,15 +15,35 @@
  */
 package com.stormpath.sdk.impl.cache;
 
+import com.stormpath.sdk.account.Account;
+import com.stormpath.sdk.application.Application;
 import com.stormpath.sdk.cache.Cache;
 import com.stormpath.sdk.cache.CacheManager;
+import com.stormpath.sdk.cache.CacheValueCodec;
+import com.stormpath.sdk.directory.Directory;
+import com.stormpath.sdk.group.Group;
+import com.stormpath.sdk.impl.util.DaemonThreadFactory;
 import com.stormpath.sdk.impl.util.Duration;
 import com.stormpath.sdk.impl.util.SoftHashMap;
 import com.stormpath.sdk.lang.Assert;
+import com.stormpath.sdk.metrics.MetricRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -63,6 +83,15 @@ import java.util.concurrent.TimeUnit;
  * <p/>
  * The {@link #setDefaultTimeToLive(com.stormpath.sdk.impl.util.Duration) defaultTimeToLive} setting is only
  * applied to newly created {@code Cache} instances.  It does not affect already existing {@code Cache}s.
+ * <h2>Max Entries</h2>
+ * By default, caches are backed by a {@link SoftHashMap} whose size is bounded only by available memory.  If a
+ * {@link #setDefaultMaxEntries(int) defaultMaxEntries} value (or a region-specific
+ * {@link CacheConfiguration#getMaxEntries() maxEntries} value) is configured, a {@link BoundedCache} retaining at
+ * most that many entries is created instead, so that eviction is predictable and never driven by garbage collection.
+ * <h2>Snapshots</h2>
+ * If a {@link #setSnapshotFile(java.io.File) snapshotFile} is configured, selected regions can be periodically written
+ * to that file and restored when the application restarts, so that it does not start with empty caches.  See
+ * {@link #startSnapshots()} for more information, and call {@link #stopSnapshots()} once the manager is no longer used.
  * <h2>Thread Safety</h2>
  * This implementation and the cache instances it creates are thread-safe and usable in concurrent environments.
  *
@@ -74,6 +103,8 @@ import java.util.concurrent.TimeUnit;
  */
 public class DefaultCacheManager implements CacheManager {
 
+    private static final Logger log = LoggerFactory.getLogger(DefaultCacheManager.class);
+
     /**
      * Retains any region-specific configuration that might be used when creating Cache instances.
      */
@@ -86,6 +117,41 @@ public class DefaultCacheManager implements CacheManager {
 
     private volatile Duration defaultTimeToLive;
     private volatile Duration defaultTimeToIdle;
+    private volatile int defaultMaxEntries; //@since 1.0.0
+
+    /**
+     * Number of threads used to refresh cache entries in the background if no refresh executor is configured.
+     *
+     * @since 1.0.0
+     */
+    private static final int DEFAULT_REFRESH_POOL_SIZE = 2;
+
+    private volatile Executor refreshExecutor; //@since 1.0.0
+
+    /**
+     * Default interval between two writes of the cache snapshot file.
+     *
+     * @since 1.0.0
+     */
+    public static final Duration DEFAULT_SNAPSHOT_INTERVAL = new Duration(5, TimeUnit.MINUTES);
+
+    /**
+     * Names of the cache regions written to the cache snapshot file by default.
+     *
+     * @since 1.0.0
+     */
+    public static final Set<String> DEFAULT_SNAPSHOT_REGIONS = Collections.unmodifiableSet(
+            new LinkedHashSet<String>(Arrays.asList(Application.class.getName(), Directory.class.getName(),
+                    Group.class.getName(), Account.class.getName())));
+
+    private volatile File snapshotFile; //@since 1.0.0
+    private volatile Duration snapshotInterval = DEFAULT_SNAPSHOT_INTERVAL; //@since 1.0.0
+    private volatile Set<String> snapshotRegions = DEFAULT_SNAPSHOT_REGIONS; //@since 1.0.0
+    private volatile CacheValueCodec snapshotValueCodec; //@since 1.0.0
+    private ScheduledExecutorService snapshotExecutor; //@since 1.0.0
+    private CacheSnapshot snapshot; //@since 1.0.0
+    private Thread snapshotShutdownHook; //@since 1.0.0
+    private volatile MetricRegistry metricRegistry; //@since 1.0.0
 
     /**
      * Default no-arg constructor that instantiates an internal name-to-cache {@code ConcurrentMap}.
@@ -167,6 +233,316 @@ public class DefaultCacheManager implements CacheManager {
         setDefaultTimeToIdle(new Duration(seconds, TimeUnit.SECONDS));
     }
 
+    /**
+     * Returns the default maximum number of entries retained by newly created caches, or a non-positive number if
+     * newly created caches are bounded only by available memory.  This setting does not affect existing caches.
+     *
+     * @return the default maximum number of entries retained by newly created caches.
+     * @since 1.0.0
+     */
+    public int getDefaultMaxEntries() {
+        return defaultMaxEntries;
+    }
+
+    /**
+     * Sets the default maximum number of entries retained by newly created caches.  A non-positive number indicates
+     * that newly created caches are bounded only by available memory.  This setting does not affect existing caches.
+     *
+     * @param defaultMaxEntries the default maximum number of entries retained by newly created caches.
+     * @see BoundedCache
+     * @since 1.0.0
+     */
+    public void setDefaultMaxEntries(int defaultMaxEntries) {
+        this.defaultMaxEntries = defaultMaxEntries;
+    }
+
+    /**
+     * Returns the {@code Executor} used to refresh entries of caches configured with a refresh-ahead or
+     * stale-while-revalidate window.  If one has not been {@link #setRefreshExecutor(Executor) set}, a small pool of
+     * daemon threads is created on first use.
+     *
+     * @return the {@code Executor} used to refresh cache entries in the background.
+     * @see RefreshAheadCache
+     * @since 1.0.0
+     */
+    public Executor getRefreshExecutor() {
+        Executor executor = this.refreshExecutor;
+        if (executor == null) {
+            synchronized (this) {
+                executor = this.refreshExecutor;
+                if (executor == null) {
+                    executor = Executors.newFixedThreadPool(DEFAULT_REFRESH_POOL_SIZE,
+                            new DaemonThreadFactory("stormpath-cache-refresh"));
+                    this.refreshExecutor = executor;
+                }
+            }
+        }
+        return executor;
+    }
+
+    /**
+     * Sets the {@code Executor} used to refresh entries of caches configured with a refresh-ahead or
+     * stale-while-revalidate window.  This setting does not affect existing caches.
+     *
+     * @param refreshExecutor the {@code Executor} used to refresh cache entries in the background.
+     * @since 1.0.0
+     */
+    public void setRefreshExecutor(Executor refreshExecutor) {
+        this.refreshExecutor = refreshExecutor;
+    }
+
+    /**
+     * Returns the file the cache snapshot is written to and restored from, or {@code null} if snapshots are disabled.
+     *
+     * @return the file the cache snapshot is written to and restored from, or {@code null} if snapshots are disabled.
+     * @see #startSnapshots()
+     * @since 1.0.0
+     */
+    public File getSnapshotFile() {
+        return snapshotFile;
+    }
+
+    /**
+     * Sets the file the cache snapshot is written to and restored from, or {@code null} to disable snapshots (the
+     * default).  Snapshots allow a restarted application to start with warm caches: see
+     * {@link #startSnapshots()} for more information.
+     *
+     * @param snapshotFile the file the cache snapshot is written to and restored from.
+     * @since 1.0.0
+     */
+    public void setSnapshotFile(File snapshotFile) {
+        this.snapshotFile = snapshotFile;
+    }
+
+    /**
+     * Returns the interval between two writes of the cache snapshot file.  Defaults to
+     * {@link #DEFAULT_SNAPSHOT_INTERVAL five minutes}.
+     *
+     * @return the interval between two writes of the cache snapshot file.
+     * @since 1.0.0
+     */
+    public Duration getSnapshotInterval() {
+        return snapshotInterval;
+    }
+
+    /**
+     * Sets the interval between two writes of the cache snapshot file.  This setting does not affect snapshots that
+     * are already {@link #startSnapshots() started}.
+     *
+     * @param snapshotInterval the interval between two writes of the cache snapshot file.
+     * @since 1.0.0
+     */
+    public void setSnapshotInterval(Duration snapshotInterval) {
+        Assert.notNull(snapshotInterval, "snapshotInterval cannot be null.");
+        Assert.isTrue(snapshotInterval.getValue() > 0, "snapshotInterval duration must be greater than zero");
+        this.snapshotInterval = snapshotInterval;
+    }
+
+    /**
+     * Convenience method that sets the {@link #setSnapshotInterval(com.stormpath.sdk.impl.util.Duration) snapshotInterval}
+     * value using a {@code TimeUnit} of {@link TimeUnit#SECONDS}.
+     *
+     * @param seconds the {@link #setSnapshotInterval(com.stormpath.sdk.impl.util.Duration) snapshotInterval} value in seconds.
+     * @since 1.0.0
+     */
+    public void setSnapshotIntervalSeconds(long seconds) {
+        setSnapshotInterval(new Duration(seconds, TimeUnit.SECONDS));
+    }
+
+    /**
+     * Returns the names of the cache regions written to, and restored from, the cache snapshot file.  Defaults to the
+     * {@link #DEFAULT_SNAPSHOT_REGIONS Application, Directory, Group and Account} regions.
+     *
+     * @return the names of the cache regions written to, and restored from, the cache snapshot file.
+     * @since 1.0.0
+     */
+    public Set<String> getSnapshotRegions() {
+        return snapshotRegions;
+    }
+
+    /**
+     * Sets the names of the cache regions written to, and restored from, the cache snapshot file.  Regardless of this
+     * setting, cache entries holding a {@code secret} property (such as API keys) are never written to the snapshot.
+     *
+     * @param snapshotRegions the names of the cache regions written to, and restored from, the cache snapshot file.
+     * @since 1.0.0
+     */
+    public void setSnapshotRegions(Collection<String> snapshotRegions) {
+        Assert.notNull(snapshotRegions, "snapshotRegions cannot be null.");
+        this.snapshotRegions = Collections.unmodifiableSet(new LinkedHashSet<String>(snapshotRegions));
+    }
+
+    /**
+     * Returns the codec that encoded the values cached in this manager's regions, or {@code null} if values are cached
+     * as is (the default).
+     *
+     * @return the codec that encoded the values cached in this manager's regions, or {@code null}.
+     * @since 1.0.0
+     */
+    public CacheValueCodec getSnapshotValueCodec() {
+        return snapshotValueCodec;
+    }
+
+    /**
+     * Sets the codec that encoded the values cached in this manager's regions, i.e. the
+     * {@link com.stormpath.sdk.client.ClientBuilder#setCacheValueCodec(CacheValueCodec) cacheValueCodec} of the
+     * clients using this manager.  Encoded values are decoded before being written to the snapshot file, and encoded
+     * again when restored; without this codec they cannot be written at all.  The {@code ClientBuilder} sets it
+     * automatically when it is not already set.
+     *
+     * @param snapshotValueCodec the codec that encoded the values cached in this manager's regions, or {@code null}
+     *                           if values are cached as is.
+     * @since 1.0.0
+     */
+    public void setSnapshotValueCodec(CacheValueCodec snapshotValueCodec) {
+        this.snapshotValueCodec = snapshotValueCodec;
+    }
+
+    /**
+     * Restores the {@link #getSnapshotFile() snapshot file}, if it exists, and then starts writing it every
+     * {@link #getSnapshotInterval() snapshotInterval} as well as when the JVM shuts down.  This method has no effect
+     * if no snapshot file is configured or if snapshots have already been started.
+     * <p/>
+     * Restored entries keep the time they were originally cached, so they expire once the remainder of their
+     * region's {@code timeToLive} has elapsed.  A snapshot that cannot be read is logged and ignored: it never
+     * prevents the application from starting.
+     * <p/>
+     * The snapshot thread and JVM shutdown hook started by this method reference this manager and its cached data
+     * until {@link #stopSnapshots()} is called, which applications that are redeployed without restarting the JVM
+     * (e.g. web applications) must do when they are stopped.
+     *
+     * @return the number of restored cache entries.
+     * @since 1.0.0
+     */
+    public synchronized int startSnapshots() {
+        File file = this.snapshotFile;
+        if (file == null || this.snapshotExecutor != null) {
+            return 0;
+        }
+
+        final CacheSnapshot snapshot = new CacheSnapshot(file, this.snapshotValueCodec);
+        this.snapshot = snapshot;
+
+        int count = 0;
+        try {
+            count = snapshot.restore(this, this.snapshotRegions);
+            log.debug("Restored {} cache entries from snapshot {}", count, file);
+        } catch (Exception e) {
+            log.warn("Unable to restore cache snapshot " + file + ".  Starting with empty caches.", e);
+        }
+
+        Runnable writer = new Runnable() {
+            @Override
+            public void run() {
+                writeSnapshot(snapshot);
+            }
+        };
+
+        long intervalMillis = this.snapshotInterval.getTimeUnit().toMillis(this.snapshotInterval.getValue());
+        this.snapshotExecutor =
+                Executors.newSingleThreadScheduledExecutor(new DaemonThreadFactory("stormpath-cache-snapshot"));
+        this.snapshotExecutor.scheduleWithFixedDelay(writer, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+
+        //snapshot threads are daemon threads, so write a final snapshot explicitly during shutdown:
+        this.snapshotShutdownHook = new Thread(writer, "stormpath-cache-snapshot-shutdown");
+        Runtime.getRuntime().addShutdownHook(this.snapshotShutdownHook);
+
+        return count;
+    }
+
+    /**
+     * Stops the periodic snapshots started by {@link #startSnapshots()}: writes the snapshot file one last time, stops
+     * the snapshot thread and removes the JVM shutdown hook, so that neither retains this manager any longer.  This
+     * method has no effect if snapshots have not been started.
+     *
+     * @since 1.0.0
+     */
+    public synchronized void stopSnapshots() {
+        if (this.snapshotExecutor == null) {
+            return;
+        }
+
+        //let a write in progress complete rather than interrupting it:
+        this.snapshotExecutor.shutdown();
+        this.snapshotExecutor = null;
+
+        boolean removed;
+        try {
+            removed = Runtime.getRuntime().removeShutdownHook(this.snapshotShutdownHook);
+        } catch (IllegalStateException e) {
+            //the JVM is already shutting down, and the hook writes the final snapshot:
+            removed = false;
+        }
+        this.snapshotShutdownHook = null;
+
+        if (removed) {
+            writeSnapshot(this.snapshot);
+        }
+        this.snapshot = null;
+    }
+
+    /**
+     * Writes the {@link #getSnapshotFile() snapshot file} immediately.  This method has no effect if no snapshot file
+     * is configured.
+     *
+     * @return the number of cache entries written.
+     * @throws IOException if the snapshot file cannot be written.
+     * @since 1.0.0
+     */
+    public int writeSnapshot() throws IOException {
+        File file = this.snapshotFile;
+        return file != null ? new CacheSnapshot(file, this.snapshotValueCodec).write(getSnapshotCaches()) : 0;
+    }
+
+    private void writeSnapshot(CacheSnapshot snapshot) {
+        try {
+            int count = snapshot.write(getSnapshotCaches());
+            log.debug("Wrote {} cache entries to snapshot {}", count, snapshot.getFile());
+        } catch (Exception e) {
+            log.warn("Unable to write cache snapshot " + snapshot.getFile(), e);
+        }
+    }
+
+    private Map<String, Cache> getSnapshotCaches() {
+        Map<String, Cache> regions = new LinkedHashMap<String, Cache>();
+        for (String name : this.snapshotRegions) {
+            Cache cache = this.caches.get(name);
+            if (cache != null) {
+                regions.put(name, cache);
+            }
+        }
+        return regions;
+    }
+
+    /**
+     * Returns the registry the statistics of this manager's caches are published to, or {@code null} if they are
+     * not published.
+     *
+     * @return the registry the statistics of this manager's caches are published to, or {@code null}.
+     * @since 1.0.0
+     */
+    public MetricRegistry getMetricRegistry() {
+        return metricRegistry;
+    }
+
+    /**
+     * Sets the registry the statistics (hit ratio, size, eviction count, etc) of this manager's caches are published
+     * to.  The statistics of existing caches are published immediately, those of caches created later are published
+     * when they are created.
+     *
+     * @param metricRegistry the registry the statistics of this manager's caches are published to.
+     * @see CacheMetrics
+     * @since 1.0.0
+     */
+    public void setMetricRegistry(MetricRegistry metricRegistry) {
+        this.metricRegistry = metricRegistry;
+        if (metricRegistry != null) {
+            for (Cache cache : caches.values()) {
+                CacheMetrics.register(metricRegistry, cache);
+            }
+        }
+    }
+
     /**
      * Sets cache-specific configuration entries, to be utilized when creating cache instances.
      *
@@ -200,6 +576,8 @@ public class DefaultCacheManager implements CacheManager {
             Cache existing = caches.putIfAbsent(name, cache);
             if (existing != null) {
                 cache = existing;
+            } else if (this.metricRegistry != null) {
+                CacheMetrics.register(this.metricRegistry, cache);
             }
         }
 
@@ -217,6 +595,9 @@ public class DefaultCacheManager implements CacheManager {
     protected Cache createCache(String name) {
         Duration ttl = this.defaultTimeToLive != null ? this.defaultTimeToLive.clone() : null;
         Duration tti = this.defaultTimeToIdle != null ? this.defaultTimeToIdle.clone() : null;
+        int maxEntries = this.defaultMaxEntries;
+        Duration refreshAhead = null;
+        Duration staleWhileRevalidate = null;
 
         CacheConfiguration config = this.configs.get(name);
         if (config != null) {
@@ -228,9 +609,35 @@ public class DefaultCacheManager implements CacheManager {
             if (d != null) {
                 tti = d;
             }
+            if (config.getMaxEntries() > 0) {
+                maxEntries = config.getMaxEntries();
+            }
+            refreshAhead = config.getRefreshAhead();
+            staleWhileRevalidate = config.getStaleWhileRevalidate();
         }
 
-        return new DefaultCache(name, new SoftHashMap(), ttl, tti);
+        //refreshing is driven by entry age, so it only applies to regions with a timeToLive:
+        boolean refreshable = ttl != null && (refreshAhead != null || staleWhileRevalidate != null);
+
+        Duration storeTtl = ttl;
+        if (refreshable && staleWhileRevalidate != null) {
+            //stale entries must be retained until the stale-while-revalidate window has elapsed as well:
+            long millis = RefreshAheadCache.toMillis(ttl) + RefreshAheadCache.toMillis(staleWhileRevalidate);
+            storeTtl = new Duration(millis, TimeUnit.MILLISECONDS);
+        }
+
+        Cache cache;
+        if (maxEntries > 0) {
+            cache = new BoundedCache(name, maxEntries, storeTtl, tti);
+        } else {
+            cache = new DefaultCache(name, new SoftHashMap(), storeTtl, tti);
+        }
+
+        if (refreshable) {
+            return new RefreshAheadCache(cache, ttl, refreshAhead, staleWhileRevalidate, getRefreshExecutor());
+        }
+
+        return cache;
     }
 
     public String toString() {
@@ -22,6 +22,7 @@ import com.stormpath.sdk.impl.util.Duration;
 import com.stormpath.sdk.lang.Assert;
 import com.stormpath.sdk.lang.Collections;
 
+import java.io.File;
 import java.util.LinkedHashSet;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
@@ -33,6 +34,9 @@ public class DefaultCacheManagerBuilder implements CacheManagerBuilder {
 
     private Duration defaultTimeToLive;
     private Duration defaultTimeToIdle;
+    private int defaultMaxEntries; //@since 1.0.0
+    private File snapshotFile; //@since 1.0.0
+    private Duration snapshotInterval; //@since 1.0.0
 
     private final Set<CacheConfiguration> configs = new LinkedHashSet<CacheConfiguration>();
 
@@ -48,6 +52,28 @@ public class DefaultCacheManagerBuilder implements CacheManagerBuilder {
         return this;
     }
 
+    /**
+     * @since 1.0.0
+     */
+    @Override
+    public CacheManagerBuilder withDefaultMaxEntries(int maxEntries) {
+        this.defaultMaxEntries = maxEntries;
+        return this;
+    }
+
+    /**
+     * @since 1.0.0
+     */
+    @Override
+    public CacheManagerBuilder withSnapshot(File file, long interval, TimeUnit timeUnit) {
+        Assert.notNull(file, "snapshot file cannot be null.");
+        Assert.notNull(timeUnit, "timeUnit cannot be null.");
+        Assert.isTrue(interval > 0, "snapshot interval must be greater than zero.");
+        this.snapshotFile = file;
+        this.snapshotInterval = new Duration(interval, timeUnit);
+        return this;
+    }
+
     @Override
     public CacheManagerBuilder withCache(CacheConfigurationBuilder builder) {
         Assert.isInstanceOf(DefaultCacheConfigurationBuilder.class, builder,
@@ -72,6 +98,15 @@ public class DefaultCacheManagerBuilder implements CacheManagerBuilder {
             manager.setDefaultTimeToIdle(this.defaultTimeToIdle);
         }
 
+        if (this.defaultMaxEntries > 0) {
+            manager.setDefaultMaxEntries(this.defaultMaxEntries);
+        }
+
+        if (this.snapshotFile != null) {
+            manager.setSnapshotFile(this.snapshotFile);
+            manager.setSnapshotInterval(this.snapshotInterval);
+        }
+
         if (!Collections.isEmpty(configs)) {
             manager.setCacheConfigurations(configs);
         }
@@ -15,7 +15,11 @@
  */
 package com.stormpath.sdk.impl.cache;
 
-import com.stormpath.sdk.cache.Cache;
+import com.stormpath.sdk.cache.BulkCache;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
 
 /**
  * A disabled implementation that does nothing.  This is useful for a CacheManager implementation to return instead
@@ -23,7 +27,7 @@ import com.stormpath.sdk.cache.Cache;
  *
  * @since 0.8
  */
-public class DisabledCache<K, V> implements Cache<K, V> {
+public class DisabledCache<K, V> implements BulkCache<K, V> {
 
     /**
      * This implementation does not do anything and always returns null.
@@ -57,4 +61,36 @@ public class DisabledCache<K, V> implements Cache<K, V> {
     public V remove(K key) {
         return null;
     }
+
+    /**
+     * This implementation does not do anything and always returns an empty map.
+     *
+     * @param keys the keys that the values were previously added with
+     * @return an empty map always.
+     * @since 1.0.0
+     */
+    @Override
+    public Map<K, V> getAll(Collection<? extends K> keys) {
+        return Collections.emptyMap();
+    }
+
+    /**
+     * This implementation does not do anything (no caching).
+     *
+     * @param entries the values to be stored in the cache, keyed by the keys used to identify them.
+     * @since 1.0.0
+     */
+    @Override
+    public void putAll(Map<? extends K, ? extends V> entries) {
+    }
+
+    /**
+     * This implementation does not do anything (no caching).
+     *
+     * @param keys the keys used to identify the objects being stored.
+     * @since 1.0.0
+     */
+    @Override
+    public void removeAll(Collection<? extends K> keys) {
+    }
 }
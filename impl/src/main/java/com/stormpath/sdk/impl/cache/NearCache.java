@@ -0,0 +1,230 @@
+/*
+ * Copyright 2014 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.cache;
+
+import com.stormpath.sdk.cache.BulkCache;
+import com.stormpath.sdk.cache.Cache;
+import com.stormpath.sdk.lang.Assert;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A two-level {@link Cache}: a small, bounded, local (in-heap) cache in front of a remote (distributed) cache.
+ * <p/>
+ * Reads are served from the local cache when possible and otherwise from the remote cache, retaining the value
+ * locally for subsequent reads.  Writes and removals go to the remote cache first, then to the local cache, and are
+ * finally announced over the {@link CacheInvalidationBus} (if any) so that other nodes discard their local copies.
+ * <p/>
+ * Instances are created and wired to the invalidation bus by a {@link NearCacheManager}.
+ *
+ * @since 1.0.0
+ */
+public class NearCache<K, V> implements BulkCache<K, V> {
+
+    private final String name;
+    private final Cache<K, V> local;
+    private final Cache<K, V> remote;
+    private final String origin;
+    private final CacheInvalidationBus invalidationBus;
+
+    /**
+     * Incremented by every local modification or invalidation.  A value read from the remote cache is only retained
+     * locally if no modification or invalidation happened while it was being read - otherwise it might already be
+     * outdated and nothing would ever remove it from the local cache (until it expires).
+     */
+    private final AtomicLong modifications;
+
+    private final AtomicLong remoteAccessCount;
+
+    /**
+     * Creates a new {@code NearCache}.
+     *
+     * @param name            the name of the cache region
+     * @param local           the local cache
+     * @param remote          the remote cache
+     * @param origin          the id of this node, sent with every invalidation
+     * @param invalidationBus the bus used to announce modifications to other nodes, may be {@code null} if none.
+     */
+    public NearCache(String name, Cache<K, V> local, Cache<K, V> remote, String origin,
+                     CacheInvalidationBus invalidationBus) {
+        Assert.hasText(name, "name cannot be null or empty.");
+        Assert.notNull(local, "local cache cannot be null.");
+        Assert.notNull(remote, "remote cache cannot be null.");
+        Assert.hasText(origin, "origin cannot be null or empty.");
+        this.name = name;
+        this.local = local;
+        this.remote = remote;
+        this.origin = origin;
+        this.invalidationBus = invalidationBus;
+        this.modifications = new AtomicLong(0);
+        this.remoteAccessCount = new AtomicLong(0);
+    }
+
+    @Override
+    public V get(K key) {
+        V value = local.get(key);
+        if (value != null) {
+            return value;
+        }
+
+        long modificationCount = modifications.get();
+        remoteAccessCount.incrementAndGet();
+        value = remote.get(key);
+        if (value != null && modificationCount == modifications.get()) {
+            local.put(key, value);
+        }
+        return value;
+    }
+
+    @Override
+    public V put(K key, V value) {
+        V previous = remote.put(key, value);
+        modifications.incrementAndGet();
+        local.put(key, value);
+        publish(key);
+        return previous;
+    }
+
+    @Override
+    public V remove(K key) {
+        V previous = remote.remove(key);
+        modifications.incrementAndGet();
+        local.remove(key);
+        publish(key);
+        return previous;
+    }
+
+    @Override
+    public Map<K, V> getAll(Collection<? extends K> keys) {
+        Map<K, V> values = new LinkedHashMap<K, V>(keys.size());
+        List<K> missing = new ArrayList<K>();
+        for (K key : keys) {
+            V value = local.get(key);
+            if (value != null) {
+                values.put(key, value);
+            } else {
+                missing.add(key);
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            long modificationCount = modifications.get();
+            remoteAccessCount.incrementAndGet();
+            Map<K, V> remoteValues = BulkCaches.getAll(remote, missing);
+            if (modificationCount == modifications.get()) {
+                for (Map.Entry<K, V> entry : remoteValues.entrySet()) {
+                    local.put(entry.getKey(), entry.getValue());
+                }
+            }
+            values.putAll(remoteValues);
+        }
+
+        return values;
+    }
+
+    @Override
+    public void putAll(Map<? extends K, ? extends V> entries) {
+        BulkCaches.putAll(remote, entries);
+        modifications.incrementAndGet();
+        for (Map.Entry<? extends K, ? extends V> entry : entries.entrySet()) {
+            local.put(entry.getKey(), entry.getValue());
+        }
+        publishAll(entries.keySet());
+    }
+
+    @Override
+    public void removeAll(Collection<? extends K> keys) {
+        BulkCaches.removeAll(remote, keys);
+        modifications.incrementAndGet();
+        for (K key : keys) {
+            local.remove(key);
+        }
+        publishAll(keys);
+    }
+
+    private void publish(K key) {
+        if (invalidationBus != null) {
+            invalidationBus.publish(new CacheInvalidation(origin, name, key));
+        }
+    }
+
+    /**
+     * Announces a bulk modification with a single invalidation carrying all of the affected keys.
+     */
+    private void publishAll(Collection<? extends K> keys) {
+        if (invalidationBus != null && !keys.isEmpty()) {
+            invalidationBus.publish(new CacheInvalidation(origin, name, keys));
+        }
+    }
+
+    /**
+     * Discards the local copies of the entries with the specified keys, if any, because they were modified or removed
+     * by another node.
+     *
+     * @param keys the keys of the entries modified or removed by another node
+     */
+    @SuppressWarnings("unchecked")
+    void invalidate(Collection<?> keys) {
+        modifications.incrementAndGet();
+        for (Object key : keys) {
+            local.remove((K) key);
+        }
+    }
+
+    /**
+     * Returns the local cache.
+     *
+     * @return the local cache.
+     */
+    public Cache<K, V> getLocalCache() {
+        return local;
+    }
+
+    /**
+     * Returns the remote cache.
+     *
+     * @return the remote cache.
+     */
+    public Cache<K, V> getRemoteCache() {
+        return remote;
+    }
+
+    /**
+     * Returns the number of read operations that could not be served by the local cache alone and were sent to the
+     * remote cache.
+     *
+     * @return the number of read operations sent to the remote cache.
+     */
+    public long getRemoteAccessCount() {
+        return remoteAccessCount.get();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String toString() {
+        return new StringBuilder("    {\n      \"name\": \"").append(name).append("\",\n")
+                .append("      \"remoteAccessCount\": ").append(getRemoteAccessCount()).append("\n")
+                .append("    }")
+                .toString();
+    }
+}
@@ -0,0 +1,233 @@
+/*
+ * Copyright 2014 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.cache;
+
+import com.stormpath.sdk.cache.Cache;
+import com.stormpath.sdk.cache.CacheManager;
+import com.stormpath.sdk.impl.util.Duration;
+import com.stormpath.sdk.lang.Assert;
+
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A {@code CacheManager} decorator that places a small, bounded, local (in-heap) {@link NearCache near cache} in
+ * front of every region of a remote (distributed) {@code CacheManager}, such as a {@code HazelcastCacheManager}.
+ * <p/>
+ * With a distributed cache, every cache hit is a network round trip plus deserialization of the cached data.  A
+ * near cache serves repeated reads of the same entries from local memory instead, which matters for request paths
+ * that read several cached resources per request (e.g. resolving an account, its directory and its groups).
+ * <h2>Consistency</h2>
+ * Modifications and removals made through a {@code NearCacheManager} are announced to the other nodes over a
+ * {@link CacheInvalidationBus} (for example, one backed by a Hazelcast topic), and every node discards its local copy
+ * of the affected entries as they are announced.  Invalidations are asynchronous, so other nodes may briefly read
+ * the previous value after a modification.  Local entries also expire after a short
+ * {@link #setTimeToLive(Duration) timeToLive}, which bounds the staleness caused by lost invalidations - or by
+ * modifications made by nodes that do not use a near cache, or when no invalidation bus is configured at all.
+ * <p/>
+ * Usage example:
+ * <pre>
+ * CacheManager hazelcastCacheManager = new HazelcastCacheManager(hazelcast);
+ * CacheInvalidationBus bus = new HazelcastCacheInvalidationBus(hazelcast);
+ * CacheManager cacheManager = new NearCacheManager(hazelcastCacheManager, bus);
+ *
+ * Client client = Clients.builder().setCacheManager(cacheManager).build();
+ * </pre>
+ *
+ * @since 1.0.0
+ */
+public class NearCacheManager implements CacheManager, CacheInvalidationListener {
+
+    /**
+     * The default maximum number of entries retained locally per region.
+     */
+    public static final int DEFAULT_MAX_ENTRIES = 1000;
+
+    /**
+     * The default amount of time entries are retained locally.
+     */
+    public static final Duration DEFAULT_TIME_TO_LIVE = new Duration(60, TimeUnit.SECONDS);
+
+    private final CacheManager remoteCacheManager;
+    private final CacheInvalidationBus invalidationBus;
+    private final String origin;
+    private final ConcurrentMap<String, NearCache> caches;
+
+    private volatile int maxEntries;
+    private volatile Duration timeToLive;
+
+    /**
+     * Creates a new {@code NearCacheManager} in front of the specified remote {@code CacheManager}, without
+     * propagating invalidations between nodes: other nodes' modifications are only seen once local entries expire.
+     *
+     * @param remoteCacheManager the remote {@code CacheManager} providing the regions to place near caches in front of.
+     */
+    public NearCacheManager(CacheManager remoteCacheManager) {
+        this(remoteCacheManager, null);
+    }
+
+    /**
+     * Creates a new {@code NearCacheManager} in front of the specified remote {@code CacheManager}, propagating
+     * invalidations between nodes over the specified bus.
+     *
+     * @param remoteCacheManager the remote {@code CacheManager} providing the regions to place near caches in front of.
+     * @param invalidationBus    the bus used to propagate invalidations between nodes, may be {@code null} if none.
+     */
+    public NearCacheManager(CacheManager remoteCacheManager, CacheInvalidationBus invalidationBus) {
+        Assert.notNull(remoteCacheManager, "remoteCacheManager cannot be null.");
+        this.remoteCacheManager = remoteCacheManager;
+        this.invalidationBus = invalidationBus;
+        this.origin = UUID.randomUUID().toString();
+        this.caches = new ConcurrentHashMap<String, NearCache>();
+        this.maxEntries = DEFAULT_MAX_ENTRIES;
+        this.timeToLive = DEFAULT_TIME_TO_LIVE;
+        if (invalidationBus != null) {
+            invalidationBus.addListener(this);
+        }
+    }
+
+    /**
+     * Returns the maximum number of entries retained locally per region.  Defaults to {@link #DEFAULT_MAX_ENTRIES}.
+     *
+     * @return the maximum number of entries retained locally per region.
+     */
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    /**
+     * Sets the maximum number of entries retained locally per region.  This setting is only applied to regions
+     * acquired afterwards.
+     *
+     * @param maxEntries the maximum number of entries retained locally per region.  Must be greater than zero.
+     */
+    public void setMaxEntries(int maxEntries) {
+        Assert.isTrue(maxEntries > 0, "maxEntries must be greater than zero.");
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Returns the amount of time entries are retained locally.  Defaults to {@link #DEFAULT_TIME_TO_LIVE}.
+     *
+     * @return the amount of time entries are retained locally.
+     */
+    public Duration getTimeToLive() {
+        return timeToLive;
+    }
+
+    /**
+     * Sets the amount of time entries are retained locally.  This bounds how long a node may read an outdated local
+     * copy of an entry if an invalidation is lost.  This setting is only applied to regions acquired afterwards.
+     *
+     * @param timeToLive the amount of time entries are retained locally.  Must be greater than zero.
+     */
+    public void setTimeToLive(Duration timeToLive) {
+        Assert.notNull(timeToLive, "timeToLive cannot be null.");
+        DefaultCache.assertTtl(timeToLive);
+        this.timeToLive = timeToLive;
+    }
+
+    /**
+     * Convenience method that sets the {@link #setTimeToLive(Duration) timeToLive} value using a {@code TimeUnit} of
+     * {@link TimeUnit#SECONDS}.
+     *
+     * @param seconds the {@link #setTimeToLive(Duration) timeToLive} value in seconds.
+     */
+    public void setTimeToLiveSeconds(long seconds) {
+        setTimeToLive(new Duration(seconds, TimeUnit.SECONDS));
+    }
+
+    /**
+     * Returns the remote {@code CacheManager} providing the regions near caches are placed in front of.
+     *
+     * @return the remote {@code CacheManager} providing the regions near caches are placed in front of.
+     */
+    public CacheManager getRemoteCacheManager() {
+        return remoteCacheManager;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <K, V> Cache<K, V> getCache(String name) {
+        Assert.hasText(name, "Cache name cannot be null or empty.");
+
+        NearCache cache = caches.get(name);
+        if (cache == null) {
+            cache = createCache(name);
+            NearCache existing = caches.putIfAbsent(name, cache);
+            if (existing != null) {
+                cache = existing;
+            }
+        }
+        return cache;
+    }
+
+    /**
+     * Creates the near cache for the region with the specified name.
+     *
+     * @param name the name of the region
+     * @return the near cache for the region with the specified name.
+     */
+    @SuppressWarnings("unchecked")
+    protected NearCache createCache(String name) {
+        Cache remote = remoteCacheManager.getCache(name);
+        Cache local = new BoundedCache(name, maxEntries, timeToLive.clone(), null);
+        return new NearCache(name, local, remote, origin, invalidationBus);
+    }
+
+    /**
+     * Discards the local copies of the entries referenced by the specified invalidation, unless the invalidation was
+     * sent by this node (whose local cache is already up to date).
+     *
+     * @param invalidation the received invalidation
+     */
+    @Override
+    public void onInvalidation(CacheInvalidation invalidation) {
+        if (origin.equals(invalidation.getOrigin())) {
+            return;
+        }
+        NearCache cache = caches.get(invalidation.getRegion());
+        if (cache != null) {
+            cache.invalidate(invalidation.getKeys());
+        }
+    }
+
+    public String toString() {
+        StringBuilder sb = new StringBuilder()
+                .append("{\n")
+                .append("  \"cacheCount\": ").append(caches.size()).append(",\n")
+                .append("  \"remoteCacheManager\": \"").append(remoteCacheManager.getClass().getName()).append("\",\n")
+                .append("  \"caches\": [");
+
+        if (!caches.isEmpty()) {
+            sb.append("\n");
+            int i = 0;
+            for (NearCache cache : caches.values()) {
+                if (i > 0) {
+                    sb.append(",\n");
+                }
+                sb.append(cache.toString());
+                i++;
+            }
+            sb.append("\n  ");
+        }
+
+        sb.append("]\n}");
+        return sb.toString();
+    }
+}
@@ -0,0 +1,670 @@
+/*
+ * Copyright 2014 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.cache;
+
+import com.stormpath.sdk.cache.Cache;
+import com.stormpath.sdk.cache.CacheValueCodec;
+import com.stormpath.sdk.impl.util.Duration;
+import com.stormpath.sdk.lang.Assert;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A {@link Cache} that stores its entries outside of the Java heap, so that a large number of resources can be cached
+ * without increasing garbage collection pauses.
+ * <p/>
+ * Entries are serialized and appended to fixed-size {@code ByteBuffer}s - either direct buffers or memory-mapped
+ * files, see {@link OffHeapCacheManager} - that are used as ring buffers: once a buffer is full, new entries overwrite
+ * the oldest ones.  Each buffer is indexed by a hash table made of two primitive {@code long} arrays, so the heap
+ * footprint of the index does not depend on the size of the cached values and the garbage collector does not have to
+ * trace any per-entry object.
+ * <p/>
+ * Keys must be {@code String}s.  Values must be either {@code byte[]}s, which are stored as is, or resource data
+ * {@code Map}s, which are serialized with the {@link CacheValueCodec} specified at construction.  Values that are
+ * larger than a buffer are not cached.
+ * <p/>
+ * To keep writes cheap, previous values are never copied out of a buffer and deserialized just to be returned:
+ * {@link #put(Object, Object)} and {@link #remove(Object)} always return {@code null}.
+ * <h2>Expiration</h2>
+ * Entries are expired according to the cache's {@link #getTimeToLive() timeToLive} and
+ * {@link #getTimeToIdle() timeToIdle} settings, and are evicted in the order they were cached once their buffer is
+ * full, regardless of how often they are accessed.
+ * <h2>Thread Safety</h2>
+ * Entries are spread over several buffers, each guarded by its own lock.  Values are serialized and deserialized
+ * without holding any lock.
+ *
+ * @see OffHeapCacheManager
+ * @since 1.0.0
+ */
+public class OffHeapCache<K, V> implements Cache<K, V>, CacheStatistics {
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private static final int MAX_SEGMENTS = 16;
+
+    //record layout: length (int), creationTimeMillis (long), lastAccessTimeMillis (long), key length (int),
+    //value length (int), value type (byte), key bytes, value bytes
+    private static final int LENGTH_OFFSET = 0;
+    private static final int CREATION_TIME_OFFSET = 4;
+    private static final int LAST_ACCESS_TIME_OFFSET = 12;
+    private static final int KEY_LENGTH_OFFSET = 20;
+    private static final int VALUE_LENGTH_OFFSET = 24;
+    private static final int VALUE_TYPE_OFFSET = 28;
+    private static final int HEADER_LENGTH = 29;
+
+    private static final byte BYTES_VALUE = 0;
+    private static final byte MAP_VALUE = 1;
+
+    private final String name;
+    private final CacheValueCodec codec;
+    private final Segment[] segments;
+    private final int segmentMask;
+
+    private volatile Duration timeToLive;
+    private volatile Duration timeToIdle;
+
+    //the settings above in milliseconds (Long.MAX_VALUE if not set), so that expiration checks do not allocate:
+    private volatile long timeToLiveMillis;
+    private volatile long timeToIdleMillis;
+
+    private final AtomicLong accessCount;
+    private final AtomicLong hitCount;
+    private final AtomicLong missCount;
+    private final AtomicLong evictionCount;
+
+    /**
+     * Creates a new {@code OffHeapCache} storing its entries in the specified buffers.
+     *
+     * @param name       the name to assign to this cache.
+     * @param buffers    the buffers storing the cache entries, all of which will be used exclusively by this cache.
+     *                   The number of buffers must be a power of two.
+     * @param codec      the codec used to serialize {@code Map} values
+     * @param timeToLive the amount of time cache entries may exist until they should be removed from the cache, or
+     *                   {@code null} if entries do not expire after a period of time.
+     * @param timeToIdle the amount of time cache entries may remain idle until they should be removed from the cache,
+     *                   or {@code null} if entries are not removed when idle.
+     * @throws IllegalArgumentException if any argument is invalid.
+     */
+    public OffHeapCache(String name, ByteBuffer[] buffers, CacheValueCodec codec, Duration timeToLive,
+                        Duration timeToIdle) throws IllegalArgumentException {
+        Assert.hasText(name, "Cache name cannot be null or empty.");
+        Assert.notEmpty(buffers, "buffers cannot be null or empty.");
+        Assert.isTrue(buffers.length <= MAX_SEGMENTS && Integer.bitCount(buffers.length) == 1,
+                "The number of buffers must be a power of two not greater than " + MAX_SEGMENTS + ".");
+        Assert.notNull(codec, "codec cannot be null.");
+        DefaultCache.assertTtl(timeToLive);
+        DefaultCache.assertTti(timeToIdle);
+        this.name = name;
+        this.codec = codec;
+        this.segments = new Segment[buffers.length];
+        for (int i = 0; i < buffers.length; i++) {
+            Assert.isTrue(buffers[i].capacity() > HEADER_LENGTH, "buffers must be larger than an entry's header.");
+            this.segments[i] = new Segment(this, buffers[i]);
+        }
+        this.segmentMask = buffers.length - 1;
+        this.timeToLive = timeToLive;
+        this.timeToIdle = timeToIdle;
+        this.timeToLiveMillis = toMillis(timeToLive);
+        this.timeToIdleMillis = toMillis(timeToIdle);
+        this.accessCount = new AtomicLong(0);
+        this.hitCount = new AtomicLong(0);
+        this.missCount = new AtomicLong(0);
+        this.evictionCount = new AtomicLong(0);
+    }
+
+    /**
+     * Returns a 64-bit FNV-1a hash of the specified key.  A 64-bit hash is used (rather than {@code String.hashCode()})
+     * so that collisions remain rare with tens of millions of keys: a collision only causes the colliding entries to
+     * replace each other.
+     */
+    static long hash(String key) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            h ^= key.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        //0 marks an empty index slot:
+        return h != 0 ? h : 1;
+    }
+
+    private Segment segmentFor(long hash) {
+        return segments[(int) (hash >>> 32) & segmentMask];
+    }
+
+    private static String toKey(Object key) {
+        Assert.isInstanceOf(String.class, key, "This cache only supports String keys.  Key type: ");
+        return (String) key;
+    }
+
+    private boolean isExpired(long creationTimeMillis, long lastAccessTimeMillis, long nowMillis) {
+        return nowMillis - creationTimeMillis > this.timeToLiveMillis || nowMillis - lastAccessTimeMillis > this.timeToIdleMillis;
+    }
+
+    private static long toMillis(Duration d) {
+        return d != null ? TimeUnit.MILLISECONDS.convert(d.getValue(), d.getTimeUnit()) : Long.MAX_VALUE;
+    }
+
+    public V get(K key) {
+        this.accessCount.incrementAndGet();
+
+        String k = toKey(key);
+        long hash = hash(k);
+        byte[] keyBytes = k.getBytes(UTF_8);
+        long nowMillis = System.currentTimeMillis();
+
+        Record record = segmentFor(hash).get(hash, keyBytes, nowMillis);
+
+        if (record == null) {
+            missCount.incrementAndGet();
+            return null;
+        }
+
+        hitCount.incrementAndGet();
+        return toValue(record);
+    }
+
+    @SuppressWarnings("unchecked")
+    private V toValue(Record record) {
+        if (record.type == MAP_VALUE) {
+            return (V) codec.decode(record.value);
+        }
+        return (V) record.value;
+    }
+
+    @SuppressWarnings("unchecked")
+    public V put(K key, V value) {
+        String k = toKey(key);
+        long hash = hash(k);
+        byte[] keyBytes = k.getBytes(UTF_8);
+
+        byte type;
+        byte[] valueBytes;
+        if (value instanceof byte[]) {
+            type = BYTES_VALUE;
+            valueBytes = (byte[]) value;
+        } else {
+            Assert.isInstanceOf(Map.class, value, "This cache only supports byte[] and Map values.  Value type: ");
+            Object encoded = codec.encode((Map<String, ?>) value);
+            Assert.isInstanceOf(byte[].class, encoded, "The cache value codec must encode values to byte[].  Type: ");
+            type = MAP_VALUE;
+            valueBytes = (byte[]) encoded;
+        }
+
+        segmentFor(hash).put(hash, keyBytes, type, valueBytes, System.currentTimeMillis());
+        return null;
+    }
+
+    public V remove(K key) {
+        accessCount.incrementAndGet();
+
+        String k = toKey(key);
+        long hash = hash(k);
+
+        if (segmentFor(hash).remove(hash, k.getBytes(UTF_8), System.currentTimeMillis())) {
+            hitCount.incrementAndGet();
+        } else {
+            missCount.incrementAndGet();
+        }
+        return null;
+    }
+
+    /**
+     * Returns the amount of time a cache entry may exist after first being created before it will expire and no
+     * longer be available.
+     *
+     * @return the amount of time a cache entry may exist after first being created before it will expire.
+     */
+    public Duration getTimeToLive() {
+        return timeToLive;
+    }
+
+    /**
+     * Sets the amount of time a cache entry may exist after first being created before it will expire and no
+     * longer be available.
+     *
+     * @param timeToLive the amount of time a cache entry may exist after first being created before it will expire.
+     */
+    public void setTimeToLive(Duration timeToLive) {
+        DefaultCache.assertTtl(timeToLive);
+        this.timeToLive = timeToLive;
+        this.timeToLiveMillis = toMillis(timeToLive);
+    }
+
+    /**
+     * Returns the amount of time a cache entry may be idle - unused (not accessed) - before it will expire and
+     * no longer be available.
+     *
+     * @return the amount of time a cache entry may be idle before it will expire.
+     */
+    public Duration getTimeToIdle() {
+        return timeToIdle;
+    }
+
+    /**
+     * Sets the amount of time a cache entry may be idle - unused (not accessed) - before it will expire and
+     * no longer be available.
+     *
+     * @param timeToIdle the amount of time a cache entry may be idle before it will expire.
+     */
+    public void setTimeToIdle(Duration timeToIdle) {
+        DefaultCache.assertTti(timeToIdle);
+        this.timeToIdle = timeToIdle;
+        this.timeToIdleMillis = toMillis(timeToIdle);
+    }
+
+    /**
+     * Returns the total number of times an access attempt was performed for cache entries.
+     *
+     * @return the total number of times an access attempt was performed for cache entries.
+     */
+    public long getAccessCount() {
+        return this.accessCount.get();
+    }
+
+    /**
+     * Returns the total number of times a cache entry was found when accessed.
+     *
+     * @return the total number of times a cache entry was found when accessed.
+     */
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    /**
+     * Returns the total number of times a cache entry was not found when accessed.
+     *
+     * @return the total number of times a cache entry was not found when accessed.
+     */
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    /**
+     * Returns the total number of entries removed from this cache because they expired, or because they were
+     * overwritten by newer entries (overwritten entries are counted when the cache's index is compacted).
+     *
+     * @return the total number of entries removed from this cache because they expired or were overwritten.
+     */
+    public long getEvictionCount() {
+        return evictionCount.get();
+    }
+
+    /**
+     * Returns the ratio of {@link #getHitCount() hitCount} to {@link #getAccessCount() accessCount}.
+     *
+     * @return the ratio of {@link #getHitCount() hitCount} to {@link #getAccessCount() accessCount}.
+     */
+    public double getHitRatio() {
+        double accessCount = (double) getAccessCount();
+        if (accessCount > 0) {
+            double hitCount = (double) getHitCount();
+            return hitCount / accessCount;
+        }
+        return 0;
+    }
+
+    /**
+     * Returns the total number of bytes of the buffers storing this cache's entries.
+     *
+     * @return the total number of bytes of the buffers storing this cache's entries.
+     */
+    public long getCapacity() {
+        long capacity = 0;
+        for (Segment segment : segments) {
+            capacity += segment.capacity;
+        }
+        return capacity;
+    }
+
+    /**
+     * Removes all entries from this cache.
+     */
+    public void clear() {
+        for (Segment segment : segments) {
+            segment.clear();
+        }
+    }
+
+    /**
+     * Returns the number of entries currently retained by this cache, which may include expired entries that have
+     * not yet been accessed.
+     *
+     * @return the number of entries currently retained by this cache.
+     */
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    /**
+     * Returns this cache instance's name.
+     *
+     * @return this cache instance's name.
+     */
+    public String getName() {
+        return this.name;
+    }
+
+    public String toString() {
+        return new StringBuilder("    {\n      \"name\": \"").append(name).append("\",\n")
+                .append("      \"size\": ").append(size()).append(",\n")
+                .append("      \"capacity\": ").append(getCapacity()).append(",\n")
+                .append("      \"accessCount\": ").append(getAccessCount()).append(",\n")
+                .append("      \"hitCount\": ").append(getHitCount()).append(",\n")
+                .append("      \"missCount\": ").append(getMissCount()).append(",\n")
+                .append("      \"hitRatio\": ").append(getHitRatio()).append("\n")
+                .append("    }")
+                .toString();
+    }
+
+    private static final class Record {
+
+        private final byte type;
+        private final byte[] value;
+
+        private Record(byte type, byte[] value) {
+            this.type = type;
+            this.value = value;
+        }
+    }
+
+    /**
+     * A ring buffer of records along with its open-addressing (linear probing) index.  Records are identified by their
+     * position in the log of all records ever written to the buffer: a record is intact as long as its position is
+     * not older than the buffer's capacity.
+     */
+    private static final class Segment extends ReentrantLock {
+
+        private final OffHeapCache<?, ?> cache;
+        private final ByteBuffer buffer;
+        private final int capacity;
+
+        //position in the log at which the next record will be written:
+        private long writePosition;
+
+        private long[] hashes;
+        private long[] positions;
+        private int count;
+
+        private Segment(OffHeapCache<?, ?> cache, ByteBuffer buffer) {
+            this.cache = cache;
+            this.buffer = buffer;
+            this.capacity = buffer.capacity();
+            this.hashes = new long[16];
+            this.positions = new long[16];
+        }
+
+        private boolean isIntact(long position) {
+            return position >= writePosition - capacity;
+        }
+
+        private int offset(long position) {
+            return (int) (position % capacity);
+        }
+
+        /**
+         * Returns the index slot of the specified hash, or the (negative) empty slot it may be inserted at.
+         */
+        private int slot(long hash) {
+            int mask = hashes.length - 1;
+            int i = (int) hash & mask;
+            while (true) {
+                long h = hashes[i];
+                if (h == hash) {
+                    return i;
+                }
+                if (h == 0) {
+                    return -(i + 1);
+                }
+                i = (i + 1) & mask;
+            }
+        }
+
+        private boolean keyEquals(int offset, byte[] keyBytes) {
+            if (buffer.getInt(offset + KEY_LENGTH_OFFSET) != keyBytes.length) {
+                return false;
+            }
+            int start = offset + HEADER_LENGTH;
+            for (int i = 0; i < keyBytes.length; i++) {
+                if (buffer.get(start + i) != keyBytes[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Returns the offset of the live record for the specified key, or -1 if there is none.  Must be called while
+         * holding the lock.
+         */
+        private int find(int slot, byte[] keyBytes) {
+            if (slot < 0) {
+                return -1;
+            }
+            long position = positions[slot];
+            if (!isIntact(position)) {
+                return -1;
+            }
+            int offset = offset(position);
+            return keyEquals(offset, keyBytes) ? offset : -1;
+        }
+
+        private Record read(int offset) {
+            int keyLength = buffer.getInt(offset + KEY_LENGTH_OFFSET);
+            byte[] value = new byte[buffer.getInt(offset + VALUE_LENGTH_OFFSET)];
+            buffer.position(offset + HEADER_LENGTH + keyLength);
+            buffer.get(value);
+            return new Record(buffer.get(offset + VALUE_TYPE_OFFSET), value);
+        }
+
+        private boolean isExpired(int offset, long nowMillis) {
+            return cache.isExpired(buffer.getLong(offset + CREATION_TIME_OFFSET),
+                    buffer.getLong(offset + LAST_ACCESS_TIME_OFFSET), nowMillis);
+        }
+
+        private Record get(long hash, byte[] keyBytes, long nowMillis) {
+            lock();
+            try {
+                int slot = slot(hash);
+                int offset = find(slot, keyBytes);
+                if (offset < 0) {
+                    return null;
+                }
+                if (isExpired(offset, nowMillis)) {
+                    delete(slot);
+                    cache.evictionCount.incrementAndGet();
+                    return null;
+                }
+                buffer.putLong(offset + LAST_ACCESS_TIME_OFFSET, nowMillis);
+                return read(offset);
+            } finally {
+                unlock();
+            }
+        }
+
+        private void put(long hash, byte[] keyBytes, byte type, byte[] valueBytes, long nowMillis) {
+            int length = HEADER_LENGTH + keyBytes.length + valueBytes.length;
+            lock();
+            try {
+                int slot = slot(hash);
+
+                if (length > capacity) {
+                    //too large to be cached; make sure a stale value is not returned instead:
+                    if (slot >= 0) {
+                        delete(slot);
+                    }
+                    return;
+                }
+
+                int offset = offset(writePosition);
+                if (offset + length > capacity) {
+                    //records are never split: skip the end of the buffer
+                    writePosition += capacity - offset;
+                    offset = 0;
+                }
+                long position = writePosition;
+
+                buffer.putInt(offset + LENGTH_OFFSET, length);
+                buffer.putLong(offset + CREATION_TIME_OFFSET, nowMillis);
+                buffer.putLong(offset + LAST_ACCESS_TIME_OFFSET, nowMillis);
+                buffer.putInt(offset + KEY_LENGTH_OFFSET, keyBytes.length);
+                buffer.putInt(offset + VALUE_LENGTH_OFFSET, valueBytes.length);
+                buffer.put(offset + VALUE_TYPE_OFFSET, type);
+                buffer.position(offset + HEADER_LENGTH);
+                buffer.put(keyBytes);
+                buffer.put(valueBytes);
+                writePosition += length;
+
+                //an existing slot is reused even if it belongs to another key with the same hash:
+                if (slot >= 0) {
+                    positions[slot] = position;
+                } else {
+                    insert(-(slot + 1), hash, position);
+                }
+            } finally {
+                unlock();
+            }
+        }
+
+        /**
+         * Removes the record for the specified key, returning {@code true} if it was live (neither expired nor
+         * overwritten).
+         */
+        private boolean remove(long hash, byte[] keyBytes, long nowMillis) {
+            lock();
+            try {
+                int slot = slot(hash);
+                int offset = find(slot, keyBytes);
+                if (offset < 0) {
+                    return false;
+                }
+                boolean live = !isExpired(offset, nowMillis);
+                delete(slot);
+                return live;
+            } finally {
+                unlock();
+            }
+        }
+
+        private void insert(int slot, long hash, long position) {
+            hashes[slot] = hash;
+            positions[slot] = position;
+            count++;
+            if (count * 2 > hashes.length) {
+                rehash();
+            }
+        }
+
+        /**
+         * Removes the specified index slot, shifting back the following slots of the same probe sequence so that no
+         * tombstones are needed.
+         */
+        private void delete(int slot) {
+            int mask = hashes.length - 1;
+            int i = slot;
+            int j = slot;
+            while (true) {
+                j = (j + 1) & mask;
+                long h = hashes[j];
+                if (h == 0) {
+                    break;
+                }
+                int home = (int) h & mask;
+                //move slot j back to i unless its home slot lies cyclically in (i, j]:
+                boolean stays = i <= j ? (i < home && home <= j) : (i < home || home <= j);
+                if (!stays) {
+                    hashes[i] = h;
+                    positions[i] = positions[j];
+                    i = j;
+                }
+            }
+            hashes[i] = 0;
+            positions[i] = 0;
+            count--;
+        }
+
+        /**
+         * Rebuilds the index, dropping entries whose records were overwritten and growing it if most entries are
+         * still live.
+         */
+        private void rehash() {
+            long[] oldHashes = hashes;
+            long[] oldPositions = positions;
+
+            int live = 0;
+            for (int i = 0; i < oldHashes.length; i++) {
+                if (oldHashes[i] != 0 && isIntact(oldPositions[i])) {
+                    live++;
+                }
+            }
+
+            int length = oldHashes.length;
+            while (live * 4 > length) {
+                length <<= 1;
+            }
+
+            cache.evictionCount.addAndGet(count - live);
+
+            hashes = new long[length];
+            positions = new long[length];
+            count = 0;
+            for (int i = 0; i < oldHashes.length; i++) {
+                if (oldHashes[i] != 0 && isIntact(oldPositions[i])) {
+                    int slot = -(slot(oldHashes[i]) + 1);
+                    hashes[slot] = oldHashes[i];
+                    positions[slot] = oldPositions[i];
+                    count++;
+                }
+            }
+        }
+
+        private void clear() {
+            lock();
+            try {
+                //every record older than a full buffer is considered overwritten:
+                writePosition += capacity;
+                hashes = new long[16];
+                positions = new long[16];
+                count = 0;
+            } finally {
+                unlock();
+            }
+        }
+
+        private int size() {
+            lock();
+            try {
+                int size = 0;
+                for (int i = 0; i < hashes.length; i++) {
+                    if (hashes[i] != 0 && isIntact(positions[i])) {
+                        size++;
+                    }
+                }
+                return size;
+            } finally {
+                unlock();
+            }
+        }
+    }
+}
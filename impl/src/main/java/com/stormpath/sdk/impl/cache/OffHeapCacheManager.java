@@ -0,0 +1,423 @@
+/*
+ * Copyright 2014 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.cache;
+
+import com.stormpath.sdk.cache.Cache;
+import com.stormpath.sdk.cache.CacheManager;
+import com.stormpath.sdk.cache.CacheValueCodec;
+import com.stormpath.sdk.impl.ds.JacksonCacheValueCodec;
+import com.stormpath.sdk.impl.util.Duration;
+import com.stormpath.sdk.lang.Assert;
+import com.stormpath.sdk.metrics.MetricRegistry;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A {@code CacheManager} that creates {@link OffHeapCache}s, which store their entries outside of the Java heap.
+ * This allows caching the resources of very large tenants (millions of accounts) without the garbage collection
+ * pauses a heap-based cache of the same size would cause, and without entries being discarded as soon as the heap is
+ * under pressure like the {@link DefaultCacheManager}'s {@code SoftHashMap}-backed caches.
+ * <h2>Capacity</h2>
+ * Each cache region is allocated a fixed amount of memory, {@link #setDefaultCapacity(long) 4 MB by default}, that
+ * can be configured for individual regions with {@link #setCapacities(java.util.Map) capacities}.  Once a region is
+ * full, its oldest entries are overwritten by new ones.  The memory of a region is allocated as soon as it is first
+ * {@link #getCache(String) acquired} and a client uses one region per resource type, so size the default capacity
+ * accordingly and grant more memory only to the regions that need it (typically accounts and group memberships).
+ * <p/>
+ * Memory is allocated as direct {@code ByteBuffer}s by default.  If a {@link #setDirectory(java.io.File) directory} is
+ * configured, regions are stored in memory-mapped files created in that directory instead, so that the operating
+ * system may page them out when they are not used.  The files are scratch space only: they are not reloaded when the
+ * application restarts.  Their names are unique to each manager instance, so several managers (or applications) may
+ * safely share the same directory.  Note that direct memory is limited by the JVM's {@code -XX:MaxDirectMemorySize} setting.
+ * <h2>Time to Live and Time to Idle</h2>
+ * Like the {@link DefaultCacheManager}, this implementation supports default {@link #setDefaultTimeToLive(Duration)
+ * timeToLive} and {@link #setDefaultTimeToIdle(Duration) timeToIdle} settings, that can be overridden for individual
+ * regions with {@link #setCacheConfigurations(java.util.Collection) cache configurations}.
+ * <h2>Values</h2>
+ * Resource data is serialized with a {@link CacheValueCodec}, a {@link JacksonCacheValueCodec} by default.  Resource
+ * data already encoded to {@code byte[]} by the {@code DataStore}'s own codec is stored as is.
+ * <h2>Usage</h2>
+ * <pre>
+ * OffHeapCacheManager cacheManager = new OffHeapCacheManager();
+ * cacheManager.setDefaultTimeToLiveSeconds(3600);
+ * cacheManager.setCapacities(Collections.singletonMap("com.stormpath.sdk.account.Account", 1024L * 1024 * 1024));
+ *
+ * Client client = Clients.builder().setCacheManager(cacheManager).build();
+ * </pre>
+ *
+ * @see OffHeapCache
+ * @since 1.0.0
+ */
+public class OffHeapCacheManager implements CacheManager {
+
+    /**
+     * Default number of bytes allocated to each cache region: 4 MB.
+     */
+    public static final long DEFAULT_CAPACITY = 4L * 1024 * 1024;
+
+    private static final int MAX_SEGMENTS = 16;
+
+    //regions are only split into several buffers (segments) if each buffer holds at least this many bytes:
+    private static final int MIN_SEGMENT_CAPACITY = 1024 * 1024;
+
+    /**
+     * Retains any region-specific configuration that might be used when creating Cache instances.
+     */
+    protected final ConcurrentMap<String, CacheConfiguration> configs;
+
+    /**
+     * Retains all Cache objects maintained by this cache manager.
+     */
+    protected final ConcurrentMap<String, Cache> caches;
+
+    private final ConcurrentMap<String, Long> capacities;
+
+    //distinguishes the memory-mapped files of this instance from those of other managers using the same directory:
+    private final String instanceId;
+
+    private volatile Duration defaultTimeToLive;
+    private volatile Duration defaultTimeToIdle;
+    private volatile long defaultCapacity = DEFAULT_CAPACITY;
+    private volatile File directory;
+    private volatile CacheValueCodec codec;
+    private volatile MetricRegistry metricRegistry;
+
+    public OffHeapCacheManager() {
+        this.configs = new ConcurrentHashMap<String, CacheConfiguration>();
+        this.caches = new ConcurrentHashMap<String, Cache>();
+        this.capacities = new ConcurrentHashMap<String, Long>();
+        this.codec = new JacksonCacheValueCodec();
+        this.instanceId = UUID.randomUUID().toString();
+    }
+
+    /**
+     * Returns the default {@code timeToLive} duration to apply to newly created caches.
+     *
+     * @return the default {@code timeToLive} duration to apply to newly created caches.
+     */
+    public Duration getDefaultTimeToLive() {
+        return defaultTimeToLive;
+    }
+
+    /**
+     * Sets the default {@code timeToLive} duration to apply to newly created caches.  This setting does not affect
+     * existing caches.
+     *
+     * @param defaultTimeToLive the default {@code timeToLive} duration to apply to newly created caches.
+     */
+    public void setDefaultTimeToLive(Duration defaultTimeToLive) {
+        DefaultCache.assertTtl(defaultTimeToLive);
+        this.defaultTimeToLive = defaultTimeToLive;
+    }
+
+    /**
+     * Convenience method that sets the {@link #setDefaultTimeToLive(Duration) defaultTimeToLive} value using a
+     * {@code TimeUnit} of {@link TimeUnit#SECONDS}.
+     *
+     * @param seconds the {@link #setDefaultTimeToLive(Duration) defaultTimeToLive} value in seconds.
+     */
+    public void setDefaultTimeToLiveSeconds(long seconds) {
+        setDefaultTimeToLive(new Duration(seconds, TimeUnit.SECONDS));
+    }
+
+    /**
+     * Returns the default {@code timeToIdle} duration to apply to newly created caches.
+     *
+     * @return the default {@code timeToIdle} duration to apply to newly created caches.
+     */
+    public Duration getDefaultTimeToIdle() {
+        return defaultTimeToIdle;
+    }
+
+    /**
+     * Sets the default {@code timeToIdle} duration to apply to newly created caches.  This setting does not affect
+     * existing caches.
+     *
+     * @param defaultTimeToIdle the default {@code timeToIdle} duration to apply to newly created caches.
+     */
+    public void setDefaultTimeToIdle(Duration defaultTimeToIdle) {
+        DefaultCache.assertTti(defaultTimeToIdle);
+        this.defaultTimeToIdle = defaultTimeToIdle;
+    }
+
+    /**
+     * Convenience method that sets the {@link #setDefaultTimeToIdle(Duration) defaultTimeToIdle} value using a
+     * {@code TimeUnit} of {@link TimeUnit#SECONDS}.
+     *
+     * @param seconds the {@link #setDefaultTimeToIdle(Duration) defaultTimeToIdle} value in seconds.
+     */
+    public void setDefaultTimeToIdleSeconds(long seconds) {
+        setDefaultTimeToIdle(new Duration(seconds, TimeUnit.SECONDS));
+    }
+
+    /**
+     * Returns the number of bytes allocated to newly created caches that do not have a region-specific
+     * {@link #setCapacities(java.util.Map) capacity}.  Defaults to {@link #DEFAULT_CAPACITY 4 MB}.
+     *
+     * @return the number of bytes allocated to newly created caches.
+     */
+    public long getDefaultCapacity() {
+        return defaultCapacity;
+    }
+
+    /**
+     * Sets the number of bytes allocated to newly created caches that do not have a region-specific
+     * {@link #setCapacities(java.util.Map) capacity}.  This setting does not affect existing caches.
+     *
+     * @param defaultCapacity the number of bytes allocated to newly created caches.
+     */
+    public void setDefaultCapacity(long defaultCapacity) {
+        assertCapacity(defaultCapacity);
+        this.defaultCapacity = defaultCapacity;
+    }
+
+    private static void assertCapacity(long capacity) {
+        Assert.isTrue(capacity > 0, "capacity must be greater than zero.");
+        Assert.isTrue(capacity <= MAX_SEGMENTS * (long) Integer.MAX_VALUE,
+                "capacity cannot exceed " + MAX_SEGMENTS * (long) Integer.MAX_VALUE + " bytes.");
+    }
+
+    /**
+     * Sets the number of bytes allocated to specific cache regions, keyed by region name.  This setting does not
+     * affect existing caches.
+     *
+     * @param capacities the number of bytes allocated to specific cache regions, keyed by region name.
+     */
+    public void setCapacities(Map<String, Long> capacities) {
+        Assert.notNull(capacities, "Argument cannot be null.  To remove all capacities, set an empty map.");
+        for (Long capacity : capacities.values()) {
+            Assert.notNull(capacity, "capacities cannot contain null values.");
+            assertCapacity(capacity);
+        }
+        this.capacities.clear();
+        this.capacities.putAll(capacities);
+    }
+
+    /**
+     * Returns the directory in which memory-mapped cache files are created, or {@code null} if caches are stored in
+     * direct {@code ByteBuffer}s.
+     *
+     * @return the directory in which memory-mapped cache files are created, or {@code null}.
+     */
+    public File getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Sets the directory in which memory-mapped cache files are created, or {@code null} to store caches in direct
+     * {@code ByteBuffer}s (the default).  This setting does not affect existing caches.
+     *
+     * @param directory the directory in which memory-mapped cache files are created.
+     */
+    public void setDirectory(File directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Returns the codec used to serialize resource data.
+     *
+     * @return the codec used to serialize resource data.
+     */
+    public CacheValueCodec getCodec() {
+        return codec;
+    }
+
+    /**
+     * Sets the codec used to serialize resource data.  The codec must encode resource data to {@code byte[]}s.  This
+     * setting does not affect existing caches.
+     *
+     * @param codec the codec used to serialize resource data.
+     */
+    public void setCodec(CacheValueCodec codec) {
+        Assert.notNull(codec, "codec cannot be null.");
+        this.codec = codec;
+    }
+
+    /**
+     * Returns the registry the statistics of this manager's caches are published to, or {@code null} if they are
+     * not published.
+     *
+     * @return the registry the statistics of this manager's caches are published to, or {@code null}.
+     */
+    public MetricRegistry getMetricRegistry() {
+        return metricRegistry;
+    }
+
+    /**
+     * Sets the registry the statistics (hit ratio, size, eviction count, etc) of this manager's caches are published
+     * to.  The statistics of existing caches are published immediately, those of caches created later are published
+     * when they are created.
+     *
+     * @param metricRegistry the registry the statistics of this manager's caches are published to.
+     * @see CacheMetrics
+     */
+    public void setMetricRegistry(MetricRegistry metricRegistry) {
+        this.metricRegistry = metricRegistry;
+        if (metricRegistry != null) {
+            for (Cache cache : caches.values()) {
+                CacheMetrics.register(metricRegistry, cache);
+            }
+        }
+    }
+
+    /**
+     * Sets cache-specific configuration entries, to be utilized when creating cache instances.
+     *
+     * @param configs cache-specific configuration entries, to be utilized when creating cache instances.
+     */
+    public void setCacheConfigurations(Collection<CacheConfiguration> configs) {
+        Assert.notNull(configs, "Argument cannot be null.  To remove all configuration, set an empty collection.");
+        this.configs.clear();
+
+        for (CacheConfiguration config : configs) {
+            this.configs.put(config.getName(), config);
+        }
+    }
+
+    /**
+     * Returns the cache with the specified {@code name}.  If the cache instance does not yet exist, it will be lazily
+     * created, retained for further access, and then returned.
+     *
+     * @param name the name of the cache to acquire.
+     * @return the cache with the specified {@code name}.
+     * @throws IllegalArgumentException if the {@code name} argument is {@code null} or does not contain text.
+     */
+    @SuppressWarnings("unchecked")
+    public <K, V> Cache<K, V> getCache(String name) throws IllegalArgumentException {
+        Assert.hasText(name, "Cache name cannot be null or empty.");
+
+        Cache cache = caches.get(name);
+        if (cache == null) {
+            //off-heap memory is expensive: never allocate a region that would be discarded right away
+            synchronized (caches) {
+                cache = caches.get(name);
+                if (cache == null) {
+                    cache = createCache(name);
+                    caches.put(name, cache);
+                    if (this.metricRegistry != null) {
+                        CacheMetrics.register(this.metricRegistry, cache);
+                    }
+                }
+            }
+        }
+
+        return cache;
+    }
+
+    /**
+     * Creates a new {@code Cache} instance associated with the specified {@code name}.
+     *
+     * @param name the name of the cache to create
+     * @return a new {@code Cache} instance associated with the specified {@code name}.
+     */
+    protected Cache createCache(String name) {
+        Duration ttl = this.defaultTimeToLive != null ? this.defaultTimeToLive.clone() : null;
+        Duration tti = this.defaultTimeToIdle != null ? this.defaultTimeToIdle.clone() : null;
+
+        CacheConfiguration config = this.configs.get(name);
+        if (config != null) {
+            Duration d = config.getTimeToLive();
+            if (d != null) {
+                ttl = d;
+            }
+            d = config.getTimeToIdle();
+            if (d != null) {
+                tti = d;
+            }
+        }
+
+        Long capacity = this.capacities.get(name);
+        return new OffHeapCache(name, allocate(name, capacity != null ? capacity : this.defaultCapacity), this.codec,
+                ttl, tti);
+    }
+
+    private ByteBuffer[] allocate(String name, long capacity) {
+        int count = MAX_SEGMENTS;
+        while (count > 1 && (capacity / count < MIN_SEGMENT_CAPACITY)) {
+            count >>= 1;
+        }
+        int segmentCapacity = (int) Math.min(capacity / count, Integer.MAX_VALUE);
+
+        ByteBuffer[] buffers = new ByteBuffer[count];
+        File dir = this.directory;
+        for (int i = 0; i < count; i++) {
+            buffers[i] = dir != null ? map(new File(dir, name + "-" + this.instanceId + "-" + i + ".cache"), segmentCapacity) :
+                    ByteBuffer.allocateDirect(segmentCapacity);
+        }
+        return buffers;
+    }
+
+    private static ByteBuffer map(File file, int capacity) {
+        try {
+            File dir = file.getParentFile();
+            if (!dir.isDirectory() && !dir.mkdirs()) {
+                throw new IOException("Unable to create directory " + dir);
+            }
+            RandomAccessFile raf = new RandomAccessFile(file, "rw");
+            try {
+                raf.setLength(capacity);
+                //the mapping remains valid after the channel is closed:
+                return raf.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+            } finally {
+                raf.close();
+                file.deleteOnExit();
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to map cache file [" + file + "]: " + e.getMessage(), e);
+        }
+    }
+
+    public String toString() {
+        Collection<Cache> values = caches.values();
+        StringBuilder sb = new StringBuilder()
+                .append("{\n")
+                .append("  \"cacheCount\": ").append(caches.size()).append(",\n")
+                .append("  \"defaultTimeToLive\": \"").append(toString(defaultTimeToLive)).append("\",\n")
+                .append("  \"defaultTimeToIdle\": \"").append(toString(defaultTimeToIdle)).append("\",\n")
+                .append("  \"defaultCapacity\": ").append(defaultCapacity).append(",\n")
+                .append("  \"caches\": [");
+
+        if (!caches.isEmpty()) {
+            sb.append("\n");
+            int i = 0;
+            for (Cache cache : values) {
+                if (i > 0) {
+                    sb.append(",\n");
+                }
+                sb.append(cache.toString());
+                i++;
+            }
+            sb.append("\n  ");
+        }
+
+        sb.append("]\n}");
+        return sb.toString();
+    }
+
+    private String toString(Duration d) {
+        return d != null ? d.toString() : "indefinite";
+    }
+}
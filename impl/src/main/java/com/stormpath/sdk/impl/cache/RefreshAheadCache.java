@@ -0,0 +1,301 @@
+/*
+ * Copyright 2014 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.cache;
+
+import com.stormpath.sdk.cache.BulkCache;
+import com.stormpath.sdk.cache.Cache;
+import com.stormpath.sdk.impl.util.Duration;
+import com.stormpath.sdk.lang.Assert;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A {@link Cache} decorator that refreshes entries in the background instead of letting callers pay for a synchronous
+ * request once an entry's {@code timeToLive} elapses:
+ * <ul>
+ * <li>When an entry is accessed within the <em>refresh-ahead</em> window preceding its expiration, its value is
+ * returned and the entry is refreshed in the background.</li>
+ * <li>When an entry is accessed after its expiration but within the <em>stale-while-revalidate</em> window that
+ * follows it, the stale value is returned and the entry is refreshed in the background.</li>
+ * </ul>
+ * Refreshes only happen for accesses made via {@link #get(Object, CacheRefresher)}, since only the caller knows how
+ * to retrieve a fresh value; a plain {@link #get(Object)} never returns an expired entry.  At most one refresh per key
+ * is outstanding at any time.
+ * <p/>
+ * The wrapped cache stores {@link Entry} instances and must retain them for at least {@code timeToLive} plus the
+ * stale-while-revalidate window.
+ *
+ * @since 1.0.0
+ */
+public class RefreshAheadCache<K, V> implements BulkCache<K, V> {
+
+    private static final Logger log = LoggerFactory.getLogger(RefreshAheadCache.class);
+
+    private final Cache<K, Entry<V>> delegate;
+    private final long timeToLiveMillis;
+    private final long refreshAheadMillis;
+    private final long staleWhileRevalidateMillis;
+    private final Executor executor;
+
+    private final ConcurrentMap<K, Boolean> refreshing;
+    private final AtomicLong refreshCount;
+    private final AtomicLong staleHitCount;
+
+    /**
+     * Creates a new {@code RefreshAheadCache} wrapping the specified cache.
+     *
+     * @param delegate             the cache storing the entries
+     * @param timeToLive           the amount of time entries may exist until they expire
+     * @param refreshAhead         the window before expiration during which accessed entries are refreshed in the
+     *                             background, or {@code null} to not refresh entries before they expire.
+     * @param staleWhileRevalidate the window after expiration during which accessed entries are still returned while
+     *                             refreshed in the background, or {@code null} to never return expired entries.
+     * @param executor             the executor running background refreshes
+     * @throws IllegalArgumentException if {@code delegate}, {@code timeToLive} or {@code executor} are {@code null},
+     *                                  or if {@code refreshAhead} is not less than {@code timeToLive}.
+     */
+    public RefreshAheadCache(Cache<K, Entry<V>> delegate, Duration timeToLive, Duration refreshAhead,
+                             Duration staleWhileRevalidate, Executor executor) throws IllegalArgumentException {
+        Assert.notNull(delegate, "delegate cache cannot be null.");
+        Assert.notNull(timeToLive, "timeToLive is required to refresh entries ahead of their expiration.");
+        Assert.notNull(executor, "executor cannot be null.");
+        DefaultCache.assertTtl(timeToLive);
+        if (refreshAhead != null) {
+            Assert.isTrue(refreshAhead.getValue() > 0, "refreshAhead duration must be greater than zero");
+            Assert.isTrue(refreshAhead.isLessThan(timeToLive), "refreshAhead duration must be less than timeToLive");
+        }
+        if (staleWhileRevalidate != null) {
+            Assert.isTrue(staleWhileRevalidate.getValue() > 0, "staleWhileRevalidate duration must be greater than zero");
+        }
+        this.delegate = delegate;
+        this.timeToLiveMillis = toMillis(timeToLive);
+        this.refreshAheadMillis = toMillis(refreshAhead);
+        this.staleWhileRevalidateMillis = toMillis(staleWhileRevalidate);
+        this.executor = executor;
+        this.refreshing = new ConcurrentHashMap<K, Boolean>();
+        this.refreshCount = new AtomicLong(0);
+        this.staleHitCount = new AtomicLong(0);
+    }
+
+    static long toMillis(Duration d) {
+        return d != null ? d.getTimeUnit().toMillis(d.getValue()) : 0;
+    }
+
+    /**
+     * Returns the cached value associated with the specified key, or {@code null} if there is no entry for the key
+     * or the entry has expired.  Entries are never refreshed by this method.
+     *
+     * @param key the key that the value was previous added with
+     * @return the cached value, or {@code null} if there is no cached value for the key.
+     */
+    @Override
+    public V get(K key) {
+        return get(key, null);
+    }
+
+    /**
+     * Returns the cached value associated with the specified key, using the specified {@code refresher} to refresh
+     * the entry in the background if it is within its refresh-ahead or stale-while-revalidate window.
+     *
+     * @param key       the key that the value was previous added with
+     * @param refresher the refresher to invoke (asynchronously) if the entry should be refreshed, may be {@code null}.
+     * @return the cached value, or {@code null} if there is no cached value for the key or it is too old to return.
+     */
+    public V get(K key, CacheRefresher<? super K> refresher) {
+
+        Entry<V> entry = delegate.get(key);
+        if (entry == null) {
+            return null;
+        }
+
+        long age = System.currentTimeMillis() - entry.getCreationTimeMillis();
+
+        if (age > timeToLiveMillis) {
+            if (refresher == null || age > timeToLiveMillis + staleWhileRevalidateMillis) {
+                return null;
+            }
+            staleHitCount.incrementAndGet();
+            refresh(key, refresher);
+        } else if (refresher != null && refreshAheadMillis > 0 && age >= timeToLiveMillis - refreshAheadMillis) {
+            refresh(key, refresher);
+        }
+
+        return entry.getValue();
+    }
+
+    private void refresh(final K key, final CacheRefresher<? super K> refresher) {
+        if (refreshing.putIfAbsent(key, Boolean.TRUE) != null) {
+            return; //already being refreshed
+        }
+        try {
+            executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        refresher.refresh(key);
+                        refreshCount.incrementAndGet();
+                    } catch (RuntimeException e) {
+                        log.debug("Unable to refresh cache entry '{}': {}", key, e.getMessage());
+                    } finally {
+                        refreshing.remove(key);
+                    }
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            refreshing.remove(key);
+            log.debug("Unable to schedule refresh of cache entry '{}': {}", key, e.getMessage());
+        }
+    }
+
+    @Override
+    public V put(K key, V value) {
+        Entry<V> previous = delegate.put(key, new Entry<V>(value));
+        return previous != null ? previous.getValue() : null;
+    }
+
+    /**
+     * Adds a cache entry that was created at the specified time, for example when restoring a cache snapshot.
+     */
+    V put(K key, V value, long creationTimeMillis) {
+        Entry<V> previous = delegate.put(key, new Entry<V>(value, creationTimeMillis));
+        return previous != null ? previous.getValue() : null;
+    }
+
+    /**
+     * Invokes the specified visitor for each entry that may still be returned, including stale entries within the
+     * stale-while-revalidate window.
+     */
+    void visitEntries(final CacheEntryVisitor<? super K, ? super V> visitor) {
+        final long nowMillis = System.currentTimeMillis();
+        CacheSnapshot.visitEntries(delegate, new CacheEntryVisitor<K, Entry<V>>() {
+            @Override
+            public void visit(K key, Entry<V> entry, long creationTimeMillis) {
+                if (entry != null &&
+                        nowMillis - entry.getCreationTimeMillis() <= timeToLiveMillis + staleWhileRevalidateMillis) {
+                    visitor.visit(key, entry.getValue(), entry.getCreationTimeMillis());
+                }
+            }
+        });
+    }
+
+    @Override
+    public V remove(K key) {
+        Entry<V> previous = delegate.remove(key);
+        return previous != null ? previous.getValue() : null;
+    }
+
+    /**
+     * Returns the cached values of the entries that have not expired, reading them from the wrapped cache in a single
+     * bulk operation if it supports it.  Entries are never refreshed by this method.
+     *
+     * @param keys the keys that the values were previously added with
+     * @return the cached values keyed by their cache keys, never {@code null}.
+     */
+    @Override
+    public Map<K, V> getAll(Collection<? extends K> keys) {
+        Map<K, Entry<V>> entries = BulkCaches.getAll(delegate, keys);
+        Map<K, V> values = new LinkedHashMap<K, V>(entries.size());
+        long nowMillis = System.currentTimeMillis();
+        for (Map.Entry<K, Entry<V>> e : entries.entrySet()) {
+            Entry<V> entry = e.getValue();
+            if (entry != null && nowMillis - entry.getCreationTimeMillis() <= timeToLiveMillis) {
+                values.put(e.getKey(), entry.getValue());
+            }
+        }
+        return values;
+    }
+
+    @Override
+    public void putAll(Map<? extends K, ? extends V> entries) {
+        Map<K, Entry<V>> wrapped = new LinkedHashMap<K, Entry<V>>(entries.size());
+        for (Map.Entry<? extends K, ? extends V> e : entries.entrySet()) {
+            wrapped.put(e.getKey(), new Entry<V>(e.getValue()));
+        }
+        BulkCaches.putAll(delegate, wrapped);
+    }
+
+    @Override
+    public void removeAll(Collection<? extends K> keys) {
+        BulkCaches.removeAll(delegate, keys);
+    }
+
+    /**
+     * Returns the wrapped cache storing this cache's entries.
+     *
+     * @return the wrapped cache storing this cache's entries.
+     */
+    public Cache<K, Entry<V>> getDelegate() {
+        return delegate;
+    }
+
+    /**
+     * Returns the total number of entries successfully refreshed in the background.
+     *
+     * @return the total number of entries successfully refreshed in the background.
+     */
+    public long getRefreshCount() {
+        return refreshCount.get();
+    }
+
+    /**
+     * Returns the total number of times an expired value was returned while it was being refreshed.
+     *
+     * @return the total number of times an expired value was returned while it was being refreshed.
+     */
+    public long getStaleHitCount() {
+        return staleHitCount.get();
+    }
+
+    public String toString() {
+        return delegate.toString();
+    }
+
+    /**
+     * A cached value along with the time it was cached.
+     */
+    public static class Entry<V> implements Serializable {
+
+        private final V value;
+        private final long creationTimeMillis;
+
+        public Entry(V value) {
+            this(value, System.currentTimeMillis());
+        }
+
+        public Entry(V value, long creationTimeMillis) {
+            this.value = value;
+            this.creationTimeMillis = creationTimeMillis;
+        }
+
+        public V getValue() {
+            return value;
+        }
+
+        public long getCreationTimeMillis() {
+            return creationTimeMillis;
+        }
+    }
+}
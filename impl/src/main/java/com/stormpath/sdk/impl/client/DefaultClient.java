@@ -34,15 +34,22 @@ import com.stormpath.sdk.directory.DirectoryList;
 import com.stormpath.sdk.ds.DataStore;
 import com.stormpath.sdk.group.GroupCriteria;
 import com.stormpath.sdk.group.GroupList;
+import com.stormpath.sdk.impl.http.ConnectionConfiguration;
+import com.stormpath.sdk.impl.http.RequestInterceptor;
+import com.stormpath.sdk.impl.http.support.RateLimiter;
 import com.stormpath.sdk.lang.Assert;
 import com.stormpath.sdk.lang.Classes;
+import com.stormpath.sdk.metrics.MetricRegistry;
 import com.stormpath.sdk.resource.Resource;
 import com.stormpath.sdk.resource.ResourceException;
 import com.stormpath.sdk.tenant.Tenant;
 
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Future;
 
 /**
  * The default {@link Client} implementation.
@@ -77,9 +84,76 @@ public class DefaultClient implements Client {
      *                             server (can be null)
      */
     public DefaultClient(ApiKey apiKey, String baseUrl, Proxy proxy, CacheManager cacheManager, AuthenticationScheme authenticationScheme, int connectionTimeout) {
+        this(apiKey, baseUrl, proxy, cacheManager, authenticationScheme, toConnectionConfiguration(connectionTimeout));
+    }
+
+    /**
+     * Instantiates a new Client instance that will communicate with the Stormpath REST API using the specified
+     * connection and connection pool settings.
+     *
+     * @param apiKey                  the Stormpath account API Key that will be used to authenticate the client with
+     *                                Stormpath's API server
+     * @param baseUrl                 the Stormpath base URL
+     * @param proxy                   the HTTP proxy to be used when communicating with the Stormpath API server (can
+     *                                be null)
+     * @param cacheManager            the {@link com.stormpath.sdk.cache.CacheManager} that should be used to cache
+     *                                Stormpath REST resources (can be null)
+     * @param authenticationScheme    the HTTP authentication scheme to be used when communicating with the Stormpath
+     *                                API server (can be null)
+     * @param connectionConfiguration the connection timeout and connection pool settings
+     * @since 1.0.0
+     */
+    public DefaultClient(ApiKey apiKey, String baseUrl, Proxy proxy, CacheManager cacheManager, AuthenticationScheme authenticationScheme, ConnectionConfiguration connectionConfiguration) {
+        this(apiKey, baseUrl, proxy, cacheManager, authenticationScheme, connectionConfiguration, null);
+    }
+
+    /**
+     * Instantiates a new Client instance that will communicate with the Stormpath REST API using the specified
+     * connection and connection pool settings, and record its metrics to the specified registry.
+     *
+     * @param apiKey                  the Stormpath account API Key that will be used to authenticate the client with
+     *                                Stormpath's API server
+     * @param baseUrl                 the Stormpath base URL
+     * @param proxy                   the HTTP proxy to be used when communicating with the Stormpath API server (can
+     *                                be null)
+     * @param cacheManager            the {@link com.stormpath.sdk.cache.CacheManager} that should be used to cache
+     *                                Stormpath REST resources (can be null)
+     * @param authenticationScheme    the HTTP authentication scheme to be used when communicating with the Stormpath
+     *                                API server (can be null)
+     * @param connectionConfiguration the connection timeout and connection pool settings
+     * @param metricRegistry          the registry the request, connection pool and cache metrics are recorded to
+     *                                (can be null)
+     * @since 1.0.0
+     */
+    public DefaultClient(ApiKey apiKey, String baseUrl, Proxy proxy, CacheManager cacheManager, AuthenticationScheme authenticationScheme, ConnectionConfiguration connectionConfiguration, MetricRegistry metricRegistry) {
+        this(apiKey, baseUrl, proxy, cacheManager, authenticationScheme, connectionConfiguration, metricRegistry,
+                Collections.<RequestInterceptor>emptyList());
+    }
+
+    /**
+     * Instantiates a new Client instance that will communicate with the Stormpath REST API using the specified
+     * connection and connection pool settings, record its metrics to the specified registry and invoke the specified
+     * interceptors for every HTTP request.
+     *
+     * @param apiKey                  the Stormpath account API Key that will be used to authenticate the client with
+     *                                Stormpath's API server
+     * @param baseUrl                 the Stormpath base URL
+     * @param proxy                   the HTTP proxy to be used when communicating with the Stormpath API server (can
+     *                                be null)
+     * @param cacheManager            the {@link com.stormpath.sdk.cache.CacheManager} that should be used to cache
+     *                                Stormpath REST resources (can be null)
+     * @param authenticationScheme    the HTTP authentication scheme to be used when communicating with the Stormpath
+     *                                API server (can be null)
+     * @param connectionConfiguration the connection timeout and connection pool settings
+     * @param metricRegistry          the registry the request, connection pool and cache metrics are recorded to
+     *                                (can be null)
+     * @param requestInterceptors     the interceptors invoked for every HTTP request, in invocation order
+     * @since 1.0.0
+     */
+    public DefaultClient(ApiKey apiKey, String baseUrl, Proxy proxy, CacheManager cacheManager, AuthenticationScheme authenticationScheme, ConnectionConfiguration connectionConfiguration, MetricRegistry metricRegistry, List<RequestInterceptor> requestInterceptors) {
         Assert.notNull(apiKey, "apiKey argument cannot be null.");
-        Assert.isTrue(connectionTimeout >= 0, "connectionTimeout cannot be a negative number.");
-        Object requestExecutor = createRequestExecutor(apiKey, proxy, authenticationScheme, connectionTimeout);
+        Assert.notNull(connectionConfiguration, "connectionConfiguration cannot be null.");
+        Object requestExecutor = createRequestExecutor(apiKey, proxy, authenticationScheme, connectionConfiguration);
         this.apiKey = apiKey;
         DataStore ds = createDataStore(requestExecutor, baseUrl, apiKey);
 
@@ -88,9 +162,22 @@ public class DefaultClient implements Client {
             applyCacheManager(ds, cacheManager);
         }
 
+        if (metricRegistry != null) {
+            applyMetricRegistry(requestExecutor, ds, metricRegistry);
+        }
+
+        if (requestInterceptors != null && !requestInterceptors.isEmpty()) {
+            applyRequestInterceptors(requestExecutor, requestInterceptors);
+        }
+
         this.dataStore = ds;
     }
 
+    private static ConnectionConfiguration toConnectionConfiguration(int connectionTimeout) {
+        Assert.isTrue(connectionTimeout >= 0, "connectionTimeout cannot be a negative number.");
+        return new ConnectionConfiguration(connectionTimeout);
+    }
+
     private void applyCacheManager(DataStore dataStore, CacheManager cacheManager) {
         Class<?> clazz = dataStore.getClass();
         try {
@@ -103,6 +190,48 @@ public class DefaultClient implements Client {
         }
     }
 
+    private void applyMetricRegistry(Object requestExecutor, DataStore dataStore, MetricRegistry registry) {
+        try {
+            Method method = requestExecutor.getClass().getMethod("setMetricRegistry", MetricRegistry.class);
+            method.invoke(requestExecutor, registry);
+        } catch (NoSuchMethodException e) {
+            //this RequestExecutor implementation does not record metrics
+        } catch (Exception e) {
+            String msg = "Unable to apply metricRegistry instance on RequestExecutor implementation " +
+                    requestExecutor.getClass();
+            throw new RuntimeException(msg, e);
+        }
+
+        //cache statistics are published by the DataStore: the (possibly shared) CacheManager is left untouched
+        try {
+            Method method = dataStore.getClass().getMethod("setMetricRegistry", MetricRegistry.class);
+            method.invoke(dataStore, registry);
+        } catch (NoSuchMethodException e) {
+            //this DataStore implementation does not record metrics
+        } catch (Exception e) {
+            String msg = "Unable to apply metricRegistry instance on DataStore implementation " + dataStore.getClass();
+            throw new RuntimeException(msg, e);
+        }
+    }
+
+    private void applyRequestInterceptors(Object requestExecutor, List<RequestInterceptor> interceptors) {
+        Class<?> clazz = requestExecutor.getClass();
+        try {
+            Method method = clazz.getMethod("addRequestInterceptor", RequestInterceptor.class);
+            for (RequestInterceptor interceptor : interceptors) {
+                if (interceptor instanceof RateLimiter) {
+                    //the executor needs to know its rate limiter so throttled retries are paced by it:
+                    clazz.getMethod("setRateLimiter", RateLimiter.class).invoke(requestExecutor, interceptor);
+                } else {
+                    method.invoke(requestExecutor, interceptor);
+                }
+            }
+        } catch (Exception e) {
+            String msg = "Unable to apply request interceptors on RequestExecutor implementation " + clazz;
+            throw new RuntimeException(msg, e);
+        }
+    }
+
     @Override
     public Tenant getCurrentTenant() {
         String href = currentTenantHref;
@@ -130,7 +259,7 @@ public class DefaultClient implements Client {
     }
 
     @SuppressWarnings({"unchecked", "rawtypes"})
-    private Object createRequestExecutor(ApiKey apiKey, Proxy proxy, AuthenticationScheme authenticationScheme, int connectionTimeout) {
+    private Object createRequestExecutor(ApiKey apiKey, Proxy proxy, AuthenticationScheme authenticationScheme, ConnectionConfiguration connectionConfiguration) {
 
         String className = "com.stormpath.sdk.impl.http.httpclient.HttpClientRequestExecutor";
 
@@ -147,9 +276,9 @@ public class DefaultClient implements Client {
             throw new RuntimeException(msg);
         }
 
-        Constructor ctor = Classes.getConstructor(requestExecutorClass, com.stormpath.sdk.api.ApiKey.class, Proxy.class, AuthenticationScheme.class, Integer.class);
+        Constructor ctor = Classes.getConstructor(requestExecutorClass, com.stormpath.sdk.api.ApiKey.class, Proxy.class, AuthenticationScheme.class, ConnectionConfiguration.class);
 
-        return Classes.instantiate(ctor, apiKey, proxy, authenticationScheme, connectionTimeout);
+        return Classes.instantiate(ctor, apiKey, proxy, authenticationScheme, connectionConfiguration);
     }
 
     @SuppressWarnings({"unchecked", "rawtypes"})
@@ -221,6 +350,11 @@ public class DefaultClient implements Client {
         return this.dataStore.getResource(href, clazz);
     }
 
+    @Override
+    public <T extends Resource> Future<T> getResourceAsync(String href, Class<T> clazz) {
+        return this.dataStore.getResourceAsync(href, clazz);
+    }
+
     /**
      * {@inheritDoc}
      *
@@ -17,16 +17,27 @@ package com.stormpath.sdk.impl.client;
 
 import com.stormpath.sdk.api.ApiKeys;
 import com.stormpath.sdk.cache.CacheManager;
+import com.stormpath.sdk.cache.CacheValueCodec;
 import com.stormpath.sdk.cache.Caches;
 import com.stormpath.sdk.client.ApiKey;
 import com.stormpath.sdk.client.AuthenticationScheme;
 import com.stormpath.sdk.client.Client;
 import com.stormpath.sdk.client.ClientBuilder;
 import com.stormpath.sdk.client.Proxy;
+import com.stormpath.sdk.impl.cache.DefaultCacheManager;
+import com.stormpath.sdk.impl.ds.DefaultDataStore;
+import com.stormpath.sdk.impl.http.ConnectionConfiguration;
+import com.stormpath.sdk.impl.http.RequestInterceptor;
+import com.stormpath.sdk.impl.http.support.RateLimiter;
+import com.stormpath.sdk.impl.metrics.JmxMetricRegistry;
+import com.stormpath.sdk.impl.util.Duration;
 import com.stormpath.sdk.lang.Assert;
+import com.stormpath.sdk.metrics.MetricRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -43,11 +54,27 @@ public class DefaultClientBuilder implements ClientBuilder {
     private Proxy                proxy;
     private AuthenticationScheme authenticationScheme;
     private CacheManager         cacheManager;
+    private MetricRegistry       metricRegistry; //@since 1.0.0
+    private double               rateLimit; //@since 1.0.0
+    private double               endpointRateLimit; //@since 1.0.0
+    private long                 rateLimitTimeoutMillis = RateLimiter.DEFAULT_TIMEOUT_MILLIS; //@since 1.0.0
+    private boolean              socketTimeoutSet; //@since 1.0.0
+    private boolean              conditionalRevalidationEnabled; //@since 1.0.0
+    private long                 collectionCacheTimeToLiveMillis; //@since 1.0.0
+    private long                 notFoundCacheTimeToLiveMillis; //@since 1.0.0
+    private CacheValueCodec      cacheValueCodec; //@since 1.0.0
 
     /**
-     * Default connection timeout.
+     * Connection timeout and connection pool settings.  Defaults to a 20 second connection and socket timeout.
      */
-    private int connectionTimeout = 20000; //20,000 millis = 20 seconds
+    private final ConnectionConfiguration connectionConfiguration = new ConnectionConfiguration();
+
+    /**
+     * Interceptors invoked for every HTTP request made by the built client, in invocation order.
+     *
+     * @since 1.0.0
+     */
+    private final List<RequestInterceptor> requestInterceptors = new ArrayList<RequestInterceptor>();
 
     @Override
     public ClientBuilder setApiKey(ApiKey apiKey) {
@@ -76,6 +103,38 @@ public class DefaultClientBuilder implements ClientBuilder {
         return this;
     }
 
+    /* @since 1.0.0 */
+    @Override
+    public ClientBuilder setConditionalRevalidationEnabled(boolean enabled) {
+        this.conditionalRevalidationEnabled = enabled;
+        return this;
+    }
+
+    /* @since 1.0.0 */
+    @Override
+    public ClientBuilder setCollectionCacheTimeToLive(long ttl, TimeUnit timeUnit) {
+        Assert.isTrue(ttl >= 0, "ttl cannot be a negative number.");
+        Assert.notNull(timeUnit, "timeUnit cannot be null.");
+        this.collectionCacheTimeToLiveMillis = timeUnit.toMillis(ttl);
+        return this;
+    }
+
+    /* @since 1.0.0 */
+    @Override
+    public ClientBuilder setNotFoundCacheTimeToLive(long ttl, TimeUnit timeUnit) {
+        Assert.isTrue(ttl >= 0, "ttl cannot be a negative number.");
+        Assert.notNull(timeUnit, "timeUnit cannot be null.");
+        this.notFoundCacheTimeToLiveMillis = timeUnit.toMillis(ttl);
+        return this;
+    }
+
+    /* @since 1.0.0 */
+    @Override
+    public ClientBuilder setCacheValueCodec(CacheValueCodec cacheValueCodec) {
+        this.cacheValueCodec = cacheValueCodec;
+        return this;
+    }
+
     @Override
     public ClientBuilder setAuthenticationScheme(AuthenticationScheme authenticationScheme) {
         this.authenticationScheme = authenticationScheme;
@@ -86,7 +145,123 @@ public class DefaultClientBuilder implements ClientBuilder {
     @Override
     public ClientBuilder setConnectionTimeout(int timeout) {
         Assert.isTrue(timeout >= 0, "Timeout cannot be a negative number.");
-        this.connectionTimeout = timeout;
+        this.connectionConfiguration.setConnectionTimeout(timeout);
+        if (!this.socketTimeoutSet) {
+            //@since 1.0.0: an explicitly set socket timeout takes precedence regardless of the order of the calls
+            this.connectionConfiguration.setSocketTimeout(timeout);
+        }
+        return this;
+    }
+
+    public int getConnectionTimeout() {
+        return this.connectionConfiguration.getConnectionTimeout();
+    }
+
+    /* @since 1.0.0 */
+    @Override
+    public ClientBuilder setSocketTimeout(int timeout) {
+        this.connectionConfiguration.setSocketTimeout(timeout);
+        this.socketTimeoutSet = true;
+        return this;
+    }
+
+    /* @since 1.0.0 */
+    @Override
+    public ClientBuilder setConnectionRequestTimeout(int timeout) {
+        this.connectionConfiguration.setConnectionRequestTimeout(timeout);
+        return this;
+    }
+
+    /* @since 1.0.0 */
+    @Override
+    public ClientBuilder setMaxConnectionsPerRoute(int maxConnections) {
+        this.connectionConfiguration.setMaxConnectionsPerRoute(maxConnections);
+        return this;
+    }
+
+    /* @since 1.0.0 */
+    @Override
+    public ClientBuilder setMaxConnectionsTotal(int maxConnections) {
+        this.connectionConfiguration.setMaxConnectionsTotal(maxConnections);
+        return this;
+    }
+
+    /* @since 1.0.0 */
+    @Override
+    public ClientBuilder setConnectionTimeToLive(long ttl, TimeUnit timeUnit) {
+        Assert.notNull(timeUnit, "timeUnit cannot be null.");
+        this.connectionConfiguration.setConnectionTimeToLiveMillis(timeUnit.toMillis(ttl));
+        return this;
+    }
+
+    /* @since 1.0.0 */
+    @Override
+    public ClientBuilder setIdleConnectionTimeout(long timeout, TimeUnit timeUnit) {
+        Assert.notNull(timeUnit, "timeUnit cannot be null.");
+        this.connectionConfiguration.setIdleConnectionTimeoutMillis(timeUnit.toMillis(timeout));
+        return this;
+    }
+
+    /* @since 1.0.0 */
+    @Override
+    public ClientBuilder setStaleConnectionCheckEnabled(boolean enabled) {
+        this.connectionConfiguration.setStaleConnectionCheckEnabled(enabled);
+        return this;
+    }
+
+    /**
+     * @since 1.0.0
+     */
+    @Override
+    public ClientBuilder setMetricRegistry(MetricRegistry metricRegistry) {
+        Assert.notNull(metricRegistry, "metricRegistry cannot be null.");
+        this.metricRegistry = metricRegistry;
+        return this;
+    }
+
+    /**
+     * @since 1.0.0
+     */
+    @Override
+    public ClientBuilder setRateLimit(double requestsPerSecond) {
+        Assert.isTrue(requestsPerSecond >= 0, "requestsPerSecond cannot be negative.");
+        this.rateLimit = requestsPerSecond;
+        return this;
+    }
+
+    /**
+     * @since 1.0.0
+     */
+    @Override
+    public ClientBuilder setEndpointRateLimit(double requestsPerSecond) {
+        Assert.isTrue(requestsPerSecond >= 0, "requestsPerSecond cannot be negative.");
+        this.endpointRateLimit = requestsPerSecond;
+        return this;
+    }
+
+    /**
+     * @since 1.0.0
+     */
+    @Override
+    public ClientBuilder setRateLimitTimeout(long timeout, TimeUnit timeUnit) {
+        Assert.isTrue(timeout >= 0, "timeout cannot be negative.");
+        Assert.notNull(timeUnit, "timeUnit cannot be null.");
+        this.rateLimitTimeoutMillis = timeUnit.toMillis(timeout);
+        return this;
+    }
+
+    /**
+     * Appends an interceptor invoked for every HTTP request made by the built client, for example to trace requests.
+     * Interceptors are invoked in the order they are added.
+     *
+     * @param interceptor the interceptor to append
+     * @return this builder for method chaining.
+     * @see RequestInterceptor
+     * @since 1.0.0
+     */
+    public DefaultClientBuilder addRequestInterceptor(RequestInterceptor interceptor) {
+        Assert.notNull(interceptor, "interceptor cannot be null.");
+        this.requestInterceptors.add(interceptor);
         return this;
     }
 
@@ -101,6 +276,10 @@ public class DefaultClientBuilder implements ClientBuilder {
         Assert.state(this.apiKey != null,
                      "No ApiKey has been set. It is required to properly build the Client. See 'setApiKey(ApiKey)'.");
 
+        Assert.state(this.connectionConfiguration.getMaxConnectionsPerRoute() <= this.connectionConfiguration.getMaxConnectionsTotal(),
+                     "maxConnectionsPerRoute (" + this.connectionConfiguration.getMaxConnectionsPerRoute() + ") cannot " +
+                     "be greater than maxConnectionsTotal (" + this.connectionConfiguration.getMaxConnectionsTotal() + ").");
+
         if (this.cacheManager == null) {
             log.debug("No CacheManager configured.  Defaulting to in-memory CacheManager with default TTL and TTI of " +
                      "one hour.");
@@ -110,7 +289,60 @@ public class DefaultClientBuilder implements ClientBuilder {
                                       .build();
         }
 
-        return new DefaultClient(this.apiKey, this.baseUrl, this.proxy, this.cacheManager, this.authenticationScheme, this.connectionTimeout);
+        if (this.cacheManager instanceof DefaultCacheManager) {
+            DefaultCacheManager defaultCacheManager = (DefaultCacheManager) this.cacheManager;
+            //@since 1.0.0: values encoded by the codec can only be written to (and restored from) snapshots with it:
+            if (this.cacheValueCodec != null && defaultCacheManager.getSnapshotValueCodec() == null) {
+                defaultCacheManager.setSnapshotValueCodec(this.cacheValueCodec);
+            }
+            //warm the caches from the last snapshot (if snapshots are enabled) before the client is used:
+            defaultCacheManager.startSnapshots();
+        }
+
+        //the default registry belongs to the built client only, so it is never retained by this builder:
+        MetricRegistry metricRegistry = this.metricRegistry;
+        JmxMetricRegistry defaultMetricRegistry = null;
+        if (metricRegistry == null) {
+            log.debug("No MetricRegistry configured.  Defaulting to publishing metrics as JMX MBeans.");
+            defaultMetricRegistry = new JmxMetricRegistry();
+            metricRegistry = defaultMetricRegistry;
+        }
+
+        List<RequestInterceptor> interceptors = new ArrayList<RequestInterceptor>(this.requestInterceptors);
+        if (this.rateLimit > 0 || this.endpointRateLimit > 0) {
+            //each client gets its own limiter, shared by all of its requests:
+            interceptors.add(new RateLimiter(this.rateLimit, this.endpointRateLimit, this.rateLimitTimeoutMillis,
+                    TimeUnit.MILLISECONDS));
+        }
+
+        //the executor reads its settings lazily, so the client gets a snapshot this builder cannot change afterwards:
+        ConnectionConfiguration connectionConfiguration = new ConnectionConfiguration(this.connectionConfiguration);
+
+        Client client = new DefaultClient(this.apiKey, this.baseUrl, this.proxy, this.cacheManager, this.authenticationScheme, connectionConfiguration, metricRegistry, interceptors);
+
+        if (defaultMetricRegistry != null) {
+            defaultMetricRegistry.unregisterAllWhenCollected(client);
+        }
+
+        if (client.getDataStore() instanceof DefaultDataStore) {
+            applyCacheSettings((DefaultDataStore) client.getDataStore());
+        }
+
+        return client;
+    }
+
+    /**
+     * @since 1.0.0
+     */
+    private void applyCacheSettings(DefaultDataStore dataStore) {
+        dataStore.setConditionalRevalidationEnabled(this.conditionalRevalidationEnabled);
+        if (this.collectionCacheTimeToLiveMillis > 0) {
+            dataStore.setCollectionCacheTimeToLive(new Duration(this.collectionCacheTimeToLiveMillis, TimeUnit.MILLISECONDS));
+        }
+        if (this.notFoundCacheTimeToLiveMillis > 0) {
+            dataStore.setNotFoundCacheTimeToLive(new Duration(this.notFoundCacheTimeToLiveMillis, TimeUnit.MILLISECONDS));
+        }
+        dataStore.setCacheValueCodec(this.cacheValueCodec);
     }
 
     @Override
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2014 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.ds;
+
+import com.stormpath.sdk.cache.BulkCache;
+import com.stormpath.sdk.cache.Cache;
+import com.stormpath.sdk.cache.CacheValueCodec;
+import com.stormpath.sdk.impl.cache.BulkCaches;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A view of a cache region that stores resource data in the representation produced by a {@link CacheValueCodec}.
+ * <p/>
+ * Decoding is the expensive part of a codec, so previous values are never decoded just to be returned:
+ * {@link #put(String, Map)} and {@link #remove(String)} always return {@code null}.  This departs from the
+ * {@link Cache} contract on purpose: the {@code DataStore} never uses the previous value, and a caller that needs it
+ * must {@link #get(String) get} it first.
+ *
+ * @since 1.0.0
+ */
+class CodecCache implements BulkCache<String, Map<String, ?>> {
+
+    private final Cache<String, Object> delegate;
+    private final CacheValueCodec codec;
+
+    CodecCache(Cache<String, Object> delegate, CacheValueCodec codec) {
+        this.delegate = delegate;
+        this.codec = codec;
+    }
+
+    Cache<String, Object> getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public Map<String, ?> get(String key) {
+        return codec.decode(delegate.get(key));
+    }
+
+    /**
+     * Stores the encoded {@code value} under the specified {@code key}.
+     *
+     * @param key   the key used to identify the resource data.
+     * @param value the resource data to store.
+     * @return always {@code null}: the previous value is not decoded.
+     */
+    @Override
+    public Map<String, ?> put(String key, Map<String, ?> value) {
+        delegate.put(key, codec.encode(value));
+        return null;
+    }
+
+    /**
+     * Removes the value stored under the specified {@code key}.
+     *
+     * @param key the key used to identify the resource data.
+     * @return always {@code null}: the removed value is not decoded.
+     */
+    @Override
+    public Map<String, ?> remove(String key) {
+        delegate.remove(key);
+        return null;
+    }
+
+    @Override
+    public Map<String, Map<String, ?>> getAll(Collection<? extends String> keys) {
+        Map<String, Object> encoded = BulkCaches.getAll(delegate, keys);
+        Map<String, Map<String, ?>> values = new LinkedHashMap<String, Map<String, ?>>(encoded.size());
+        for (Map.Entry<String, Object> entry : encoded.entrySet()) {
+            values.put(entry.getKey(), codec.decode(entry.getValue()));
+        }
+        return values;
+    }
+
+    @Override
+    public void putAll(Map<? extends String, ? extends Map<String, ?>> entries) {
+        Map<String, Object> encoded = new LinkedHashMap<String, Object>(entries.size());
+        for (Map.Entry<? extends String, ? extends Map<String, ?>> entry : entries.entrySet()) {
+            encoded.put(entry.getKey(), codec.encode(entry.getValue()));
+        }
+        BulkCaches.putAll(delegate, encoded);
+    }
+
+    @Override
+    public void removeAll(Collection<? extends String> keys) {
+        BulkCaches.removeAll(delegate, keys);
+    }
+
+    //views of the same region are interchangeable (DefaultDataStore groups cache writes by region):
+
+    @Override
+    public boolean equals(Object o) {
+        if (o == this) {
+            return true;
+        }
+        if (o instanceof CodecCache) {
+            CodecCache other = (CodecCache) o;
+            return delegate.equals(other.delegate) && codec.equals(other.codec);
+        }
+        return false;
+    }
+
+    @Override
+    public int hashCode() {
+        return delegate.hashCode() * 31 + codec.hashCode();
+    }
+}
@@ -18,18 +18,28 @@ package com.stormpath.sdk.impl.ds;
 import com.stormpath.sdk.account.Account;
 import com.stormpath.sdk.account.EmailVerificationToken;
 import com.stormpath.sdk.account.PasswordResetToken;
+import com.stormpath.sdk.account.VerificationEmailRequest;
 import com.stormpath.sdk.api.ApiKey;
 import com.stormpath.sdk.api.ApiKeyList;
 import com.stormpath.sdk.cache.Cache;
 import com.stormpath.sdk.cache.CacheManager;
+import com.stormpath.sdk.cache.CacheValueCodec;
 import com.stormpath.sdk.directory.CustomData;
 import com.stormpath.sdk.http.HttpMethod;
 import com.stormpath.sdk.impl.account.DefaultAccount;
+import com.stormpath.sdk.impl.authc.LoginAttempt;
+import com.stormpath.sdk.impl.cache.BoundedCache;
+import com.stormpath.sdk.impl.cache.BulkCaches;
+import com.stormpath.sdk.impl.cache.CacheMetrics;
+import com.stormpath.sdk.impl.cache.CacheRefresher;
 import com.stormpath.sdk.impl.cache.DisabledCacheManager;
+import com.stormpath.sdk.impl.cache.RefreshAheadCache;
 import com.stormpath.sdk.impl.ds.api.ApiKeyCachePropertiesFilter;
 import com.stormpath.sdk.impl.ds.api.ApiKeyQueryPropertiesFilter;
 import com.stormpath.sdk.impl.ds.api.ApiKeyResourcePropertiesFilter;
 import com.stormpath.sdk.impl.error.DefaultError;
+import com.stormpath.sdk.impl.http.AsyncRequestExecutor;
+import com.stormpath.sdk.impl.http.HttpHeaders;
 import com.stormpath.sdk.impl.http.MediaType;
 import com.stormpath.sdk.impl.http.QueryString;
 import com.stormpath.sdk.impl.http.QueryStringFactory;
@@ -40,6 +50,7 @@ import com.stormpath.sdk.impl.http.support.DefaultRequest;
 import com.stormpath.sdk.impl.http.support.UserAgent;
 import com.stormpath.sdk.impl.query.DefaultCriteria;
 import com.stormpath.sdk.impl.query.DefaultOptions;
+import com.stormpath.sdk.impl.resource.AbstractCollectionResource;
 import com.stormpath.sdk.impl.resource.AbstractExtendableInstanceResource;
 import com.stormpath.sdk.impl.resource.AbstractResource;
 import com.stormpath.sdk.impl.resource.ArrayProperty;
@@ -47,12 +58,15 @@ import com.stormpath.sdk.impl.resource.CollectionProperties;
 import com.stormpath.sdk.impl.resource.Property;
 import com.stormpath.sdk.impl.resource.ReferenceFactory;
 import com.stormpath.sdk.impl.resource.ResourceReference;
+import com.stormpath.sdk.impl.util.DaemonThreadFactory;
+import com.stormpath.sdk.impl.util.Duration;
 import com.stormpath.sdk.impl.util.SoftHashMap;
 import com.stormpath.sdk.impl.util.StringInputStream;
 import com.stormpath.sdk.lang.Assert;
 import com.stormpath.sdk.lang.Collections;
 import com.stormpath.sdk.lang.Strings;
 import com.stormpath.sdk.mail.ModeledEmailTemplate;
+import com.stormpath.sdk.metrics.MetricRegistry;
 import com.stormpath.sdk.provider.Provider;
 import com.stormpath.sdk.provider.ProviderAccountResult;
 import com.stormpath.sdk.provider.ProviderData;
@@ -65,8 +79,8 @@ import com.stormpath.sdk.resource.Saveable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
 import java.io.InputStream;
-import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -75,6 +89,15 @@ import java.util.List;
 import java.util.Map;
 import java.util.Scanner;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static com.stormpath.sdk.impl.api.ApiKeyParameter.*;
 import static com.stormpath.sdk.impl.resource.AbstractCollectionResource.*;
@@ -90,6 +113,14 @@ public class DefaultDataStore implements InternalDataStore {
 
     public static final int DEFAULT_API_VERSION = 1;
 
+    /**
+     * Number of threads used to execute asynchronous DataStore operations if the {@code RequestExecutor} does not
+     * provide its own pool.
+     *
+     * @since 1.0.0
+     */
+    private static final int DEFAULT_ASYNC_POOL_SIZE = 10;
+
     private final RequestExecutor requestExecutor;
     private final ResourceFactory resourceFactory;
     private final MapMarshaller mapMarshaller;
@@ -111,6 +142,120 @@ public class DefaultDataStore implements InternalDataStore {
 
     private final CacheMapInitializer cacheMapInitializer;
 
+    /**
+     * @since 1.0.0
+     */
+    private volatile ExecutorService asyncExecutorService;
+
+    /**
+     * {@code true} if the {@link #asyncExecutorService} was created by this DataStore (and must therefore be shut down
+     * by it), {@code false} if it was configured or is shared with the {@code RequestExecutor}.
+     *
+     * @since 1.0.0
+     */
+    private boolean asyncExecutorServiceOwned;
+
+    /**
+     * GET requests currently being executed, keyed by fully qualified href and query string, so concurrent cache
+     * misses for the same resource share a single request (and a single cache write) instead of each issuing their own.
+     *
+     * @since 1.0.0
+     */
+    private final ConcurrentMap<String, InFlightGet> inFlightGets = new ConcurrentHashMap<String, InFlightGet>();
+
+    /**
+     * @since 1.0.0
+     */
+    private volatile boolean conditionalRevalidationEnabled = false;
+
+    /**
+     * Cached data and validators (ETag / Last-Modified) of resources retrieved while conditional revalidation is
+     * enabled, retained (softly) beyond the expiration of their cache entries so that they can be revalidated with a
+     * conditional GET instead of being retrieved again in full.
+     *
+     * @since 1.0.0
+     */
+    private final Map<String, RevalidationCandidate> revalidationCandidates = new SoftHashMap<String, RevalidationCandidate>();
+
+    /**
+     * @since 1.0.0
+     */
+    public static final int DEFAULT_COLLECTION_CACHE_MAX_ENTRIES = 1000;
+
+    private static final String COLLECTION_CACHE_NAME = "stormpath-collection-pages";
+
+    /**
+     * Cached collection resource pages, keyed by collection href and query string.  {@code null} (the default) when
+     * collection page caching is disabled.  Pages are only valid relative to this DataStore's own
+     * {@link #writeGeneration}, so they are never stored in a (possibly clustered) region of the
+     * {@code CacheManager}.
+     *
+     * @since 1.0.0
+     */
+    private volatile Cache<String, CachedPage> collectionPageCache;
+
+    /**
+     * @since 1.0.0
+     */
+    private volatile Duration collectionCacheTimeToLive;
+
+    /**
+     * @since 1.0.0
+     */
+    private volatile int collectionCacheMaxEntries = DEFAULT_COLLECTION_CACHE_MAX_ENTRIES;
+
+    /**
+     * Incremented whenever this DataStore creates, saves or deletes a resource.  Cached collection pages and negative
+     * lookup results retrieved before the most recent modification are discarded.  Requests that are POSTs but do not
+     * modify any resource collection (login attempts, password reset tokens and verification email requests) leave
+     * them in place, so that authentication traffic does not defeat the caching of login lookups.
+     *
+     * @since 1.0.0
+     */
+    private final AtomicLong writeGeneration = new AtomicLong();
+
+    /**
+     * @since 1.0.0
+     */
+    public static final int DEFAULT_NOT_FOUND_CACHE_MAX_ENTRIES = 10000;
+
+    private static final String NOT_FOUND_CACHE_NAME = "stormpath-not-found";
+
+    /**
+     * Lookups known to have found nothing: {@code 404} responses and empty API key id queries, keyed by href and
+     * query string.  {@code null} (the default) when negative caching is disabled.
+     *
+     * @since 1.0.0
+     */
+    private volatile Cache<String, NotFound> notFoundCache;
+
+    /**
+     * @since 1.0.0
+     */
+    private volatile Duration notFoundCacheTimeToLive;
+
+    /**
+     * @since 1.0.0
+     */
+    private volatile int notFoundCacheMaxEntries = DEFAULT_NOT_FOUND_CACHE_MAX_ENTRIES;
+
+    /**
+     * @since 1.0.0
+     */
+    private volatile CacheValueCodec cacheValueCodec;
+
+    /**
+     * @since 1.0.0
+     */
+    private volatile MetricRegistry metricRegistry;
+
+    /**
+     * The cache regions whose statistics have been published to the {@link #metricRegistry}, keyed by region name.
+     *
+     * @since 1.0.0
+     */
+    private final ConcurrentMap<String, Cache> metricRegions = new ConcurrentHashMap<String, Cache>();
+
     /**
      * @since 1.0.RC3
      */
@@ -155,6 +300,312 @@ public class DefaultDataStore implements InternalDataStore {
         this.cacheRegionNameResolver = cacheRegionNameResolver;
     }
 
+    /**
+     * Sets the {@code ExecutorService} used to execute asynchronous operations such as
+     * {@link #getResourceAsync(String, Class)}.  If not set, the {@link AsyncRequestExecutor}'s pool is used when
+     * available so that asynchronous DataStore work and asynchronous HTTP requests share one bounded pool; otherwise
+     * a small pool of daemon threads is created on first use, which is shut down by {@link #destroy()}.  The caller
+     * retains ownership of the specified instance and is responsible for shutting it down.
+     *
+     * @param asyncExecutorService the {@code ExecutorService} used to execute asynchronous operations.
+     * @since 1.0.0
+     */
+    public void setAsyncExecutorService(ExecutorService asyncExecutorService) {
+        synchronized (this) {
+            this.asyncExecutorService = asyncExecutorService;
+            this.asyncExecutorServiceOwned = false;
+        }
+    }
+
+    /**
+     * Releases the resources owned by this DataStore: the pool of threads it created to execute asynchronous
+     * operations, if any, is shut down once the operations already submitted have completed.  Pools that were
+     * {@link #setAsyncExecutorService(ExecutorService) configured} or that belong to the {@code RequestExecutor} are
+     * left running.  Asynchronous operations can no longer be executed once this method has been called.
+     *
+     * @since 1.0.0
+     */
+    public void destroy() {
+        synchronized (this) {
+            if (this.asyncExecutorServiceOwned) {
+                this.asyncExecutorService.shutdown();
+            }
+        }
+    }
+
+    /**
+     * Returns {@code true} if resources whose cache entries have expired are revalidated with conditional GET requests
+     * ({@code If-None-Match} / {@code If-Modified-Since}), {@code false} otherwise.  Disabled by default.
+     *
+     * @return {@code true} if expired cache entries are revalidated with conditional GET requests.
+     * @since 1.0.0
+     */
+    public boolean isConditionalRevalidationEnabled() {
+        return conditionalRevalidationEnabled;
+    }
+
+    /**
+     * Sets whether resources whose cache entries have expired are revalidated with conditional GET requests.  When
+     * enabled, the data and {@code ETag} / {@code Last-Modified} response headers of cached resources are retained
+     * after their cache entries expire.  The next request for such a resource is sent with the corresponding
+     * {@code If-None-Match} / {@code If-Modified-Since} headers and, if the server responds with
+     * {@code 304 Not Modified}, the retained data is cached again instead of the full response body being transferred,
+     * parsed and cached.
+     * <p/>
+     * This only applies to resources requested without query parameters (e.g. expansions) and only has an effect if
+     * caching is enabled and the server returns validators for the resource.
+     *
+     * @param conditionalRevalidationEnabled whether expired cache entries are revalidated with conditional GET requests.
+     * @since 1.0.0
+     */
+    public void setConditionalRevalidationEnabled(boolean conditionalRevalidationEnabled) {
+        this.conditionalRevalidationEnabled = conditionalRevalidationEnabled;
+        if (!conditionalRevalidationEnabled) {
+            this.revalidationCandidates.clear();
+        }
+    }
+
+    /**
+     * Returns the amount of time collection resource pages (e.g. the results of an
+     * {@code application.getAccounts(criteria)} query) are cached, or {@code null} if collection pages are not cached,
+     * which is the default.
+     *
+     * @return the amount of time collection resource pages are cached, or {@code null} if they are not cached.
+     * @since 1.0.0
+     */
+    public Duration getCollectionCacheTimeToLive() {
+        return collectionCacheTimeToLive;
+    }
+
+    /**
+     * Enables caching of collection resource pages, keyed by collection href and query parameters, for the specified
+     * amount of time.  {@code null} disables collection page caching.
+     * <p/>
+     * Because a modification may change the contents of any number of collections (e.g. creating an account adds it
+     * to its directory's, groups' and applications' account collections), all cached pages are discarded whenever
+     * this DataStore creates, saves or deletes a resource.  Modifications made by other processes are only reflected
+     * once cached pages expire, so this duration should be kept short.  Pages are kept in a separate, bounded region
+     * owned by this DataStore (see {@link #setCollectionCacheMaxEntries(int)}) rather than in the
+     * {@code CacheManager}, and are only cached if caching is enabled.
+     *
+     * @param collectionCacheTimeToLive the amount of time collection resource pages are cached, or {@code null} to
+     *                                  disable collection page caching.
+     * @since 1.0.0
+     */
+    public void setCollectionCacheTimeToLive(Duration collectionCacheTimeToLive) {
+        if (collectionCacheTimeToLive != null) {
+            Assert.isTrue(collectionCacheTimeToLive.getValue() > 0, "collectionCacheTimeToLive duration must be greater than zero");
+        }
+        this.collectionCacheTimeToLive = collectionCacheTimeToLive;
+        this.collectionPageCache = createCollectionPageCache();
+    }
+
+    /**
+     * Convenience method that sets the {@link #setCollectionCacheTimeToLive(Duration) collectionCacheTimeToLive}
+     * value using a {@code TimeUnit} of {@link TimeUnit#SECONDS}.
+     *
+     * @param seconds the {@link #setCollectionCacheTimeToLive(Duration) collectionCacheTimeToLive} value in seconds.
+     * @since 1.0.0
+     */
+    public void setCollectionCacheTimeToLiveSeconds(long seconds) {
+        setCollectionCacheTimeToLive(new Duration(seconds, TimeUnit.SECONDS));
+    }
+
+    /**
+     * Returns the maximum number of collection resource pages retained when collection page caching is enabled.
+     * Defaults to {@link #DEFAULT_COLLECTION_CACHE_MAX_ENTRIES}.
+     *
+     * @return the maximum number of collection resource pages retained.
+     * @since 1.0.0
+     */
+    public int getCollectionCacheMaxEntries() {
+        return collectionCacheMaxEntries;
+    }
+
+    /**
+     * Sets the maximum number of collection resource pages retained when collection page caching is enabled.  The
+     * least recently used pages are evicted once this limit is reached.
+     *
+     * @param collectionCacheMaxEntries the maximum number of collection resource pages retained.  Must be greater
+     *                                  than zero.
+     * @since 1.0.0
+     */
+    public void setCollectionCacheMaxEntries(int collectionCacheMaxEntries) {
+        Assert.isTrue(collectionCacheMaxEntries > 0, "collectionCacheMaxEntries must be greater than zero");
+        this.collectionCacheMaxEntries = collectionCacheMaxEntries;
+        this.collectionPageCache = createCollectionPageCache();
+    }
+
+    /**
+     * @since 1.0.0
+     */
+    private Cache<String, CachedPage> createCollectionPageCache() {
+        Duration ttl = this.collectionCacheTimeToLive;
+        if (ttl == null) {
+            return null;
+        }
+        return new BoundedCache<String, CachedPage>(COLLECTION_CACHE_NAME, this.collectionCacheMaxEntries, ttl, null);
+    }
+
+    /**
+     * Returns the amount of time the results of lookups that found nothing are remembered, or {@code null} if such
+     * results are not cached, which is the default.
+     *
+     * @return the amount of time the results of lookups that found nothing are remembered, or {@code null} if they are
+     *         not cached.
+     * @since 1.0.0
+     */
+    public Duration getNotFoundCacheTimeToLive() {
+        return notFoundCacheTimeToLive;
+    }
+
+    /**
+     * Enables negative caching for the specified amount of time: once a resource lookup results in a {@code 404}
+     * (or an API key lookup by id finds no API key), the same lookup fails (or returns the same empty result)
+     * immediately, without a request to the server, until the entry expires.  This protects the server from repeated
+     * lookups of resources that do not exist, such as authentication attempts with random API key ids.
+     * {@code null} disables negative caching.
+     * <p/>
+     * Negative results are kept in a separate, bounded region owned by this DataStore (see
+     * {@link #setNotFoundCacheMaxEntries(int)}) and are all discarded whenever this DataStore creates, saves or
+     * deletes a resource.  Resources created by other processes are only found once the entries expire, so this
+     * duration should be kept short (seconds, not minutes).
+     *
+     * @param notFoundCacheTimeToLive the amount of time the results of lookups that found nothing are remembered, or
+     *                                {@code null} to disable negative caching.
+     * @since 1.0.0
+     */
+    public void setNotFoundCacheTimeToLive(Duration notFoundCacheTimeToLive) {
+        if (notFoundCacheTimeToLive != null) {
+            Assert.isTrue(notFoundCacheTimeToLive.getValue() > 0, "notFoundCacheTimeToLive duration must be greater than zero");
+        }
+        this.notFoundCacheTimeToLive = notFoundCacheTimeToLive;
+        this.notFoundCache = createNotFoundCache();
+    }
+
+    /**
+     * Convenience method that sets the {@link #setNotFoundCacheTimeToLive(Duration) notFoundCacheTimeToLive}
+     * value using a {@code TimeUnit} of {@link TimeUnit#SECONDS}.
+     *
+     * @param seconds the {@link #setNotFoundCacheTimeToLive(Duration) notFoundCacheTimeToLive} value in seconds.
+     * @since 1.0.0
+     */
+    public void setNotFoundCacheTimeToLiveSeconds(long seconds) {
+        setNotFoundCacheTimeToLive(new Duration(seconds, TimeUnit.SECONDS));
+    }
+
+    /**
+     * Returns the maximum number of negative lookup results retained when negative caching is enabled.  Defaults to
+     * {@link #DEFAULT_NOT_FOUND_CACHE_MAX_ENTRIES}.
+     *
+     * @return the maximum number of negative lookup results retained.
+     * @since 1.0.0
+     */
+    public int getNotFoundCacheMaxEntries() {
+        return notFoundCacheMaxEntries;
+    }
+
+    /**
+     * Sets the maximum number of negative lookup results retained when negative caching is enabled.  The least
+     * recently used entries are evicted once this limit is reached.
+     *
+     * @param notFoundCacheMaxEntries the maximum number of negative lookup results retained.  Must be greater than
+     *                                zero.
+     * @since 1.0.0
+     */
+    public void setNotFoundCacheMaxEntries(int notFoundCacheMaxEntries) {
+        Assert.isTrue(notFoundCacheMaxEntries > 0, "notFoundCacheMaxEntries must be greater than zero");
+        this.notFoundCacheMaxEntries = notFoundCacheMaxEntries;
+        this.notFoundCache = createNotFoundCache();
+    }
+
+    /**
+     * @since 1.0.0
+     */
+    private Cache<String, NotFound> createNotFoundCache() {
+        Duration ttl = this.notFoundCacheTimeToLive;
+        if (ttl == null) {
+            return null;
+        }
+        return new BoundedCache<String, NotFound>(NOT_FOUND_CACHE_NAME, this.notFoundCacheMaxEntries, ttl, null);
+    }
+
+    /**
+     * Returns the codec converting resource data to the representation stored in cache regions, or {@code null} if
+     * resource data is cached as is, which is the default.
+     *
+     * @return the codec converting resource data to the representation stored in cache regions, or {@code null}.
+     * @since 1.0.0
+     */
+    public CacheValueCodec getCacheValueCodec() {
+        return cacheValueCodec;
+    }
+
+    /**
+     * Sets the codec converting resource data to the representation stored in cache regions, for example a
+     * {@link JacksonCacheValueCodec} to cache compact byte arrays instead of trees of maps.  This reduces the heap
+     * used by in-memory caches and the cost of serializing resources into distributed caches, at the cost of decoding
+     * the data on every cache hit.  Data cached before a codec is set remains readable.  {@code null} caches resource
+     * data as is.
+     *
+     * @param cacheValueCodec the codec converting resource data to the representation stored in cache regions, or
+     *                        {@code null} to cache resource data as is.
+     * @since 1.0.0
+     */
+    public void setCacheValueCodec(CacheValueCodec cacheValueCodec) {
+        this.cacheValueCodec = cacheValueCodec;
+    }
+
+    /**
+     * Returns the registry the statistics of the cache regions used by this DataStore are published to, or
+     * {@code null} if they are not published.
+     *
+     * @return the registry the statistics of the cache regions used by this DataStore are published to, or
+     *         {@code null}.
+     * @since 1.0.0
+     */
+    public MetricRegistry getMetricRegistry() {
+        return metricRegistry;
+    }
+
+    /**
+     * Sets the registry the statistics of the cache regions used by this DataStore are published to (see
+     * {@link CacheMetrics}).  Each region is published the first time this DataStore uses it.  The
+     * {@code CacheManager} itself is not modified, so a manager shared by several clients may have each of them
+     * publish to its own registry.
+     *
+     * @param metricRegistry the registry the statistics of the cache regions used by this DataStore are published
+     *                       to, or {@code null} to stop publishing them.
+     * @since 1.0.0
+     */
+    public void setMetricRegistry(MetricRegistry metricRegistry) {
+        this.metricRegistry = metricRegistry;
+        this.metricRegions.clear();
+    }
+
+    /**
+     * @since 1.0.0
+     */
+    protected ExecutorService getAsyncExecutorService() {
+        ExecutorService service = this.asyncExecutorService;
+        if (service == null) {
+            synchronized (this) {
+                service = this.asyncExecutorService;
+                if (service == null) {
+                    if (this.requestExecutor instanceof AsyncRequestExecutor) {
+                        service = ((AsyncRequestExecutor) this.requestExecutor).getExecutorService();
+                    } else {
+                        service = Executors.newFixedThreadPool(DEFAULT_ASYNC_POOL_SIZE,
+                                new DaemonThreadFactory("stormpath-datastore-async"));
+                        this.asyncExecutorServiceOwned = true;
+                    }
+                    this.asyncExecutorService = service;
+                }
+            }
+        }
+        return service;
+    }
+
     @Override
     public ApiKey getApiKey() {
         return apiKey;
@@ -205,7 +656,54 @@ public class DefaultDataStore implements InternalDataStore {
 
         DefaultCriteria dc = (DefaultCriteria) criteria;
         QueryString qs = queryStringFactory.createQueryString(href, dc);
-        return getResource(href, clazz, qs);
+        T resource = getResource(href, clazz, qs);
+
+        //@since 1.0.0: prefetching is a client-side iteration concern only - it is not part of the query:
+        Integer prefetch = dc.getPrefetch();
+        if (prefetch != null && resource instanceof AbstractCollectionResource) {
+            ((AbstractCollectionResource) resource).setPrefetchPageCount(prefetch);
+        }
+
+        return resource;
+    }
+
+    @Override
+    public <T extends Resource> Future<T> getResourceAsync(final String href, final Class<T> clazz) {
+        Assert.hasText(href, "href argument cannot be null or empty.");
+        Assert.notNull(clazz, "Resource class argument cannot be null.");
+        return getAsyncExecutorService().submit(new Callable<T>() {
+            @Override
+            public T call() throws Exception {
+                return getResource(href, clazz);
+            }
+        });
+    }
+
+    @Override
+    public <T extends Resource> Future<T> getResourceAsync(final String href, final Class<T> clazz, final Map<String, Object> queryParameters) {
+        Assert.hasText(href, "href argument cannot be null or empty.");
+        Assert.notNull(clazz, "Resource class argument cannot be null.");
+        return getAsyncExecutorService().submit(new Callable<T>() {
+            @Override
+            public T call() throws Exception {
+                return getResource(href, clazz, queryParameters);
+            }
+        });
+    }
+
+    @Override
+    public <T extends Resource> Future<T> getResourceAsync(final String href, final Class<T> clazz, final Criteria criteria) {
+        Assert.hasText(href, "href argument cannot be null or empty.");
+        Assert.notNull(clazz, "Resource class argument cannot be null.");
+        Assert.isInstanceOf(DefaultCriteria.class, criteria,
+                "The " + getClass().getName() + " implementation only functions with " +
+                        DefaultCriteria.class.getName() + " instances.");
+        return getAsyncExecutorService().submit(new Callable<T>() {
+            @Override
+            public T call() throws Exception {
+                return getResource(href, clazz, criteria);
+            }
+        });
     }
 
     private <T extends Resource> T getResource(String href, Class<T> clazz, QueryString qs) {
@@ -313,13 +811,27 @@ public class DefaultDataStore implements InternalDataStore {
 
         Map<String, ?> returnResponseBody = data;
         if (Collections.isEmpty(data)) {
-            //not cached - execute a request:
-            Request request = createRequest(HttpMethod.GET, href, filteredQs);
-            data = executeRequest(request);
 
-            if (!Collections.isEmpty(data) && isCacheUpdateEnabled(clazz)) {
-                //cache for further use:
-                cache(clazz, data, filteredQs);
+            //@since 1.0.0
+            Cache<String, CachedPage> pageCache = this.collectionPageCache;
+            String pageKey = null;
+            if (pageCache != null && isCollectionCacheEnabled(clazz)) {
+                pageKey = new DefaultCacheKey(href, filteredQs).toString();
+                data = getCachedPage(pageCache, pageKey);
+            }
+
+            if (Collections.isEmpty(data)) {
+                //the generation must be read before the request so that a modification completing while the request
+                //is in flight prevents the (possibly outdated) page from being cached:
+                long generation = this.writeGeneration.get();
+
+                //not cached - execute a request (or wait for an identical one already in flight), unless the same
+                //lookup recently found nothing:
+                data = executeNegativelyCachedGet(href, clazz, filteredQs, generation);
+
+                if (pageKey != null && !Collections.isEmpty(data)) {
+                    cachePage(pageCache, pageKey, data, generation);
+                }
             }
 
             // Adding the ApiKeyResourcePropertiesFilter here because if the resource was cached, the ApiKeyCachePropertiesFilter
@@ -339,6 +851,211 @@ public class DefaultDataStore implements InternalDataStore {
         return returnResponseBody;
     }
 
+    /**
+     * Executes a {@link #executeCoalescedGet(String, Class, QueryString) coalesced GET} unless negative caching is
+     * enabled and the same lookup recently resulted in a {@code 404} (which is then thrown again) or an empty API key
+     * lookup result (a copy of which is then returned).  Otherwise, such results are remembered for subsequent
+     * lookups if no modification was made since {@code generation}.
+     *
+     * @since 1.0.0
+     */
+    private Map<String, ?> executeNegativelyCachedGet(String href, Class clazz, QueryString qs, long generation) {
+        Cache<String, NotFound> cache = this.notFoundCache;
+        if (cache == null) {
+            return executeCoalescedGet(href, clazz, qs);
+        }
+
+        String key = getNotFoundCacheKey(href, qs);
+        NotFound notFound = cache.get(key);
+        if (notFound != null) {
+            if (notFound.generation != this.writeGeneration.get()) {
+                cache.remove(key);
+            } else if (notFound.error != null) {
+                throw new ResourceException(notFound.error);
+            } else {
+                return copy(notFound.emptyPage);
+            }
+        }
+
+        Map<String, ?> data;
+        try {
+            data = executeCoalescedGet(href, clazz, qs);
+        } catch (ResourceException e) {
+            if (e.getStatus() == 404 && generation == this.writeGeneration.get()) {
+                cache.put(key, new NotFound(e.getStormpathError(), null, generation));
+            }
+            throw e;
+        }
+
+        if (isApiKeyCollectionQuery(clazz, qs) && isEmptyPage(data) && generation == this.writeGeneration.get()) {
+            cache.put(key, new NotFound(null, copy(data), generation));
+        }
+
+        return data;
+    }
+
+    /**
+     * Returns the negative cache key for the specified lookup.  API key queries carry a random salt (and the
+     * encryption settings that go with it) in every request, so these parameters are not part of the key.
+     *
+     * @since 1.0.0
+     */
+    private static String getNotFoundCacheKey(String href, QueryString qs) {
+        QueryString keyQs = qs;
+        if (qs != null && qs.containsKey(ENCRYPTION_KEY_SALT.getName())) {
+            keyQs = new QueryString(qs);
+            keyQs.remove(ENCRYPT_SECRET.getName());
+            keyQs.remove(ENCRYPTION_KEY_SIZE.getName());
+            keyQs.remove(ENCRYPTION_KEY_ITERATIONS.getName());
+            keyQs.remove(ENCRYPTION_KEY_SALT.getName());
+        }
+        return new DefaultCacheKey(href, keyQs).toString();
+    }
+
+    /**
+     * @since 1.0.0
+     */
+    private static boolean isEmptyPage(Map<String, ?> data) {
+        if (Collections.isEmpty(data)) {
+            return false;
+        }
+        Object items = data.get(ITEMS_PROPERTY_NAME);
+        return items instanceof Collection && ((Collection) items).isEmpty();
+    }
+
+    /**
+     * Executes a GET request for the specified href and query string, caching the response data if caching is
+     * enabled.  If an identical GET is already being executed by another thread, this method waits for that request
+     * to finish and returns a copy of its response data instead of issuing a request of its own.
+     *
+     * @since 1.0.0
+     */
+    private Map<String, ?> executeCoalescedGet(String href, Class clazz, QueryString qs) {
+
+        String key = Collections.isEmpty(qs) ? href : href + "?" + qs.toString(true);
+
+        for (; ; ) {
+            InFlightGet flight = this.inFlightGets.get(key);
+            if (flight == null) {
+                InFlightGet created = new InFlightGet();
+                flight = this.inFlightGets.putIfAbsent(key, created);
+                if (flight == null) {
+                    return executeGet(key, created, href, clazz, qs);
+                }
+            }
+            if (flight.join()) {
+                //callers are free to modify the returned data (e.g. filters decrypting api key secrets), so every
+                //caller sharing a request receives its own copy:
+                return copy(flight.await());
+            }
+            //the request completed while we were joining it and its data may already be in use - try again
+        }
+    }
+
+    private Map<String, ?> executeGet(String key, InFlightGet flight, String href, Class clazz, QueryString qs) {
+        Map<String, ?> data;
+        try {
+            if (this.conditionalRevalidationEnabled) {
+                data = executeConditionalGet(href, clazz, qs);
+            } else {
+                Request request = createRequest(HttpMethod.GET, href, qs);
+                data = executeRequest(request);
+
+                if (!Collections.isEmpty(data) && isCacheUpdateEnabled(clazz)) {
+                    //cache for further use:
+                    cache(clazz, data, qs);
+                }
+            }
+
+            flight.complete(data);
+        } catch (RuntimeException e) {
+            flight.fail(e);
+            throw e;
+        } catch (Error e) {
+            flight.fail(e);
+            throw e;
+        } finally {
+            this.inFlightGets.remove(key, flight);
+        }
+
+        return flight.land() ? copy(data) : data;
+    }
+
+    /**
+     * Executes a GET request for the specified href and query string, revalidating any previously cached data for
+     * the resource instead of retrieving it in full.
+     *
+     * @since 1.0.0
+     */
+    private Map<String, ?> executeConditionalGet(String href, Class clazz, QueryString qs) {
+
+        boolean revalidatable = Collections.isEmpty(qs) && isCacheRetrievalEnabled(clazz);
+
+        RevalidationCandidate candidate = revalidatable ? this.revalidationCandidates.get(href) : null;
+
+        Request request = createRequest(HttpMethod.GET, href, qs);
+        if (candidate != null) {
+            candidate.applyTo(request.getHeaders());
+        }
+
+        Response response = executeRequestGetFullResponse(request);
+
+        if (candidate != null && response.getHttpStatus() == 304) {
+            //not modified: cache the retained data again instead of retrieving, parsing and caching the full body
+            if (response.hasBody()) {
+                closeQuietly(response.getBody());
+            }
+            getCache(clazz).put(href, candidate.data);
+            return candidate.data;
+        }
+
+        Map<String, Object> data = getBodyFromSuccessfulResponse(response);
+
+        if (!Collections.isEmpty(data) && isCacheUpdateEnabled(clazz)) {
+            Map<String, Object> cached = cache(clazz, data, qs);
+            if (revalidatable && cached != null) {
+                RevalidationCandidate revalidated = RevalidationCandidate.from(response.getHeaders(), cached);
+                if (revalidated != null) {
+                    this.revalidationCandidates.put(href, revalidated);
+                }
+            }
+        }
+
+        return data;
+    }
+
+    /**
+     * Returns a deep copy of the specified response data so the copy may be modified without affecting the original.
+     *
+     * @since 1.0.0
+     */
+    private static Map<String, Object> copy(Map<String, ?> data) {
+        if (data == null) {
+            return null;
+        }
+        Map<String, Object> copy = new LinkedHashMap<String, Object>(data.size());
+        for (Map.Entry<String, ?> entry : data.entrySet()) {
+            copy.put(entry.getKey(), copyValue(entry.getValue()));
+        }
+        return copy;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Object copyValue(Object value) {
+        if (value instanceof Map) {
+            return copy((Map<String, ?>) value);
+        }
+        if (value instanceof Collection) {
+            Collection c = (Collection) value;
+            List<Object> list = new ArrayList<Object>(c.size());
+            for (Object o : c) {
+                list.add(copyValue(o));
+            }
+            return list;
+        }
+        return value;
+    }
+
 
     /* =====================================================================
        Resource Persistence
@@ -447,6 +1164,34 @@ public class DefaultDataStore implements InternalDataStore {
         aResource.setProperties(props);
     }
 
+    @Override
+    public <T extends Resource> Future<T> createAsync(final String parentHref, final T resource) {
+        Assert.hasText(parentHref, "parentHref argument cannot be null or empty.");
+        Assert.notNull(resource, "resource argument cannot be null.");
+        Assert.isInstanceOf(AbstractResource.class, resource);
+        return getAsyncExecutorService().submit(new Callable<T>() {
+            @Override
+            public T call() throws Exception {
+                return create(parentHref, resource);
+            }
+        });
+    }
+
+    @Override
+    public <T extends Resource & Saveable> Future<T> saveAsync(final T resource) {
+        Assert.notNull(resource, "resource argument cannot be null.");
+        Assert.isInstanceOf(AbstractResource.class, resource);
+        Assert.hasLength(((AbstractResource) resource).getHref(), "'save' may only be called on objects that have " +
+                "already been persisted and have an existing " + AbstractResource.HREF_PROP_NAME + " attribute.");
+        return getAsyncExecutorService().submit(new Callable<T>() {
+            @Override
+            public T call() throws Exception {
+                save(resource);
+                return resource;
+            }
+        });
+    }
+
     @Override
     public <T extends Resource, R extends Resource> R create(String parentHref, T resource, Class<? extends R> returnType) {
         return save(parentHref, resource, returnType);
@@ -480,7 +1225,15 @@ public class DefaultDataStore implements InternalDataStore {
         QueryString filteredQs = (QueryString) queryStringFilterProcessor.process(returnType, qs);
         Request request = new DefaultRequest(HttpMethod.POST, href, filteredQs, null, body, length);
 
-        Response response = executeRequestGetFullResponse(request);
+        Response response;
+        try {
+            response = executeRequestGetFullResponse(request);
+        } finally {
+            //@since 1.0.0: even a failed request may have modified server state
+            if (isModification(resource)) {
+                this.writeGeneration.incrementAndGet();
+            }
+        }
         Map<String, Object> responseBody = getBodyFromSuccessfulResponse(response);
 
         //since 1.0.beta: provider's account creation status (whether it is new or not) is returned in the HTTP response
@@ -604,6 +1357,17 @@ public class DefaultDataStore implements InternalDataStore {
         cache(CustomData.class, customDataToCache, null);
     }
 
+    /**
+     * Returns {@code true} if posting the specified resource creates or modifies a resource, {@code false} if it only
+     * authenticates an account or triggers an email.
+     *
+     * @since 1.0.0
+     */
+    private static boolean isModification(Resource resource) {
+        return !(resource instanceof LoginAttempt || resource instanceof PasswordResetToken ||
+                resource instanceof VerificationEmailRequest);
+    }
+
     /* =====================================================================
        Resource Deletion
        ===================================================================== */
@@ -619,7 +1383,11 @@ public class DefaultDataStore implements InternalDataStore {
         uncache(abstractResource);
 
         Request request = createRequest(HttpMethod.DELETE, href, null);
-        executeRequest(request);
+        try {
+            executeRequest(request);
+        } finally {
+            this.writeGeneration.incrementAndGet(); //@since 1.0.0
+        }
     }
 
     @Override
@@ -635,7 +1403,11 @@ public class DefaultDataStore implements InternalDataStore {
         uncache(abstractResource);
 
         Request request = createRequest(HttpMethod.DELETE, href, null);
-        executeRequest(request);
+        try {
+            executeRequest(request);
+        } finally {
+            this.writeGeneration.incrementAndGet(); //@since 1.0.0
+        }
     }
 
     /* =====================================================================
@@ -659,6 +1431,46 @@ public class DefaultDataStore implements InternalDataStore {
         return isCachingEnabled() && !CollectionResource.class.isAssignableFrom(clazz);
     }
 
+    /**
+     * @since 1.0.0
+     */
+    private <T extends Resource> boolean isCollectionCacheEnabled(Class<T> clazz) {
+        return isCachingEnabled() &&
+                CollectionResource.class.isAssignableFrom(clazz) &&
+                //api key collection responses contain secrets encrypted specifically for each request:
+                !ApiKeyList.class.isAssignableFrom(clazz);
+    }
+
+    /**
+     * Returns a copy of the cached collection page with the specified key, or {@code null} if there is no such page
+     * or it is no longer current.
+     *
+     * @since 1.0.0
+     */
+    private Map<String, Object> getCachedPage(Cache<String, CachedPage> cache, String key) {
+        CachedPage page = cache.get(key);
+        if (page == null) {
+            return null;
+        }
+
+        if (page.generation != this.writeGeneration.get()) {
+            cache.remove(key);
+            return null;
+        }
+
+        //callers are free to modify the returned data, so never hand out the cached instance itself:
+        return copy(page.data);
+    }
+
+    /**
+     * @since 1.0.0
+     */
+    private void cachePage(Cache<String, CachedPage> cache, String key, Map<String, ?> data, long generation) {
+        if (generation == this.writeGeneration.get()) {
+            cache.put(key, new CachedPage(copy(data), generation));
+        }
+    }
+
     /**
      * @since 0.8
      */
@@ -692,11 +1504,27 @@ public class DefaultDataStore implements InternalDataStore {
      * @since 0.8
      */
     @SuppressWarnings("unchecked")
-    private void cache(Class<? extends Resource> clazz, Map<String, ?> data, QueryString queryString) {
+    private Map<String, Object> cache(Class<? extends Resource> clazz, Map<String, ?> data, QueryString queryString) {
         if (!isCachingEnabled()) {
-            return;
+            return null;
         }
 
+        //@since 1.0.0: a single response may contain many (nested or collection item) resources - collect all of
+        //the resulting cache writes and send them to each cache region in one bulk operation:
+        Map<Cache, Map<String, Object>> writes = new LinkedHashMap<Cache, Map<String, Object>>();
+        Map<String, Object> cached = cache(clazz, data, queryString, writes);
+        for (Map.Entry<Cache, Map<String, Object>> entry : writes.entrySet()) {
+            BulkCaches.putAll(entry.getKey(), entry.getValue());
+        }
+        return cached;
+    }
+
+    /**
+     * @since 1.0.0
+     */
+    private Map<String, Object> cache(Class<? extends Resource> clazz, Map<String, ?> data, QueryString queryString,
+                                      Map<Cache, Map<String, Object>> writes) {
+
         Assert.notEmpty(data, "Resource data cannot be null or empty.");
         String href = (String) data.get(AbstractResource.HREF_PROP_NAME);
 
@@ -710,9 +1538,9 @@ public class DefaultDataStore implements InternalDataStore {
         Map<String, Object> toCache = cacheMapInitializer.initialize(clazz, data, queryString);
 
         if (CustomData.class.isAssignableFrom(clazz)) {
-            Cache cache = getCache(clazz);
-            cache.put(href, toCache);
-            return;
+            addWrite(writes, getCache(clazz), href, toCache);
+            this.revalidationCandidates.remove(href); //@since 1.0.0: superseded by the data just cached
+            return toCache;
         }
 
         for (Map.Entry<String, ?> entry : data.entrySet()) {
@@ -747,7 +1575,7 @@ public class DefaultDataStore implements InternalDataStore {
                             "It is expected that only ResourceReference properties are complex objects.");
 
                     //cache this materialized reference:
-                    cache(property.getType(), nested, queryString);
+                    cache(property.getType(), nested, queryString, writes);
 
                     //Because the materialized reference has now been cached, we don't need to store
                     //all of its properties again in the 'toCache' instance.  Instead, we just want to store
@@ -778,7 +1606,7 @@ public class DefaultDataStore implements InternalDataStore {
                     if (o instanceof Map) {
                         Map referenceData = (Map) o;
                         if (isMaterialized(referenceData)) {
-                            cache(itemType, referenceData, queryString);
+                            cache(itemType, referenceData, queryString, writes);
                             element = this.referenceFactory.createReference(referenceData);
                         }
                     }
@@ -795,9 +1623,24 @@ public class DefaultDataStore implements InternalDataStore {
 
         //we don't cache collection resources at the moment (only the instances inside them):
         if (isDirectlyCacheable(clazz, toCache)) {
-            Cache cache = getCache(clazz);
-            cache.put(href, toCache);
+            addWrite(writes, getCache(clazz), href, toCache);
+            this.revalidationCandidates.remove(href); //@since 1.0.0: superseded by the data just cached
+            return toCache;
         }
+
+        return null;
+    }
+
+    /**
+     * @since 1.0.0
+     */
+    private static void addWrite(Map<Cache, Map<String, Object>> writes, Cache cache, String href, Map<String, Object> data) {
+        Map<String, Object> regionWrites = writes.get(cache);
+        if (regionWrites == null) {
+            regionWrites = new LinkedHashMap<String, Object>();
+            writes.put(cache, regionWrites);
+        }
+        regionWrites.put(href, data);
     }
 
     /**
@@ -820,31 +1663,58 @@ public class DefaultDataStore implements InternalDataStore {
      */
     @SuppressWarnings("unchecked")
     private <T extends Resource> Map<String, Property> getPropertyDescriptors(Class<T> clazz) {
-        Class implClass = DefaultResourceFactory.getImplementationClass(clazz);
-        try {
-            Field field = implClass.getDeclaredField("PROPERTY_DESCRIPTORS");
-            field.setAccessible(true);
-            return (Map<String, Property>) field.get(null);
-        } catch (Exception e) {
-            throw new IllegalStateException("Unable to access PROPERTY_DESCRIPTORS static field on implementation class " + clazz.getName(), e);
-        }
+        //resolved only once per resource type - this is called for every nested resource of every cached resource:
+        return ResourceMetadata.forClass(clazz).getPropertyDescriptors();
     }
 
     /**
      * @since 0.8
      */
-    private <T extends Resource> Map<String, ?> getCachedValue(String href, Class<T> clazz) {
+    @SuppressWarnings("unchecked")
+    private <T extends Resource> Map<String, ?> getCachedValue(String href, final Class<T> clazz) {
         Assert.hasText(href, "href argument cannot be null or empty.");
         Assert.notNull(clazz, "Class argument cannot be null.");
-        Cache<String, Map<String, ?>> cache = getCache(clazz);
+        Cache cache = getRegionCache(clazz);
+
+        Object value;
+        if (cache instanceof RefreshAheadCache) {
+            //@since 1.0.0: entries close to (or just past) their expiration are refreshed in the background:
+            value = ((RefreshAheadCache<String, Object>) cache).get(href, new CacheRefresher<String>() {
+                @Override
+                public void refresh(String key) {
+                    refreshCachedValue(key, clazz);
+                }
+            });
+        } else {
+            value = cache.get(href);
+        }
 
-        Map<String, ?> cachedValue = cache.get(href);
+        CacheValueCodec codec = this.cacheValueCodec;
+        Map<String, ?> cachedValue = codec != null ? codec.decode(value) : (Map<String, ?>) value;
 
         cachedValue = resourceDataFilterProcessor.process(clazz, cachedValue);
 
         return cachedValue;
     }
 
+    /**
+     * Retrieves the specified resource from the server via the same request path used for cache misses, which
+     * replaces its cache entry with the fresh data.  If the resource no longer exists, its cache entry is removed.
+     *
+     * @since 1.0.0
+     */
+    private <T extends Resource> void refreshCachedValue(String href, Class<T> clazz) {
+        QueryString qs = (QueryString) queryStringFilterProcessor.process(clazz, null);
+        try {
+            executeCoalescedGet(href, clazz, qs);
+        } catch (ResourceException e) {
+            if (e.getStatus() == 404) {
+                getCache(clazz).remove(href);
+            }
+            throw e;
+        }
+    }
+
     /**
      * @since 0.8
      */
@@ -854,15 +1724,45 @@ public class DefaultDataStore implements InternalDataStore {
         Cache cache = getCache(resource.getClass());
         String href = resource.getHref();
         cache.remove(href);
+        this.revalidationCandidates.remove(href);
     }
 
     /**
+     * Returns the cache that stores the data of resources of the specified class.
+     * <p/>
+     * If a {@link #setCacheValueCodec(CacheValueCodec) cacheValueCodec} is set, the returned cache encodes and
+     * decodes the data it stores and, unlike the {@link Cache} contract states, its {@code put} and {@code remove}
+     * methods always return {@code null} instead of the previous value (as of 1.0.0).
+     *
      * @since 0.8
      */
+    @SuppressWarnings("unchecked")
     public <T> Cache<String, Map<String, ?>> getCache(Class<T> clazz) {
+        Cache cache = getRegionCache(clazz);
+        CacheValueCodec codec = this.cacheValueCodec;
+        if (codec != null) {
+            //@since 1.0.0: resource data is stored in the representation produced by the codec:
+            return new CodecCache(cache, codec);
+        }
+        return cache;
+    }
+
+    /**
+     * Returns the cache region for the specified resource class, which stores values encoded by the
+     * {@link #setCacheValueCodec(CacheValueCodec) cacheValueCodec} if one is set.
+     *
+     * @since 1.0.0
+     */
+    private <T> Cache getRegionCache(Class<T> clazz) {
         Assert.notNull(clazz, "Class argument cannot be null.");
         String cacheRegionName = this.cacheRegionNameResolver.getCacheRegionName((Class) clazz);
-        return this.cacheManager.getCache(cacheRegionName);
+        Cache cache = this.cacheManager.getCache(cacheRegionName);
+        MetricRegistry registry = this.metricRegistry;
+        if (registry != null && this.metricRegions.get(cacheRegionName) != cache) {
+            this.metricRegions.put(cacheRegionName, cache);
+            CacheMetrics.register(registry, cache);
+        }
+        return cache;
     }
 
     private LinkedHashMap<String, Object> toMap(final AbstractResource resource, boolean partialUpdate) {
@@ -960,12 +1860,9 @@ public class DefaultDataStore implements InternalDataStore {
         log.trace("Executed HTTP request.");
 
         if (response.isError()) {
-            String body;
             Map<String, Object> mapBody = null;
             if (response.hasBody()) {
-                body = toString(response.getBody());
-                log.trace("Obtained response body: \n{}", body);
-                mapBody = mapMarshaller.unmarshal(body);
+                mapBody = readBody(response.getBody());
             }
             DefaultError error = new DefaultError(mapBody);
             throw new ResourceException(error);
@@ -978,20 +1875,42 @@ public class DefaultDataStore implements InternalDataStore {
      * @since 1.0.beta
      */
     private Map<String, Object> getBodyFromSuccessfulResponse(Response response) {
-        String body = null;
+        Map<String, Object> mapBody = null;
 
         if (response.hasBody()) {
-            body = toString(response.getBody());
+            mapBody = readBody(response.getBody());
         }
 
-        Map<String, Object> mapBody = null;
+        return mapBody;
+    }
 
-        if (body != null) {
-            log.trace("Obtained response body: \n{}", body);
-            mapBody = mapMarshaller.unmarshal(body);
+    /**
+     * Parses the response body directly from the response stream, without first materializing it as a String, and
+     * closes the stream (releasing the underlying connection) once parsing completes.
+     *
+     * @since 1.0.0
+     */
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> readBody(InputStream body) {
+        try {
+            if (log.isTraceEnabled()) {
+                String s = toString(body);
+                log.trace("Obtained response body: \n{}", s);
+                return s != null ? mapMarshaller.unmarshal(s) : null;
+            }
+            return mapMarshaller.unmarshal(body);
+        } finally {
+            closeQuietly(body);
         }
+    }
 
-        return mapBody;
+    private static void closeQuietly(InputStream is) {
+        if (is != null) {
+            try {
+                is.close();
+            } catch (IOException ignored) {
+            }
+        }
     }
 
 
@@ -1061,4 +1980,154 @@ public class DefaultDataStore implements InternalDataStore {
         }
         return enlistment;
     }
+
+    /**
+     * A GET request being executed on behalf of one or more threads.  The thread that created it executes the
+     * request; any other thread that {@link #join() joins} it before it {@link #land() lands} waits for and shares its
+     * result.
+     *
+     * @since 1.0.0
+     */
+    private static final class InFlightGet {
+
+        private final CountDownLatch done = new CountDownLatch(1);
+
+        private Map<String, ?> data;
+        private Throwable failure;
+
+        //guarded by 'this':
+        private int followers;
+        private boolean landed;
+
+        synchronized boolean join() {
+            if (landed) {
+                return false;
+            }
+            followers++;
+            return true;
+        }
+
+        /**
+         * Prevents any further threads from joining this request.
+         *
+         * @return {@code true} if any other thread joined this request and is therefore sharing its response data.
+         */
+        synchronized boolean land() {
+            landed = true;
+            return followers > 0;
+        }
+
+        void complete(Map<String, ?> data) {
+            this.data = data;
+            done.countDown();
+        }
+
+        void fail(Throwable t) {
+            this.failure = t;
+            done.countDown();
+        }
+
+        Map<String, ?> await() {
+            //the executing thread is bound by the RequestExecutor's own timeouts, so waiting uninterruptibly is safe:
+            boolean interrupted = false;
+            for (; ; ) {
+                try {
+                    done.await();
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+
+            if (failure instanceof RuntimeException) {
+                throw (RuntimeException) failure;
+            }
+            if (failure instanceof Error) {
+                throw (Error) failure;
+            }
+            return data;
+        }
+    }
+
+    /**
+     * The cached data of a resource along with the validators the server returned for it.
+     *
+     * @since 1.0.0
+     */
+    private static final class RevalidationCandidate {
+
+        private final Map<String, Object> data;
+        private final String eTag;
+        private final String lastModified;
+
+        private RevalidationCandidate(Map<String, Object> data, String eTag, String lastModified) {
+            this.data = data;
+            this.eTag = eTag;
+            this.lastModified = lastModified;
+        }
+
+        /**
+         * Returns a candidate for the specified cached data if the response headers contain a validator, {@code null}
+         * otherwise.
+         */
+        static RevalidationCandidate from(HttpHeaders headers, Map<String, Object> data) {
+            if (headers == null) {
+                return null;
+            }
+            String eTag = headers.getETag();
+            String lastModified = headers.getFirst("Last-Modified");
+            if (!Strings.hasText(eTag) && !Strings.hasText(lastModified)) {
+                return null;
+            }
+            return new RevalidationCandidate(data, Strings.hasText(eTag) ? eTag : null,
+                    Strings.hasText(lastModified) ? lastModified : null);
+        }
+
+        void applyTo(HttpHeaders headers) {
+            if (eTag != null) {
+                headers.setIfNoneMatch(eTag);
+            }
+            if (lastModified != null) {
+                headers.set("If-Modified-Since", lastModified);
+            }
+        }
+    }
+
+    /**
+     * A cached collection resource page along with the write generation it was retrieved in.
+     *
+     * @since 1.0.0
+     */
+    private static final class CachedPage {
+
+        private final Map<String, Object> data;
+        private final long generation;
+
+        private CachedPage(Map<String, Object> data, long generation) {
+            this.data = data;
+            this.generation = generation;
+        }
+    }
+
+    /**
+     * The result of a lookup that found nothing: either the {@code 404} error or an empty API key lookup result,
+     * along with the write generation it was retrieved in.
+     *
+     * @since 1.0.0
+     */
+    private static final class NotFound {
+
+        private final com.stormpath.sdk.error.Error error;
+        private final Map<String, Object> emptyPage;
+        private final long generation;
+
+        private NotFound(com.stormpath.sdk.error.Error error, Map<String, Object> emptyPage, long generation) {
+            this.error = error;
+            this.emptyPage = emptyPage;
+            this.generation = generation;
+        }
+    }
 }
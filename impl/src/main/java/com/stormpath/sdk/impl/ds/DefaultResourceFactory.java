@@ -22,7 +22,6 @@ import java.lang.reflect.Constructor;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-import java.util.Map;
 
 /**
  * @since 0.1
@@ -47,36 +46,26 @@ public class DefaultResourceFactory implements ResourceFactory {
             throw new NullPointerException("Resource class cannot be null.");
         }
 
-        Class<T> implClass = getImplementationClass(clazz);
-
         Object[] ctorArgs = createConstructorArgs(constructorArgs);
 
-        Constructor<T> ctor;
-
-        if (ctorArgs.length == 1) {
-            ctor = Classes.getConstructor(implClass, InternalDataStore.class);
-        } else if (ctorArgs.length == 2) {
-            ctor = Classes.getConstructor(implClass, InternalDataStore.class, Map.class);
-        } else {
-            //collection resource - we want to retain the query parameters (3rd ctor argument):
-            ctor = Classes.getConstructor(implClass, InternalDataStore.class, Map.class, Map.class);
-        }
+        //the constructor is looked up only once per resource type (for collection resources, the 3 argument
+        //constructor is used so we retain the query parameters):
+        Constructor<T> ctor = ResourceMetadata.forClass(clazz).getConstructor(ctorArgs.length);
 
         return Classes.instantiate(ctor, ctorArgs);
     }
 
     static <T extends Resource> Class<T> getImplementationClass(Class<T> clazz) {
-        if (clazz.isInterface()) {
-            return convertToImplClass(clazz);
-        }
-        return clazz;
+        return ResourceMetadata.forClass(clazz).getImplementationClass();
     }
 
     public static <T extends Resource> Class<T> getInterfaceClass(Class<T> clazz) {
+        //not every resource interface has an implementation class (e.g. CollectionResource, used as a cache region
+        //name), so an interface must not be resolved to its metadata here:
         if (clazz.isInterface()) {
             return clazz;
         }
-        return convertToInterfaceClass(clazz);
+        return ResourceMetadata.forClass(clazz).getInterfaceClass();
     }
 
     static <T extends Resource> Class<T> convertToInterfaceClass(Class<T> clazz) {
@@ -22,6 +22,7 @@ import com.stormpath.sdk.resource.Resource;
 import com.stormpath.sdk.resource.Saveable;
 
 import java.util.Map;
+import java.util.concurrent.Future;
 
 /**
  * Internal DataStore used for implementation purposes only.  Not intended to be called by SDK end users!
@@ -61,4 +62,24 @@ public interface InternalDataStore extends DataStore {
      */
     <T extends Resource, R extends T> R getResource(String href, Class<T> parent, String childIdProperty, Map<String, Class<? extends R>> stringClassMap);
 
+    /**
+     * @since 1.0.0
+     */
+    <T extends Resource> Future<T> getResourceAsync(String href, Class<T> clazz, Map<String,Object> queryParameters);
+
+    /**
+     * @since 1.0.0
+     */
+    <T extends Resource> Future<T> getResourceAsync(String href, Class<T> clazz, Criteria criteria);
+
+    /**
+     * @since 1.0.0
+     */
+    <T extends Resource> Future<T> createAsync(String parentHref, T resource);
+
+    /**
+     * @since 1.0.0
+     */
+    <T extends Resource & Saveable> Future<T> saveAsync(T resource);
+
 }
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2014 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.ds;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.stormpath.sdk.cache.CacheValueCodec;
+import com.stormpath.sdk.lang.Assert;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A {@link CacheValueCodec} that caches resource data as the byte array produced by a Jackson {@code ObjectMapper}.
+ * <p/>
+ * A byte array is a fraction of the size of the equivalent tree of maps, lists and strings, and is serialized by
+ * distributed caches at the cost of a memory copy.  The price is that the data is parsed again on every cache hit.
+ * Property names parsed by Jackson are interned, so decoded data does not retain a copy of each name.
+ * <p/>
+ * By default, data is encoded as JSON.  A more compact binary format can be used by specifying an
+ * {@code ObjectMapper} created with the corresponding Jackson data format factory, for example
+ * {@code new JacksonCacheValueCodec(new ObjectMapper(new SmileFactory()))} if the
+ * {@code jackson-dataformat-smile} module is available.
+ *
+ * @since 1.0.0
+ */
+public class JacksonCacheValueCodec implements CacheValueCodec {
+
+    private static final TypeReference<LinkedHashMap<String, Object>> MAP_TYPE = new TypeReference<LinkedHashMap<String, Object>>() {};
+
+    private final ObjectMapper objectMapper;
+
+    public JacksonCacheValueCodec() {
+        this(new ObjectMapper());
+        //decode numbers exactly as they were parsed from the original response (see JacksonMapMarshaller):
+        this.objectMapper.configure(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS, true);
+    }
+
+    /**
+     * Creates a new instance using the specified {@code ObjectMapper}, which should be configured with
+     * {@code DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS} like the SDK's own response parsing.
+     *
+     * @param objectMapper the {@code ObjectMapper} used to encode and decode resource data.
+     */
+    public JacksonCacheValueCodec(ObjectMapper objectMapper) {
+        Assert.notNull(objectMapper, "objectMapper cannot be null.");
+        this.objectMapper = objectMapper;
+    }
+
+    public ObjectMapper getObjectMapper() {
+        return objectMapper;
+    }
+
+    @Override
+    public Object encode(Map<String, ?> data) {
+        if (data == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsBytes(data);
+        } catch (IOException e) {
+            throw new MarshalingException("Unable to encode resource data for caching.", e);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Map<String, ?> decode(Object encoded) {
+        if (encoded == null) {
+            return null;
+        }
+        if (encoded instanceof Map) {
+            return (Map<String, ?>) encoded; //cached before this codec was used
+        }
+        Assert.isInstanceOf(byte[].class, encoded, "Cached value is neither resource data nor encoded resource data.  ");
+        try {
+            return objectMapper.readValue((byte[]) encoded, MAP_TYPE);
+        } catch (IOException e) {
+            throw new MarshalingException("Unable to decode cached resource data.", e);
+        }
+    }
+}
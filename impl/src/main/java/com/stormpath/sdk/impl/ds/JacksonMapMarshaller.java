@@ -15,12 +15,14 @@
  */
 package com.stormpath.sdk.impl.ds;
 
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.LinkedHashMap;
 import java.util.Map;
 
@@ -29,6 +31,8 @@ import java.util.Map;
  */
 public class JacksonMapMarshaller implements MapMarshaller {
 
+    private static final TypeReference<LinkedHashMap<String,Object>> MAP_TYPE = new TypeReference<LinkedHashMap<String,Object>>(){};
+
     private ObjectMapper objectMapper;
 
     private boolean prettyPrint = false;
@@ -66,10 +70,34 @@ public class JacksonMapMarshaller implements MapMarshaller {
     @Override
     public Map unmarshal(String marshalled) {
         try {
-            TypeReference<LinkedHashMap<String,Object>> typeRef = new TypeReference<LinkedHashMap<String,Object>>(){};
-            return this.objectMapper.readValue(marshalled, typeRef);
+            return this.objectMapper.readValue(marshalled, MAP_TYPE);
         } catch (IOException e) {
             throw new MarshalingException("Unable to convert JSON String to Map.", e);
         }
     }
+
+    /**
+     * @since 1.0.0
+     */
+    @Override
+    public Map unmarshal(InputStream marshalled) {
+        JsonParser parser = null;
+        try {
+            parser = this.objectMapper.getFactory().createParser(marshalled);
+            if (parser.nextToken() == null) {
+                //empty stream - nothing to parse:
+                return null;
+            }
+            return this.objectMapper.readValue(parser, MAP_TYPE);
+        } catch (IOException e) {
+            throw new MarshalingException("Unable to convert JSON InputStream to Map.", e);
+        } finally {
+            if (parser != null) {
+                try {
+                    parser.close();
+                } catch (IOException ignored) {
+                }
+            }
+        }
+    }
 }
@@ -15,6 +15,7 @@
  */
 package com.stormpath.sdk.impl.ds;
 
+import java.io.InputStream;
 import java.util.Map;
 
 /**
@@ -26,4 +27,14 @@ public interface MapMarshaller {
 
     Map unmarshal(String marshalled);
 
+    /**
+     * Parses the specified stream directly, without first materializing it as a String.  The stream is fully consumed
+     * and closed before this method returns.
+     *
+     * @param marshalled the stream to parse
+     * @return the parsed map or {@code null} if the stream is empty.
+     * @since 1.0.0
+     */
+    Map unmarshal(InputStream marshalled);
+
 }
@@ -0,0 +1,159 @@
+/*
+ * Copyright 2014 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.ds;
+
+import com.stormpath.sdk.impl.resource.Property;
+import com.stormpath.sdk.lang.Assert;
+import com.stormpath.sdk.resource.Resource;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Metadata about a resource type: its interface, its implementation class, the implementation's
+ * {@code PROPERTY_DESCRIPTORS} and the constructors used to instantiate it.
+ * <p/>
+ * Resolving this information requires class name conversion, {@code Class.forName} calls and reflective field and
+ * constructor lookups, which are far too expensive to repeat for every resource instantiated or cached (caching an
+ * expanded 100 item collection page would otherwise perform hundreds of them).  It is therefore resolved only once per
+ * resource type and retained in a registry shared by all DataStore instances - see {@link #forClass(Class)}.
+ *
+ * @since 1.0.0
+ */
+final class ResourceMetadata<T extends Resource> {
+
+    private static final ConcurrentMap<Class, ResourceMetadata> REGISTRY = new ConcurrentHashMap<Class, ResourceMetadata>();
+
+    private static final String PROPERTY_DESCRIPTORS_FIELD_NAME = "PROPERTY_DESCRIPTORS";
+
+    private volatile Class<T> interfaceClass; //resolved on first use - not every implementation class has one
+    private final Class<T> implementationClass;
+    private final Map<String, Property> propertyDescriptors; //null if the implementation class does not declare them
+    private final Constructor<T> dataStoreConstructor;
+    private final Constructor<T> propertiesConstructor;
+    private final Constructor<T> queryConstructor;
+
+    private ResourceMetadata(Class<T> interfaceClass, Class<T> implementationClass) {
+        this.interfaceClass = interfaceClass;
+        this.implementationClass = implementationClass;
+        this.propertyDescriptors = findPropertyDescriptors(implementationClass);
+        this.dataStoreConstructor = findConstructor(implementationClass, InternalDataStore.class);
+        this.propertiesConstructor = findConstructor(implementationClass, InternalDataStore.class, Map.class);
+        this.queryConstructor = findConstructor(implementationClass, InternalDataStore.class, Map.class, Map.class);
+    }
+
+    /**
+     * Returns the metadata for the specified resource interface or implementation class, resolving it first if this
+     * is the first time the type is used.
+     *
+     * @param clazz the resource interface or implementation class
+     * @param <T>   the resource type
+     * @return the metadata for the specified resource interface or implementation class.
+     */
+    @SuppressWarnings("unchecked")
+    static <T extends Resource> ResourceMetadata<T> forClass(Class<T> clazz) {
+        Assert.notNull(clazz, "Resource class cannot be null.");
+        ResourceMetadata<T> metadata = REGISTRY.get(clazz);
+        if (metadata == null) {
+            Class<T> iface = clazz.isInterface() ? clazz : null;
+            Class<T> impl = clazz.isInterface() ? DefaultResourceFactory.convertToImplClass(clazz) : clazz;
+            //resolution is idempotent, so a concurrent duplicate is harmless - just keep the first one registered:
+            ResourceMetadata<T> resolved = new ResourceMetadata<T>(iface, impl);
+            ResourceMetadata<T> existing = REGISTRY.putIfAbsent(clazz, resolved);
+            metadata = existing != null ? existing : resolved;
+        }
+        return metadata;
+    }
+
+    private static Map<String, Property> findPropertyDescriptors(Class clazz) {
+        try {
+            Field field = clazz.getDeclaredField(PROPERTY_DESCRIPTORS_FIELD_NAME);
+            field.setAccessible(true);
+            @SuppressWarnings("unchecked")
+            Map<String, Property> descriptors = (Map<String, Property>) field.get(null);
+            return descriptors != null ? Collections.unmodifiableMap(descriptors) : null;
+        } catch (NoSuchFieldException e) {
+            return null;
+        } catch (Exception e) {
+            throw new IllegalStateException("Unable to access " + PROPERTY_DESCRIPTORS_FIELD_NAME +
+                    " static field on implementation class " + clazz.getName(), e);
+        }
+    }
+
+    private static <T> Constructor<T> findConstructor(Class<T> clazz, Class... argTypes) {
+        try {
+            return clazz.getConstructor(argTypes);
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    public Class<T> getInterfaceClass() {
+        Class<T> iface = this.interfaceClass;
+        if (iface == null) {
+            iface = DefaultResourceFactory.convertToInterfaceClass(implementationClass);
+            this.interfaceClass = iface;
+        }
+        return iface;
+    }
+
+    public Class<T> getImplementationClass() {
+        return implementationClass;
+    }
+
+    /**
+     * Returns the property descriptors of the resource implementation class.
+     *
+     * @return the property descriptors of the resource implementation class.
+     * @throws IllegalStateException if the implementation class does not declare a static
+     *                               {@code PROPERTY_DESCRIPTORS} field.
+     */
+    public Map<String, Property> getPropertyDescriptors() throws IllegalStateException {
+        if (propertyDescriptors == null) {
+            throw new IllegalStateException("Unable to access " + PROPERTY_DESCRIPTORS_FIELD_NAME +
+                    " static field on implementation class " + implementationClass.getName());
+        }
+        return propertyDescriptors;
+    }
+
+    /**
+     * Returns the implementation constructor accepting the specified number of arguments: the DataStore, optionally
+     * followed by the resource properties and, for collection resources, the query parameters.
+     *
+     * @param argCount the number of constructor arguments, including the DataStore
+     * @return the implementation constructor accepting the specified number of arguments.
+     * @throws IllegalStateException if the implementation class does not have such a constructor.
+     */
+    public Constructor<T> getConstructor(int argCount) throws IllegalStateException {
+        Constructor<T> ctor;
+        if (argCount == 1) {
+            ctor = dataStoreConstructor;
+        } else if (argCount == 2) {
+            ctor = propertiesConstructor;
+        } else {
+            ctor = queryConstructor;
+        }
+        if (ctor == null) {
+            throw new IllegalStateException("Implementation class " + implementationClass.getName() +
+                    " does not have a public constructor accepting " + argCount + " argument(s).");
+        }
+        return ctor;
+    }
+}
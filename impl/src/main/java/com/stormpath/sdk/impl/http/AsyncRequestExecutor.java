@@ -0,0 +1,55 @@
+/*
+ * Copyright 2014 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.http;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * A {@link RequestExecutor} that can also execute requests asynchronously, returning immediately with a
+ * {@link Future} that will reflect the {@link Response} once it has been received.
+ * <p/>
+ * Implementations must apply exactly the same request authentication, redirect, retry and back-off behavior as
+ * their synchronous {@link #executeRequest(Request) executeRequest} counterpart.
+ *
+ * @since 1.0.0
+ */
+public interface AsyncRequestExecutor extends RequestExecutor {
+
+    /**
+     * Executes the specified request asynchronously.  Any {@link RestException} that would have been thrown by
+     * {@link #executeRequest(Request)} is instead reported as the cause of the
+     * {@link java.util.concurrent.ExecutionException ExecutionException} thrown by {@link Future#get()}.
+     * <p/>
+     * The body of the response may be the live content stream of a pooled connection: the caller <b>must</b> close
+     * the {@link Response#getBody() response body} once it has been read, or once it decides not to read it, to
+     * release the connection.  Callers that stop waiting for the {@code Future} before it completes should
+     * {@link Future#cancel(boolean) cancel} it and, if it completed anyway, close the body of its response.
+     *
+     * @param request the request to execute
+     * @return a {@code Future} reflecting the eventual response.
+     */
+    Future<Response> executeRequestAsync(Request request);
+
+    /**
+     * Returns the {@code ExecutorService} used to execute asynchronous requests, allowing components that layer
+     * additional asynchronous work on top of this executor (e.g. a DataStore) to share the same bounded pool rather
+     * than creating their own.
+     *
+     * @return the {@code ExecutorService} used to execute asynchronous requests.
+     */
+    ExecutorService getExecutorService();
+}
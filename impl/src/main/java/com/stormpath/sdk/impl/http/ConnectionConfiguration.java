@@ -0,0 +1,192 @@
+/*
+ * Copyright 2014 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.http;
+
+import com.stormpath.sdk.lang.Assert;
+
+/**
+ * Connection and connection pool settings applied by a {@link RequestExecutor} when communicating with the Stormpath
+ * API server.
+ * <p/>
+ * All timeout values are in milliseconds.  Unless otherwise noted, a value of zero is interpreted as an infinite
+ * timeout and a negative value indicates that the setting is disabled.
+ *
+ * @since 1.0.0
+ */
+public class ConnectionConfiguration {
+
+    public static final int DEFAULT_CONNECTION_TIMEOUT = 20000; //20,000 millis = 20 seconds
+    public static final int DEFAULT_MAX_CONNECTIONS_PER_ROUTE = 10;
+    public static final int DEFAULT_MAX_CONNECTIONS_TOTAL = 20;
+
+    private int connectionTimeout = DEFAULT_CONNECTION_TIMEOUT;
+    private int socketTimeout = DEFAULT_CONNECTION_TIMEOUT;
+    private int connectionRequestTimeout = 0;
+    private int maxConnectionsPerRoute = DEFAULT_MAX_CONNECTIONS_PER_ROUTE;
+    private int maxConnectionsTotal = 0; //not set: derived from maxConnectionsPerRoute
+    private long connectionTimeToLiveMillis = -1;
+    private long idleConnectionTimeoutMillis = -1;
+    private boolean staleConnectionCheckEnabled = true;
+
+    public ConnectionConfiguration() {
+    }
+
+    /**
+     * Creates a new instance with both the connection and socket timeouts set to {@code timeout}, retaining defaults
+     * for all other settings.
+     *
+     * @param timeout connection and socket timeout in milliseconds
+     */
+    public ConnectionConfiguration(int timeout) {
+        setConnectionTimeout(timeout);
+        setSocketTimeout(timeout);
+    }
+
+    /**
+     * Creates a new instance with the same settings as the specified {@code config}.  Later changes to either instance
+     * do not affect the other.
+     *
+     * @param config the configuration to copy
+     */
+    public ConnectionConfiguration(ConnectionConfiguration config) {
+        Assert.notNull(config, "config cannot be null.");
+        this.connectionTimeout = config.connectionTimeout;
+        this.socketTimeout = config.socketTimeout;
+        this.connectionRequestTimeout = config.connectionRequestTimeout;
+        this.maxConnectionsPerRoute = config.maxConnectionsPerRoute;
+        this.maxConnectionsTotal = config.maxConnectionsTotal;
+        this.connectionTimeToLiveMillis = config.connectionTimeToLiveMillis;
+        this.idleConnectionTimeoutMillis = config.idleConnectionTimeoutMillis;
+        this.staleConnectionCheckEnabled = config.staleConnectionCheckEnabled;
+    }
+
+    /**
+     * Returns the timeout until a connection is established.
+     *
+     * @return the timeout until a connection is established.
+     */
+    public int getConnectionTimeout() {
+        return connectionTimeout;
+    }
+
+    public void setConnectionTimeout(int connectionTimeout) {
+        Assert.isTrue(connectionTimeout >= 0, "Timeout cannot be a negative number.");
+        this.connectionTimeout = connectionTimeout;
+    }
+
+    /**
+     * Returns the maximum period of inactivity between two consecutive data packets.
+     *
+     * @return the maximum period of inactivity between two consecutive data packets.
+     */
+    public int getSocketTimeout() {
+        return socketTimeout;
+    }
+
+    public void setSocketTimeout(int socketTimeout) {
+        Assert.isTrue(socketTimeout >= 0, "Timeout cannot be a negative number.");
+        this.socketTimeout = socketTimeout;
+    }
+
+    /**
+     * Returns the maximum time to wait to lease a connection from the connection pool.
+     *
+     * @return the maximum time to wait to lease a connection from the connection pool.
+     */
+    public int getConnectionRequestTimeout() {
+        return connectionRequestTimeout;
+    }
+
+    public void setConnectionRequestTimeout(int connectionRequestTimeout) {
+        Assert.isTrue(connectionRequestTimeout >= 0, "Timeout cannot be a negative number.");
+        this.connectionRequestTimeout = connectionRequestTimeout;
+    }
+
+    /**
+     * Returns the maximum number of pooled connections per route (i.e. per target host).
+     *
+     * @return the maximum number of pooled connections per route.
+     */
+    public int getMaxConnectionsPerRoute() {
+        return maxConnectionsPerRoute;
+    }
+
+    public void setMaxConnectionsPerRoute(int maxConnectionsPerRoute) {
+        Assert.isTrue(maxConnectionsPerRoute > 0, "maxConnectionsPerRoute must be greater than zero.");
+        this.maxConnectionsPerRoute = maxConnectionsPerRoute;
+    }
+
+    /**
+     * Returns the maximum number of pooled connections across all routes.  Unless set explicitly, this is
+     * {@link #DEFAULT_MAX_CONNECTIONS_TOTAL} or the {@link #getMaxConnectionsPerRoute() maximum per route}, whichever
+     * is greater, so that raising the per-route maximum alone is never capped by the default total.
+     *
+     * @return the maximum number of pooled connections across all routes.
+     */
+    public int getMaxConnectionsTotal() {
+        if (maxConnectionsTotal > 0) {
+            return maxConnectionsTotal;
+        }
+        return Math.max(DEFAULT_MAX_CONNECTIONS_TOTAL, maxConnectionsPerRoute);
+    }
+
+    public void setMaxConnectionsTotal(int maxConnectionsTotal) {
+        Assert.isTrue(maxConnectionsTotal > 0, "maxConnectionsTotal must be greater than zero.");
+        this.maxConnectionsTotal = maxConnectionsTotal;
+    }
+
+    /**
+     * Returns the maximum lifetime of a pooled connection, regardless of keep-alive, or a non-positive number if
+     * connections may live indefinitely.
+     *
+     * @return the maximum lifetime of a pooled connection.
+     */
+    public long getConnectionTimeToLiveMillis() {
+        return connectionTimeToLiveMillis;
+    }
+
+    public void setConnectionTimeToLiveMillis(long connectionTimeToLiveMillis) {
+        this.connectionTimeToLiveMillis = connectionTimeToLiveMillis;
+    }
+
+    /**
+     * Returns the amount of time a pooled connection may remain idle before it is closed by a background reaper, or a
+     * non-positive number if idle connections are not reaped.
+     *
+     * @return the amount of time a pooled connection may remain idle before it is closed.
+     */
+    public long getIdleConnectionTimeoutMillis() {
+        return idleConnectionTimeoutMillis;
+    }
+
+    public void setIdleConnectionTimeoutMillis(long idleConnectionTimeoutMillis) {
+        this.idleConnectionTimeoutMillis = idleConnectionTimeoutMillis;
+    }
+
+    /**
+     * Returns {@code true} if a pooled connection should be checked for staleness before it is reused (at the cost of
+     * a small amount of latency per request), {@code false} otherwise.
+     *
+     * @return {@code true} if a pooled connection should be checked for staleness before it is reused.
+     */
+    public boolean isStaleConnectionCheckEnabled() {
+        return staleConnectionCheckEnabled;
+    }
+
+    public void setStaleConnectionCheckEnabled(boolean staleConnectionCheckEnabled) {
+        this.staleConnectionCheckEnabled = staleConnectionCheckEnabled;
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2014 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.http;
+
+/**
+ * A point-in-time snapshot of a {@link RequestExecutor}'s HTTP connection pool.
+ *
+ * @since 1.0.0
+ */
+public interface ConnectionPoolStats {
+
+    /**
+     * Returns the number of connections currently leased (in use) by executing requests.
+     *
+     * @return the number of connections currently leased by executing requests.
+     */
+    int getLeased();
+
+    /**
+     * Returns the number of requests currently waiting for a connection to become available.  A non-zero value
+     * indicates that the pool is saturated.
+     *
+     * @return the number of requests currently waiting for a connection to become available.
+     */
+    int getPending();
+
+    /**
+     * Returns the number of idle connections available for reuse.
+     *
+     * @return the number of idle connections available for reuse.
+     */
+    int getAvailable();
+
+    /**
+     * Returns the maximum number of connections the pool may hold.
+     *
+     * @return the maximum number of connections the pool may hold.
+     */
+    int getMax();
+}
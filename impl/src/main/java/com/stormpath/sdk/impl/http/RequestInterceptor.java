@@ -0,0 +1,64 @@
+/*
+ * Copyright 2014 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.http;
+
+/**
+ * A {@code RequestInterceptor} observes every HTTP attempt made by a {@link RequestExecutor}, allowing concerns such
+ * as tracing, rate limiting or circuit breaking to be composed around request execution without subclassing the
+ * executor.
+ * <p/>
+ * Interceptors are invoked for each <em>attempt</em>, i.e. again for every retry and redirect of the same logical
+ * request.  {@link #beforeSend(Request) beforeSend} is invoked in registration order and {@link
+ * #afterReceive(Request, Response) afterReceive} and {@link #onError(Request, Throwable) onError} in reverse
+ * registration order, so that the first registered interceptor wraps all others.
+ * <p/>
+ * Interceptors are invoked on the thread executing the request and must therefore be thread-safe and fast: they are
+ * on the path of every API call.
+ *
+ * @see com.stormpath.sdk.impl.http.support.RequestInterceptorAdapter
+ * @see com.stormpath.sdk.impl.http.support.RequestInterceptorChain
+ * @since 1.0.0
+ */
+public interface RequestInterceptor {
+
+    /**
+     * Invoked before the specified request is authenticated and sent.  Headers added to the request are therefore
+     * signed along with the others.  Throwing an exception aborts the request: it is neither sent nor retried, and
+     * the exception is propagated to the caller.
+     *
+     * @param request the request about to be sent
+     */
+    void beforeSend(Request request);
+
+    /**
+     * Invoked when a response is received for the specified request, including redirects and responses that will be
+     * retried (e.g. {@code 429} or {@code 503}).  The response body must not be consumed: it is either absent for
+     * such interim responses, or will be read by the caller.
+     *
+     * @param request  the request that was sent
+     * @param response the response received
+     */
+    void afterReceive(Request request, Response response);
+
+    /**
+     * Invoked when the specified request failed without a response, for example because of a connection or socket
+     * timeout.  The request may still be retried after this method is invoked.
+     *
+     * @param request the request that failed
+     * @param t       the cause of the failure
+     */
+    void onError(Request request, Throwable t);
+}
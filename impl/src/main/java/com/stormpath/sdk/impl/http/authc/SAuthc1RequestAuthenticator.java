@@ -33,12 +33,15 @@ import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Date;
+import java.util.EnumMap;
 import java.util.List;
-import java.util.Locale;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Scanner;
 import java.util.SimpleTimeZone;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * @since 0.1
@@ -62,8 +65,56 @@ public class SAuthc1RequestAuthenticator implements RequestAuthenticator {
 
     private static final String NL = "\n";
 
+    private static final char[] HEX_CHARS = "0123456789abcdef".toCharArray();
+
     private static final Logger log = LoggerFactory.getLogger(SAuthc1RequestAuthenticator.class);
 
+    //@since 1.0.0
+    private static final ThreadLocal<SimpleDateFormat> DATE_FORMATTER = new ThreadLocal<SimpleDateFormat>() {
+        @Override
+        protected SimpleDateFormat initialValue() {
+            return createDateFormat(DATE_FORMAT);
+        }
+    };
+
+    //@since 1.0.0
+    private static final ThreadLocal<SimpleDateFormat> TIMESTAMP_FORMATTER = new ThreadLocal<SimpleDateFormat>() {
+        @Override
+        protected SimpleDateFormat initialValue() {
+            return createDateFormat(TIMESTAMP_FORMAT);
+        }
+    };
+
+    /**
+     * {@link MessageDigest} and {@link Mac} instances are not thread-safe, but looking them up through the JCA
+     * provider framework on every request is comparatively expensive, so each thread keeps its own instances.
+     *
+     * @since 1.0.0
+     */
+    private static final ThreadLocal<MessageDigest> SHA256_DIGEST = new ThreadLocal<MessageDigest>();
+
+    //@since 1.0.0
+    private static final ThreadLocal<Map<MacAlgorithm, Mac>> MACS = new ThreadLocal<Map<MacAlgorithm, Mac>>() {
+        @Override
+        protected Map<MacAlgorithm, Mac> initialValue() {
+            return new EnumMap<MacAlgorithm, Mac>(MacAlgorithm.class);
+        }
+    };
+
+    /**
+     * The first derived key ({@code kDate}) only depends on the API Key secret and the current (UTC) day, so it is
+     * computed once per API Key per day instead of once per request.
+     *
+     * @since 1.0.0
+     */
+    private final ConcurrentMap<String, DateKey> dateKeys = new ConcurrentHashMap<String, DateKey>();
+
+    private static SimpleDateFormat createDateFormat(String pattern) {
+        SimpleDateFormat format = new SimpleDateFormat(pattern);
+        format.setTimeZone(new SimpleTimeZone(0, TIME_ZONE));
+        return format;
+    }
+
     @Override
     public void authenticate(Request request, ApiKey apiKey) throws RequestAuthenticationException {
         Date date = new Date();
@@ -72,12 +123,6 @@ public class SAuthc1RequestAuthenticator implements RequestAuthenticator {
     }
 
     public void authenticate(final Request request, final ApiKey apiKey, final Date date, final String nonce) {
-        SimpleDateFormat dateFormat = new SimpleDateFormat(DATE_FORMAT);
-        dateFormat.setTimeZone(new SimpleTimeZone(0, TIME_ZONE));
-
-        SimpleDateFormat timestampFormat = new SimpleDateFormat(TIMESTAMP_FORMAT);
-        timestampFormat.setTimeZone(new SimpleTimeZone(0, TIME_ZONE));
-
         URI uri = request.getResourceUrl();
 
         // SAuthc1 requires that we sign the Host header so we
@@ -88,60 +133,88 @@ public class SAuthc1RequestAuthenticator implements RequestAuthenticator {
         }
         request.getHeaders().set(HOST_HEADER, hostHeader);
 
-        String timestamp = timestampFormat.format(date);
-        String dateStamp = dateFormat.format(date);
+        String timestamp = TIMESTAMP_FORMATTER.get().format(date);
+        String dateStamp = DATE_FORMATTER.get().format(date);
 
         request.getHeaders().set(STORMAPTH_DATE_HEADER, timestamp);
 
         String method = request.getMethod().toString();
         String canonicalResourcePath = canonicalizeResourcePath(uri.getPath());
         String canonicalQueryString = canonicalizeQueryString(request);
-        String canonicalHeadersString = canonicalizeHeadersString(request);
-        String signedHeadersString = getSignedHeadersString(request);
+        List<String> sortedHeaders = getSortedHeaderNames(request);
+        String canonicalHeadersString = canonicalizeHeadersString(request, sortedHeaders);
+        String signedHeadersString = getSignedHeadersString(sortedHeaders);
         String requestPayloadHashHex = toHex(hash(getRequestPayload(request)));
 
-        String canonicalRequest =
-                method + NL +
-                        canonicalResourcePath + NL +
-                        canonicalQueryString + NL +
-                        canonicalHeadersString + NL +
-                        signedHeadersString + NL +
-                        requestPayloadHashHex;
+        String canonicalRequest = new StringBuilder(256)
+                .append(method).append(NL)
+                .append(canonicalResourcePath).append(NL)
+                .append(canonicalQueryString).append(NL)
+                .append(canonicalHeadersString).append(NL)
+                .append(signedHeadersString).append(NL)
+                .append(requestPayloadHashHex).toString();
 
         log.debug("{} Canonical Request: {}", AUTHENTICATION_SCHEME, canonicalRequest);
 
-        String id = apiKey.getId() + "/" + dateStamp + "/" + nonce + "/" + ID_TERMINATOR;
+        String id = new StringBuilder(128)
+                .append(apiKey.getId()).append('/')
+                .append(dateStamp).append('/')
+                .append(nonce).append('/')
+                .append(ID_TERMINATOR).toString();
 
         String canonicalRequestHashHex = toHex(hash(canonicalRequest));
 
-        String stringToSign =
-                ALGORITHM + NL +
-                        timestamp + NL +
-                        id + NL +
-                        canonicalRequestHashHex;
+        String stringToSign = new StringBuilder(256)
+                .append(ALGORITHM).append(NL)
+                .append(timestamp).append(NL)
+                .append(id).append(NL)
+                .append(canonicalRequestHashHex).toString();
 
         log.debug("{} String to Sign: {}", AUTHENTICATION_SCHEME, stringToSign);
 
         // SAuthc1 uses a series of derived keys, formed by hashing different pieces of data
-        byte[] kSecret = toUtf8Bytes(AUTHENTICATION_SCHEME + apiKey.getSecret());
-        byte[] kDate = sign(dateStamp, kSecret, MacAlgorithm.HmacSHA256);
+        byte[] kDate = getDateKey(apiKey, dateStamp);
         byte[] kNonce = sign(nonce, kDate, MacAlgorithm.HmacSHA256);
         byte[] kSigning = sign(ID_TERMINATOR, kNonce, MacAlgorithm.HmacSHA256);
 
         byte[] signature = sign(toUtf8Bytes(stringToSign), kSigning, MacAlgorithm.HmacSHA256);
         String signatureHex = toHex(signature);
 
-        String authorizationHeader =
-                AUTHENTICATION_SCHEME + " " +
-                        createNameValuePair(SAUTHC1_ID, id) + ", " +
-                        createNameValuePair(SAUTHC1_SIGNED_HEADERS, signedHeadersString) + ", " +
-                        createNameValuePair(SAUTHC1_SIGNATURE, signatureHex);
+        String authorizationHeader = new StringBuilder(256)
+                .append(AUTHENTICATION_SCHEME).append(' ')
+                .append(createNameValuePair(SAUTHC1_ID, id)).append(", ")
+                .append(createNameValuePair(SAUTHC1_SIGNED_HEADERS, signedHeadersString)).append(", ")
+                .append(createNameValuePair(SAUTHC1_SIGNATURE, signatureHex)).toString();
 
         log.debug("{}: {}", AUTHORIZATION_HEADER,  authorizationHeader);
 
         request.getHeaders().set(AUTHORIZATION_HEADER, authorizationHeader);
     }
 
+    /**
+     * Returns the {@code kDate} derived key for the specified API Key and date stamp, reusing the previously derived
+     * value if the API Key secret and the date stamp have not changed since it was computed.
+     *
+     * @since 1.0.0
+     */
+    private byte[] getDateKey(ApiKey apiKey, String dateStamp) {
+        String apiKeyId = apiKey.getId();
+        String secret = apiKey.getSecret();
+
+        DateKey dateKey = apiKeyId != null ? dateKeys.get(apiKeyId) : null;
+        if (dateKey != null && dateKey.matches(secret, dateStamp)) {
+            return dateKey.key;
+        }
+
+        byte[] kSecret = toUtf8Bytes(AUTHENTICATION_SCHEME + secret);
+        byte[] kDate = sign(dateStamp, kSecret, MacAlgorithm.HmacSHA256);
+
+        if (apiKeyId != null) {
+            dateKeys.put(apiKeyId, new DateKey(secret, dateStamp, kDate));
+        }
+        return kDate;
+    }
+
     private static String createNameValuePair(String name, String value) {
         return name + "=" + value;
     }
@@ -164,19 +237,13 @@ public class SAuthc1RequestAuthenticator implements RequestAuthenticator {
      * @return hex-encoded string.
      */
     public static String toHex(byte[] data) {
-        StringBuilder sb = new StringBuilder(data.length * 2);
+        char[] chars = new char[data.length * 2];
         for (int i = 0; i < data.length; i++) {
-            String hex = Integer.toHexString(data[i]);
-            if (hex.length() == 1) {
-                // Append leading zero.
-                sb.append("0");
-            } else if (hex.length() == 8) {
-                // Remove ff prefix from negative numbers.
-                hex = hex.substring(6);
-            }
-            sb.append(hex);
+            int b = data[i] & 0xFF;
+            chars[i * 2] = HEX_CHARS[b >>> 4];
+            chars[i * 2 + 1] = HEX_CHARS[b & 0x0F];
         }
-        return sb.toString().toLowerCase(Locale.getDefault());
+        return new String(chars);
     }
 
     /**
@@ -189,9 +256,14 @@ public class SAuthc1RequestAuthenticator implements RequestAuthenticator {
      */
     protected byte[] hash(String text) throws RequestAuthenticationException {
         try {
-            MessageDigest md = MessageDigest.getInstance("SHA-256");
-            md.update(text.getBytes(DEFAULT_ENCODING));
-            return md.digest();
+            MessageDigest md = SHA256_DIGEST.get();
+            if (md == null) {
+                md = MessageDigest.getInstance("SHA-256");
+                SHA256_DIGEST.set(md);
+            } else {
+                md.reset();
+            }
+            return md.digest(text.getBytes(DEFAULT_ENCODING));
         } catch (Exception e) {
             throw new RequestAuthenticationException("Unable to compute hash while signing request.", e);
         }
@@ -208,7 +280,12 @@ public class SAuthc1RequestAuthenticator implements RequestAuthenticator {
 
     protected byte[] sign(byte[] data, byte[] key, MacAlgorithm algorithm) throws RequestAuthenticationException {
         try {
-            Mac mac = Mac.getInstance(algorithm.toString());
+            Map<MacAlgorithm, Mac> macs = MACS.get();
+            Mac mac = macs.get(algorithm);
+            if (mac == null) {
+                mac = Mac.getInstance(algorithm.toString());
+                macs.put(algorithm, mac);
+            }
             mac.init(new SecretKeySpec(key, algorithm.toString()));
             return mac.doFinal(data);
         } catch (Exception e) {
@@ -265,12 +342,14 @@ public class SAuthc1RequestAuthenticator implements RequestAuthenticator {
         }
     }
 
-    private String canonicalizeHeadersString(Request request) {
-        List<String> sortedHeaders = new ArrayList<String>();
-        sortedHeaders.addAll(request.getHeaders().keySet());
+    private List<String> getSortedHeaderNames(Request request) {
+        List<String> sortedHeaders = new ArrayList<String>(request.getHeaders().keySet());
         Collections.sort(sortedHeaders, String.CASE_INSENSITIVE_ORDER);
+        return sortedHeaders;
+    }
 
-        StringBuilder buffer = new StringBuilder();
+    private String canonicalizeHeadersString(Request request, List<String> sortedHeaders) {
+        StringBuilder buffer = new StringBuilder(256);
         for (String header : sortedHeaders) {
             buffer.append(header.toLowerCase()).append(":");
             List<String> values = request.getHeaders().get(header);
@@ -290,12 +369,8 @@ public class SAuthc1RequestAuthenticator implements RequestAuthenticator {
         return buffer.toString();
     }
 
-    private String getSignedHeadersString(Request request) {
-        List<String> sortedHeaders = new ArrayList<String>();
-        sortedHeaders.addAll(request.getHeaders().keySet());
-        Collections.sort(sortedHeaders, String.CASE_INSENSITIVE_ORDER);
-
-        StringBuilder buffer = new StringBuilder();
+    private String getSignedHeadersString(List<String> sortedHeaders) {
+        StringBuilder buffer = new StringBuilder(64);
         for (String header : sortedHeaders) {
             if (buffer.length() > 0) buffer.append(";");
             buffer.append(header.toLowerCase());
@@ -303,4 +378,26 @@ public class SAuthc1RequestAuthenticator implements RequestAuthenticator {
 
         return buffer.toString();
     }
+
+    /**
+     * A {@code kDate} derived key along with the API Key secret and date stamp it was derived from.
+     *
+     * @since 1.0.0
+     */
+    private static final class DateKey {
+
+        private final String secret;
+        private final String dateStamp;
+        private final byte[] key;
+
+        private DateKey(String secret, String dateStamp, byte[] key) {
+            this.secret = secret;
+            this.dateStamp = dateStamp;
+            this.key = key;
+        }
+
+        private boolean matches(String secret, String dateStamp) {
+            return this.dateStamp.equals(dateStamp) && (this.secret == null ? secret == null : this.secret.equals(secret));
+        }
+    }
 }
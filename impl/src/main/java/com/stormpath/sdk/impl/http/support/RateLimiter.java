@@ -0,0 +1,390 @@
+/*
+ * Copyright 2014 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.http.support;
+
+import com.stormpath.sdk.impl.http.HttpHeaders;
+import com.stormpath.sdk.impl.http.Request;
+import com.stormpath.sdk.impl.http.RequestInterceptor;
+import com.stormpath.sdk.impl.http.Response;
+import com.stormpath.sdk.impl.http.RestException;
+import com.stormpath.sdk.lang.Assert;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A client-side, adaptive token bucket rate limiter, shared by all requests of a {@code Client} and optionally
+ * applied per endpoint as well.
+ * <p/>
+ * Before a request is sent, the limiter reserves a permit and the calling thread waits for its turn, in reservation
+ * order.  If the permit cannot be obtained within the configured {@link #getTimeoutMillis() timeout}, the request
+ * fails fast with a {@link RestException} instead of being sent.
+ * <p/>
+ * The permitted rate adapts to the server's responses (additive increase, multiplicative decrease):
+ * <ul>
+ * <li>a {@code 429} response halves the current rate (at most once per second, as the responses of requests already
+ * in flight arrive together, and never below a tenth of the configured rate or one request per second) and pauses the
+ * bucket for the duration of any {@code Retry-After} header, but no longer than the timeout - otherwise every request
+ * would fail fast until the pause ends, and no response could ever restore the rate;</li>
+ * <li>{@code X-RateLimit-Remaining} and {@code X-RateLimit-Reset} headers cap the rate to the remaining quota over the
+ * remaining window, pausing the bucket until the window resets once the quota is exhausted;</li>
+ * <li>any other response increases the rate by a tenth of the configured rate per second, up to the configured
+ * rate.</li>
+ * </ul>
+ * Throughput therefore settles just below the server's quota instead of oscillating between bursts and backoffs.
+ *
+ * @see RequestMetrics#getEndpointName(Request)
+ * @since 1.0.0
+ */
+public class RateLimiter implements RequestInterceptor {
+
+    private static final Logger log = LoggerFactory.getLogger(RateLimiter.class);
+
+    /**
+     * The default time a request may wait for a permit before failing: 10 seconds.
+     */
+    public static final long DEFAULT_TIMEOUT_MILLIS = 10 * 1000;
+
+    static final String RETRY_AFTER = "Retry-After";
+    static final String RATE_LIMIT_REMAINING = "X-RateLimit-Remaining";
+    static final String RATE_LIMIT_RESET = "X-RateLimit-Reset";
+
+    private final TokenBucket bucket;
+    private final double endpointRate;
+    private final ConcurrentMap<String, TokenBucket> endpointBuckets;
+    private final long timeoutNanos;
+
+    /**
+     * Creates a new limiter allowing up to the specified number of requests per second across all endpoints.
+     *
+     * @param requestsPerSecond the maximum number of requests per second, or {@code 0} for no client-wide limit
+     */
+    public RateLimiter(double requestsPerSecond) {
+        this(requestsPerSecond, 0, DEFAULT_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Creates a new limiter allowing up to the specified number of requests per second across all endpoints and per
+     * endpoint, waiting at most the specified time for a permit.
+     *
+     * @param requestsPerSecond         the maximum number of requests per second, or {@code 0} for no client-wide
+     *                                  limit
+     * @param endpointRequestsPerSecond the maximum number of requests per second per endpoint, or {@code 0} for no
+     *                                  per-endpoint limit
+     * @param timeout                   the maximum time to wait for a permit, or {@code 0} to fail immediately
+     * @param timeUnit                  the unit of the timeout
+     */
+    public RateLimiter(double requestsPerSecond, double endpointRequestsPerSecond, long timeout, TimeUnit timeUnit) {
+        Assert.isTrue(requestsPerSecond >= 0, "requestsPerSecond cannot be negative.");
+        Assert.isTrue(endpointRequestsPerSecond >= 0, "endpointRequestsPerSecond cannot be negative.");
+        Assert.isTrue(requestsPerSecond > 0 || endpointRequestsPerSecond > 0,
+                "requestsPerSecond or endpointRequestsPerSecond must be greater than zero.");
+        Assert.isTrue(timeout >= 0, "timeout cannot be negative.");
+        Assert.notNull(timeUnit, "timeUnit cannot be null.");
+        this.bucket = requestsPerSecond > 0 ? new TokenBucket(requestsPerSecond, System.nanoTime(), timeUnit.toNanos(timeout)) : null;
+        this.endpointRate = endpointRequestsPerSecond;
+        this.endpointBuckets = endpointRequestsPerSecond > 0 ? new ConcurrentHashMap<String, TokenBucket>() : null;
+        this.timeoutNanos = timeUnit.toNanos(timeout);
+    }
+
+    public long getTimeoutMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(timeoutNanos);
+    }
+
+    /**
+     * Returns the current client-wide rate in requests per second, or {@code 0} if there is no client-wide limit.
+     *
+     * @return the current client-wide rate in requests per second.
+     */
+    public double getRate() {
+        return bucket != null ? bucket.getRate() : 0;
+    }
+
+    /**
+     * Returns the current rate of the specified endpoint in requests per second, or {@code 0} if there is no
+     * per-endpoint limit or the endpoint has not been requested yet.
+     *
+     * @param endpointName the {@link RequestMetrics#getEndpointName(Request) endpoint name}
+     * @return the current rate of the specified endpoint in requests per second.
+     */
+    public double getRate(String endpointName) {
+        TokenBucket b = endpointBuckets != null ? endpointBuckets.get(endpointName) : null;
+        return b != null ? b.getRate() : 0;
+    }
+
+    /**
+     * Waits until a permit is available for the specified request.
+     *
+     * @param request the request about to be sent
+     * @throws RestException if no permit is available within the timeout, or the thread is interrupted while
+     *                       waiting.
+     */
+    @Override
+    public void beforeSend(Request request) throws RestException {
+        long now = System.nanoTime();
+        long waitNanos = 0;
+
+        //the client-wide permit is reserved first, and given back if the endpoint permit is not available, so that a
+        //request failing fast never consumes a permit it does not use:
+        if (bucket != null) {
+            waitNanos = bucket.reserve(now, timeoutNanos);
+            if (waitNanos < 0) {
+                throw timeoutException(null);
+            }
+        }
+
+        TokenBucket endpointBucket = getEndpointBucket(request, now);
+        if (endpointBucket != null) {
+            long wait = endpointBucket.reserve(now, timeoutNanos);
+            if (wait < 0) {
+                if (bucket != null) {
+                    bucket.release(now);
+                }
+                throw timeoutException(RequestMetrics.getEndpointName(request));
+            }
+            waitNanos = Math.max(waitNanos, wait);
+        }
+
+        if (waitNanos > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(waitNanos);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RestException(e.getMessage(), e);
+            }
+        }
+    }
+
+    @Override
+    public void afterReceive(Request request, Response response) {
+        long now = System.nanoTime();
+        TokenBucket endpointBucket = getEndpointBucket(request, now);
+        if (bucket != null) {
+            adapt(bucket, response, now);
+        }
+        if (endpointBucket != null) {
+            adapt(endpointBucket, response, now);
+        }
+    }
+
+    @Override
+    public void onError(Request request, Throwable t) {
+        //a failed connection says nothing about the server's quota
+    }
+
+    private TokenBucket getEndpointBucket(Request request, long now) {
+        if (endpointBuckets == null) {
+            return null;
+        }
+        String name = RequestMetrics.getEndpointName(request);
+        TokenBucket b = endpointBuckets.get(name);
+        if (b == null) {
+            b = new TokenBucket(endpointRate, now, timeoutNanos);
+            TokenBucket existing = endpointBuckets.putIfAbsent(name, b);
+            if (existing != null) {
+                b = existing;
+            }
+        }
+        return b;
+    }
+
+    private void adapt(TokenBucket b, Response response, long now) {
+        HttpHeaders headers = response.getHeaders();
+
+        if (response.getHttpStatus() == 429) {
+            long retryAfterSeconds = parseLong(headers.getFirst(RETRY_AFTER));
+            b.onThrottled(now, retryAfterSeconds > 0 ? TimeUnit.SECONDS.toNanos(retryAfterSeconds) : 0);
+        } else {
+            b.onSuccess();
+        }
+
+        long remaining = parseLong(headers.getFirst(RATE_LIMIT_REMAINING));
+        long resetSeconds = toResetSeconds(parseLong(headers.getFirst(RATE_LIMIT_RESET)));
+        if (remaining >= 0 && resetSeconds > 0) {
+            b.onQuota(now, remaining, TimeUnit.SECONDS.toNanos(resetSeconds));
+        }
+    }
+
+    /**
+     * Returns the number of seconds until the rate limit window resets, accepting either a number of seconds or an
+     * epoch timestamp in seconds (as servers differ), or {@code -1} if unknown.
+     */
+    private static long toResetSeconds(long reset) {
+        if (reset <= 0) {
+            return -1;
+        }
+        //anything larger than a year is an epoch timestamp rather than a delay:
+        if (reset > 365L * 24 * 60 * 60) {
+            long seconds = reset - TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis());
+            return seconds > 0 ? seconds : -1;
+        }
+        return reset;
+    }
+
+    private static long parseLong(String value) {
+        if (value == null) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            //e.g. a Retry-After HTTP date, which Stormpath does not send
+            return -1;
+        }
+    }
+
+    private RestException timeoutException(String endpointName) {
+        String msg = "Client-side rate limit exceeded: no permit available " +
+                (endpointName != null ? "for endpoint [" + endpointName + "] " : "") +
+                "within " + getTimeoutMillis() + " ms.";
+        log.debug(msg);
+        return new RestException(msg);
+    }
+
+    @Override
+    public String toString() {
+        return "RateLimiter{rate=" + getRate() + ", endpointRate=" + endpointRate +
+                ", timeoutMillis=" + getTimeoutMillis() + '}';
+    }
+
+    /**
+     * A token bucket handing out permits by reservation: each caller is told how long to wait for its permit, so
+     * waiting callers are served in order and never spin.  The bucket holds at most one second worth of permits,
+     * allowing short bursts after idle periods.
+     * <p/>
+     * All times are {@link System#nanoTime()} values, passed in so the bucket can be tested deterministically.
+     */
+    static class TokenBucket {
+
+        private static final long ONE_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+        private final double maxRate;
+        private final double minRate;
+        private final long maxThrottlePauseNanos;
+
+        private double rate;
+        private double storedPermits;
+        private long nextFreeNanos;
+        private long lastDecreaseNanos;
+
+        TokenBucket(double maxRate, long now) {
+            this(maxRate, now, Long.MAX_VALUE);
+        }
+
+        /**
+         * @param maxThrottlePauseNanos the longest pause after a {@code 429} response, which must not exceed the time
+         *                              callers wait for a permit, or they would all fail without sending a request.
+         */
+        TokenBucket(double maxRate, long now, long maxThrottlePauseNanos) {
+            this.maxRate = maxRate;
+            this.maxThrottlePauseNanos = maxThrottlePauseNanos;
+            //never throttle below one tenth of the configured rate or one request per second, whichever is higher (but
+            //never above the configured rate itself):
+            this.minRate = Math.min(maxRate, Math.max(maxRate / 10, 1));
+            this.rate = maxRate;
+            this.storedPermits = 0;
+            this.nextFreeNanos = now;
+            this.lastDecreaseNanos = now - ONE_SECOND;
+        }
+
+        synchronized double getRate() {
+            return rate;
+        }
+
+        private long intervalNanos() {
+            return (long) (ONE_SECOND / rate);
+        }
+
+        private void resync(long now) {
+            if (now > nextFreeNanos) {
+                storedPermits = Math.min(rate, storedPermits + (double) (now - nextFreeNanos) / intervalNanos());
+                nextFreeNanos = now;
+            }
+        }
+
+        /**
+         * Reserves a permit, returning the time to wait for it in nanoseconds, or {@code -1} (reserving nothing) if
+         * that time exceeds the specified timeout.
+         */
+        synchronized long reserve(long now, long timeoutNanos) {
+            resync(now);
+            long waitNanos = nextFreeNanos - now;
+            if (waitNanos > timeoutNanos) {
+                return -1;
+            }
+            double fromStored = Math.min(1, storedPermits);
+            storedPermits -= fromStored;
+            nextFreeNanos += (long) ((1 - fromStored) * intervalNanos());
+            return waitNanos;
+        }
+
+        /**
+         * Gives back a permit reserved by {@link #reserve(long, long)} but not used, making its slot available to the
+         * next reservation (or storing it again if its slot has already passed).
+         */
+        synchronized void release(long now) {
+            resync(now);
+            if (nextFreeNanos > now) {
+                nextFreeNanos = Math.max(now, nextFreeNanos - intervalNanos());
+            } else {
+                storedPermits = Math.min(rate, storedPermits + 1);
+            }
+        }
+
+        synchronized void onSuccess() {
+            if (rate < maxRate) {
+                //grows the rate by a tenth of the max rate per second of successful requests at the current rate:
+                rate = Math.min(maxRate, rate + maxRate / 10 / rate);
+            }
+        }
+
+        synchronized void onThrottled(long now, long retryAfterNanos) {
+            if (now - lastDecreaseNanos >= ONE_SECOND) {
+                rate = Math.max(minRate, rate / 2);
+                lastDecreaseNanos = now;
+                if (log.isDebugEnabled()) {
+                    log.debug("Throttled by the server; reducing the client-side rate limit to {} requests per second.",
+                            rate);
+                }
+            }
+            //without a Retry-After header, wait at least for the next permit at the reduced rate - but never longer than
+            //callers wait for a permit:
+            pause(now, Math.min(maxThrottlePauseNanos, Math.max(retryAfterNanos, intervalNanos())));
+        }
+
+        synchronized void onQuota(long now, long remaining, long resetNanos) {
+            if (remaining == 0) {
+                pause(now, resetNanos);
+                return;
+            }
+            double quotaRate = remaining * (double) ONE_SECOND / resetNanos;
+            if (quotaRate < rate) {
+                rate = Math.max(minRate, quotaRate);
+            }
+        }
+
+        private void pause(long now, long nanos) {
+            resync(now);
+            storedPermits = 0;
+            if (now + nanos > nextFreeNanos) {
+                nextFreeNanos = now + nanos;
+            }
+        }
+    }
+}
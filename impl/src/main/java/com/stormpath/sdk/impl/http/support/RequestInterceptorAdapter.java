@@ -0,0 +1,40 @@
+/*
+ * Copyright 2014 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.http.support;
+
+import com.stormpath.sdk.impl.http.Request;
+import com.stormpath.sdk.impl.http.RequestInterceptor;
+import com.stormpath.sdk.impl.http.Response;
+
+/**
+ * A {@link RequestInterceptor} whose methods do nothing, for subclasses interested in only some of them.
+ *
+ * @since 1.0.0
+ */
+public class RequestInterceptorAdapter implements RequestInterceptor {
+
+    @Override
+    public void beforeSend(Request request) {
+    }
+
+    @Override
+    public void afterReceive(Request request, Response response) {
+    }
+
+    @Override
+    public void onError(Request request, Throwable t) {
+    }
+}
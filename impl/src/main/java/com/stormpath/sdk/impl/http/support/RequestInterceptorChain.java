@@ -0,0 +1,149 @@
+/*
+ * Copyright 2014 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.http.support;
+
+import com.stormpath.sdk.impl.http.Request;
+import com.stormpath.sdk.impl.http.RequestInterceptor;
+import com.stormpath.sdk.impl.http.Response;
+import com.stormpath.sdk.lang.Assert;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * An immutable, ordered chain of {@link RequestInterceptor}s.
+ * <p/>
+ * The chain is backed by an array that is copied only when an interceptor is {@link #plus(RequestInterceptor) added}
+ * or {@link #minus(RequestInterceptor) removed}, so executors can hold it in a {@code volatile} field and invoke it
+ * without locking, iterators or any other per-request allocation.
+ * <p/>
+ * Exceptions thrown by {@link RequestInterceptor#beforeSend(Request) beforeSend} and {@link
+ * RequestInterceptor#afterReceive(Request, Response) afterReceive} propagate to the executor.  Exceptions thrown by
+ * {@link RequestInterceptor#onError(Request, Throwable) onError} are logged and suppressed so they never mask the
+ * original failure.
+ *
+ * @since 1.0.0
+ */
+public final class RequestInterceptorChain {
+
+    private static final Logger log = LoggerFactory.getLogger(RequestInterceptorChain.class);
+
+    public static final RequestInterceptorChain EMPTY = new RequestInterceptorChain(new RequestInterceptor[0]);
+
+    private final RequestInterceptor[] interceptors;
+
+    private RequestInterceptorChain(RequestInterceptor[] interceptors) {
+        this.interceptors = interceptors;
+    }
+
+    /**
+     * Returns a new chain with the specified interceptor appended to the interceptors of this chain.
+     *
+     * @param interceptor the interceptor to append
+     * @return a new chain with the specified interceptor appended to the interceptors of this chain.
+     */
+    public RequestInterceptorChain plus(RequestInterceptor interceptor) {
+        Assert.notNull(interceptor, "interceptor cannot be null.");
+        RequestInterceptor[] copy = Arrays.copyOf(interceptors, interceptors.length + 1);
+        copy[interceptors.length] = interceptor;
+        return new RequestInterceptorChain(copy);
+    }
+
+    /**
+     * Returns a chain without the specified interceptor, or this chain if it does not contain the interceptor.
+     *
+     * @param interceptor the interceptor to remove
+     * @return a chain without the specified interceptor.
+     */
+    public RequestInterceptorChain minus(RequestInterceptor interceptor) {
+        for (int i = 0; i < interceptors.length; i++) {
+            if (interceptors[i] == interceptor) {
+                if (interceptors.length == 1) {
+                    return EMPTY;
+                }
+                RequestInterceptor[] copy = new RequestInterceptor[interceptors.length - 1];
+                System.arraycopy(interceptors, 0, copy, 0, i);
+                System.arraycopy(interceptors, i + 1, copy, i, interceptors.length - i - 1);
+                return new RequestInterceptorChain(copy);
+            }
+        }
+        return this;
+    }
+
+    public boolean isEmpty() {
+        return interceptors.length == 0;
+    }
+
+    /**
+     * Returns the interceptors of this chain, in invocation order.
+     *
+     * @return the interceptors of this chain, in invocation order.
+     */
+    public List<RequestInterceptor> getInterceptors() {
+        return Collections.unmodifiableList(Arrays.asList(interceptors.clone()));
+    }
+
+    /**
+     * Invokes {@link RequestInterceptor#beforeSend(Request) beforeSend} on each interceptor, in order.
+     *
+     * @param request the request about to be sent
+     */
+    public void beforeSend(Request request) {
+        RequestInterceptor[] interceptors = this.interceptors;
+        for (int i = 0; i < interceptors.length; i++) {
+            interceptors[i].beforeSend(request);
+        }
+    }
+
+    /**
+     * Invokes {@link RequestInterceptor#afterReceive(Request, Response) afterReceive} on each interceptor, in reverse
+     * order.
+     *
+     * @param request  the request that was sent
+     * @param response the response received
+     */
+    public void afterReceive(Request request, Response response) {
+        RequestInterceptor[] interceptors = this.interceptors;
+        for (int i = interceptors.length - 1; i >= 0; i--) {
+            interceptors[i].afterReceive(request, response);
+        }
+    }
+
+    /**
+     * Invokes {@link RequestInterceptor#onError(Request, Throwable) onError} on each interceptor, in reverse order.
+     *
+     * @param request the request that failed
+     * @param t       the cause of the failure
+     */
+    public void onError(Request request, Throwable t) {
+        RequestInterceptor[] interceptors = this.interceptors;
+        for (int i = interceptors.length - 1; i >= 0; i--) {
+            try {
+                interceptors[i].onError(request, t);
+            } catch (Throwable e) {
+                log.warn("RequestInterceptor " + interceptors[i] + " failed to handle error: " + e.getMessage(), e);
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(interceptors);
+    }
+}
@@ -0,0 +1,205 @@
+/*
+ * Copyright 2014 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.http.support;
+
+import com.stormpath.sdk.impl.http.ConnectionPoolStats;
+import com.stormpath.sdk.impl.http.Request;
+import com.stormpath.sdk.impl.metrics.WeakGauge;
+import com.stormpath.sdk.lang.Assert;
+import com.stormpath.sdk.metrics.Counter;
+import com.stormpath.sdk.metrics.MetricRegistry;
+import com.stormpath.sdk.metrics.Timer;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records the metrics of the requests sent by a {@code RequestExecutor} to a {@link MetricRegistry}.  For each
+ * endpoint (an HTTP method and a path whose resource ids are replaced by <code>{id}</code>, for example
+ * <code>GET /v1/accounts/{id}</code>), the following metrics are recorded:
+ * <ul>
+ * <li>{@code http.<endpoint>.requests}: the number of HTTP requests sent, including retries.</li>
+ * <li>{@code http.<endpoint>.latency}: the latency of HTTP requests that received a response.</li>
+ * <li>{@code http.<endpoint>.retries}: the number of retried requests.</li>
+ * <li>{@code http.<endpoint>.errors}: the number of requests that failed without a response (e.g. I/O errors).</li>
+ * <li>{@code http.<endpoint>.throttled}: the number of {@code 429 Too Many Requests} responses.</li>
+ * <li>{@code http.<endpoint>.unavailable}: the number of {@code 503 Service Unavailable} and
+ * {@code 504 Gateway Timeout} responses.</li>
+ * </ul>
+ * Metrics are only looked up in the registry the first time an endpoint is seen, so recording a request does not
+ * allocate.
+ *
+ * @since 1.0.0
+ */
+public class RequestMetrics {
+
+    private final MetricRegistry registry;
+    private final ConcurrentMap<String, Endpoint> endpoints;
+
+    public RequestMetrics(MetricRegistry registry) {
+        Assert.notNull(registry, "registry cannot be null.");
+        this.registry = registry;
+        this.endpoints = new ConcurrentHashMap<String, Endpoint>();
+    }
+
+    /**
+     * Returns the registry the metrics are recorded to.
+     *
+     * @return the registry the metrics are recorded to.
+     */
+    public MetricRegistry getRegistry() {
+        return registry;
+    }
+
+    /**
+     * Returns the name of the endpoint targeted by the specified request: its HTTP method and the path of its
+     * resource URL, where every path segment following a collection name is considered a resource id (Stormpath hrefs
+     * are of the form {@code /v1/collection/id/collection/...}).
+     *
+     * @param request the request
+     * @return the name of the endpoint targeted by the specified request.
+     */
+    public static String getEndpointName(Request request) {
+        String path = request.getResourceUrl().getRawPath();
+        StringBuilder sb = new StringBuilder(request.getMethod().name()).append(' ');
+        if (path == null || path.length() == 0) {
+            return sb.append('/').toString();
+        }
+        //segment 0 is the empty string before the leading slash and segment 1 is the API version:
+        String[] segments = path.split("/");
+        for (int i = 1; i < segments.length; i++) {
+            sb.append('/').append(i > 2 && i % 2 == 1 ? "{id}" : segments[i]);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Returns the metrics of the endpoint targeted by the specified request.
+     *
+     * @param request the request
+     * @return the metrics of the endpoint targeted by the specified request.
+     */
+    public Endpoint getEndpoint(Request request) {
+        String name = getEndpointName(request);
+        Endpoint endpoint = endpoints.get(name);
+        if (endpoint == null) {
+            endpoint = new Endpoint(registry, "http." + name + ".");
+            Endpoint existing = endpoints.putIfAbsent(name, endpoint);
+            if (existing != null) {
+                endpoint = existing;
+            }
+        }
+        return endpoint;
+    }
+
+    /**
+     * Registers gauges publishing the specified connection pool statistics: {@code http.connections.leased},
+     * {@code http.connections.pending}, {@code http.connections.available} and {@code http.connections.max}.  The
+     * gauges only reference the source {@link WeakGauge weakly}, so the caller must retain it: typically the source is
+     * the request executor itself.
+     *
+     * @param stats the connection pool statistics source
+     */
+    public void registerConnectionPool(ConnectionPoolStatsSource stats) {
+        Assert.notNull(stats, "stats cannot be null.");
+        registry.register("http.connections.leased", new WeakGauge<ConnectionPoolStatsSource, Integer>(stats) {
+            @Override
+            protected Integer getValue(ConnectionPoolStatsSource stats) {
+                return stats.getConnectionPoolStats().getLeased();
+            }
+        });
+        registry.register("http.connections.pending", new WeakGauge<ConnectionPoolStatsSource, Integer>(stats) {
+            @Override
+            protected Integer getValue(ConnectionPoolStatsSource stats) {
+                return stats.getConnectionPoolStats().getPending();
+            }
+        });
+        registry.register("http.connections.available", new WeakGauge<ConnectionPoolStatsSource, Integer>(stats) {
+            @Override
+            protected Integer getValue(ConnectionPoolStatsSource stats) {
+                return stats.getConnectionPoolStats().getAvailable();
+            }
+        });
+        registry.register("http.connections.max", new WeakGauge<ConnectionPoolStatsSource, Integer>(stats) {
+            @Override
+            protected Integer getValue(ConnectionPoolStatsSource stats) {
+                return stats.getConnectionPoolStats().getMax();
+            }
+        });
+    }
+
+    /**
+     * Provides point-in-time snapshots of a connection pool.
+     */
+    public interface ConnectionPoolStatsSource {
+
+        ConnectionPoolStats getConnectionPoolStats();
+    }
+
+    /**
+     * The metrics of a single endpoint.
+     */
+    public static class Endpoint {
+
+        private final Counter requests;
+        private final Timer latency;
+        private final Counter retries;
+        private final Counter errors;
+        private final Counter throttled;
+        private final Counter unavailable;
+
+        private Endpoint(MetricRegistry registry, String prefix) {
+            this.requests = registry.counter(prefix + "requests");
+            this.latency = registry.timer(prefix + "latency");
+            this.retries = registry.counter(prefix + "retries");
+            this.errors = registry.counter(prefix + "errors");
+            this.throttled = registry.counter(prefix + "throttled");
+            this.unavailable = registry.counter(prefix + "unavailable");
+        }
+
+        /**
+         * Records a response received after the specified amount of time.
+         *
+         * @param httpStatus   the HTTP status of the response
+         * @param elapsedNanos the time elapsed between sending the request and receiving the response
+         */
+        public void onResponse(int httpStatus, long elapsedNanos) {
+            requests.increment();
+            latency.update(elapsedNanos, TimeUnit.NANOSECONDS);
+            if (httpStatus == 429) {
+                throttled.increment();
+            } else if (httpStatus == 503 || httpStatus == 504) {
+                unavailable.increment();
+            }
+        }
+
+        /**
+         * Records a request that failed without a response.
+         */
+        public void onError() {
+            requests.increment();
+            errors.increment();
+        }
+
+        /**
+         * Records that a request is about to be retried.
+         */
+        public void onRetry() {
+            retries.increment();
+        }
+    }
+}
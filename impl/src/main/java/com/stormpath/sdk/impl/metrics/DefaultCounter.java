@@ -0,0 +1,49 @@
+/*
+ * Copyright 2014 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.metrics;
+
+import com.stormpath.sdk.metrics.Counter;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A thread-safe in-memory {@link Counter}.
+ *
+ * @since 1.0.0
+ */
+public class DefaultCounter implements Counter {
+
+    private final AtomicLong count = new AtomicLong(0);
+
+    @Override
+    public void increment() {
+        count.incrementAndGet();
+    }
+
+    @Override
+    public void increment(long n) {
+        count.addAndGet(n);
+    }
+
+    @Override
+    public long getCount() {
+        return count.get();
+    }
+
+    public String toString() {
+        return String.valueOf(getCount());
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2014 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.metrics;
+
+import com.stormpath.sdk.lang.Assert;
+import com.stormpath.sdk.metrics.Counter;
+import com.stormpath.sdk.metrics.Gauge;
+import com.stormpath.sdk.metrics.MetricRegistry;
+import com.stormpath.sdk.metrics.Timer;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A {@link MetricRegistry} that retains all metrics in memory, so that they can be inspected with
+ * {@link #getMetrics()}.  Subclasses may publish metrics as they are created by overriding
+ * {@link #onRegistered(String, Object)} and {@link #onRemoved(String, Object)}.
+ *
+ * @since 1.0.0
+ */
+public class DefaultMetricRegistry implements MetricRegistry {
+
+    private final ConcurrentMap<String, Object> metrics = new ConcurrentHashMap<String, Object>();
+
+    @Override
+    public Counter counter(String name) {
+        return getOrCreate(name, Counter.class);
+    }
+
+    @Override
+    public Timer timer(String name) {
+        return getOrCreate(name, Timer.class);
+    }
+
+    private <T> T getOrCreate(String name, Class<T> type) {
+        Object metric = metrics.get(name);
+        if (metric == null) {
+            Assert.hasText(name, "Metric name cannot be null or empty.");
+            Object created = Counter.class.equals(type) ? new DefaultCounter() : new DefaultTimer();
+            metric = metrics.putIfAbsent(name, created);
+            if (metric == null) {
+                metric = created;
+                onRegistered(name, created);
+            }
+        }
+        Assert.isInstanceOf(type, metric, "Metric '" + name + "' is already registered with another type.  Type: ");
+        return type.cast(metric);
+    }
+
+    @Override
+    public void register(String name, Gauge<?> gauge) {
+        Assert.hasText(name, "Metric name cannot be null or empty.");
+        Assert.notNull(gauge, "gauge cannot be null.");
+        Object previous = metrics.put(name, gauge);
+        if (previous != null) {
+            onRemoved(name, previous);
+        }
+        onRegistered(name, gauge);
+    }
+
+    /**
+     * Removes the metric registered under the specified {@code name}, if any.
+     *
+     * @param name the name of the metric to remove
+     * @return the removed metric, or {@code null} if no metric was registered under the specified {@code name}.
+     */
+    public Object remove(String name) {
+        Object previous = metrics.remove(name);
+        if (previous != null) {
+            onRemoved(name, previous);
+        }
+        return previous;
+    }
+
+    /**
+     * Returns all registered metrics ({@link Counter}s, {@link Timer}s and {@link Gauge}s) sorted by name.
+     *
+     * @return all registered metrics sorted by name.
+     */
+    public Map<String, Object> getMetrics() {
+        return Collections.unmodifiableMap(new TreeMap<String, Object>(metrics));
+    }
+
+    /**
+     * Invoked after a metric has been registered.  This implementation does nothing.
+     *
+     * @param name   the name of the metric
+     * @param metric the {@link Counter}, {@link Timer} or {@link Gauge} that has been registered
+     */
+    protected void onRegistered(String name, Object metric) {
+    }
+
+    /**
+     * Invoked after a metric has been removed or replaced.  This implementation does nothing.
+     *
+     * @param name   the name of the metric
+     * @param metric the {@link Counter}, {@link Timer} or {@link Gauge} that has been removed
+     */
+    protected void onRemoved(String name, Object metric) {
+    }
+
+    public String toString() {
+        StringBuilder sb = new StringBuilder("{");
+        int i = 0;
+        for (Map.Entry<String, Object> e : getMetrics().entrySet()) {
+            sb.append(i++ > 0 ? ",\n  \"" : "\n  \"").append(e.getKey()).append("\": ");
+            Object metric = e.getValue();
+            sb.append(metric instanceof Gauge ? ((Gauge) metric).getValue() : metric);
+        }
+        return sb.append("\n}").toString();
+    }
+}
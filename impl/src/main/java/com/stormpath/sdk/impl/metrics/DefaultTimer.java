@@ -0,0 +1,150 @@
+/*
+ * Copyright 2014 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.metrics;
+
+import com.stormpath.sdk.lang.Assert;
+import com.stormpath.sdk.metrics.Timer;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A thread-safe in-memory {@link Timer} that records durations in a histogram of exponentially sized buckets.
+ * <p/>
+ * Bucket {@code i} counts the durations between 2<sup>i-1</sup> (exclusive) and 2<sup>i</sup> (inclusive)
+ * microseconds, so recording a duration never allocates nor locks, and percentiles are accurate within a factor of
+ * two - enough to tell a 20 ms request from a 2 s one.  Minimum, maximum and mean durations are exact.
+ *
+ * @since 1.0.0
+ */
+public class DefaultTimer implements Timer {
+
+    //2^40 microseconds is about 12 days: longer durations are recorded in the last bucket
+    private static final int BUCKET_COUNT = 41;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+    private final AtomicLong count = new AtomicLong(0);
+    private final AtomicLong totalNanos = new AtomicLong(0);
+    private final AtomicLong minNanos = new AtomicLong(Long.MAX_VALUE);
+    private final AtomicLong maxNanos = new AtomicLong(0);
+
+    @Override
+    public void update(long duration, TimeUnit timeUnit) {
+        Assert.notNull(timeUnit, "timeUnit cannot be null.");
+        long nanos = Math.max(timeUnit.toNanos(duration), 0);
+
+        buckets.incrementAndGet(bucketFor(TimeUnit.NANOSECONDS.toMicros(nanos)));
+        count.incrementAndGet();
+        totalNanos.addAndGet(nanos);
+
+        long min;
+        while (nanos < (min = minNanos.get()) && !minNanos.compareAndSet(min, nanos)) {
+            //retry
+        }
+        long max;
+        while (nanos > (max = maxNanos.get()) && !maxNanos.compareAndSet(max, nanos)) {
+            //retry
+        }
+    }
+
+    static int bucketFor(long micros) {
+        if (micros <= 1) {
+            return 0;
+        }
+        //the number of bits needed to represent micros - 1, i.e. ceil(log2(micros)):
+        int bucket = 64 - Long.numberOfLeadingZeros(micros - 1);
+        return Math.min(bucket, BUCKET_COUNT - 1);
+    }
+
+    @Override
+    public long getCount() {
+        return count.get();
+    }
+
+    /**
+     * Returns the shortest recorded duration in milliseconds, or {@code 0} if no duration was recorded.
+     *
+     * @return the shortest recorded duration in milliseconds.
+     */
+    public double getMinMillis() {
+        long min = minNanos.get();
+        return min != Long.MAX_VALUE ? toMillis(min) : 0;
+    }
+
+    /**
+     * Returns the longest recorded duration in milliseconds, or {@code 0} if no duration was recorded.
+     *
+     * @return the longest recorded duration in milliseconds.
+     */
+    public double getMaxMillis() {
+        return toMillis(maxNanos.get());
+    }
+
+    /**
+     * Returns the mean recorded duration in milliseconds, or {@code 0} if no duration was recorded.
+     *
+     * @return the mean recorded duration in milliseconds.
+     */
+    public double getMeanMillis() {
+        long count = getCount();
+        return count > 0 ? toMillis(totalNanos.get()) / count : 0;
+    }
+
+    /**
+     * Returns an upper bound of the specified quantile of the recorded durations in milliseconds, or {@code 0} if no
+     * duration was recorded.  The returned value is never greater than the {@link #getMaxMillis() maximum} duration.
+     *
+     * @param quantile the quantile, between {@code 0} and {@code 1}, e.g. {@code 0.99} for the 99th percentile.
+     * @return an upper bound of the specified quantile of the recorded durations in milliseconds.
+     */
+    public double getQuantileMillis(double quantile) {
+        Assert.isTrue(quantile >= 0 && quantile <= 1, "quantile must be between 0 and 1.");
+
+        long total = 0;
+        long[] counts = new long[BUCKET_COUNT];
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts[i] = buckets.get(i);
+            total += counts[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+
+        long rank = (long) Math.ceil(quantile * total);
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += counts[i];
+            if (seen >= rank && seen > 0) {
+                double upperBoundMillis = (1L << i) / 1000.0;
+                return Math.min(upperBoundMillis, getMaxMillis());
+            }
+        }
+        return getMaxMillis();
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / 1000000.0;
+    }
+
+    public String toString() {
+        return new StringBuilder("{\"count\": ").append(getCount())
+                .append(", \"meanMillis\": ").append(getMeanMillis())
+                .append(", \"p99Millis\": ").append(getQuantileMillis(0.99))
+                .append(", \"maxMillis\": ").append(getMaxMillis())
+                .append("}").toString();
+    }
+}
@@ -0,0 +1,276 @@
+/*
+ * Copyright 2014 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.metrics;
+
+import com.stormpath.sdk.lang.Assert;
+import com.stormpath.sdk.metrics.Counter;
+import com.stormpath.sdk.metrics.Gauge;
+import com.stormpath.sdk.metrics.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.StandardMBean;
+import java.lang.management.ManagementFactory;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A {@link DefaultMetricRegistry} that publishes every metric as a JMX MBean, so that the client's metrics can be
+ * monitored with JConsole, VisualVM or any JMX-capable monitoring agent without further configuration.
+ * <p/>
+ * MBeans are registered in the {@link #DEFAULT_DOMAIN com.stormpath.sdk} domain with names of the form
+ * {@code com.stormpath.sdk:client=1,type=http,name="GET /v1/accounts/{id}.latency"}, where {@code client} identifies
+ * the registry (and therefore the client) within the JVM and {@code type} is the first segment of the metric name.
+ * Failing to register an MBean is logged and never affects the client.
+ * <p/>
+ * Registered MBeans are retained by the {@code MBeanServer} for the life of the JVM unless they are
+ * {@link #unregisterAll() unregistered}.  Gauges should therefore be {@link WeakGauge}s, and a registry created for a
+ * single client should be {@link #unregisterAllWhenCollected(Object) bound} to it so that its MBeans are unregistered
+ * once the client is no longer used.
+ *
+ * @since 1.0.0
+ */
+public class JmxMetricRegistry extends DefaultMetricRegistry {
+
+    private static final Logger log = LoggerFactory.getLogger(JmxMetricRegistry.class);
+
+    public static final String DEFAULT_DOMAIN = "com.stormpath.sdk";
+
+    private static final AtomicInteger INSTANCE_COUNT = new AtomicInteger(0);
+
+    private static final ReferenceQueue<Object> COLLECTED_OWNERS = new ReferenceQueue<Object>();
+
+    //retains the owner references until their owners are collected:
+    private static final Set<OwnerReference> OWNERS = Collections.synchronizedSet(new HashSet<OwnerReference>());
+
+    private final MBeanServer mbeanServer;
+    private final String domain;
+    private final String id;
+
+    /**
+     * Creates a new registry publishing metrics to the platform {@code MBeanServer}.
+     */
+    public JmxMetricRegistry() {
+        this(ManagementFactory.getPlatformMBeanServer(), DEFAULT_DOMAIN);
+    }
+
+    /**
+     * Creates a new registry publishing metrics to the specified {@code MBeanServer}, in the specified domain.
+     *
+     * @param mbeanServer the {@code MBeanServer} to register MBeans with
+     * @param domain      the domain of the registered MBeans
+     */
+    public JmxMetricRegistry(MBeanServer mbeanServer, String domain) {
+        Assert.notNull(mbeanServer, "mbeanServer cannot be null.");
+        Assert.hasText(domain, "domain cannot be null or empty.");
+        this.mbeanServer = mbeanServer;
+        this.domain = domain;
+        this.id = String.valueOf(INSTANCE_COUNT.incrementAndGet());
+        expungeCollectedOwners();
+    }
+
+    /**
+     * Returns the JMX {@code ObjectName} of the MBean publishing the metric with the specified name.
+     *
+     * @param name the metric name
+     * @return the JMX {@code ObjectName} of the MBean publishing the metric with the specified name.
+     * @throws IllegalArgumentException if the name cannot be converted to an {@code ObjectName}.
+     */
+    public ObjectName getObjectName(String name) throws IllegalArgumentException {
+        int i = name.indexOf('.');
+        String type = i > 0 ? name.substring(0, i) : name;
+        try {
+            return new ObjectName(domain + ":client=" + id + ",type=" + ObjectName.quote(type) +
+                    ",name=" + ObjectName.quote(name));
+        } catch (Exception e) {
+            throw new IllegalArgumentException("Invalid metric name [" + name + "]: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Unregisters all MBeans of this registry once the specified owner - typically the client the metrics belong to -
+     * has been garbage collected.  Collected owners are detected whenever a {@code JmxMetricRegistry} is created or
+     * registers a metric, so that no background thread is needed.
+     *
+     * @param owner the object whose lifetime bounds the lifetime of this registry's MBeans
+     */
+    public void unregisterAllWhenCollected(Object owner) {
+        Assert.notNull(owner, "owner cannot be null.");
+        OWNERS.add(new OwnerReference(owner, this));
+    }
+
+    private static void expungeCollectedOwners() {
+        Reference<?> ref;
+        while ((ref = COLLECTED_OWNERS.poll()) != null) {
+            OwnerReference owner = (OwnerReference) ref;
+            OWNERS.remove(owner);
+            owner.registry.unregisterAll();
+        }
+    }
+
+    @Override
+    protected void onRegistered(String name, Object metric) {
+        expungeCollectedOwners();
+        try {
+            ObjectName objectName = getObjectName(name);
+            if (mbeanServer.isRegistered(objectName)) {
+                mbeanServer.unregisterMBean(objectName);
+            }
+            mbeanServer.registerMBean(toMBean(metric), objectName);
+        } catch (Exception e) {
+            log.debug("Unable to register MBean for metric '{}': {}", name, e.getMessage());
+        }
+    }
+
+    @Override
+    protected void onRemoved(String name, Object metric) {
+        try {
+            ObjectName objectName = getObjectName(name);
+            if (mbeanServer.isRegistered(objectName)) {
+                mbeanServer.unregisterMBean(objectName);
+            }
+        } catch (Exception e) {
+            log.debug("Unable to unregister MBean for metric '{}': {}", name, e.getMessage());
+        }
+    }
+
+    /**
+     * Unregisters the MBeans of all metrics of this registry, for example when the client is no longer used.
+     */
+    public void unregisterAll() {
+        for (String name : getMetrics().keySet()) {
+            onRemoved(name, null);
+        }
+    }
+
+    private static StandardMBean toMBean(final Object metric) throws Exception {
+        if (metric instanceof Counter) {
+            return new StandardMBean(new CounterMBean() {
+                @Override
+                public long getCount() {
+                    return ((Counter) metric).getCount();
+                }
+            }, CounterMBean.class);
+        }
+        if (metric instanceof DefaultTimer) {
+            final DefaultTimer timer = (DefaultTimer) metric;
+            return new StandardMBean(new TimerMBean() {
+                @Override
+                public long getCount() {
+                    return timer.getCount();
+                }
+
+                @Override
+                public double getMinMillis() {
+                    return timer.getMinMillis();
+                }
+
+                @Override
+                public double getMaxMillis() {
+                    return timer.getMaxMillis();
+                }
+
+                @Override
+                public double getMeanMillis() {
+                    return timer.getMeanMillis();
+                }
+
+                @Override
+                public double get50thPercentileMillis() {
+                    return timer.getQuantileMillis(0.5);
+                }
+
+                @Override
+                public double get95thPercentileMillis() {
+                    return timer.getQuantileMillis(0.95);
+                }
+
+                @Override
+                public double get99thPercentileMillis() {
+                    return timer.getQuantileMillis(0.99);
+                }
+            }, TimerMBean.class);
+        }
+        if (metric instanceof Timer) {
+            return new StandardMBean(new CounterMBean() {
+                @Override
+                public long getCount() {
+                    return ((Timer) metric).getCount();
+                }
+            }, CounterMBean.class);
+        }
+        return new StandardMBean(new GaugeMBean() {
+            @Override
+            public double getValue() {
+                Object value = ((Gauge) metric).getValue();
+                return value instanceof Number ? ((Number) value).doubleValue() : Double.NaN;
+            }
+        }, GaugeMBean.class);
+    }
+
+    private static class OwnerReference extends WeakReference<Object> {
+
+        private final JmxMetricRegistry registry;
+
+        private OwnerReference(Object owner, JmxMetricRegistry registry) {
+            super(owner, COLLECTED_OWNERS);
+            this.registry = registry;
+        }
+    }
+
+    /**
+     * The management interface of a {@link Counter}.
+     */
+    public interface CounterMBean {
+
+        long getCount();
+    }
+
+    /**
+     * The management interface of a {@link DefaultTimer}.  Durations are expressed in milliseconds.
+     */
+    public interface TimerMBean {
+
+        long getCount();
+
+        double getMinMillis();
+
+        double getMaxMillis();
+
+        double getMeanMillis();
+
+        double get50thPercentileMillis();
+
+        double get95thPercentileMillis();
+
+        double get99thPercentileMillis();
+    }
+
+    /**
+     * The management interface of a numeric {@link Gauge}.
+     */
+    public interface GaugeMBean {
+
+        double getValue();
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2014 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.metrics;
+
+import com.stormpath.sdk.lang.Assert;
+import com.stormpath.sdk.metrics.Gauge;
+
+import java.lang.ref.WeakReference;
+
+/**
+ * A {@link Gauge} reading its value from a source object it only references weakly, so that registering the gauge
+ * (for example as a platform MBean) never prevents the source - a cache or a request executor - from being garbage
+ * collected.  Once the source has been collected, the gauge's value is {@code null}.
+ *
+ * @param <S> the type of the source object
+ * @param <T> the type of the value
+ * @since 1.0.0
+ */
+public abstract class WeakGauge<S, T> implements Gauge<T> {
+
+    private final WeakReference<S> source;
+
+    protected WeakGauge(S source) {
+        Assert.notNull(source, "source cannot be null.");
+        this.source = new WeakReference<S>(source);
+    }
+
+    @Override
+    public T getValue() {
+        S s = source.get();
+        return s != null ? getValue(s) : null;
+    }
+
+    /**
+     * Returns {@code true} if the source of this gauge has been garbage collected.
+     *
+     * @return {@code true} if the source of this gauge has been garbage collected.
+     */
+    public boolean isCleared() {
+        return source.get() == null;
+    }
+
+    /**
+     * Returns the value of this gauge read from the specified source.
+     *
+     * @param source the source of this gauge
+     * @return the value of this gauge read from the specified source.
+     */
+    protected abstract T getValue(S source);
+}
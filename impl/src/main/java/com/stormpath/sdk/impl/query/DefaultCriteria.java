@@ -36,6 +36,7 @@ public class DefaultCriteria<T extends Criteria<T>, O extends Options> implement
     protected final O options;
     protected Integer limit;
     protected Integer offset;
+    protected Integer prefetch; //@since 1.0.0
 
     protected int currentOrderIndex = -1; //used for order clause building
 
@@ -130,6 +131,21 @@ public class DefaultCriteria<T extends Criteria<T>, O extends Options> implement
         return offset;
     }
 
+    /**
+     * @since 1.0.0
+     */
+    public T withPrefetch(int pages) {
+        this.prefetch = Pagination.sanitizePrefetch(pages);
+        return (T) this;
+    }
+
+    /**
+     * @since 1.0.0
+     */
+    public Integer getPrefetch() {
+        return prefetch;
+    }
+
     public boolean isEmpty() {
         return options.isEmpty() && criterionEntries.isEmpty() && orderEntries.isEmpty() && (offset == null || offset == 0) && (limit == null || limit == 0);
     }
@@ -23,7 +23,8 @@ public enum Pagination {
     DEFAULT_LIMIT(25),
     DEFAULT_OFFSET(0),
     MAX_LIMIT(100),
-    MIN_LIMIT(1);
+    MIN_LIMIT(1),
+    MAX_PREFETCH_PAGES(10); //@since 1.0.0
 
     private int value;
 
@@ -41,6 +42,15 @@ public enum Pagination {
         return limit;
     }
 
+    /**
+     * @since 1.0.0
+     */
+    static int sanitizePrefetch(int pages) {
+        pages = Math.min(pages, MAX_PREFETCH_PAGES.getValue());
+        pages = Math.max(pages, 0);
+        return pages;
+    }
+
     static int sanitizeOffset(int offset) {
         offset = Math.min(offset, Integer.MAX_VALUE);
         offset = Math.max(offset, DEFAULT_OFFSET.getValue());
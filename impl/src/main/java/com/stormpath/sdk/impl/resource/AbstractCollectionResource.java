@@ -16,8 +16,11 @@
 package com.stormpath.sdk.impl.resource;
 
 import com.stormpath.sdk.impl.ds.InternalDataStore;
+import com.stormpath.sdk.impl.util.DaemonThreadFactory;
+import com.stormpath.sdk.lang.Assert;
 import com.stormpath.sdk.resource.CollectionResource;
 import com.stormpath.sdk.resource.Resource;
+import com.stormpath.sdk.resource.ResourceVisitor;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -25,8 +28,15 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
+import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * @since 0.2
@@ -40,6 +50,13 @@ public abstract class AbstractCollectionResource<T extends Resource> extends Abs
 
     private final Map<String, Object> queryParams;
 
+    /**
+     * The number of pages to request ahead of the page being iterated, or {@code 0} to disable prefetching.
+     *
+     * @since 1.0.0
+     */
+    private volatile int prefetchPageCount = 0;
+
     protected AbstractCollectionResource(InternalDataStore dataStore) {
         super(dataStore);
         this.queryParams = Collections.emptyMap();
@@ -74,6 +91,30 @@ public abstract class AbstractCollectionResource<T extends Resource> extends Abs
         return getInt(SIZE);
     }
 
+    /**
+     * Returns the number of pages requested in the background, ahead of the page currently being iterated, by
+     * this collection's {@link #iterator() iterators}.  {@code 0} indicates that prefetching is disabled.
+     *
+     * @return the number of pages requested ahead of the page currently being iterated.
+     * @since 1.0.0
+     */
+    public int getPrefetchPageCount() {
+        return prefetchPageCount;
+    }
+
+    /**
+     * Sets the number of pages requested in the background, ahead of the page currently being iterated, by this
+     * collection's {@link #iterator() iterators}.  {@code 0} disables prefetching.
+     *
+     * @param prefetchPageCount the number of pages to request ahead of the page currently being iterated.
+     * @see com.stormpath.sdk.query.Criteria#withPrefetch(int)
+     * @since 1.0.0
+     */
+    public void setPrefetchPageCount(int prefetchPageCount) {
+        Assert.isTrue(prefetchPageCount >= 0, "prefetchPageCount cannot be a negative number.");
+        this.prefetchPageCount = prefetchPageCount;
+    }
+
     protected abstract Class<T> getItemType();
 
     @SuppressWarnings("unchecked")
@@ -120,6 +161,76 @@ public abstract class AbstractCollectionResource<T extends Resource> extends Abs
         return new PaginatedIterator<T>(this);
     }
 
+    /**
+     * @since 1.0.0
+     */
+    @Override
+    public void forEach(ResourceVisitor<? super T> visitor, int parallelism) {
+        Assert.notNull(visitor, "visitor cannot be null.");
+        Assert.isTrue(parallelism > 0, "parallelism must be greater than zero.");
+
+        Page<T> firstPage = getCurrentPage();
+        int pageLimit = firstPage.getLimit();
+        int size = firstPage.getSize();
+        int nextOffset = firstPage.getOffset() + pageLimit;
+
+        if (parallelism == 1 || pageLimit <= 0 || size <= 0) {
+            //nothing to split - walk the collection sequentially:
+            for (T item : this) {
+                visitor.visit(item);
+            }
+            return;
+        }
+
+        int remainingPages = nextOffset < size ? (size - nextOffset + pageLimit - 1) / pageLimit : 0;
+        int workerCount = Math.min(parallelism, remainingPages);
+
+        if (workerCount == 0) {
+            visit(firstPage.getItems(), visitor);
+            return;
+        }
+
+        PageTraversal traversal = new PageTraversal(visitor, nextOffset, pageLimit, size);
+
+        ExecutorService executor =
+                Executors.newFixedThreadPool(workerCount, new DaemonThreadFactory("stormpath-collection-traversal"));
+        try {
+            List<Future<?>> futures = new ArrayList<Future<?>>(workerCount);
+            for (int i = 0; i < workerCount; i++) {
+                futures.add(executor.submit(traversal));
+            }
+
+            //visit the page we already have while the workers fetch the rest:
+            try {
+                visit(firstPage.getItems(), visitor);
+            } catch (Throwable t) {
+                traversal.fail(t);
+            }
+
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    traversal.fail(e);
+                    break;
+                } catch (ExecutionException e) {
+                    traversal.fail(e.getCause());
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        traversal.rethrowFailure();
+    }
+
+    private void visit(Collection<T> items, ResourceVisitor<? super T> visitor) {
+        for (T item : items) {
+            visitor.visit(item);
+        }
+    }
+
     private Collection<T> toResourceList(Collection vals, Class<T> itemType) {
 
         List<T> list = new ArrayList<T>(vals.size());
@@ -145,12 +256,82 @@ public abstract class AbstractCollectionResource<T extends Resource> extends Abs
         private Iterator<T> currentPageIterator;
         private int currentItemIndex;
 
+        //@since 1.0.0: pages requested ahead of the current page, in offset order:
+        private final int prefetchPageCount;
+        private final LinkedList<PrefetchedPage> prefetchedPages;
+        private int nextPrefetchOffset;
+
         private PaginatedIterator(AbstractCollectionResource<T> resource) {
             //We get a new resource in order to have different iterator instances: issue 62 (https://github.com/stormpath/stormpath-sdk-java/issues/62)
             this.resource = getDataStore().getResource(resource.getHref(), resource.getClass(), resource.queryParams);
             this.currentPage = this.resource.getCurrentPage();
             this.currentPageIterator = this.currentPage.getItems().iterator();
             this.currentItemIndex = 0;
+
+            this.prefetchPageCount = resource.getPrefetchPageCount();
+            this.prefetchedPages = new LinkedList<PrefetchedPage>();
+            this.nextPrefetchOffset = this.currentPage.getOffset() + this.currentPage.getLimit();
+            prefetch();
+        }
+
+        /**
+         * Requests pages ahead of the current page until either {@link #prefetchPageCount} pages are outstanding or
+         * the collection's {@code size} has been reached.  If the collection size is not known, nothing is prefetched
+         * to avoid requesting pages that do not exist.
+         *
+         * @since 1.0.0
+         */
+        @SuppressWarnings("unchecked")
+        private void prefetch() {
+            int pageLimit = currentPage.getLimit();
+            int size = currentPage.getSize();
+
+            if (prefetchPageCount <= 0 || pageLimit <= 0 || size <= 0) {
+                return;
+            }
+
+            while (prefetchedPages.size() < prefetchPageCount && nextPrefetchOffset < size) {
+                Map<String, Object> queryParams = new LinkedHashMap<String, Object>(resource.queryParams);
+                queryParams.put(OFFSET.getName(), nextPrefetchOffset);
+                queryParams.put(LIMIT.getName(), pageLimit);
+
+                Future<AbstractCollectionResource> future = (Future<AbstractCollectionResource>)
+                        getDataStore().getResourceAsync(resource.getHref(), resource.getClass(), queryParams);
+
+                prefetchedPages.add(new PrefetchedPage(nextPrefetchOffset, pageLimit, future));
+                nextPrefetchOffset += pageLimit;
+            }
+        }
+
+        /**
+         * Returns the collection page at the specified offset, using a prefetched page if one is available, or
+         * otherwise querying the server synchronously.
+         *
+         * @since 1.0.0
+         */
+        @SuppressWarnings("unchecked")
+        private AbstractCollectionResource getPage(int offset, int pageLimit) {
+
+            PrefetchedPage prefetched = prefetchedPages.peek();
+
+            if (prefetched != null && prefetched.offset == offset && prefetched.limit == pageLimit) {
+                prefetchedPages.poll();
+                return prefetched.get();
+            }
+
+            //the prefetched pages (if any) no longer line up with the iteration - discard them and fall back to a
+            //synchronous request:
+            for (PrefetchedPage page : prefetchedPages) {
+                page.future.cancel(false);
+            }
+            prefetchedPages.clear();
+            nextPrefetchOffset = offset + pageLimit;
+
+            Map<String, Object> queryParams = new LinkedHashMap<String, Object>(resource.queryParams);
+            queryParams.put(OFFSET.getName(), offset);
+            queryParams.put(LIMIT.getName(), pageLimit);
+
+            return getDataStore().getResource(resource.getHref(), resource.getClass(), queryParams);
         }
 
         @SuppressWarnings("unchecked")
@@ -166,7 +347,9 @@ public abstract class AbstractCollectionResource<T extends Resource> extends Abs
             if (!hasNext && exhaustedLimit) {
 
                 //If we have already exhausted the whole collection size there is no need to contact the backend again: https://github.com/stormpath/stormpath-sdk-java/issues/161
-                boolean exhaustedSize = ((currentPage.getOffset() + 1) * pageLimit == getSize());
+                //(a size of zero means the server did not report the collection size, so it cannot be relied upon):
+                int size = currentPage.getSize();
+                boolean exhaustedSize = size > 0 && currentPage.getOffset() + pageLimit >= size;
                 if (!exhaustedSize) {
 
                     //if we're done with the current page, and we've exhausted the page limit (i.e. we've read a
@@ -177,12 +360,7 @@ public abstract class AbstractCollectionResource<T extends Resource> extends Abs
                     //query for the next page (move the offset up):
                     int offset = currentPage.getOffset() + pageLimit;
 
-                    Map<String, Object> queryParams = new LinkedHashMap<String, Object>(resource.queryParams);
-                    queryParams.put(OFFSET.getName(), offset);
-                    queryParams.put(LIMIT.getName(), pageLimit);
-
-                    AbstractCollectionResource nextResource =
-                            getDataStore().getResource(resource.getHref(), resource.getClass(), queryParams);
+                    AbstractCollectionResource nextResource = getPage(offset, pageLimit);
                     Page<T> nextPage = nextResource.getCurrentPage();
                     Iterator<T> nextIterator = nextPage.getItems().iterator();
 
@@ -193,6 +371,8 @@ public abstract class AbstractCollectionResource<T extends Resource> extends Abs
                         this.currentPage = nextPage;
                         this.currentPageIterator = nextIterator;
                         this.currentItemIndex = 0;
+                        //keep the prefetch window full:
+                        prefetch();
                     }
                 }
             }
@@ -213,6 +393,105 @@ public abstract class AbstractCollectionResource<T extends Resource> extends Abs
         }
     }
 
+    /**
+     * A worker task used by {@link #forEach(ResourceVisitor, int)}: each worker repeatedly claims the next unclaimed
+     * page offset, fetches that page and visits its items, until the collection size is reached or any worker fails.
+     *
+     * @since 1.0.0
+     */
+    private class PageTraversal implements Runnable {
+
+        private final ResourceVisitor<? super T> visitor;
+        private final AtomicInteger nextOffset;
+        private final int pageLimit;
+        private final int size;
+        private final AtomicReference<Throwable> failure;
+
+        private PageTraversal(ResourceVisitor<? super T> visitor, int startOffset, int pageLimit, int size) {
+            this.visitor = visitor;
+            this.nextOffset = new AtomicInteger(startOffset);
+            this.pageLimit = pageLimit;
+            this.size = size;
+            this.failure = new AtomicReference<Throwable>();
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public void run() {
+            while (failure.get() == null && !Thread.currentThread().isInterrupted()) {
+
+                int offset = nextOffset.getAndAdd(pageLimit);
+                if (offset >= size) {
+                    return;
+                }
+
+                Map<String, Object> queryParams = new LinkedHashMap<String, Object>(AbstractCollectionResource.this.queryParams);
+                queryParams.put(OFFSET.getName(), offset);
+                queryParams.put(LIMIT.getName(), pageLimit);
+
+                try {
+                    AbstractCollectionResource<T> page =
+                            getDataStore().getResource(getHref(), AbstractCollectionResource.this.getClass(), queryParams);
+                    visit(page.getCurrentPage().getItems(), visitor);
+                } catch (Throwable t) {
+                    fail(t);
+                    return;
+                }
+            }
+        }
+
+        private void fail(Throwable t) {
+            failure.compareAndSet(null, t);
+        }
+
+        private void rethrowFailure() {
+            Throwable t = failure.get();
+            if (t == null) {
+                return;
+            }
+            if (t instanceof RuntimeException) {
+                throw (RuntimeException) t;
+            }
+            if (t instanceof Error) {
+                throw (Error) t;
+            }
+            throw new IllegalStateException("Unable to traverse collection " + getHref() + ": " + t.getMessage(), t);
+        }
+    }
+
+    /**
+     * A page that has been requested in the background ahead of the page currently being iterated.
+     *
+     * @since 1.0.0
+     */
+    private static class PrefetchedPage {
+
+        private final int offset;
+        private final int limit;
+        private final Future<AbstractCollectionResource> future;
+
+        private PrefetchedPage(int offset, int limit, Future<AbstractCollectionResource> future) {
+            this.offset = offset;
+            this.limit = limit;
+            this.future = future;
+        }
+
+        private AbstractCollectionResource get() {
+            try {
+                return future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for collection page at offset " + offset + ".", e);
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                throw new IllegalStateException("Unable to retrieve collection page at offset " + offset + ".", cause);
+            }
+        }
+    }
+
     private static class DefaultPage<T> implements Page<T> {
 
         private final int offset;
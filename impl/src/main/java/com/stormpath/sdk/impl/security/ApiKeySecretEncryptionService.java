@@ -15,6 +15,7 @@
  */
 package com.stormpath.sdk.impl.security;
 
+import com.stormpath.sdk.impl.cache.BoundedCache;
 import com.stormpath.sdk.impl.util.Base64;
 import com.stormpath.sdk.lang.Assert;
 
@@ -25,9 +26,19 @@ import javax.crypto.spec.IvParameterSpec;
 import javax.crypto.spec.PBEKeySpec;
 import javax.crypto.spec.SecretKeySpec;
 import java.nio.charset.Charset;
+import java.security.MessageDigest;
 import java.security.spec.KeySpec;
+import java.util.Arrays;
 
 /**
+ * Decrypts API Key secrets encrypted by the Stormpath API server with an AES key derived (via PBKDF2) from the
+ * client's own API Key secret.
+ * <p/>
+ * Key derivation is intentionally expensive, so derived keys are retained in a small bounded cache keyed by
+ * (password, salt, iterations, key size); the password itself is only retained as a SHA-256 digest.  {@code Cipher}
+ * instances are likewise reused per thread.  As a result, instances of this class are cheap to create and
+ * decryption of a cached API Key secret does not repeat key derivation.
+ *
  * @since 1.0.RC
  */
 public class ApiKeySecretEncryptionService implements EncryptionService {
@@ -38,12 +49,41 @@ public class ApiKeySecretEncryptionService implements EncryptionService {
 
     private static final int BITS_PER_BYTE = 8;
 
+    private static final String CIPHER_TRANSFORMATION = "AES/CBC/PKCS5Padding";
+
+    /**
+     * @since 1.0.0
+     */
+    private static final int DERIVED_KEY_CACHE_SIZE = 256;
+
+    /**
+     * Derived keys, shared by all instances.
+     *
+     * @since 1.0.0
+     */
+    private static final BoundedCache<DerivedKeyId, SecretKey> DERIVED_KEYS =
+            new BoundedCache<DerivedKeyId, SecretKey>(ApiKeySecretEncryptionService.class.getName(), DERIVED_KEY_CACHE_SIZE);
+
+    /**
+     * {@code Cipher} instances are not thread-safe, but are expensive enough to look up that one is retained per thread.
+     *
+     * @since 1.0.0
+     */
+    private static final ThreadLocal<Cipher> CIPHERS = new ThreadLocal<Cipher>() {
+        @Override
+        protected Cipher initialValue() {
+            try {
+                return Cipher.getInstance(CIPHER_TRANSFORMATION);
+            } catch (Exception e) {
+                throw new IllegalStateException("Unable to obtain a " + CIPHER_TRANSFORMATION + " cipher.", e);
+            }
+        }
+    };
+
     private final SecretKey key;
 
     private final Builder builder;
 
-    private final Cipher cipher;
-
     private ApiKeySecretEncryptionService(Builder builder) {
 
         char[] password = builder.password;
@@ -64,13 +104,13 @@ public class ApiKeySecretEncryptionService implements EncryptionService {
 
         Assert.state(iterations > 0, "the number of iterations must be greater than zero.");
 
-        key = initKey(password, Base64.decodeBase64(base64Salt), keySize, iterations);
-
-        try {
-            cipher = Cipher.getInstance("AES/CBC/PKCS5Padding");
-        } catch (Exception e) {
-            throw new RuntimeException(e);
+        DerivedKeyId keyId = new DerivedKeyId(password, base64Salt, keySize, iterations);
+        SecretKey derived = DERIVED_KEYS.get(keyId);
+        if (derived == null) {
+            derived = initKey(password, Base64.decodeBase64(base64Salt), keySize, iterations);
+            DERIVED_KEYS.put(keyId, derived);
         }
+        key = derived;
     }
 
     private SecretKey initKey(char[] password, byte[] salt, int keySize, int iterations) {
@@ -115,6 +155,7 @@ public class ApiKeySecretEncryptionService implements EncryptionService {
             int encryptedSize = encryptedValue.length - ivByteSize;
             System.arraycopy(encryptedValue, ivByteSize, rawEncryptedValue, 0, encryptedSize);
 
+            Cipher cipher = CIPHERS.get();
             cipher.init(Cipher.DECRYPT_MODE, key, new IvParameterSpec(iv));
             byte[] plainTxtBytes = cipher.doFinal(rawEncryptedValue);
 
@@ -126,6 +167,60 @@ public class ApiKeySecretEncryptionService implements EncryptionService {
 
     }
 
+    /**
+     * Identifies a derived key by the inputs to the derivation function.  The password is only retained as a digest.
+     *
+     * @since 1.0.0
+     */
+    private static final class DerivedKeyId {
+
+        private final byte[] passwordDigest;
+        private final byte[] base64Salt;
+        private final int keySize;
+        private final int iterations;
+        private final int hashCode;
+
+        private DerivedKeyId(char[] password, byte[] base64Salt, int keySize, int iterations) {
+            this.passwordDigest = digest(password);
+            this.base64Salt = base64Salt.clone();
+            this.keySize = keySize;
+            this.iterations = iterations;
+
+            int h = Arrays.hashCode(passwordDigest);
+            h = 31 * h + Arrays.hashCode(this.base64Salt);
+            h = 31 * h + keySize;
+            h = 31 * h + iterations;
+            this.hashCode = h;
+        }
+
+        private static byte[] digest(char[] password) {
+            try {
+                MessageDigest md = MessageDigest.getInstance("SHA-256");
+                return md.digest(new String(password).getBytes(UTF_8));
+            } catch (Exception e) {
+                throw new IllegalStateException("Unable to digest the encryption password.", e);
+            }
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof DerivedKeyId)) {
+                return false;
+            }
+            DerivedKeyId other = (DerivedKeyId) o;
+            return keySize == other.keySize && iterations == other.iterations &&
+                    Arrays.equals(passwordDigest, other.passwordDigest) && Arrays.equals(base64Salt, other.base64Salt);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
     public static class Builder {
 
         private char[] password;
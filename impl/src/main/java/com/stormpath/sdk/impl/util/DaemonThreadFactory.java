@@ -0,0 +1,51 @@
+/*
+ * Copyright 2014 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.util;
+
+import com.stormpath.sdk.lang.Assert;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A {@link ThreadFactory} that creates named daemon threads.  SDK background threads must never prevent the host
+ * application's JVM from shutting down, so every thread created by this factory is marked as a daemon thread.
+ * <p/>
+ * Thread names are of the form {@code namePrefix-N} where {@code N} is a monotonically increasing number, which makes
+ * SDK threads easy to identify in thread dumps.
+ *
+ * @since 1.0.0
+ */
+public class DaemonThreadFactory implements ThreadFactory {
+
+    private final String namePrefix;
+    private final AtomicInteger threadNumber = new AtomicInteger(1);
+
+    public DaemonThreadFactory(String namePrefix) {
+        Assert.hasText(namePrefix, "namePrefix cannot be null or empty.");
+        this.namePrefix = namePrefix;
+    }
+
+    @Override
+    public Thread newThread(Runnable r) {
+        Thread t = new Thread(r, namePrefix + "-" + threadNumber.getAndIncrement());
+        t.setDaemon(true);
+        if (t.getPriority() != Thread.NORM_PRIORITY) {
+            t.setPriority(Thread.NORM_PRIORITY);
+        }
+        return t;
+    }
+}
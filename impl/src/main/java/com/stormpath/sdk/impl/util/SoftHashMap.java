@@ -22,12 +22,11 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.Queue;
 import java.util.Set;
 import java.util.WeakHashMap;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentLinkedQueue;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 
 /**
@@ -44,7 +43,10 @@ import java.util.concurrent.locks.ReentrantLock;
  * <a href="http://www.javaspecialists.eu/archive/Issue015.html">publicly posted version (with their approval)</a>, with
  * continued modifications.  It was copied from the <a href="http://shiro.apache.org">Apache Shiro</a> framework.
  * <p/>
- * This implementation is thread-safe and usable in concurrent environments.
+ * This implementation is thread-safe and usable in concurrent environments.  Reads never block: the most recently
+ * accessed values are retained in lock-free ring buffers, striped by thread to avoid contention between cores.  Each
+ * stripe retains the full retention size, so that a thread always retains its own most recently accessed values no
+ * matter how many stripes there are (see {@link #SoftHashMap(int)}).
  *
  * @since 0.8
  * @see SoftReference
@@ -69,10 +71,14 @@ public class SoftHashMap<K, V> implements Map<K, V> {
     private final int RETENTION_SIZE;
 
     /**
-     * The FIFO list of strong references (not to be garbage collected), order of last access.
+     * Ring buffers of strong references (not to be garbage collected), in approximate order of last access.  Each
+     * thread records accesses in a single stripe (selected by thread id) so that concurrent readers on different cores
+     * do not contend with each other.  Every stripe holds up to {@link #RETENTION_SIZE} references.
+     *
+     * @since 1.0.0
      */
-    private final Queue<V> strongReferences; //guarded by 'strongReferencesLock'
-    private final ReentrantLock strongReferencesLock;
+    private final RetentionStripe<V>[] strongReferences;
+    private final int strongReferencesMask;
 
     /**
      * Reference queue for cleared SoftReference objects.
@@ -99,7 +105,9 @@ public class SoftHashMap<K, V> implements Map<K, V> {
      * <p/>
      * Note that in a highly concurrent environments the exact total number of strong references may differ slightly
      * than the actual <code>retentionSize</code> value.  This number is intended to be a best-effort retention low
-     * water mark.
+     * water mark: the (n) most recent entries accessed by any one thread are always retained, and since accesses are
+     * recorded in one stripe per core (at most), up to (n) entries per stripe may be retained when many threads
+     * access the map.
      *
      * @param retentionSize the total number of most recent entries in the map that will be strongly referenced
      *                      (retained), preventing them from being eagerly garbage collected by the JVM.
@@ -109,9 +117,20 @@ public class SoftHashMap<K, V> implements Map<K, V> {
         super();
         RETENTION_SIZE = Math.max(0, retentionSize);
         queue = new ReferenceQueue<V>();
-        strongReferencesLock = new ReentrantLock();
         map = new ConcurrentHashMap<K, SoftValue<V, K>>();
-        strongReferences = new ConcurrentLinkedQueue<V>();
+
+        //one stripe per core (a power of two for cheap selection), but never more stripes than retained entries.  Each
+        //stripe retains the full retention size: splitting it would leave a single thread with only its share of it.
+        int stripeCount = 1;
+        int cores = Runtime.getRuntime().availableProcessors();
+        while (stripeCount < cores && (stripeCount << 1) <= RETENTION_SIZE) {
+            stripeCount <<= 1;
+        }
+        strongReferences = new RetentionStripe[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            strongReferences[i] = new RetentionStripe<V>(RETENTION_SIZE);
+        }
+        strongReferencesMask = stripeCount - 1;
     }
 
     /**
@@ -136,7 +155,9 @@ public class SoftHashMap<K, V> implements Map<K, V> {
      * <p/>
      * Note that in a highly concurrent environments the exact total number of strong references may differ slightly
      * than the actual <code>retentionSize</code> value.  This number is intended to be a best-effort retention low
-     * water mark.
+     * water mark: the (n) most recent entries accessed by any one thread are always retained, and since accesses are
+     * recorded in one stripe per core (at most), up to (n) entries per stripe may be retained when many threads
+     * access the map.
      *
      * @param source        the backing map to populate this {@code SoftHashMap}
      * @param retentionSize the total number of most recent entries in the map that will be strongly referenced
@@ -169,23 +190,11 @@ public class SoftHashMap<K, V> implements Map<K, V> {
     }
 
     private void addToStrongReferences(V result) {
-        strongReferencesLock.lock();
-        try {
-            strongReferences.add(result);
-            trimStrongReferencesIfNecessary();
-        } finally {
-            strongReferencesLock.unlock();
-        }
-
-    }
-
-    //Guarded by the strongReferencesLock in the addToStrongReferences method
-
-    private void trimStrongReferencesIfNecessary() {
-        //trim the strong ref queue if necessary:
-        while (strongReferences.size() > RETENTION_SIZE) {
-            strongReferences.poll();
+        if (RETENTION_SIZE == 0) {
+            return;
         }
+        int stripe = (int) Thread.currentThread().getId() & strongReferencesMask;
+        strongReferences[stripe].add(result);
     }
 
     /**
@@ -266,11 +275,8 @@ public class SoftHashMap<K, V> implements Map<K, V> {
     }
 
     public void clear() {
-        strongReferencesLock.lock();
-        try {
-            strongReferences.clear();
-        } finally {
-            strongReferencesLock.unlock();
+        for (RetentionStripe<V> stripe : strongReferences) {
+            stripe.clear();
         }
         processQueue(); // throw out garbage collected values
         map.clear();
@@ -322,4 +328,35 @@ public class SoftHashMap<K, V> implements Map<K, V> {
         }
 
     }
+
+    /**
+     * A fixed-size ring buffer retaining strong references to the most recently added values.  Adding a value never
+     * blocks: the oldest value in the buffer is simply overwritten.
+     *
+     * @since 1.0.0
+     */
+    private static class RetentionStripe<V> {
+
+        private final AtomicReferenceArray<V> slots;
+        private final AtomicInteger cursor;
+
+        private RetentionStripe(int size) {
+            this.slots = new AtomicReferenceArray<V>(size);
+            this.cursor = new AtomicInteger(0);
+        }
+
+        private void add(V value) {
+            int size = slots.length();
+            if (size > 0) {
+                int i = (cursor.getAndIncrement() & Integer.MAX_VALUE) % size;
+                slots.lazySet(i, value);
+            }
+        }
+
+        private void clear() {
+            for (int i = 0; i < slots.length(); i++) {
+                slots.set(i, null);
+            }
+        }
+    }
 }
@@ -113,4 +113,24 @@ class DefaultAccountCriteriaTest {
         assertEquals c.toString(), expectedToString
         assertEquals queryString.toString(), expectedQueryString
     }
+
+    /**
+     * @since 1.0.0
+     */
+    @Test
+    void testWithPrefetch() {
+
+        def factory = new QueryStringFactory()
+
+        DefaultAccountCriteria c = (DefaultAccountCriteria) Accounts.criteria().limitTo(100).withPrefetch(50)
+
+        //prefetching is capped to bound the amount of memory held ahead of the caller:
+        assertEquals c.getPrefetch(), 10
+
+        //prefetching is a client-side concern only - it must never be sent to the server:
+        assertEquals factory.createQueryString(c).toString(), 'limit=100'
+
+        c.withPrefetch(-1)
+        assertEquals c.getPrefetch(), 0
+    }
 }
@@ -21,7 +21,17 @@ import com.stormpath.sdk.impl.resource.ArrayProperty
 import com.stormpath.sdk.impl.resource.IntegerProperty
 import org.testng.annotations.Test
 
+import com.stormpath.sdk.resource.ResourceVisitor
+
+import java.util.concurrent.Callable
+import java.util.concurrent.CopyOnWriteArrayList
+import java.util.concurrent.FutureTask
+
+import static org.easymock.EasyMock.createMock
 import static org.easymock.EasyMock.createStrictMock
+import static org.easymock.EasyMock.expect
+import static org.easymock.EasyMock.replay
+import static org.easymock.EasyMock.verify
 import static org.testng.Assert.assertEquals
 import static org.testng.Assert.assertTrue
 
@@ -50,4 +60,97 @@ class DefaultAccountListTest {
         assertEquals(propertyDescriptors.get("items").getType(), Account)
 
     }
+
+    /**
+     * @since 1.0.0
+     */
+    @Test
+    void testIteratorPrefetchesPagesWithinSize() {
+
+        def href = "https://api.stormpath.com/v1/directories/werw84u2834wejofe/accounts"
+        def internalDataStore = createStrictMock(InternalDataStore)
+        def accounts = (1..4).collect { createStrictMock(Account) }
+
+        def list = new DefaultAccountList(internalDataStore, [href: href])
+        list.setPrefetchPageCount(5)
+
+        def page1 = new DefaultAccountList(internalDataStore, [href: href, offset: 0, limit: 2, size: 4,
+                items: [[href: href + "/1"], [href: href + "/2"]]])
+        def page2 = new DefaultAccountList(internalDataStore, [href: href, offset: 2, limit: 2, size: 4,
+                items: [[href: href + "/3"], [href: href + "/4"]]])
+        def page2Future = new FutureTask(new Callable() {
+            Object call() { return page2 }
+        })
+        page2Future.run()
+
+        expect(internalDataStore.getResource(href, DefaultAccountList, [:])).andReturn(page1)
+        expect(internalDataStore.instantiate(Account, [href: href + "/1"])).andReturn(accounts[0])
+        expect(internalDataStore.instantiate(Account, [href: href + "/2"])).andReturn(accounts[1])
+        //only one page exists beyond the first, so only one page may be prefetched regardless of the prefetch count:
+        expect(internalDataStore.getResourceAsync(href, DefaultAccountList, [offset: 2, limit: 2])).andReturn(page2Future)
+        expect(internalDataStore.instantiate(Account, [href: href + "/3"])).andReturn(accounts[2])
+        expect(internalDataStore.instantiate(Account, [href: href + "/4"])).andReturn(accounts[3])
+
+        replay internalDataStore
+
+        def iterated = []
+        for (Account account : list) {
+            iterated << account
+        }
+
+        assertEquals(iterated, accounts)
+
+        verify internalDataStore
+    }
+
+    /**
+     * @since 1.0.0
+     */
+    @Test
+    void testForEachWithParallelism() {
+
+        def href = "https://api.stormpath.com/v1/directories/werw84u2834wejofe/accounts"
+        //pages are fetched concurrently, so the order of data store calls is not deterministic:
+        def internalDataStore = createMock(InternalDataStore)
+        def accounts = (1..5).collect { createStrictMock(Account) }
+
+        def list = new DefaultAccountList(internalDataStore, [href: href, offset: 0, limit: 2, size: 5,
+                items: [[href: href + "/1"], [href: href + "/2"]]])
+        def page2 = new DefaultAccountList(internalDataStore, [href: href, offset: 2, limit: 2, size: 5,
+                items: [[href: href + "/3"], [href: href + "/4"]]])
+        def page3 = new DefaultAccountList(internalDataStore, [href: href, offset: 4, limit: 2, size: 5,
+                items: [[href: href + "/5"]]])
+
+        (1..5).each { i ->
+            expect(internalDataStore.instantiate(Account, [href: href + "/" + i])).andReturn(accounts[i - 1])
+        }
+        expect(internalDataStore.getResource(href, DefaultAccountList, [offset: 2, limit: 2])).andReturn(page2)
+        expect(internalDataStore.getResource(href, DefaultAccountList, [offset: 4, limit: 2])).andReturn(page3)
+
+        replay internalDataStore
+
+        def visited = new CopyOnWriteArrayList()
+        list.forEach(new ResourceVisitor<Account>() {
+            void visit(Account account) {
+                visited.add(account)
+            }
+        }, 4)
+
+        assertEquals(visited.size(), 5)
+        assertTrue(visited.containsAll(accounts))
+
+        verify internalDataStore
+    }
+
+    /**
+     * @since 1.0.0
+     */
+    @Test(expectedExceptions = IllegalArgumentException)
+    void testForEachWithNonPositiveParallelism() {
+        def list = new DefaultAccountList(createStrictMock(InternalDataStore))
+        list.forEach(new ResourceVisitor<Account>() {
+            void visit(Account account) {
+            }
+        }, 0)
+    }
 }
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2014 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.cache
+
+import com.stormpath.sdk.impl.util.Duration
+import groovy.json.JsonSlurper
+import org.testng.annotations.Test
+
+import java.util.concurrent.TimeUnit
+
+import static org.testng.Assert.*
+
+/**
+ * @since 1.0.0
+ */
+class BoundedCacheTest {
+
+    @Test
+    void testPutAndGet() {
+        def cache = new BoundedCache('foo', 10)
+        assertEquals cache.name, 'foo'
+        assertNull cache.put('key', 'value')
+        assertEquals cache.get('key'), 'value'
+        assertEquals cache.put('key', 'value2'), 'value'
+        assertEquals cache.remove('key'), 'value2'
+        assertNull cache.get('key')
+        assertEquals cache.hitCount, 2
+        assertEquals cache.missCount, 1
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException)
+    void testNonPositiveMaxEntries() {
+        new BoundedCache('foo', 0)
+    }
+
+    @Test
+    void testEvictsLeastRecentlyUsed() {
+        //a single entry per segment makes eviction order deterministic:
+        def cache = new BoundedCache('foo', 1)
+
+        cache.put('a', 1)
+        cache.put('b', 2)
+
+        assertEquals cache.size(), 1
+        assertNull cache.get('a')
+        assertEquals cache.get('b'), 2
+        assertEquals cache.evictionCount, 1
+    }
+
+    @Test
+    void testSizeIsBounded() {
+        def cache = new BoundedCache('foo', 100)
+
+        for (int i = 0; i < 10000; i++) {
+            cache.put('key' + i, i)
+        }
+
+        //each of the 16 segments retains at most ceil(100 / 16) = 7 entries:
+        assertTrue cache.size() <= 112
+        assertEquals cache.evictionCount, 10000 - cache.size()
+    }
+
+    @Test
+    void testTimeToLive() {
+        def cache = new BoundedCache('foo', 10, new Duration(10, TimeUnit.MILLISECONDS), null)
+        cache.put('key', 'value')
+        Thread.sleep(20)
+        assertNull cache.get('key')
+        assertEquals cache.size(), 0
+    }
+
+    @Test
+    void testTimeToIdle() {
+        def cache = new BoundedCache('foo', 1, null, new Duration(10, TimeUnit.MILLISECONDS))
+        cache.put('a', 1)
+        Thread.sleep(20)
+        assertNull cache.get('a')
+        assertEquals cache.missCount, 1
+    }
+
+    @Test
+    void testTimeToLiveChanges() {
+        def cache = new BoundedCache('foo', 10, null, null)
+        cache.put('key', 'value')
+        Thread.sleep(20)
+        assertEquals cache.get('key'), 'value'
+
+        cache.setTimeToLive(new Duration(10, TimeUnit.MILLISECONDS))
+        assertNull cache.get('key')
+
+        cache.setTimeToLive(null)
+        cache.put('key', 'value')
+        Thread.sleep(20)
+        assertEquals cache.get('key'), 'value'
+    }
+
+    @Test
+    void testToString() {
+        def cache = new BoundedCache('foo', 10)
+        cache.put('key', 'value')
+        def json = new JsonSlurper().parseText(cache.toString())
+        assertEquals json.name, 'foo'
+        assertEquals json.size, 1
+        assertEquals json.maxEntries, 10
+    }
+}
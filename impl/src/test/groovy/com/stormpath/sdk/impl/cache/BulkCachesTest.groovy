@@ -0,0 +1,78 @@
+/*
+ * Copyright 2014 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.cache
+
+import com.stormpath.sdk.cache.BulkCache
+import com.stormpath.sdk.cache.Cache
+import org.testng.annotations.Test
+
+import static org.easymock.EasyMock.*
+import static org.testng.Assert.*
+
+/**
+ * @since 1.0.0
+ */
+class BulkCachesTest {
+
+    @Test
+    void testBulkCacheOperationsAreUsed() {
+        def cache = createStrictMock(BulkCache)
+        def entries = [foo: 'bar', hello: 'world']
+
+        cache.putAll(entries)
+        expect(cache.getAll(['foo', 'hello'])).andReturn(entries)
+        cache.removeAll(['foo', 'hello'])
+
+        replay cache
+
+        BulkCaches.putAll(cache, entries)
+        assertEquals BulkCaches.getAll(cache, ['foo', 'hello']), entries
+        BulkCaches.removeAll(cache, ['foo', 'hello'])
+
+        verify cache
+    }
+
+    @Test
+    void testFallsBackToSingleEntryOperations() {
+        def cache = createStrictMock(Cache)
+
+        expect(cache.put('foo', 'bar')).andReturn(null)
+        expect(cache.put('hello', 'world')).andReturn(null)
+        expect(cache.get('foo')).andReturn('bar')
+        expect(cache.get('missing')).andReturn(null)
+        expect(cache.remove('foo')).andReturn('bar')
+
+        replay cache
+
+        BulkCaches.putAll(cache, [foo: 'bar', hello: 'world'])
+        assertEquals BulkCaches.getAll(cache, ['foo', 'missing']), [foo: 'bar']
+        BulkCaches.removeAll(cache, ['foo'])
+
+        verify cache
+    }
+
+    @Test
+    void testEmptyBatchesAreNotSent() {
+        def cache = createStrictMock(BulkCache)
+
+        replay cache
+
+        BulkCaches.putAll(cache, [:])
+        BulkCaches.removeAll(cache, [])
+
+        verify cache
+    }
+}
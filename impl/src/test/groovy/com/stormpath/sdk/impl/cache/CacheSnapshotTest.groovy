@@ -0,0 +1,255 @@
+/*
+ * Copyright 2014 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.cache
+
+import com.stormpath.sdk.account.Account
+import com.stormpath.sdk.api.ApiKey
+import com.stormpath.sdk.cache.Caches
+import com.stormpath.sdk.directory.Directory
+import com.stormpath.sdk.impl.ds.JacksonCacheValueCodec
+import com.stormpath.sdk.impl.util.Duration
+import org.testng.annotations.AfterMethod
+import org.testng.annotations.BeforeMethod
+import org.testng.annotations.Test
+
+import java.util.concurrent.Executor
+import java.util.concurrent.TimeUnit
+import java.util.zip.GZIPInputStream
+
+import static org.testng.Assert.*
+
+/**
+ * @since 1.0.0
+ */
+class CacheSnapshotTest {
+
+    private static final String ACCOUNT_REGION = Account.class.name
+    private static final String DIRECTORY_REGION = Directory.class.name
+    private static final String API_KEY_REGION = ApiKey.class.name
+
+    private File file
+
+    @BeforeMethod
+    void setUp() {
+        file = File.createTempFile('stormpath-cache', '.snapshot')
+        file.delete()
+    }
+
+    @AfterMethod
+    void tearDown() {
+        file.delete()
+    }
+
+    @Test
+    void testRoundTripKeepsCreationTime() {
+
+        def mgr = new DefaultCacheManager()
+        mgr.setDefaultTimeToLiveSeconds(3600)
+        mgr.setSnapshotFile(file)
+
+        long created = System.currentTimeMillis() - 60000
+        DefaultCache accounts = (DefaultCache) mgr.getCache(ACCOUNT_REGION)
+        accounts.put('https://api.stormpath.com/v1/accounts/1', [href: 'https://api.stormpath.com/v1/accounts/1',
+                email: 'jsmith@acme.com', balance: 12.5G, customData: [href: 'https://api.stormpath.com/v1/accounts/1/customData']], created)
+
+        assertEquals mgr.writeSnapshot(), 1
+        assertTrue file.isFile()
+
+        def restored = new DefaultCacheManager()
+        restored.setDefaultTimeToLiveSeconds(3600)
+        restored.setSnapshotFile(file)
+        assertEquals restored.startSnapshots(), 1
+
+        def value = restored.getCache(ACCOUNT_REGION).get('https://api.stormpath.com/v1/accounts/1')
+        assertEquals value.email, 'jsmith@acme.com'
+        assertEquals value.balance, 12.5G
+        assertEquals value.customData.href, 'https://api.stormpath.com/v1/accounts/1/customData'
+
+        def creationTimes = []
+        CacheSnapshot.visitEntries(restored.getCache(ACCOUNT_REGION), new CacheEntryVisitor() {
+            @Override
+            void visit(Object key, Object v, long creationTimeMillis) {
+                creationTimes << creationTimeMillis
+            }
+        })
+        assertEquals creationTimes, [created]
+
+        //starting snapshots again must not restore the snapshot again:
+        assertEquals restored.startSnapshots(), 0
+    }
+
+    @Test
+    void testExpiredEntriesAreNotRestored() {
+
+        def mgr = new DefaultCacheManager()
+        mgr.setDefaultTimeToLiveSeconds(60)
+        mgr.setDefaultMaxEntries(100)
+        mgr.setSnapshotFile(file)
+
+        BoundedCache accounts = (BoundedCache) mgr.getCache(ACCOUNT_REGION)
+        accounts.put('fresh', [href: 'fresh'], System.currentTimeMillis() - 30000)
+        accounts.put('expired', [href: 'expired'], System.currentTimeMillis() - 120000)
+        mgr.getCache(DIRECTORY_REGION).put('directory', [href: 'directory'])
+
+        assertEquals mgr.writeSnapshot(), 2
+
+        //the snapshot is restored into a manager with a shorter timeToLive:
+        def restored = new DefaultCacheManager()
+        restored.setDefaultTimeToLiveSeconds(20)
+        restored.setSnapshotFile(file)
+        restored.startSnapshots()
+
+        assertNull restored.getCache(ACCOUNT_REGION).get('fresh')
+        assertNull restored.getCache(ACCOUNT_REGION).get('expired')
+        assertEquals restored.getCache(DIRECTORY_REGION).get('directory'), [href: 'directory']
+    }
+
+    @Test
+    void testSecretsAndUnselectedRegionsAreNotWritten() {
+
+        def mgr = new DefaultCacheManager()
+        mgr.setSnapshotFile(file)
+        mgr.setSnapshotRegions([ACCOUNT_REGION, API_KEY_REGION])
+
+        mgr.getCache(ACCOUNT_REGION).put('account', [href: 'account'])
+        mgr.getCache(ACCOUNT_REGION).put('notAMap', 'value')
+        mgr.getCache(API_KEY_REGION).put('apiKey', [href: 'apiKey', id: 'id', secret: 'encrypted'])
+        mgr.getCache(DIRECTORY_REGION).put('directory', [href: 'directory'])
+
+        assertEquals mgr.writeSnapshot(), 1
+
+        def restored = new DefaultCacheManager()
+        restored.setSnapshotFile(file)
+        restored.setSnapshotRegions([ACCOUNT_REGION, API_KEY_REGION, DIRECTORY_REGION])
+        assertEquals restored.startSnapshots(), 1
+
+        assertEquals restored.getCache(ACCOUNT_REGION).get('account'), [href: 'account']
+        assertNull restored.getCache(API_KEY_REGION).get('apiKey')
+        assertNull restored.getCache(DIRECTORY_REGION).get('directory')
+        assertFalse new GZIPInputStream(new FileInputStream(file)).getText('UTF-8').contains('encrypted')
+    }
+
+    @Test
+    void testEncodedValues() {
+
+        def codec = new JacksonCacheValueCodec()
+        def account = [href: 'account', email: 'jsmith@acme.com']
+
+        //without the codec, encoded values are skipped:
+        def mgr = new DefaultCacheManager()
+        mgr.setSnapshotFile(file)
+        mgr.getCache(ACCOUNT_REGION).put('account', codec.encode(account))
+        assertEquals mgr.writeSnapshot(), 0
+
+        //with it, they are decoded when written and encoded again when restored:
+        mgr.setSnapshotValueCodec(codec)
+        mgr.getCache(API_KEY_REGION).put('apiKey', codec.encode([href: 'apiKey', secret: 'encrypted']))
+        mgr.setSnapshotRegions([ACCOUNT_REGION, API_KEY_REGION])
+        assertEquals mgr.writeSnapshot(), 1
+        assertFalse new GZIPInputStream(new FileInputStream(file)).getText('UTF-8').contains('encrypted')
+
+        def restored = new DefaultCacheManager()
+        restored.setSnapshotFile(file)
+        restored.setSnapshotValueCodec(codec)
+        assertEquals restored.startSnapshots(), 1
+        restored.stopSnapshots()
+
+        def value = restored.getCache(ACCOUNT_REGION).get('account')
+        assertTrue value instanceof byte[]
+        assertEquals codec.decode(value), account
+    }
+
+    @Test
+    void testRefreshAheadRegion() {
+
+        def executor = new Executor() {
+            @Override
+            void execute(Runnable command) {
+                command.run()
+            }
+        }
+
+        def cache = new RefreshAheadCache(new DefaultCache('accounts'), new Duration(60, TimeUnit.SECONDS),
+                new Duration(10, TimeUnit.SECONDS), null, executor)
+        cache.put('account', [href: 'account'], System.currentTimeMillis() - 30000)
+        cache.put('expired', [href: 'expired'], System.currentTimeMillis() - 90000)
+
+        def keys = []
+        assertTrue CacheSnapshot.visitEntries(cache, new CacheEntryVisitor() {
+            @Override
+            void visit(Object key, Object value, long creationTimeMillis) {
+                keys << key
+                assertEquals value, [href: key]
+            }
+        })
+        assertEquals keys, ['account']
+    }
+
+    @Test
+    void testStopSnapshots() {
+
+        def mgr = new DefaultCacheManager()
+        mgr.setSnapshotFile(file)
+        mgr.setSnapshotIntervalSeconds(3600)
+        mgr.startSnapshots()
+
+        def executor = mgr.snapshotExecutor
+        Thread hook = mgr.snapshotShutdownHook
+        assertNotNull executor
+        assertNotNull hook
+
+        mgr.getCache(ACCOUNT_REGION).put('account', [href: 'account'])
+        mgr.stopSnapshots()
+
+        assertTrue executor.isShutdown()
+        assertNull mgr.snapshotExecutor
+        //the hook no longer retains the manager:
+        assertFalse Runtime.runtime.removeShutdownHook(hook)
+
+        //a final snapshot was written:
+        def restored = new DefaultCacheManager()
+        restored.setSnapshotFile(file)
+        assertEquals restored.startSnapshots(), 1
+        restored.stopSnapshots()
+
+        //stopping again has no effect:
+        mgr.stopSnapshots()
+    }
+
+    @Test
+    void testCorruptSnapshotIsIgnored() {
+
+        file.text = 'not a snapshot'
+
+        def mgr = new DefaultCacheManager()
+        mgr.setSnapshotFile(file)
+
+        assertEquals mgr.startSnapshots(), 0
+        assertNull mgr.getCache(ACCOUNT_REGION).get('account')
+    }
+
+    @Test
+    void testBuilder() {
+
+        def mgr = Caches.newCacheManager().withSnapshot(file, 30, TimeUnit.SECONDS).build() as DefaultCacheManager
+
+        assertEquals mgr.snapshotFile, file
+        assertEquals mgr.snapshotInterval, new Duration(30, TimeUnit.SECONDS)
+        assertEquals mgr.snapshotRegions, DefaultCacheManager.DEFAULT_SNAPSHOT_REGIONS
+
+        assertNull new DefaultCacheManager().snapshotFile
+    }
+}
@@ -65,6 +65,63 @@ class CachesTest {
         assertEquals cache.timeToIdle, defaultTti
     }
 
+    /**
+     * @since 1.0.0
+     */
+    @Test
+    void testBuildWithMaxEntries() {
+
+        CacheManager m = newCacheManager()
+                .withDefaultMaxEntries(1000)
+                .withDefaultTimeToLive(10, TimeUnit.MINUTES)
+                .withCache(named('foo').withMaxEntries(50).withTimeToIdle(15, TimeUnit.MINUTES))
+                .build()
+
+        DefaultCacheManager manager = (DefaultCacheManager) m
+        assertEquals manager.defaultMaxEntries, 1000
+
+        def c = manager.getCache('foo')
+        assertTrue c instanceof BoundedCache
+        BoundedCache cache = (BoundedCache) c
+        assertEquals cache.maxEntries, 50
+        assertEquals cache.timeToLive, new Duration(10, TimeUnit.MINUTES)
+        assertEquals cache.timeToIdle, new Duration(15, TimeUnit.MINUTES)
+
+        cache = (BoundedCache) manager.getCache('bar')
+        assertEquals cache.maxEntries, 1000
+    }
+
+    /**
+     * @since 1.0.0
+     */
+    @Test
+    void testBuildWithRefreshAheadAndStaleWhileRevalidate() {
+
+        CacheManager m = newCacheManager()
+                .withDefaultTimeToLive(10, TimeUnit.MINUTES)
+                .withCache(named('foo').withRefreshAhead(1, TimeUnit.MINUTES).withStaleWhileRevalidate(30, TimeUnit.SECONDS))
+                .withCache(named('bar').withMaxEntries(50).withRefreshAhead(1, TimeUnit.MINUTES))
+                .build()
+
+        DefaultCacheManager manager = (DefaultCacheManager) m
+
+        def c = manager.getCache('foo')
+        assertTrue c instanceof RefreshAheadCache
+        def delegate = ((RefreshAheadCache) c).delegate
+        assertTrue delegate instanceof DefaultCache
+        //stale entries are retained by the backing cache for the additional stale-while-revalidate window:
+        assertEquals(((DefaultCache) delegate).timeToLive, new Duration(630000, TimeUnit.MILLISECONDS))
+
+        c = manager.getCache('bar')
+        assertTrue c instanceof RefreshAheadCache
+        delegate = ((RefreshAheadCache) c).delegate
+        assertTrue delegate instanceof BoundedCache
+        assertEquals(((BoundedCache) delegate).timeToLive, new Duration(10, TimeUnit.MINUTES))
+
+        //regions without refresh settings are unaffected:
+        assertTrue manager.getCache('baz') instanceof DefaultCache
+    }
+
     @Test
     void testNewDisabledCacheManager() {
 
@@ -0,0 +1,153 @@
+/*
+ * Copyright 2014 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.cache
+
+import com.stormpath.sdk.cache.Cache
+import org.testng.annotations.Test
+
+import static org.testng.Assert.*
+
+/**
+ * @since 1.0.0
+ */
+class NearCacheManagerTest {
+
+    /**
+     * Delivers invalidations synchronously to every listener, like a topic shared by all nodes would.
+     */
+    static class LocalBus implements CacheInvalidationBus {
+
+        def listeners = []
+        def published = []
+
+        void publish(CacheInvalidation invalidation) {
+            published << invalidation
+            listeners.each { it.onInvalidation(invalidation) }
+        }
+
+        void addListener(CacheInvalidationListener listener) {
+            listeners << listener
+        }
+    }
+
+    @Test
+    void testReadsAreServedLocally() {
+        def remote = new DefaultCacheManager()
+        def cm = new NearCacheManager(remote)
+
+        remote.getCache('foo').put('key', 'value')
+
+        NearCache cache = (NearCache) cm.getCache('foo')
+        assertSame cm.getCache('foo'), cache
+
+        assertEquals cache.get('key'), 'value'
+        assertEquals cache.get('key'), 'value'
+        assertEquals cache.remoteAccessCount, 1L
+    }
+
+    @Test
+    void testWritesGoToBothLevels() {
+        def remote = new DefaultCacheManager()
+        def cm = new NearCacheManager(remote)
+        NearCache cache = (NearCache) cm.getCache('foo')
+
+        cache.put('key', 'value')
+        assertEquals remote.getCache('foo').get('key'), 'value'
+        assertEquals cache.localCache.get('key'), 'value'
+
+        cache.putAll([a: 'b'])
+        assertEquals cache.getAll(['key', 'a', 'missing']), [key: 'value', a: 'b']
+        assertEquals cache.remoteAccessCount, 1L //only for 'missing'
+
+        cache.remove('key')
+        assertNull remote.getCache('foo').get('key')
+        assertNull cache.get('key')
+    }
+
+    @Test
+    void testModificationsInvalidateOtherNodes() {
+        def remote = new DefaultCacheManager()
+        def bus = new LocalBus()
+        def node1 = new NearCacheManager(remote, bus)
+        def node2 = new NearCacheManager(remote, bus)
+
+        Cache cache1 = node1.getCache('foo')
+        NearCache cache2 = (NearCache) node2.getCache('foo')
+
+        cache1.put('key', 'value')
+        assertEquals cache2.get('key'), 'value'
+        assertEquals cache2.localCache.get('key'), 'value'
+
+        cache1.put('key', 'value2')
+        assertNull cache2.localCache.get('key')
+        assertEquals cache2.get('key'), 'value2'
+
+        cache1.remove('key')
+        assertNull cache2.get('key')
+
+        assertEquals bus.published.size(), 3
+        assertEquals(((CacheInvalidation) bus.published[0]).region, 'foo')
+    }
+
+    @Test
+    void testBulkModificationsPublishOneInvalidation() {
+        def remote = new DefaultCacheManager()
+        def bus = new LocalBus()
+        def node1 = new NearCacheManager(remote, bus)
+        def node2 = new NearCacheManager(remote, bus)
+
+        NearCache cache1 = (NearCache) node1.getCache('foo')
+        NearCache cache2 = (NearCache) node2.getCache('foo')
+
+        cache1.putAll([a: '1', b: '2', c: '3'])
+        assertEquals cache2.getAll(['a', 'b', 'c']), [a: '1', b: '2', c: '3']
+        assertEquals bus.published.size(), 1
+        assertEquals(((CacheInvalidation) bus.published[0]).keys, ['a', 'b', 'c'])
+
+        cache1.putAll([a: '4', b: '5'])
+        assertEquals bus.published.size(), 2
+        assertNull cache2.localCache.get('a')
+        assertNull cache2.localCache.get('b')
+        assertEquals cache2.localCache.get('c'), '3'
+        assertEquals cache2.getAll(['a', 'b']), [a: '4', b: '5']
+
+        cache1.removeAll(['a', 'b', 'c'])
+        assertEquals bus.published.size(), 3
+        assertEquals(((CacheInvalidation) bus.published[2]).keys, ['a', 'b', 'c'])
+        assertEquals cache2.getAll(['a', 'b', 'c']), [:]
+
+        cache1.removeAll([])
+        cache1.putAll([:])
+        assertEquals bus.published.size(), 3 //nothing to announce
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException)
+    void testInvalidationWithoutKeys() {
+        new CacheInvalidation('origin', 'foo', [])
+    }
+
+    @Test
+    void testOwnInvalidationsAreIgnored() {
+        def bus = new LocalBus()
+        def cm = new NearCacheManager(new DefaultCacheManager(), bus)
+        NearCache cache = (NearCache) cm.getCache('foo')
+
+        cache.put('key', 'value')
+
+        //the local copy was just written and is up to date:
+        assertEquals cache.localCache.get('key'), 'value'
+    }
+}
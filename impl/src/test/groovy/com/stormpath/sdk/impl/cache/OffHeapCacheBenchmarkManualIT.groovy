@@ -0,0 +1,99 @@
+/*
+ * Copyright 2014 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.cache
+
+import com.stormpath.sdk.cache.Cache
+import org.slf4j.LoggerFactory
+import org.testng.annotations.Test
+
+import static org.testng.Assert.assertEquals
+import static org.testng.Assert.assertNotNull
+
+/**
+ * Compares the put/get throughput and the heap retained by an {@link OffHeapCache} with a {@link DefaultCache}
+ * holding the same resources.  The results are logged rather than asserted, since they depend on the host.
+ * <p/>
+ * Disabled by default (on purpose): it allocates a 64 MB off-heap cache and forces several garbage collections, so
+ * it is excluded from both the unit test and the normal IT builds (see the failsafe {@code *ManualIT} exclusion).
+ * Run it manually when changing the off-heap cache.
+ *
+ * @since 1.0.0
+ */
+class OffHeapCacheBenchmarkManualIT {
+
+    private static final int COUNT = 50000
+
+    private static Map createResource(int i) {
+        return [href      : "https://api.stormpath.com/v1/accounts/$i".toString(),
+                username  : "jsmith$i".toString(), email: "jsmith$i@acme.com".toString(),
+                givenName : 'John', surname: 'Smith', status: 'ENABLED',
+                directory : [href: 'https://api.stormpath.com/v1/directories/abc'],
+                customData: [href: "https://api.stormpath.com/v1/accounts/$i/customData".toString()]]
+    }
+
+    private static long usedHeap(Runtime runtime) {
+        for (int i = 0; i < 3; i++) {
+            System.gc()
+            Thread.sleep(20)
+        }
+        return runtime.totalMemory() - runtime.freeMemory()
+    }
+
+    /**
+     * Fills the cache with freshly created resources (so that nothing but the cache retains them) and returns the
+     * time spent putting them and the number of heap bytes the cache retains afterwards.
+     */
+    private static long[] fill(Cache cache) {
+        def runtime = Runtime.runtime
+        long before = usedHeap(runtime)
+        long start = System.nanoTime()
+        for (int i = 0; i < COUNT; i++) {
+            Map resource = createResource(i)
+            cache.put(resource.href, resource)
+        }
+        long put = System.nanoTime() - start
+        return [put, usedHeap(runtime) - before] as long[]
+    }
+
+    @Test
+    void testBenchmark() {
+        List<String> hrefs = new ArrayList<String>(COUNT)
+        for (int i = 0; i < COUNT; i++) {
+            hrefs << (String) createResource(i).href
+        }
+
+        def mgr = new OffHeapCacheManager()
+        mgr.setDefaultCapacity(64L * 1024 * 1024)
+        def log = LoggerFactory.getLogger(OffHeapCacheBenchmarkManualIT)
+
+        for (int round = 0; round < 2; round++) { //the first round warms up the JIT
+            def caches = [new DefaultCache('onHeap'), mgr.getCache("offHeap$round")]
+            for (Cache cache : caches) {
+                long[] filled = fill(cache)
+
+                long start = System.nanoTime()
+                for (String href : hrefs) {
+                    assertNotNull cache.get(href)
+                }
+                long get = System.nanoTime() - start
+
+                assertEquals cache.size(), COUNT
+                log.info("{}: {} entries, heap retained {} KB, put {} ns/op, get {} ns/op",
+                        cache.name, COUNT, (long) (filled[1] / 1024), (long) (filled[0] / COUNT), (long) (get / COUNT))
+            }
+        }
+    }
+}
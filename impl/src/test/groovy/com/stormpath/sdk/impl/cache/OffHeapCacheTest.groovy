@@ -0,0 +1,225 @@
+/*
+ * Copyright 2014 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.cache
+
+import com.stormpath.sdk.impl.ds.JacksonCacheValueCodec
+import com.stormpath.sdk.impl.util.Duration
+import org.testng.annotations.Test
+
+import java.nio.ByteBuffer
+import java.util.concurrent.TimeUnit
+
+import static org.testng.Assert.*
+
+/**
+ * @since 1.0.0
+ */
+class OffHeapCacheTest {
+
+    private static OffHeapCache newCache(int segments, int segmentCapacity, Duration ttl = null, Duration tti = null) {
+        ByteBuffer[] buffers = new ByteBuffer[segments]
+        for (int i = 0; i < segments; i++) {
+            buffers[i] = ByteBuffer.allocateDirect(segmentCapacity)
+        }
+        return new OffHeapCache('foo', buffers, new JacksonCacheValueCodec(), ttl, tti)
+    }
+
+    @Test
+    void testPutAndGet() {
+        def cache = newCache(4, 4096)
+        def data = [href: 'https://api.stormpath.com/v1/accounts/1', email: 'jsmith@acme.com', customData: [foo: 'bar']]
+
+        assertEquals cache.name, 'foo'
+        assertNull cache.put('key', data)
+        assertEquals cache.get('key'), data
+        //previous values are not read back:
+        assertNull cache.put('key', [href: 'https://api.stormpath.com/v1/accounts/1'])
+        assertEquals cache.get('key'), [href: 'https://api.stormpath.com/v1/accounts/1']
+        assertNull cache.remove('key')
+        assertNull cache.get('key')
+        assertNull cache.remove('key')
+
+        assertEquals cache.hitCount, 3
+        assertEquals cache.missCount, 2
+        assertEquals cache.capacity, 4 * 4096
+    }
+
+    @Test
+    void testByteArrayValues() {
+        def cache = newCache(1, 4096)
+        byte[] bytes = [1, 2, 3] as byte[]
+
+        cache.put('key', bytes)
+
+        assertEquals cache.get('key'), bytes
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException)
+    void testUnsupportedValue() {
+        newCache(1, 4096).put('key', 'value')
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException)
+    void testUnsupportedKey() {
+        newCache(1, 4096).get(42)
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException)
+    void testSegmentCountMustBePowerOfTwo() {
+        newCache(3, 4096)
+    }
+
+    @Test
+    void testOldestEntriesAreOverwritten() {
+        def cache = newCache(1, 1024)
+
+        for (int i = 0; i < 100; i++) {
+            cache.put("key$i".toString(), [href: "href$i".toString()])
+        }
+
+        //the most recent entries are retained, the oldest ones have been overwritten:
+        assertEquals cache.get('key99'), [href: 'href99']
+        assertNull cache.get('key0')
+        assertTrue cache.size() > 0 && cache.size() < 100
+    }
+
+    @Test
+    void testManyEntries() {
+        //exercises index growth, rehashing and deletions with entries spread over all segments:
+        def cache = newCache(16, 1024 * 1024)
+
+        for (int i = 0; i < 20000; i++) {
+            cache.put("key$i".toString(), [i: i])
+        }
+        for (int i = 0; i < 20000; i += 2) {
+            cache.remove("key$i".toString())
+        }
+        for (int i = 0; i < 20000; i++) {
+            assertEquals cache.get("key$i".toString()), i % 2 == 0 ? null : [i: i]
+        }
+        assertEquals cache.size(), 10000
+    }
+
+    @Test
+    void testValuesLargerThanSegmentAreNotCached() {
+        def cache = newCache(1, 256)
+        cache.put('key', [value: 'small'])
+
+        cache.put('key', [value: 'x' * 512])
+
+        assertNull cache.get('key')
+    }
+
+    @Test
+    void testClear() {
+        def cache = newCache(2, 4096)
+        cache.put('a', [a: 1])
+        cache.put('b', [b: 2])
+
+        cache.clear()
+
+        assertEquals cache.size(), 0
+        assertNull cache.get('a')
+        cache.put('a', [a: 3])
+        assertEquals cache.get('a'), [a: 3]
+    }
+
+    @Test
+    void testTimeToLive() {
+        def cache = newCache(1, 4096, new Duration(10, TimeUnit.MILLISECONDS))
+        cache.put('key', [a: 1])
+        Thread.sleep(20)
+        assertNull cache.get('key')
+        assertEquals cache.size(), 0
+    }
+
+    @Test
+    void testTimeToIdle() {
+        def cache = newCache(1, 4096, null, new Duration(50, TimeUnit.MILLISECONDS))
+        cache.put('key', [a: 1])
+        Thread.sleep(30)
+        assertEquals cache.get('key'), [a: 1] //resets the idle time
+        Thread.sleep(30)
+        assertEquals cache.get('key'), [a: 1]
+        Thread.sleep(60)
+        assertNull cache.get('key')
+    }
+
+    @Test
+    void testManager() {
+        def mgr = new OffHeapCacheManager()
+        mgr.setDefaultTimeToLiveSeconds(60)
+        mgr.setDefaultCapacity(1024 * 1024)
+        mgr.setCapacities(['bar': 4L * 1024 * 1024])
+        mgr.setCacheConfigurations([new DefaultCacheConfiguration('bar', new Duration(10, TimeUnit.SECONDS), new Duration(5, TimeUnit.SECONDS))])
+
+        OffHeapCache foo = mgr.getCache('foo') as OffHeapCache
+        OffHeapCache bar = mgr.getCache('bar') as OffHeapCache
+
+        assertSame mgr.getCache('foo'), foo
+        assertEquals foo.capacity, 1024 * 1024
+        assertEquals foo.timeToLive, new Duration(60, TimeUnit.SECONDS)
+        assertNull foo.timeToIdle
+        assertEquals bar.capacity, 4L * 1024 * 1024
+        assertEquals bar.timeToLive, new Duration(10, TimeUnit.SECONDS)
+        assertEquals bar.timeToIdle, new Duration(5, TimeUnit.SECONDS)
+    }
+
+    @Test
+    void testMemoryMappedFiles() {
+        File dir = File.createTempFile('stormpath-offheap', '')
+        dir.delete()
+
+        def mgr = new OffHeapCacheManager()
+        mgr.setDirectory(dir)
+        mgr.setDefaultCapacity(2 * 1024 * 1024)
+
+        def cache = mgr.getCache('com.stormpath.sdk.account.Account')
+        cache.put('key', [a: 1])
+
+        assertEquals cache.get('key'), [a: 1]
+        assertEquals dir.listFiles().length, 2
+    }
+
+    @Test
+    void testDefaultCapacity() {
+        def mgr = new OffHeapCacheManager()
+        assertEquals mgr.defaultCapacity, OffHeapCacheManager.DEFAULT_CAPACITY
+        assertEquals((mgr.getCache('foo') as OffHeapCache).capacity, 4L * 1024 * 1024)
+    }
+
+    @Test
+    void testManagersSharingADirectory() {
+        File dir = File.createTempFile('stormpath-offheap', '')
+        dir.delete()
+
+        def mgr1 = new OffHeapCacheManager()
+        mgr1.setDirectory(dir)
+        mgr1.setDefaultCapacity(1024 * 1024)
+        def mgr2 = new OffHeapCacheManager()
+        mgr2.setDirectory(dir)
+        mgr2.setDefaultCapacity(1024 * 1024)
+
+        def cache1 = mgr1.getCache('com.stormpath.sdk.account.Account')
+        cache1.put('key', [a: 1])
+        def cache2 = mgr2.getCache('com.stormpath.sdk.account.Account')
+        cache2.put('key', [a: 2])
+
+        assertEquals dir.listFiles().length, 2
+        assertEquals cache1.get('key'), [a: 1]
+        assertEquals cache2.get('key'), [a: 2]
+    }
+}
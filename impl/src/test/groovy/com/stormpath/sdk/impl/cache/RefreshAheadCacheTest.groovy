@@ -0,0 +1,142 @@
+/*
+ * Copyright 2014 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.cache
+
+import com.stormpath.sdk.impl.util.Duration
+import org.testng.annotations.Test
+
+import java.util.concurrent.Executor
+import java.util.concurrent.TimeUnit
+
+import static org.testng.Assert.*
+
+/**
+ * @since 1.0.0
+ */
+class RefreshAheadCacheTest {
+
+    private static final Executor SAME_THREAD = { Runnable r -> r.run() } as Executor
+
+    private static Duration millis(long value) {
+        return new Duration(value, TimeUnit.MILLISECONDS)
+    }
+
+    @Test
+    void testPutGetAndRemove() {
+        def cache = new RefreshAheadCache(new DefaultCache('foo'), millis(60000), millis(1000), null, SAME_THREAD)
+
+        assertNull cache.put('key', 'value')
+        assertEquals cache.get('key'), 'value'
+        assertEquals cache.put('key', 'value2'), 'value'
+        assertEquals cache.remove('key'), 'value2'
+        assertNull cache.get('key')
+    }
+
+    @Test
+    void testBulkOperations() {
+        def cache = new RefreshAheadCache(new DefaultCache('foo'), millis(60000), millis(1000), null, SAME_THREAD)
+
+        cache.putAll([key: 'value', other: 'otherValue'])
+        assertEquals cache.getAll(['key', 'other', 'missing']), [key: 'value', other: 'otherValue']
+
+        cache.removeAll(['key', 'missing'])
+        assertEquals cache.getAll(['key', 'other']), [other: 'otherValue']
+    }
+
+    @Test
+    void testRefreshAhead() {
+        def cache = new RefreshAheadCache(new DefaultCache('foo'), millis(400), millis(300), null, SAME_THREAD)
+        def refreshed = []
+        def refresher = { String key -> refreshed << key; cache.put(key, 'fresh') } as CacheRefresher
+
+        cache.put('key', 'value')
+
+        //not yet within the refresh-ahead window:
+        assertEquals cache.get('key', refresher), 'value'
+        assertTrue refreshed.isEmpty()
+
+        Thread.sleep(150)
+
+        //within the window: the current value is returned and the entry refreshed:
+        assertEquals cache.get('key', refresher), 'value'
+        assertEquals refreshed, ['key']
+        assertEquals cache.refreshCount, 1
+        assertEquals cache.get('key', refresher), 'fresh'
+        assertEquals refreshed, ['key']
+    }
+
+    @Test
+    void testStaleWhileRevalidate() {
+        def pending = []
+        def deferred = { Runnable r -> pending << r } as Executor
+        def cache = new RefreshAheadCache(new DefaultCache('foo'), millis(50), null, millis(60000), deferred)
+        def refresher = { String key -> cache.put(key, 'fresh') } as CacheRefresher
+
+        cache.put('key', 'value')
+        Thread.sleep(100)
+
+        //expired entries are never returned to callers that can't refresh them:
+        assertNull cache.get('key')
+
+        assertEquals cache.get('key', refresher), 'value'
+        assertEquals cache.get('key', refresher), 'value'
+        assertEquals pending.size(), 1 //only one refresh per key at a time
+        assertEquals cache.staleHitCount, 2
+
+        pending.remove(0).run()
+
+        assertEquals cache.get('key', refresher), 'fresh'
+        assertTrue pending.isEmpty()
+    }
+
+    @Test
+    void testEntriesOlderThanStaleWindowAreNotReturned() {
+        def cache = new RefreshAheadCache(new DefaultCache('foo'), millis(20), null, millis(20), SAME_THREAD)
+        def refreshed = []
+        def refresher = { String key -> refreshed << key } as CacheRefresher
+
+        cache.put('key', 'value')
+        Thread.sleep(100)
+
+        assertNull cache.get('key', refresher)
+        assertTrue refreshed.isEmpty()
+    }
+
+    @Test
+    void testFailedRefreshIsRetriedOnNextAccess() {
+        def cache = new RefreshAheadCache(new DefaultCache('foo'), millis(50), null, millis(60000), SAME_THREAD)
+        int attempts = 0
+        def refresher = { String key -> attempts++; throw new IllegalStateException('unavailable') } as CacheRefresher
+
+        cache.put('key', 'value')
+        Thread.sleep(100)
+
+        assertEquals cache.get('key', refresher), 'value'
+        assertEquals cache.get('key', refresher), 'value'
+        assertEquals attempts, 2
+        assertEquals cache.refreshCount, 0
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException)
+    void testRefreshAheadMustBeLessThanTimeToLive() {
+        new RefreshAheadCache(new DefaultCache('foo'), millis(1000), millis(1000), null, SAME_THREAD)
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException)
+    void testTimeToLiveIsRequired() {
+        new RefreshAheadCache(new DefaultCache('foo'), null, millis(1000), null, SAME_THREAD)
+    }
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2014 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.ds
+
+import com.stormpath.sdk.account.Account
+import com.stormpath.sdk.impl.account.DefaultAccount
+import com.stormpath.sdk.resource.CollectionResource
+import org.testng.annotations.Test
+
+import static org.testng.Assert.assertEquals
+
+/**
+ * @since 1.0.0
+ */
+class DefaultCacheRegionNameResolverTest {
+
+    @Test
+    void testRegionNameIsInterfaceName() {
+        def resolver = new DefaultCacheRegionNameResolver()
+
+        assertEquals resolver.getCacheRegionName(Account), Account.name
+        assertEquals resolver.getCacheRegionName(DefaultAccount), Account.name
+    }
+
+    @Test
+    void testInterfaceWithoutImplementationClass() {
+        //there is no DefaultCollectionResource: the collection page cache region must still resolve
+        assertEquals new DefaultCacheRegionNameResolver().getCacheRegionName(CollectionResource), CollectionResource.name
+    }
+}
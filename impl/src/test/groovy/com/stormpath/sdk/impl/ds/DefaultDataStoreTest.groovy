@@ -15,12 +15,24 @@
  */
 package com.stormpath.sdk.impl.ds
 
+import com.stormpath.sdk.account.Account
+import com.stormpath.sdk.account.AccountList
 import com.stormpath.sdk.api.ApiKey
+import com.stormpath.sdk.authc.UsernamePasswordRequest
 import com.stormpath.sdk.cache.Caches
+import com.stormpath.sdk.directory.Directory
+import com.stormpath.sdk.group.Group
+import com.stormpath.sdk.group.Groups
+import com.stormpath.sdk.http.HttpMethod
 import com.stormpath.sdk.impl.application.DefaultApplication
+import com.stormpath.sdk.impl.authc.BasicAuthenticator
+import com.stormpath.sdk.impl.http.MediaType
+import com.stormpath.sdk.impl.http.QueryString
+import com.stormpath.sdk.impl.http.Request
 import com.stormpath.sdk.impl.http.RequestExecutor
 import com.stormpath.sdk.impl.http.Response
 import com.stormpath.sdk.impl.http.support.DefaultRequest
+import com.stormpath.sdk.impl.http.support.DefaultResponse
 import com.stormpath.sdk.impl.provider.DefaultGoogleProviderData
 import com.stormpath.sdk.impl.provider.IdentityProviderType
 import com.stormpath.sdk.provider.FacebookProvider
@@ -29,9 +41,18 @@ import com.stormpath.sdk.provider.GoogleProviderData
 import com.stormpath.sdk.provider.Provider
 import com.stormpath.sdk.provider.ProviderData
 import com.stormpath.sdk.provider.Providers
+import com.stormpath.sdk.query.Criteria
+import com.stormpath.sdk.resource.CollectionResource
+import com.stormpath.sdk.resource.ResourceException
 import org.testng.annotations.Test
 
+import java.util.concurrent.Callable
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.Executors
+import java.util.concurrent.Future
 import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
 
 import static org.easymock.EasyMock.*
 import static org.testng.Assert.*
@@ -362,6 +383,556 @@ class DefaultDataStoreTest {
         verify(requestExecutor, response)
     }
 
+    //@since 1.0.0
+    @Test
+    void testGetResourceAsync() {
+        def requestExecutor = createStrictMock(RequestExecutor)
+        def response = createStrictMock(Response)
+        def apiKey = createStrictMock(ApiKey)
+        def responseMap = [href: "https://api.stormpath.com/v1/directories/5fgF3o89Ph5nbJzY6EVSct/provider",
+                           createdAt: "2014-04-01T22:05:25.661Z",
+                           modifiedAt: "2014-04-01T22:05:53.177Z",
+                           clientId: "237396459765014",
+                           clientSecret: "a93fae44d2a4f21d4de6201aae9b849a",
+                           providerId: "facebook"
+        ]
+        def mapMarshaller = new JacksonMapMarshaller();
+        InputStream is = new ByteArrayInputStream(mapMarshaller.marshal(responseMap).getBytes());
+
+        expect(requestExecutor.executeRequest(anyObject(DefaultRequest))).andReturn(response)
+        expect(response.isError()).andReturn(false)
+        expect(response.hasBody()).andReturn(true)
+        expect(response.getBody()).andReturn(is)
+
+        replay(requestExecutor, response)
+
+        def defaultDataStore = new DefaultDataStore(requestExecutor, "https://api.stormpath.com/v1", apiKey)
+        def future = defaultDataStore.getResourceAsync(responseMap.href, FacebookProvider)
+        def returnedResource = future.get(5, TimeUnit.SECONDS)
+        assertEquals(returnedResource.getHref(), responseMap.href)
+        assertEquals(returnedResource.getClientId(), responseMap.clientId)
+
+        verify(requestExecutor, response)
+    }
+
+    //@since 1.0.0
+    @Test
+    void testAsyncInvalidArguments() {
+        def requests = new AtomicInteger()
+        def requestExecutor = [executeRequest: { Request request ->
+            requests.incrementAndGet()
+            return new DefaultResponse(204, null, null, 0)
+        }] as RequestExecutor
+        def dataStore = new DefaultDataStore(requestExecutor, "https://api.stormpath.com/v1", createStrictMock(ApiKey))
+        def href = "https://api.stormpath.com/v1/groups/2tTdbWYGRLHyHZCXOLjaeC"
+
+        //invalid arguments are rejected by the calling thread rather than surfacing later from the Future:
+        def invalidCalls = [
+                { dataStore.getResourceAsync(null, Group, [expand: "directory"]) },
+                { dataStore.getResourceAsync("", Group, [expand: "directory"]) },
+                { dataStore.getResourceAsync(href, null, [expand: "directory"]) },
+                { dataStore.getResourceAsync(null, Group, Groups.criteria()) },
+                { dataStore.getResourceAsync(href, null, Groups.criteria()) },
+                { dataStore.getResourceAsync(href, Group, (Criteria) null) },
+                { dataStore.getResourceAsync(href, Group, [:] as Criteria) },
+                { dataStore.createAsync(null, dataStore.instantiate(Group)) },
+                { dataStore.createAsync("https://api.stormpath.com/v1/directories/foo/groups", null) },
+                { dataStore.saveAsync(null) },
+                { dataStore.saveAsync(dataStore.instantiate(Group)) } //not persisted yet
+        ]
+        invalidCalls.eachWithIndex { Closure call, int i ->
+            try {
+                call.call()
+                fail("IllegalArgumentException should have been thrown by call " + i)
+            } catch (IllegalArgumentException expected) {
+            }
+        }
+        assertEquals requests.get(), 0
+    }
+
+    //@since 1.0.0
+    @Test
+    void testDestroyShutsDownOwnedAsyncPool() {
+        def requestExecutor = [executeRequest: { Request request ->
+            new DefaultResponse(204, null, null, 0)
+        }] as RequestExecutor
+        def dataStore = new DefaultDataStore(requestExecutor, "https://api.stormpath.com/v1", createStrictMock(ApiKey))
+
+        def pool = dataStore.getAsyncExecutorService()
+        dataStore.destroy()
+        assertTrue pool.isShutdown()
+
+        //pools configured by the caller are left running:
+        def configured = Executors.newSingleThreadExecutor()
+        try {
+            dataStore = new DefaultDataStore(requestExecutor, "https://api.stormpath.com/v1", createStrictMock(ApiKey))
+            dataStore.setAsyncExecutorService(configured)
+            dataStore.destroy()
+            assertFalse configured.isShutdown()
+        } finally {
+            configured.shutdown()
+        }
+    }
+
+    //@since 1.0.0
+    @Test
+    void testCreateAsync() {
+        def parentHref = "https://api.stormpath.com/v1/directories/5dfgEWi3N7G2Tsk2ZvBQAh/groups"
+        def href = "https://api.stormpath.com/v1/groups/2tTdbWYGRLHyHZCXOLjaeC"
+        def json = new JacksonMapMarshaller().marshal([href: href, name: "Admins", status: "ENABLED"]).getBytes("UTF-8")
+
+        def requests = []
+        def requestExecutor = [executeRequest: { Request request ->
+            requests << request
+            return new DefaultResponse(201, MediaType.APPLICATION_JSON, new ByteArrayInputStream(json), json.length)
+        }] as RequestExecutor
+        def dataStore = new DefaultDataStore(requestExecutor, "https://api.stormpath.com/v1", createStrictMock(ApiKey))
+
+        Group group = dataStore.instantiate(Group)
+        group.name = "Admins"
+
+        def created = dataStore.createAsync(parentHref, group).get(5, TimeUnit.SECONDS)
+
+        assertEquals created.href, href
+        assertEquals created.status.name(), "ENABLED"
+        //the argument is updated with the server's response too:
+        assertEquals group.href, href
+        assertEquals requests.size(), 1
+        assertEquals requests[0].method, HttpMethod.POST
+        assertEquals requests[0].resourceUrl.toString(), parentHref
+    }
+
+    //@since 1.0.0
+    @Test
+    void testSaveAsync() {
+        def href = "https://api.stormpath.com/v1/groups/2tTdbWYGRLHyHZCXOLjaeC"
+        def json = new JacksonMapMarshaller().marshal([href: href, name: "Administrators", status: "ENABLED"]).getBytes("UTF-8")
+
+        def requests = []
+        def requestExecutor = [executeRequest: { Request request ->
+            requests << request
+            return new DefaultResponse(200, MediaType.APPLICATION_JSON, new ByteArrayInputStream(json), json.length)
+        }] as RequestExecutor
+        def dataStore = new DefaultDataStore(requestExecutor, "https://api.stormpath.com/v1", createStrictMock(ApiKey))
+
+        Group group = dataStore.instantiate(Group, [href: href, name: "Admins"])
+        group.name = "Administrators"
+
+        def saved = dataStore.saveAsync(group).get(5, TimeUnit.SECONDS)
+
+        assertSame saved, group
+        assertEquals saved.name, "Administrators"
+        assertEquals saved.status.name(), "ENABLED"
+        assertEquals requests.size(), 1
+        assertEquals requests[0].resourceUrl.toString(), href
+    }
+
+    //@since 1.0.0
+    @Test
+    void testAsyncFailureIsWrappedInExecutionException() {
+        def href = "https://api.stormpath.com/v1/groups/2tTdbWYGRLHyHZCXOLjaeC"
+        def json = new JacksonMapMarshaller().marshal([status: 404, code: 404, message: "The requested resource does not exist."]).getBytes("UTF-8")
+
+        def requestExecutor = [executeRequest: { Request request ->
+            return new DefaultResponse(404, MediaType.APPLICATION_JSON, new ByteArrayInputStream(json), json.length)
+        }] as RequestExecutor
+        def dataStore = new DefaultDataStore(requestExecutor, "https://api.stormpath.com/v1", createStrictMock(ApiKey))
+
+        def futures = [
+                dataStore.getResourceAsync(href, Group),
+                dataStore.getResourceAsync(href, Group, [expand: "directory"]),
+                dataStore.getResourceAsync(href, Group, Groups.criteria().withDirectory()),
+                dataStore.saveAsync(dataStore.instantiate(Group, [href: href, name: "Admins"]))
+        ]
+        futures.each { Future future ->
+            try {
+                future.get(5, TimeUnit.SECONDS)
+                fail("ExecutionException should have been thrown")
+            } catch (ExecutionException e) {
+                assertTrue e.cause instanceof ResourceException
+                assertEquals ((ResourceException) e.cause).status, 404
+            }
+        }
+    }
+
+    //@since 1.0.0
+    @Test
+    void testConcurrentGetsOfSameResourceShareOneRequest() {
+        def apiKey = createStrictMock(ApiKey)
+        def href = "https://api.stormpath.com/v1/directories/5fgF3o89Ph5nbJzY6EVSct/provider"
+        def responseMap = [href: href,
+                           createdAt: "2014-04-01T22:05:25.661Z",
+                           modifiedAt: "2014-04-01T22:05:53.177Z",
+                           clientId: "237396459765014",
+                           clientSecret: "a93fae44d2a4f21d4de6201aae9b849a",
+                           providerId: "facebook"
+        ]
+        def json = new JacksonMapMarshaller().marshal(responseMap).getBytes("UTF-8")
+
+        def requests = new AtomicInteger()
+        def release = new CountDownLatch(1)
+        def requestExecutor = [executeRequest: { Request request ->
+            requests.incrementAndGet()
+            release.await(5, TimeUnit.SECONDS)
+            new DefaultResponse(200, MediaType.APPLICATION_JSON, new ByteArrayInputStream(json), json.length)
+        }] as RequestExecutor
 
+        def dataStore = new DefaultDataStore(requestExecutor, "https://api.stormpath.com/v1", apiKey)
 
+        int threads = 5
+        def pool = Executors.newFixedThreadPool(threads)
+        try {
+            def futures = (1..threads).collect {
+                pool.submit({ dataStore.getResource(href, FacebookProvider) } as Callable)
+            }
+
+            //wait until every other thread has joined the first thread's request before letting it complete:
+            long deadline = System.currentTimeMillis() + 5000
+            while (System.currentTimeMillis() < deadline &&
+                    (dataStore.inFlightGets.isEmpty() || dataStore.inFlightGets.values().iterator().next().followers < threads - 1)) {
+                Thread.sleep(10)
+            }
+            release.countDown()
+
+            futures.each { future ->
+                FacebookProvider provider = future.get(5, TimeUnit.SECONDS)
+                assertEquals provider.href, href
+                assertEquals provider.clientId, responseMap.clientId
+            }
+        } finally {
+            pool.shutdownNow()
+        }
+
+        assertEquals requests.get(), 1
+        assertTrue dataStore.inFlightGets.isEmpty()
+    }
+
+    //@since 1.0.0
+    @Test
+    void testExpiredEntryIsRevalidatedWithConditionalGet() {
+        def apiKey = createStrictMock(ApiKey)
+        def href = "https://api.stormpath.com/v1/groups/2tTdbWYGRLHyHZCXOLjaeC"
+        def groupMap = [href: href, name: "Admins", description: "Administrators", status: "ENABLED"]
+        def json = new JacksonMapMarshaller().marshal(groupMap).getBytes("UTF-8")
+
+        def requests = []
+        def requestExecutor = [executeRequest: { Request request ->
+            requests << request
+            if (requests.size() == 1) {
+                def response = new DefaultResponse(200, MediaType.APPLICATION_JSON, new ByteArrayInputStream(json), json.length)
+                response.headers.setETag('"v1"')
+                response.headers.set("Last-Modified", "Tue, 01 Apr 2014 22:05:53 GMT")
+                return response
+            }
+            return new DefaultResponse(304, null, null, 0)
+        }] as RequestExecutor
+
+        def dataStore = new DefaultDataStore(requestExecutor, "https://api.stormpath.com/v1", apiKey)
+        dataStore.setCacheManager(Caches.newCacheManager().withDefaultTimeToLive(50, TimeUnit.MILLISECONDS).build())
+        dataStore.setConditionalRevalidationEnabled(true)
+
+        def group = dataStore.getResource(href, Group)
+        assertEquals group.name, "Admins"
+        assertEquals requests.size(), 1
+        assertNull requests[0].headers.getFirst("If-None-Match")
+
+        Thread.sleep(100) //let the cache entry expire
+
+        group = dataStore.getResource(href, Group)
+        assertEquals group.name, "Admins"
+        assertEquals group.description, "Administrators"
+        assertEquals requests.size(), 2
+        assertEquals requests[1].headers.getFirst("If-None-Match"), '"v1"'
+        assertEquals requests[1].headers.getFirst("If-Modified-Since"), "Tue, 01 Apr 2014 22:05:53 GMT"
+
+        //the 304 response re-cached the retained data:
+        assertEquals dataStore.getCache(Group).get(href), groupMap
+        group = dataStore.getResource(href, Group)
+        assertEquals group.name, "Admins"
+        assertEquals requests.size(), 2
+    }
+
+    //@since 1.0.0
+    @Test
+    void testCollectionPagesAreCachedUntilModified() {
+        def apiKey = createStrictMock(ApiKey)
+        def accountHref = "https://api.stormpath.com/v1/accounts/iouertnw48ufsjnsDFSf"
+        def collectionHref = "https://api.stormpath.com/v1/applications/jefoifj93riu23ioj/accounts"
+        def page = [href: collectionHref, offset: 0, limit: 25, size: 1,
+                    items: [[href: accountHref, email: "jsmith@stormpath.com", givenName: "John", surname: "Smith"]]]
+        def json = new JacksonMapMarshaller().marshal(page).getBytes("UTF-8")
+
+        def requests = []
+        def requestExecutor = [executeRequest: { Request request ->
+            requests << request
+            if (request.method == HttpMethod.DELETE) {
+                return new DefaultResponse(204, null, null, 0)
+            }
+            return new DefaultResponse(200, MediaType.APPLICATION_JSON, new ByteArrayInputStream(json), json.length)
+        }] as RequestExecutor
+
+        def dataStore = new DefaultDataStore(requestExecutor, "https://api.stormpath.com/v1", apiKey)
+        dataStore.setCacheManager(Caches.newCacheManager().withDefaultTimeToLive(1, TimeUnit.HOURS).build())
+        dataStore.setCollectionCacheTimeToLiveSeconds(60)
+
+        def accounts = dataStore.getResource(collectionHref, AccountList, [email: "jsmith@stormpath.com"])
+        assertEquals accounts.size, 1
+        assertEquals requests.size(), 1
+
+        //same query - served from the cache:
+        accounts = dataStore.getResource(collectionHref, AccountList, [email: "jsmith@stormpath.com"])
+        assertEquals accounts.size, 1
+        assertEquals accounts.iterator().next().email, "jsmith@stormpath.com"
+        assertEquals requests.size(), 1
+
+        //different query - not cached yet:
+        dataStore.getResource(collectionHref, AccountList, [email: "other@stormpath.com"])
+        assertEquals requests.size(), 2
+
+        //any modification discards the cached pages:
+        dataStore.delete(dataStore.instantiate(Account, [href: accountHref]))
+        assertEquals requests.size(), 3
+
+        dataStore.getResource(collectionHref, AccountList, [email: "jsmith@stormpath.com"])
+        assertEquals requests.size(), 4
+    }
+
+    //@since 1.0.0
+    @Test
+    void testCollectionPagesAreNotSharedAcrossDataStores() {
+        def apiKey = createStrictMock(ApiKey)
+        def collectionHref = "https://api.stormpath.com/v1/applications/jefoifj93riu23ioj/accounts"
+        def page = [href: collectionHref, offset: 0, limit: 25, size: 1,
+                    items: [[href: "https://api.stormpath.com/v1/accounts/iouertnw48ufsjnsDFSf", email: "jsmith@stormpath.com"]]]
+        def json = new JacksonMapMarshaller().marshal(page).getBytes("UTF-8")
+
+        def requests = new AtomicInteger()
+        def requestExecutor = [executeRequest: { Request request ->
+            requests.incrementAndGet()
+            return new DefaultResponse(200, MediaType.APPLICATION_JSON, new ByteArrayInputStream(json), json.length)
+        }] as RequestExecutor
+
+        //e.g. two nodes sharing a clustered cache:
+        def cacheManager = Caches.newCacheManager().withDefaultTimeToLive(1, TimeUnit.HOURS).build()
+        def dataStore1 = new DefaultDataStore(requestExecutor, "https://api.stormpath.com/v1", apiKey)
+        dataStore1.setCacheManager(cacheManager)
+        dataStore1.setCollectionCacheTimeToLiveSeconds(60)
+        def dataStore2 = new DefaultDataStore(requestExecutor, "https://api.stormpath.com/v1", apiKey)
+        dataStore2.setCacheManager(cacheManager)
+        dataStore2.setCollectionCacheTimeToLiveSeconds(60)
+
+        dataStore1.getResource(collectionHref, AccountList, [email: "jsmith@stormpath.com"])
+        dataStore1.getResource(collectionHref, AccountList, [email: "jsmith@stormpath.com"])
+        assertEquals requests.get(), 1
+
+        //pages are only valid relative to the modifications made by the DataStore that cached them:
+        dataStore2.getResource(collectionHref, AccountList, [email: "jsmith@stormpath.com"])
+        assertEquals requests.get(), 2
+        def pageKey = new DefaultCacheKey(collectionHref, new QueryString([email: "jsmith@stormpath.com"])).toString()
+        assertNull cacheManager.getCache(CollectionResource.name).get(pageKey)
+    }
+
+    //@since 1.0.0
+    @Test
+    void testLoginAttemptKeepsCachedCollectionPages() {
+        def apiKey = createStrictMock(ApiKey)
+        def appHref = "https://api.stormpath.com/v1/applications/jefoifj93riu23ioj"
+        def accountHref = "https://api.stormpath.com/v1/accounts/iouertnw48ufsjnsDFSf"
+        def collectionHref = appHref + "/accounts"
+        def accountMap = [href: accountHref, email: "jsmith@stormpath.com", givenName: "John", surname: "Smith"]
+        def pageJson = new JacksonMapMarshaller().marshal([href: collectionHref, offset: 0, limit: 25, size: 1,
+                                                           items: [accountMap]]).getBytes("UTF-8")
+        def resultJson = new JacksonMapMarshaller().marshal([account: [href: accountHref]]).getBytes("UTF-8")
+        def accountJson = new JacksonMapMarshaller().marshal(accountMap).getBytes("UTF-8")
+
+        def requests = []
+        def requestExecutor = [executeRequest: { Request request ->
+            requests << request
+            if (request.method == HttpMethod.GET) {
+                return new DefaultResponse(200, MediaType.APPLICATION_JSON, new ByteArrayInputStream(pageJson), pageJson.length)
+            }
+            def json = request.resourceUrl.path.endsWith("/loginAttempts") ? resultJson : accountJson
+            return new DefaultResponse(201, MediaType.APPLICATION_JSON, new ByteArrayInputStream(json), json.length)
+        }] as RequestExecutor
+
+        def dataStore = new DefaultDataStore(requestExecutor, "https://api.stormpath.com/v1", apiKey)
+        dataStore.setCacheManager(Caches.newCacheManager().withDefaultTimeToLive(1, TimeUnit.HOURS).build())
+        dataStore.setCollectionCacheTimeToLiveSeconds(60)
+
+        dataStore.getResource(collectionHref, AccountList, [email: "jsmith@stormpath.com"])
+        assertEquals requests.size(), 1
+
+        new BasicAuthenticator(dataStore).authenticate(appHref, new UsernamePasswordRequest("jsmith@stormpath.com", "Secret123"))
+        assertEquals requests.size(), 2
+        assertEquals requests[1].method, HttpMethod.POST
+
+        //a login attempt modifies no resource, so the cached page is still used:
+        def accounts = dataStore.getResource(collectionHref, AccountList, [email: "jsmith@stormpath.com"])
+        assertEquals accounts.iterator().next().email, "jsmith@stormpath.com"
+        assertEquals requests.size(), 2
+
+        //creating an account does discard it:
+        Account account = dataStore.instantiate(Account)
+        account.email = "jsmith@stormpath.com"
+        dataStore.create(collectionHref, account)
+        assertEquals requests.size(), 3
+
+        dataStore.getResource(collectionHref, AccountList, [email: "jsmith@stormpath.com"])
+        assertEquals requests.size(), 4
+    }
+
+    //@since 1.0.0
+    @Test
+    void testNotFoundLookupsAreCachedUntilModified() {
+        def apiKey = createStrictMock(ApiKey)
+        def href = "https://api.stormpath.com/v1/accounts/doesNotExist"
+        def json = new JacksonMapMarshaller().marshal([status: 404, code: 404, message: "The requested resource does not exist."]).getBytes("UTF-8")
+
+        def requests = []
+        def requestExecutor = [executeRequest: { Request request ->
+            requests << request
+            if (request.method == HttpMethod.DELETE) {
+                return new DefaultResponse(204, null, null, 0)
+            }
+            return new DefaultResponse(404, MediaType.APPLICATION_JSON, new ByteArrayInputStream(json), json.length)
+        }] as RequestExecutor
+
+        def dataStore = new DefaultDataStore(requestExecutor, "https://api.stormpath.com/v1", apiKey)
+        dataStore.setNotFoundCacheTimeToLiveSeconds(60)
+
+        for (int i = 0; i < 3; i++) {
+            try {
+                dataStore.getResource(href, Account)
+                fail("ResourceException should have been thrown")
+            } catch (ResourceException e) {
+                assertEquals e.status, 404
+            }
+        }
+        //only the first lookup reached the server:
+        assertEquals requests.size(), 1
+
+        //any modification discards the cached results:
+        dataStore.delete(dataStore.instantiate(Account, [href: "https://api.stormpath.com/v1/accounts/other"]))
+        assertEquals requests.size(), 2
+
+        try {
+            dataStore.getResource(href, Account)
+            fail("ResourceException should have been thrown")
+        } catch (ResourceException e) {
+            assertEquals e.status, 404
+        }
+        assertEquals requests.size(), 3
+    }
+
+    //@since 1.0.0
+    @Test
+    void testCacheValueCodec() {
+        def apiKey = createStrictMock(ApiKey)
+        def href = "https://api.stormpath.com/v1/groups/2tTdbWYGRLHyHZCXOLjaeC"
+        def directoryHref = "https://api.stormpath.com/v1/directories/5dfgEWi3N7G2Tsk2ZvBQAh"
+        def groupMap = [href: href, name: "Admins", status: "ENABLED",
+                        directory: [href: directoryHref, name: "Employees", status: "ENABLED"]]
+        def json = new JacksonMapMarshaller().marshal(groupMap).getBytes("UTF-8")
+
+        def requests = []
+        def requestExecutor = [executeRequest: { Request request ->
+            requests << request
+            return new DefaultResponse(200, MediaType.APPLICATION_JSON, new ByteArrayInputStream(json), json.length)
+        }] as RequestExecutor
+
+        def dataStore = new DefaultDataStore(requestExecutor, "https://api.stormpath.com/v1", apiKey)
+        dataStore.setCacheManager(Caches.newCacheManager().withDefaultTimeToLive(1, TimeUnit.HOURS).build())
+        dataStore.setCacheValueCodec(new JacksonCacheValueCodec())
+
+        def group = dataStore.getResource(href, Group)
+        assertEquals group.name, "Admins"
+        assertEquals requests.size(), 1
+
+        //both the group and its expanded directory are stored encoded:
+        assertTrue dataStore.cacheManager.getCache(Group.name).get(href) instanceof byte[]
+        assertTrue dataStore.cacheManager.getCache(Directory.name).get(directoryHref) instanceof byte[]
+
+        //and are decoded on access:
+        group = dataStore.getResource(href, Group)
+        assertEquals group.name, "Admins"
+        def directory = dataStore.getResource(directoryHref, Directory)
+        assertEquals directory.name, "Employees"
+        assertEquals dataStore.getCache(Directory).get(directoryHref).name, "Employees"
+        assertEquals requests.size(), 1
+    }
+
+    //@since 1.0.0
+    @Test
+    void testResponseBodyIsClosedAfterParsing() {
+        def apiKey = createStrictMock(ApiKey)
+        def href = "https://api.stormpath.com/v1/groups/2tTdbWYGRLHyHZCXOLjaeC"
+        def body = new JacksonMapMarshallerTest.CloseTrackingInputStream(
+                new JacksonMapMarshaller().marshal([href: href, name: "Admins", status: "ENABLED"]))
+
+        def requestExecutor = [executeRequest: { Request request ->
+            return new DefaultResponse(200, MediaType.APPLICATION_JSON, body, body.available())
+        }] as RequestExecutor
+
+        def dataStore = new DefaultDataStore(requestExecutor, "https://api.stormpath.com/v1", apiKey)
+
+        def group = dataStore.getResource(href, Group)
+        assertEquals group.name, "Admins"
+        assertTrue body.closed
+    }
+
+    //@since 1.0.0
+    @Test
+    void testErrorResponseBodyIsClosedAfterParsing() {
+        def apiKey = createStrictMock(ApiKey)
+        def href = "https://api.stormpath.com/v1/groups/2tTdbWYGRLHyHZCXOLjaeC"
+        def body = new JacksonMapMarshallerTest.CloseTrackingInputStream(
+                new JacksonMapMarshaller().marshal([status: 400, code: 2000, message: "Property value is required."]))
+
+        def requestExecutor = [executeRequest: { Request request ->
+            return new DefaultResponse(400, MediaType.APPLICATION_JSON, body, body.available())
+        }] as RequestExecutor
+
+        def dataStore = new DefaultDataStore(requestExecutor, "https://api.stormpath.com/v1", apiKey)
+
+        try {
+            dataStore.getResource(href, Group)
+            fail("ResourceException should have been thrown")
+        } catch (ResourceException e) {
+            assertEquals e.status, 400
+            assertEquals e.code, 2000
+        }
+        assertTrue body.closed
+    }
+
+    //@since 1.0.0
+    @Test
+    void testNotModifiedResponseBodyIsClosed() {
+        def apiKey = createStrictMock(ApiKey)
+        def href = "https://api.stormpath.com/v1/groups/2tTdbWYGRLHyHZCXOLjaeC"
+        def groupMap = [href: href, name: "Admins", status: "ENABLED"]
+        def json = new JacksonMapMarshaller().marshal(groupMap).getBytes("UTF-8")
+        def notModifiedBody = new JacksonMapMarshallerTest.CloseTrackingInputStream("unexpected")
+
+        def requests = new AtomicInteger()
+        def requestExecutor = [executeRequest: { Request request ->
+            if (requests.incrementAndGet() == 1) {
+                def response = new DefaultResponse(200, MediaType.APPLICATION_JSON, new ByteArrayInputStream(json), json.length)
+                response.headers.setETag('"v1"')
+                return response
+            }
+            return new DefaultResponse(304, null, notModifiedBody, notModifiedBody.available())
+        }] as RequestExecutor
+
+        def dataStore = new DefaultDataStore(requestExecutor, "https://api.stormpath.com/v1", apiKey)
+        dataStore.setCacheManager(Caches.newCacheManager().withDefaultTimeToLive(50, TimeUnit.MILLISECONDS).build())
+        dataStore.setConditionalRevalidationEnabled(true)
+
+        dataStore.getResource(href, Group)
+        Thread.sleep(100) //let the cache entry expire
+
+        def group = dataStore.getResource(href, Group)
+        assertEquals group.name, "Admins"
+        assertEquals requests.get(), 2
+        assertTrue notModifiedBody.closed
+    }
 }
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2014 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.ds
+
+import org.slf4j.LoggerFactory
+import org.testng.annotations.Test
+
+import static org.testng.Assert.*
+
+/**
+ * Compares the heap retained by cached resource data encoded with a {@link JacksonCacheValueCodec} with the same data
+ * stored as maps, and measures the cost of encoding and decoding it.
+ * <p/>
+ * Disabled by default (on purpose): it forces several garbage collections and its timings depend on the host, so it
+ * is excluded from both the unit test and the normal IT builds (see the failsafe {@code *ManualIT} exclusion).  Run
+ * it manually when changing the codec.
+ *
+ * @since 1.0.0
+ */
+class JacksonCacheValueCodecBenchmarkManualIT {
+
+    /**
+     * Returns the approximate heap retained by the objects created by the specified closure.
+     */
+    private static long retainedHeap(int count, Closure create) {
+        def runtime = Runtime.runtime
+        def retained = new Object[count]
+        long before = usedHeap(runtime)
+        for (int i = 0; i < count; i++) {
+            retained[i] = create.call()
+        }
+        long after = usedHeap(runtime)
+        assertEquals retained.length, count //keep the objects reachable until measured
+        return after - before
+    }
+
+    private static long usedHeap(Runtime runtime) {
+        for (int i = 0; i < 3; i++) {
+            System.gc()
+            Thread.sleep(20)
+        }
+        return runtime.totalMemory() - runtime.freeMemory()
+    }
+
+    @Test
+    void testHeapFootprint() {
+        def codec = new JacksonCacheValueCodec()
+        byte[] encoded = (byte[]) codec.encode(JacksonCacheValueCodecTest.createAccountPage(100))
+
+        //what an in-memory cache retains for 50 cached 100 item pages in each representation:
+        long mapHeap = retainedHeap(50, { codec.decode(encoded) })
+        long encodedHeap = retainedHeap(50, { encoded.clone() })
+
+        LoggerFactory.getLogger(JacksonCacheValueCodecBenchmarkManualIT).info(
+                "50 cached 100 item pages - heap retained as maps: {} KB, encoded: {} KB",
+                (long) (mapHeap / 1024), (long) (encodedHeap / 1024))
+        assertTrue encodedHeap < mapHeap, "encoded: $encodedHeap bytes, maps: $mapHeap bytes"
+    }
+
+    @Test
+    void testEncodeAndDecodeThroughput() {
+        def codec = new JacksonCacheValueCodec()
+        def data = JacksonCacheValueCodecTest.createAccountPage(100)
+        byte[] encoded = (byte[]) codec.encode(data)
+
+        int iterations = 200
+        long start = System.nanoTime()
+        for (int i = 0; i < iterations; i++) {
+            codec.encode(data)
+        }
+        long encodeNanos = System.nanoTime() - start
+
+        //the cost paid on every cache hit:
+        Map decoded = null
+        start = System.nanoTime()
+        for (int i = 0; i < iterations; i++) {
+            decoded = codec.decode(encoded)
+        }
+        long decodeNanos = System.nanoTime() - start
+
+        assertEquals decoded, data
+        LoggerFactory.getLogger(JacksonCacheValueCodecBenchmarkManualIT).info(
+                "100 item page - encode: {} us, decode: {} us ({} pages/s)",
+                (long) (encodeNanos / iterations / 1000), (long) (decodeNanos / iterations / 1000),
+                (long) (iterations * 1000000000L / Math.max(decodeNanos, 1L)))
+    }
+}
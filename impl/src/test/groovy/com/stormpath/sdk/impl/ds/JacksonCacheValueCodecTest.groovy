@@ -0,0 +1,106 @@
+/*
+ * Copyright 2014 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.ds
+
+import com.stormpath.sdk.cache.CacheValueCodec
+import com.stormpath.sdk.impl.cache.DefaultCache
+import org.testng.annotations.Test
+
+import static org.testng.Assert.*
+
+/**
+ * @since 1.0.0
+ */
+class JacksonCacheValueCodecTest {
+
+    static Map<String, Object> createAccountPage(int count) {
+        def items = []
+        for (int i = 0; i < count; i++) {
+            items << [href        : "https://api.stormpath.com/v1/accounts/account$i".toString(),
+                      username    : "jsmith$i".toString(), email: "jsmith$i@stormpath.com".toString(),
+                      givenName   : "John", middleName: null, surname: "Smith", status: "ENABLED",
+                      customData  : [href: "https://api.stormpath.com/v1/accounts/account$i/customData".toString()],
+                      directory   : [href: "https://api.stormpath.com/v1/directories/dir"],
+                      groups      : [href: "https://api.stormpath.com/v1/accounts/account$i/groups".toString()],
+                      balance     : new BigDecimal("12.50"), loginCount: i, createdAt: "2014-04-01T22:05:53.177Z"]
+        }
+        return new JacksonMapMarshaller().unmarshal(new JacksonMapMarshaller().marshal(
+                [href: "https://api.stormpath.com/v1/accounts", offset: 0, limit: 100, items: items]))
+    }
+
+    private static int serializedSize(Object o) {
+        def baos = new ByteArrayOutputStream()
+        def oos = new ObjectOutputStream(baos)
+        oos.writeObject(o)
+        oos.close()
+        return baos.size()
+    }
+
+    @Test
+    void testRoundTrip() {
+        def codec = new JacksonCacheValueCodec()
+        def data = createAccountPage(3)
+
+        def encoded = codec.encode(data)
+        assertTrue encoded instanceof byte[]
+        assertEquals codec.decode(encoded), data
+    }
+
+    @Test
+    void testNullAndUnencodedValues() {
+        def codec = new JacksonCacheValueCodec()
+        def data = [href: 'foo']
+
+        assertNull codec.encode(null)
+        assertNull codec.decode(null)
+        assertSame codec.decode(data), data
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException)
+    void testDecodeUnknownValue() {
+        new JacksonCacheValueCodec().decode('foo')
+    }
+
+    @Test
+    void testSerializedSize() {
+        def codec = new JacksonCacheValueCodec()
+        def data = createAccountPage(100)
+
+        int mapSize = serializedSize(data)
+        int encodedSize = serializedSize(codec.encode(data))
+
+        //what a distributed cache would transfer and store for each representation:
+        assertTrue encodedSize < mapSize, "encoded: $encodedSize bytes, map: $mapSize bytes"
+    }
+
+    @Test
+    void testCodecCacheDoesNotDecodePreviousValues() {
+        def decodes = 0
+        def delegate = new JacksonCacheValueCodec()
+        def codec = [encode: { Map data -> delegate.encode(data) },
+                     decode: { Object encoded -> decodes++; delegate.decode(encoded) }] as CacheValueCodec
+        def cache = new CodecCache(new DefaultCache<String, Object>('test'), codec)
+
+        assertNull cache.put('foo', [href: 'foo', name: 'one'])
+        assertNull cache.put('foo', [href: 'foo', name: 'two'])
+        assertNull cache.remove('foo')
+        assertEquals decodes, 0
+
+        cache.put('foo', [href: 'foo', name: 'three'])
+        assertEquals cache.get('foo'), [href: 'foo', name: 'three']
+        assertEquals decodes, 1
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2014 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.ds
+
+import org.testng.annotations.Test
+
+import static org.testng.Assert.*
+
+/**
+ * @since 1.0.0
+ */
+class JacksonMapMarshallerTest {
+
+    static class CloseTrackingInputStream extends ByteArrayInputStream {
+
+        boolean closed
+
+        CloseTrackingInputStream(String s) {
+            super(s.getBytes('UTF-8'))
+        }
+
+        @Override
+        void close() throws IOException {
+            closed = true
+            super.close()
+        }
+    }
+
+    @Test
+    void testUnmarshalInputStream() {
+        def marshaller = new JacksonMapMarshaller()
+        def is = new CloseTrackingInputStream('{"href":"https://api.stormpath.com/v1/groups/foo","name":"Admins",' +
+                '"directory":{"href":"https://api.stormpath.com/v1/directories/bar"},"size":2}')
+
+        def map = marshaller.unmarshal(is)
+
+        assertEquals map, [href: "https://api.stormpath.com/v1/groups/foo", name: "Admins",
+                           directory: [href: "https://api.stormpath.com/v1/directories/bar"], size: 2]
+        //property order is retained:
+        assertEquals map.keySet() as List, ['href', 'name', 'directory', 'size']
+        assertTrue is.closed
+    }
+
+    @Test
+    void testUnmarshalInputStreamMatchesUnmarshalString() {
+        def marshaller = new JacksonMapMarshaller()
+        def json = marshaller.marshal([href: "https://api.stormpath.com/v1/accounts/foo", email: "jsmith@stormpath.com",
+                                       customData: [favoriteColor: "blue", numbers: [1, 2, 3]]])
+
+        assertEquals marshaller.unmarshal(new CloseTrackingInputStream(json)), marshaller.unmarshal(json)
+    }
+
+    @Test
+    void testUnmarshalEmptyInputStream() {
+        def marshaller = new JacksonMapMarshaller()
+
+        def is = new CloseTrackingInputStream('')
+        assertNull marshaller.unmarshal(is)
+        assertTrue is.closed
+
+        //whitespace only is empty too:
+        assertNull marshaller.unmarshal(new CloseTrackingInputStream(' \n'))
+    }
+
+    @Test
+    void testUnmarshalInvalidInputStream() {
+        def marshaller = new JacksonMapMarshaller()
+        def is = new CloseTrackingInputStream('{"name":')
+
+        try {
+            marshaller.unmarshal(is)
+            fail("MarshalingException should have been thrown")
+        } catch (MarshalingException expected) {
+        }
+        assertTrue is.closed
+    }
+}
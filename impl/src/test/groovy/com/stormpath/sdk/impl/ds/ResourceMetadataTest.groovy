@@ -0,0 +1,56 @@
+/*
+ * Copyright 2014 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.ds
+
+import com.stormpath.sdk.account.Account
+import com.stormpath.sdk.account.AccountList
+import com.stormpath.sdk.impl.account.DefaultAccount
+import com.stormpath.sdk.impl.account.DefaultAccountList
+import org.testng.annotations.Test
+
+import static org.testng.Assert.*
+
+/**
+ * @since 1.0.0
+ */
+class ResourceMetadataTest {
+
+    @Test
+    void testMetadataIsResolvedOncePerType() {
+        def metadata = ResourceMetadata.forClass(Account)
+
+        assertSame ResourceMetadata.forClass(Account), metadata
+        assertSame metadata.interfaceClass, Account
+        assertSame metadata.implementationClass, DefaultAccount
+        assertSame metadata.getConstructor(2), metadata.getConstructor(2)
+        assertEquals metadata.propertyDescriptors, DefaultAccount.PROPERTY_DESCRIPTORS
+    }
+
+    @Test
+    void testImplementationClassResolvesInterface() {
+        def metadata = ResourceMetadata.forClass(DefaultAccountList)
+
+        assertSame metadata.interfaceClass, AccountList
+        assertSame metadata.implementationClass, DefaultAccountList
+        assertEquals metadata.getConstructor(3).parameterTypes.length, 3
+        assertTrue metadata.propertyDescriptors.containsKey("items")
+    }
+
+    @Test(expectedExceptions = UnsupportedOperationException)
+    void testPropertyDescriptorsAreImmutable() {
+        ResourceMetadata.forClass(Account).propertyDescriptors.clear()
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2014 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.http.authc
+
+import com.stormpath.sdk.http.HttpMethod
+import com.stormpath.sdk.impl.api.ClientApiKey
+import com.stormpath.sdk.impl.http.HttpHeaders
+import com.stormpath.sdk.impl.http.QueryString
+import com.stormpath.sdk.impl.http.support.DefaultRequest
+import com.stormpath.sdk.impl.util.StringInputStream
+import org.testng.annotations.Test
+
+import static org.testng.Assert.*
+
+/**
+ * @since 1.0.0
+ */
+class SAuthc1RequestAuthenticatorTest {
+
+    private static final Date DATE = new Date(1413590400000L) //2014-10-18T00:00:00Z
+    private static final String NONCE = "a43a9d25-ab06-421e-8605-cd9c8fd2a871"
+
+    @Test
+    void testAuthenticateGet() {
+        def authenticator = new SAuthc1RequestAuthenticator()
+        def request = new DefaultRequest(HttpMethod.GET, "https://api.stormpath.com/v1/")
+
+        authenticator.authenticate(request, new ClientApiKey("MyId", "Shush!"), DATE, NONCE)
+
+        String expected = "SAuthc1 sauthc1Id=MyId/20141018/${NONCE}/sauthc1_request, " +
+                "sauthc1SignedHeaders=host;x-stormpath-date, " +
+                "sauthc1Signature=4e6da0e76d6a6e2a1aa3c81ae06a7b7af84eeb9a8024c138d3c8361764c6b264"
+
+        assertEquals request.headers.getFirst("Host"), "api.stormpath.com"
+        assertEquals request.headers.getFirst("X-Stormpath-Date"), "20141018T000000Z"
+        assertEquals request.headers.getFirst("Authorization"), expected
+    }
+
+    @Test
+    void testAuthenticatePostWithQueryAndHeaders() {
+        def authenticator = new SAuthc1RequestAuthenticator()
+
+        def query = new QueryString()
+        query.put("limit", "25")
+        query.put("offset", "0")
+
+        def headers = new HttpHeaders()
+        headers.set("Content-Type", "application/json")
+        headers.add("Accept", "application/json")
+        headers.add("Accept", "text/plain")
+
+        def body = '{"name":"x"}'
+        def request = new DefaultRequest(HttpMethod.POST, "https://api.stormpath.com:8443/v1/directories/xyz", query,
+                headers, new StringInputStream(body), body.length())
+
+        authenticator.authenticate(request, new ClientApiKey("MyId", "Shush!"), DATE, NONCE)
+
+        String expected = "SAuthc1 sauthc1Id=MyId/20141018/${NONCE}/sauthc1_request, " +
+                "sauthc1SignedHeaders=accept;content-length;content-type;host;x-stormpath-date, " +
+                "sauthc1Signature=b31aa3ef2ca5cef9996ca66ce3a8e041a6ceb3797c2bd9794f74eb90d5cb7832"
+
+        assertEquals request.headers.getFirst("Host"), "api.stormpath.com:8443"
+        assertEquals request.headers.getFirst("Authorization"), expected
+    }
+
+    @Test
+    void testDerivedDateKeyIsReusedOnlyForSameSecretAndDay() {
+        def authenticator = new SAuthc1RequestAuthenticator()
+
+        def first = new DefaultRequest(HttpMethod.GET, "https://api.stormpath.com/v1/")
+        authenticator.authenticate(first, new ClientApiKey("MyId", "Shush!"), DATE, NONCE)
+        String firstHeader = first.headers.getFirst("Authorization")
+
+        def second = new DefaultRequest(HttpMethod.GET, "https://api.stormpath.com/v1/")
+        authenticator.authenticate(second, new ClientApiKey("MyId", "Shush!"), DATE, NONCE)
+        assertEquals second.headers.getFirst("Authorization"), firstHeader
+
+        //a rotated secret for the same API Key id must not reuse the previously derived key:
+        def rotated = new DefaultRequest(HttpMethod.GET, "https://api.stormpath.com/v1/")
+        authenticator.authenticate(rotated, new ClientApiKey("MyId", "Rotated!"), DATE, NONCE)
+        assertFalse rotated.headers.getFirst("Authorization") == firstHeader
+
+        //and neither must the next day:
+        def nextDay = new DefaultRequest(HttpMethod.GET, "https://api.stormpath.com/v1/")
+        authenticator.authenticate(nextDay, new ClientApiKey("MyId", "Shush!"), new Date(DATE.time + 86400000L), NONCE)
+        String nextDayHeader = nextDay.headers.getFirst("Authorization")
+        assertTrue nextDayHeader.startsWith("SAuthc1 sauthc1Id=MyId/20141019/")
+        assertFalse nextDayHeader.substring(nextDayHeader.lastIndexOf('=')) == firstHeader.substring(firstHeader.lastIndexOf('='))
+    }
+}
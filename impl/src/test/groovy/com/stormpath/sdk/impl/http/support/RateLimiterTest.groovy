@@ -0,0 +1,250 @@
+/*
+ * Copyright 2014 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.http.support
+
+import com.stormpath.sdk.http.HttpMethod
+import com.stormpath.sdk.impl.http.RestException
+import org.testng.annotations.Test
+
+import java.util.concurrent.TimeUnit
+
+import static org.testng.Assert.*
+
+/**
+ * @since 1.0.0
+ */
+class RateLimiterTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1)
+
+    private static DefaultRequest request(String href = 'https://api.stormpath.com/v1/accounts/abc') {
+        return new DefaultRequest(HttpMethod.GET, href)
+    }
+
+    private static DefaultResponse response(int status, Map<String, String> headers = [:]) {
+        def response = new DefaultResponse(status, null, null, 0)
+        headers.each { k, v -> response.headers.set(k, v) }
+        return response
+    }
+
+    @Test
+    void testReservationsAreServedInOrder() {
+        def bucket = new RateLimiter.TokenBucket(10, 0)
+
+        assertEquals bucket.reserve(0, SECOND), 0L
+        assertEquals bucket.reserve(0, SECOND), 100000000L
+        assertEquals bucket.reserve(0, SECOND), 200000000L
+        //exceeds the timeout, so nothing is reserved:
+        assertEquals bucket.reserve(0, 250000000L), -1L
+        assertEquals bucket.reserve(0, SECOND), 300000000L
+    }
+
+    @Test
+    void testReleaseGivesBackThePermit() {
+        def bucket = new RateLimiter.TokenBucket(10, 0)
+
+        assertEquals bucket.reserve(0, SECOND), 0L
+        assertEquals bucket.reserve(0, SECOND), 100000000L
+        bucket.release(0)
+        assertEquals bucket.reserve(0, SECOND), 100000000L
+
+        //a stored permit is stored again:
+        long now = 60 * SECOND
+        for (int i = 0; i < 10; i++) {
+            assertEquals bucket.reserve(now, 0), 0L
+        }
+        bucket.release(now)
+        assertEquals bucket.reserve(now, 0), 0L
+        assertEquals bucket.reserve(now, 0), 0L
+        assertEquals bucket.reserve(now, 0), -1L
+    }
+
+    @Test
+    void testIdlePermitsAllowBurstsOfOneSecond() {
+        def bucket = new RateLimiter.TokenBucket(10, 0)
+
+        //idle for a minute, but no more than one second worth of permits is stored; the request following them is
+        //sent immediately too, but pushes the next request back by one interval:
+        long now = 60 * SECOND
+        for (int i = 0; i < 11; i++) {
+            assertEquals bucket.reserve(now, 0), 0L
+        }
+        assertEquals bucket.reserve(now, 0), -1L
+        assertEquals bucket.reserve(now, SECOND), 100000000L
+    }
+
+    @Test
+    void testThrottledHalvesRateAndHonorsRetryAfter() {
+        def bucket = new RateLimiter.TokenBucket(10, 0)
+
+        bucket.onThrottled(SECOND, 2 * SECOND)
+        assertEquals bucket.rate, 5d
+        assertEquals bucket.reserve(SECOND, 10 * SECOND), 2 * SECOND
+
+        //the responses of requests already in flight do not reduce the rate again:
+        bucket.onThrottled(SECOND + 1, 0)
+        assertEquals bucket.rate, 5d
+
+        bucket.onThrottled(2 * SECOND + 1, 0)
+        assertEquals bucket.rate, 2.5d
+    }
+
+    @Test
+    void testThrottledWithoutRetryAfterWaitsForNextPermit() {
+        def bucket = new RateLimiter.TokenBucket(10, 0)
+
+        bucket.onThrottled(SECOND, 0)
+
+        assertEquals bucket.reserve(SECOND, SECOND), 200000000L
+    }
+
+    @Test
+    void testThrottlingStopsAtMinimumRate() {
+        def bucket = new RateLimiter.TokenBucket(100, 0, 10 * SECOND)
+
+        for (int i = 1; i <= 20; i++) {
+            bucket.onThrottled(i * SECOND, 0)
+        }
+        //a tenth of the configured rate:
+        assertEquals bucket.rate, 10d
+
+        bucket = new RateLimiter.TokenBucket(4, 0)
+        for (int i = 1; i <= 20; i++) {
+            bucket.onThrottled(i * SECOND, 0)
+        }
+        //one request per second:
+        assertEquals bucket.rate, 1d
+
+        //never above the configured rate:
+        bucket = new RateLimiter.TokenBucket(0.5d, 0)
+        bucket.onThrottled(SECOND, 0)
+        assertEquals bucket.rate, 0.5d
+    }
+
+    @Test
+    void testThrottlePauseIsShorterThanTimeout() {
+        def bucket = new RateLimiter.TokenBucket(10, 0, 5 * SECOND)
+
+        bucket.onThrottled(SECOND, 60 * SECOND)
+
+        //the next caller gets a permit within the timeout instead of failing for a minute:
+        assertEquals bucket.reserve(SECOND, 5 * SECOND), 5 * SECOND
+    }
+
+    @Test
+    void testSuccessRecoversRate() {
+        def bucket = new RateLimiter.TokenBucket(10, 0)
+        bucket.onThrottled(SECOND, 0)
+
+        //one second worth of successful requests at the reduced rate recovers a tenth of the max rate:
+        for (int i = 0; i < 5; i++) {
+            bucket.onSuccess()
+        }
+        assertTrue bucket.rate > 5.9d && bucket.rate < 6d
+
+        for (int i = 0; i < 1000; i++) {
+            bucket.onSuccess()
+        }
+        assertEquals bucket.rate, 10d
+    }
+
+    @Test
+    void testQuota() {
+        def bucket = new RateLimiter.TokenBucket(10, 0)
+
+        bucket.onQuota(0, 40, 10 * SECOND)
+        assertEquals bucket.rate, 4d
+
+        bucket.onQuota(0, 0, 5 * SECOND)
+        assertEquals bucket.reserve(0, 10 * SECOND), 5 * SECOND
+    }
+
+    @Test
+    void testFailsFast() {
+        def limiter = new RateLimiter(1, 0, 0, TimeUnit.MILLISECONDS)
+
+        limiter.beforeSend(request())
+        try {
+            limiter.beforeSend(request())
+            fail()
+        } catch (RestException expected) {
+            assertTrue expected.message.contains('Client-side rate limit exceeded')
+        }
+    }
+
+    @Test
+    void testClientWideTimeoutDoesNotConsumeEndpointPermit() {
+        def limiter = new RateLimiter(1, 10, 0, TimeUnit.MILLISECONDS)
+
+        limiter.beforeSend(request())
+        RateLimiter.TokenBucket endpointBucket = limiter.endpointBuckets['GET /v1/accounts/{id}']
+        long nextFree = endpointBucket.nextFreeNanos
+
+        try {
+            limiter.beforeSend(request())
+            fail()
+        } catch (RestException expected) {
+            assertFalse expected.message.contains('endpoint')
+        }
+        assertEquals endpointBucket.nextFreeNanos, nextFree
+    }
+
+    @Test
+    void testEndpointTimeoutGivesBackClientWidePermit() {
+        def limiter = new RateLimiter(1, 0.1, 2, TimeUnit.SECONDS)
+
+        limiter.beforeSend(request())
+        RateLimiter.TokenBucket bucket = limiter.bucket
+        long nextFree = bucket.nextFreeNanos
+
+        //the client-wide permit is available within the timeout, but the endpoint permit is not:
+        try {
+            limiter.beforeSend(request())
+            fail()
+        } catch (RestException expected) {
+            assertTrue expected.message.contains('endpoint')
+        }
+        assertEquals bucket.nextFreeNanos, nextFree
+    }
+
+    @Test
+    void testAdaptsToResponses() {
+        def limiter = new RateLimiter(10, 4, 1, TimeUnit.SECONDS)
+
+        limiter.beforeSend(request())
+        limiter.afterReceive(request(), response(429, ['Retry-After': '5']))
+
+        assertEquals limiter.rate, 5d
+        assertEquals limiter.getRate('GET /v1/accounts/{id}'), 2d
+        assertEquals limiter.getRate('GET /v1/groups/{id}'), 0d
+
+        //paused for the Retry-After duration, but no longer than the timeout, so that the next request waits for its
+        //permit instead of failing:
+        long now = System.nanoTime()
+        RateLimiter.TokenBucket endpointBucket = limiter.endpointBuckets['GET /v1/accounts/{id}']
+        for (RateLimiter.TokenBucket bucket : [limiter.bucket, endpointBucket]) {
+            long pause = bucket.nextFreeNanos - now
+            assertTrue pause > SECOND / 2 && pause <= SECOND, "pause: $pause"
+        }
+        //other endpoints are only paused by the client-wide limit:
+        assertNull limiter.endpointBuckets['GET /v1/groups/{id}']
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException)
+    void testRequiresALimit() {
+        new RateLimiter(0, 0, 1, TimeUnit.SECONDS)
+    }
+}
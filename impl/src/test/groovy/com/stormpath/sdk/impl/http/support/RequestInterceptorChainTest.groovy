@@ -0,0 +1,84 @@
+/*
+ * Copyright 2014 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.http.support
+
+import com.stormpath.sdk.http.HttpMethod
+import com.stormpath.sdk.impl.http.Request
+import com.stormpath.sdk.impl.http.RequestInterceptor
+import com.stormpath.sdk.impl.http.Response
+import org.testng.annotations.Test
+
+import static org.testng.Assert.*
+
+/**
+ * @since 1.0.0
+ */
+class RequestInterceptorChainTest {
+
+    private static RequestInterceptor recording(String name, List<String> calls) {
+        return new RequestInterceptor() {
+            @Override
+            void beforeSend(Request request) {
+                calls << ('before ' + name).toString()
+            }
+
+            @Override
+            void afterReceive(Request request, Response response) {
+                calls << ('after ' + name).toString()
+            }
+
+            @Override
+            void onError(Request request, Throwable t) {
+                calls << ('error ' + name).toString()
+                throw new IllegalStateException('ignored')
+            }
+        }
+    }
+
+    @Test
+    void testInvocationOrder() {
+        def calls = []
+        def chain = RequestInterceptorChain.EMPTY.plus(recording('a', calls)).plus(recording('b', calls))
+        def request = new DefaultRequest(HttpMethod.GET, 'https://api.stormpath.com/v1/tenants/current')
+
+        chain.beforeSend(request)
+        chain.afterReceive(request, new DefaultResponse(200, null, null, 0))
+        chain.onError(request, new IOException())
+
+        assertEquals calls, ['before a', 'before b', 'after b', 'after a', 'error b', 'error a']
+    }
+
+    @Test
+    void testPlusAndMinus() {
+        def a = new RequestInterceptorAdapter()
+        def b = new RequestInterceptorAdapter()
+
+        assertTrue RequestInterceptorChain.EMPTY.isEmpty()
+
+        def chain = RequestInterceptorChain.EMPTY.plus(a).plus(b)
+        assertEquals chain.interceptors, [a, b]
+        assertTrue RequestInterceptorChain.EMPTY.isEmpty()
+
+        assertEquals chain.minus(a).interceptors, [b]
+        assertSame chain.minus(new RequestInterceptorAdapter()), chain
+        assertSame chain.minus(a).minus(b), RequestInterceptorChain.EMPTY
+    }
+
+    @Test(expectedExceptions = UnsupportedOperationException)
+    void testInterceptorsUnmodifiable() {
+        RequestInterceptorChain.EMPTY.plus(new RequestInterceptorAdapter()).interceptors.clear()
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2014 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.http.support
+
+import com.stormpath.sdk.http.HttpMethod
+import com.stormpath.sdk.impl.http.ConnectionPoolStats
+import com.stormpath.sdk.impl.metrics.DefaultMetricRegistry
+import com.stormpath.sdk.metrics.Counter
+import com.stormpath.sdk.metrics.Gauge
+import com.stormpath.sdk.metrics.Timer
+import org.testng.annotations.Test
+
+import static org.testng.Assert.*
+
+/**
+ * @since 1.0.0
+ */
+class RequestMetricsTest {
+
+    @Test
+    void testGetEndpointName() {
+        assertEquals RequestMetrics.getEndpointName(new DefaultRequest(HttpMethod.GET, 'https://api.stormpath.com/v1/tenants/current')),
+                'GET /v1/tenants/{id}'
+        assertEquals RequestMetrics.getEndpointName(new DefaultRequest(HttpMethod.POST, 'https://api.stormpath.com/v1/applications/abc123/loginAttempts')),
+                'POST /v1/applications/{id}/loginAttempts'
+        assertEquals RequestMetrics.getEndpointName(new DefaultRequest(HttpMethod.GET, 'https://api.stormpath.com/v1/directories/abc/accounts')),
+                'GET /v1/directories/{id}/accounts'
+        assertEquals RequestMetrics.getEndpointName(new DefaultRequest(HttpMethod.DELETE, 'https://api.stormpath.com/v1/accounts/def')),
+                'DELETE /v1/accounts/{id}'
+    }
+
+    @Test
+    void testEndpoint() {
+        def registry = new DefaultMetricRegistry()
+        def metrics = new RequestMetrics(registry)
+        def request = new DefaultRequest(HttpMethod.GET, 'https://api.stormpath.com/v1/accounts/abc')
+
+        def endpoint = metrics.getEndpoint(request)
+        assertSame metrics.getEndpoint(new DefaultRequest(HttpMethod.GET, 'https://api.stormpath.com/v1/accounts/def')), endpoint
+
+        endpoint.onResponse(200, 1000000)
+        endpoint.onRetry()
+        endpoint.onResponse(429, 1000000)
+        endpoint.onResponse(503, 1000000)
+        endpoint.onError()
+
+        String prefix = 'http.GET /v1/accounts/{id}.'
+        assertEquals ((Counter) registry.metrics.get(prefix + 'requests')).count, 4L
+        assertEquals ((Counter) registry.metrics.get(prefix + 'retries')).count, 1L
+        assertEquals ((Counter) registry.metrics.get(prefix + 'throttled')).count, 1L
+        assertEquals ((Counter) registry.metrics.get(prefix + 'unavailable')).count, 1L
+        assertEquals ((Timer) registry.metrics.get(prefix + 'latency')).count, 3L
+    }
+
+    @Test
+    void testRegisterConnectionPool() {
+        def registry = new DefaultMetricRegistry()
+        def metrics = new RequestMetrics(registry)
+
+        def stats = [
+                getLeased   : { 1 },
+                getPending  : { 2 },
+                getAvailable: { 3 },
+                getMax      : { 20 }
+        ] as ConnectionPoolStats
+        //the gauges reference the source weakly, so it must be retained:
+        def source = { stats } as RequestMetrics.ConnectionPoolStatsSource
+        metrics.registerConnectionPool(source)
+
+        assertEquals ((Gauge) registry.metrics.get('http.connections.leased')).value, 1
+        assertEquals ((Gauge) registry.metrics.get('http.connections.max')).value, 20
+    }
+}
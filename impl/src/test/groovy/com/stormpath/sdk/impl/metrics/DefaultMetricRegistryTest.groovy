@@ -0,0 +1,137 @@
+/*
+ * Copyright 2014 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.metrics
+
+import com.stormpath.sdk.impl.cache.DefaultCacheManager
+import com.stormpath.sdk.metrics.Gauge
+import org.testng.annotations.Test
+
+import java.util.concurrent.TimeUnit
+
+import static org.testng.Assert.*
+
+/**
+ * @since 1.0.0
+ */
+class DefaultMetricRegistryTest {
+
+    @Test
+    void testCounter() {
+        def registry = new DefaultMetricRegistry()
+
+        def counter = registry.counter('http.requests')
+        counter.increment()
+        counter.increment(2)
+
+        assertSame registry.counter('http.requests'), counter
+        assertEquals counter.count, 3L
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException)
+    void testCounterNameOfTimer() {
+        def registry = new DefaultMetricRegistry()
+        registry.timer('http.latency')
+        registry.counter('http.latency')
+    }
+
+    @Test
+    void testTimer() {
+        def registry = new DefaultMetricRegistry()
+        DefaultTimer timer = (DefaultTimer) registry.timer('http.latency')
+
+        assertEquals timer.getQuantileMillis(0.5d), 0d
+        assertEquals timer.minMillis, 0d
+
+        for (int i = 1; i <= 100; i++) {
+            timer.update(i, TimeUnit.MILLISECONDS)
+        }
+
+        assertEquals timer.count, 100L
+        assertEquals timer.minMillis, 1d
+        assertEquals timer.maxMillis, 100d
+        assertEquals timer.meanMillis, 50.5d
+        //buckets are powers of two microseconds, so quantiles are upper bounds within a factor of two:
+        double median = timer.getQuantileMillis(0.5d)
+        assertTrue median >= 50d && median <= 100d
+        assertEquals timer.getQuantileMillis(1d), 100d
+    }
+
+    @Test
+    void testBucketFor() {
+        assertEquals DefaultTimer.bucketFor(0), 0
+        assertEquals DefaultTimer.bucketFor(1), 0
+        assertEquals DefaultTimer.bucketFor(2), 1
+        assertEquals DefaultTimer.bucketFor(3), 2
+        assertEquals DefaultTimer.bucketFor(4), 2
+        assertEquals DefaultTimer.bucketFor(5), 3
+        assertEquals DefaultTimer.bucketFor(Long.MAX_VALUE), 40
+    }
+
+    @Test
+    void testRegisterGauge() {
+        def registry = new DefaultMetricRegistry()
+
+        registry.register('cache.foo.size', { 1 } as Gauge)
+        registry.register('cache.foo.size', { 2 } as Gauge)
+
+        assertEquals ((Gauge) registry.metrics.get('cache.foo.size')).value, 2
+        assertNotNull registry.remove('cache.foo.size')
+        assertTrue registry.metrics.isEmpty()
+    }
+
+    @Test
+    void testCacheMetrics() {
+        def registry = new DefaultMetricRegistry()
+        def cacheManager = new DefaultCacheManager()
+
+        def cache = cacheManager.getCache('foo')
+        cacheManager.metricRegistry = registry
+
+        cache.put('key', 'value')
+        cache.get('key')
+        cache.get('missing')
+
+        assertEquals ((Gauge) registry.metrics.get('cache.foo.size')).value, 1
+        assertEquals ((Gauge) registry.metrics.get('cache.foo.hitCount')).value, 1L
+        assertEquals ((Gauge) registry.metrics.get('cache.foo.missCount')).value, 1L
+        assertEquals ((Gauge) registry.metrics.get('cache.foo.hitRatio')).value, 0.5d
+
+        //caches created after the registry was set are registered too:
+        cacheManager.getCache('bar')
+        assertNotNull registry.metrics.get('cache.bar.size')
+    }
+
+    @Test
+    void testWeakGaugeDoesNotRetainSource() {
+        def source = [42]
+        def gauge = new WeakGauge<List, Integer>(source) {
+            @Override
+            protected Integer getValue(List list) {
+                return (Integer) list[0]
+            }
+        }
+        assertEquals gauge.value, 42
+        assertFalse gauge.cleared
+
+        source = null
+        for (int i = 0; i < 50 && !gauge.cleared; i++) {
+            System.gc()
+            Thread.sleep(20)
+        }
+        assertTrue gauge.cleared
+        assertNull gauge.value
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2014 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.metrics
+
+import com.stormpath.sdk.metrics.Gauge
+import org.testng.annotations.Test
+
+import javax.management.MBeanServerFactory
+import java.util.concurrent.TimeUnit
+
+import static org.testng.Assert.*
+
+/**
+ * @since 1.0.0
+ */
+class JmxMetricRegistryTest {
+
+    @Test
+    void testRegistersMBeans() {
+        def server = MBeanServerFactory.newMBeanServer()
+        def registry = new JmxMetricRegistry(server, 'test')
+
+        registry.counter('http.GET /v1/accounts/{id}.requests').increment()
+        registry.timer('http.GET /v1/accounts/{id}.latency').update(5, TimeUnit.MILLISECONDS)
+        registry.register('cache.foo.size', { 42 } as Gauge)
+
+        def counterName = registry.getObjectName('http.GET /v1/accounts/{id}.requests')
+        def timerName = registry.getObjectName('http.GET /v1/accounts/{id}.latency')
+        def gaugeName = registry.getObjectName('cache.foo.size')
+
+        assertEquals counterName.domain, 'test'
+        assertEquals unquotedKeyProperty(counterName, 'type'), 'http'
+        assertEquals server.getAttribute(counterName, 'Count'), 1L
+        assertEquals server.getAttribute(timerName, 'Count'), 1L
+        assertEquals server.getAttribute(timerName, 'MaxMillis'), 5d
+        assertEquals server.getAttribute(gaugeName, 'Value'), 42d
+
+        registry.unregisterAll()
+
+        assertFalse server.isRegistered(counterName)
+        assertFalse server.isRegistered(timerName)
+        assertFalse server.isRegistered(gaugeName)
+    }
+
+    @Test
+    void testRemoveUnregistersMBean() {
+        def server = MBeanServerFactory.newMBeanServer()
+        def registry = new JmxMetricRegistry(server, 'test')
+
+        registry.counter('http.requests')
+        def name = registry.getObjectName('http.requests')
+        assertTrue server.isRegistered(name)
+
+        registry.remove('http.requests')
+        assertFalse server.isRegistered(name)
+    }
+
+    private static String unquotedKeyProperty(def objectName, String key) {
+        return javax.management.ObjectName.unquote(objectName.getKeyProperty(key))
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2014 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.security
+
+import com.stormpath.sdk.impl.util.Base64
+import org.testng.annotations.Test
+
+import javax.crypto.Cipher
+import javax.crypto.SecretKeyFactory
+import javax.crypto.spec.IvParameterSpec
+import javax.crypto.spec.PBEKeySpec
+import javax.crypto.spec.SecretKeySpec
+import java.security.SecureRandom
+
+import static org.testng.Assert.*
+
+/**
+ * @since 1.0.0
+ */
+class ApiKeySecretEncryptionServiceTest {
+
+    private static String encrypt(String value, char[] password, byte[] salt, int keySize, int iterations) {
+        def factory = SecretKeyFactory.getInstance("PBKDF2WithHmacSHA1")
+        def derived = factory.generateSecret(new PBEKeySpec(password, salt, iterations, keySize))
+        def key = new SecretKeySpec(derived.encoded, "AES")
+
+        byte[] iv = new byte[keySize.intdiv(8)]
+        new SecureRandom().nextBytes(iv)
+
+        def cipher = Cipher.getInstance("AES/CBC/PKCS5Padding")
+        cipher.init(Cipher.ENCRYPT_MODE, key, new IvParameterSpec(iv))
+        byte[] encrypted = cipher.doFinal(value.getBytes("UTF-8"))
+
+        byte[] result = new byte[iv.length + encrypted.length]
+        System.arraycopy(iv, 0, result, 0, iv.length)
+        System.arraycopy(encrypted, 0, result, iv.length, encrypted.length)
+        return Base64.encodeBase64String(result)
+    }
+
+    @Test
+    void testDecryptWithReusedDerivedKey() {
+
+        char[] password = 'clientApiKeySecret'.toCharArray()
+        byte[] salt = new byte[16]
+        new SecureRandom().nextBytes(salt)
+        String base64Salt = Base64.encodeBase64String(salt)
+
+        def encrypted1 = encrypt('secret1', password, salt, 128, 1024)
+        def encrypted2 = encrypt('secret2', password, salt, 128, 1024)
+
+        def builder = new ApiKeySecretEncryptionService.Builder()
+                .setPassword(password).setBase64Salt(base64Salt.bytes).setKeySize(128).setIterations(1024)
+
+        //each service instance reuses the derived key, and decryption must be unaffected by the reuse:
+        assertEquals builder.build().decryptBase64String(encrypted1), 'secret1'
+        assertEquals builder.build().decryptBase64String(encrypted2), 'secret2'
+        assertEquals builder.build().decryptBase64String(encrypted1), 'secret1'
+    }
+
+    @Test
+    void testDifferentPasswordsDoNotShareKeys() {
+
+        byte[] salt = new byte[16]
+        new SecureRandom().nextBytes(salt)
+        String base64Salt = Base64.encodeBase64String(salt)
+
+        def encrypted = encrypt('secret', 'passwordB'.toCharArray(), salt, 128, 1024)
+
+        //derive (and cache) a key for a different password with the same salt first:
+        new ApiKeySecretEncryptionService.Builder()
+                .setPassword('passwordA'.toCharArray()).setBase64Salt(base64Salt.bytes).setKeySize(128).setIterations(1024)
+                .build()
+
+        def service = new ApiKeySecretEncryptionService.Builder()
+                .setPassword('passwordB'.toCharArray()).setBase64Salt(base64Salt.bytes).setKeySize(128).setIterations(1024)
+                .build()
+
+        assertEquals service.decryptBase64String(encrypted), 'secret'
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2014 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.util
+
+import org.testng.annotations.Test
+
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.atomic.AtomicInteger
+
+import static org.testng.Assert.*
+
+/**
+ * @since 1.0.0
+ */
+class SoftHashMapTest {
+
+    @Test
+    void testPutGetRemove() {
+        def map = new SoftHashMap<String, String>()
+        assertNull map.put('key', 'value')
+        assertEquals map.get('key'), 'value'
+        assertEquals map.size(), 1
+        assertEquals map.remove('key'), 'value'
+        assertTrue map.isEmpty()
+    }
+
+    @Test
+    void testZeroRetentionSize() {
+        def map = new SoftHashMap<String, String>(0)
+        map.put('key', 'value')
+        assertEquals map.get('key'), 'value'
+        map.clear()
+        assertNull map.get('key')
+    }
+
+    @Test
+    void testEachThreadRetainsTheFullRetentionSize() {
+        def map = new SoftHashMap<Integer, Integer>(100)
+        def values = []
+        for (int i = 0; i < 100; i++) {
+            values << new Integer(1000 + i)
+            map.put(i, values[i])
+        }
+
+        //all of a single thread's most recent values are strongly referenced, regardless of the number of stripes
+        //(fields are read with .@ since properties of a Map are its entries):
+        def retained = Collections.newSetFromMap(new IdentityHashMap())
+        map.@strongReferences.each { stripe ->
+            for (int i = 0; i < stripe.slots.length(); i++) {
+                if (stripe.slots.get(i) != null) {
+                    retained << stripe.slots.get(i)
+                }
+            }
+        }
+        values.each { assertTrue retained.contains(it) }
+    }
+
+    @Test
+    void testConcurrentReads() {
+        def map = new SoftHashMap<Integer, Integer>(10)
+        for (int i = 0; i < 100; i++) {
+            map.put(i, i)
+        }
+
+        int threadCount = 8
+        def latch = new CountDownLatch(threadCount)
+        def failures = new AtomicInteger()
+
+        threadCount.times {
+            Thread.start {
+                try {
+                    for (int i = 0; i < 10000; i++) {
+                        Integer value = map.get(i % 100)
+                        //values may be garbage collected, but never replaced with another value:
+                        if (value != null && value != i % 100) {
+                            failures.incrementAndGet()
+                        }
+                    }
+                } finally {
+                    latch.countDown()
+                }
+            }
+        }
+
+        latch.await()
+        assertEquals failures.get(), 0
+    }
+}